@@ -0,0 +1,726 @@
+package io.github.anominy.uwiuliia.server;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.github.anominy.uwiuliia.EIuliiaSchema;
+import io.github.anominy.uwiuliia.IuliiaSchema;
+import io.github.anominy.uwiuliia.IuliiaTransliterator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * An embedded transliteration HTTP server.
+ *
+ * <p>Built on the JDK {@code com.sun.net.httpserver} only, exposes the following endpoints:
+ * <ul>
+ *     <li>{@code POST /transliterate} w/ a {@code {"schema": "wikipedia", "texts": ["..."]}} body,
+ *     responds w/ {@code {"results": ["..."]}}, texts are transliterated in order;</li>
+ *     <li>{@code GET /schemas}, responds w/ the names of the available schemas;</li>
+ *     <li>{@code GET /stats}, responds w/ the throughput and latency stats, see {@link IuliiaServerStats}.</li>
+ * </ul>
+ *
+ * <p>Schemas are looked up by their {@link EIuliiaSchema} enum name or by their name,
+ * regardless of case, and bound to a shared {@link IuliiaTransliterator} once on start.
+ *
+ * <p>Requests are handled by a bounded worker pool, that answers the overflowing ones
+ * w/ {@code 503 Service Unavailable} right away, or by virtual threads if enabled and available.
+ *
+ * <p>Small responses wait for delayed acknowledgements unless the JDK HTTP server disables
+ * Nagle's algorithm, launch w/ {@code -Dsun.net.httpserver.nodelay=true} to do so,
+ * {@link #main(String[])} sets it if not set yet.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaServer implements Closeable {
+
+	/**
+	 * A default port.
+	 */
+	public static final int DEFAULT_PORT = 8080;
+
+	/**
+	 * A default maximum request body length.
+	 */
+	public static final int DEFAULT_MAX_REQUEST_LENGTH = 16 * 1024 * 1024;
+
+	/**
+	 * A JSON content type.
+	 */
+	private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+	/**
+	 * A JDK HTTP server property to disable Nagle's algorithm on accepted connections,
+	 * w/o which small responses wait for delayed acknowledgements.
+	 */
+	private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+	/**
+	 * A flag set while an exchange rejected by the worker pool is run on the accepting thread.
+	 */
+	private static final ThreadLocal<Boolean> REJECTED = new ThreadLocal<>();
+
+	/**
+	 * A logger.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(IuliiaServer.class.getName());
+
+	/**
+	 * An HTTP server.
+	 */
+	private final HttpServer server;
+
+	/**
+	 * A request executor.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * A transliterator map by lower case schema enum names and schema names.
+	 */
+	private final Map<String, IuliiaTransliterator> transliterators;
+
+	/**
+	 * A sorted schema name list.
+	 */
+	private final List<String> schemaNames;
+
+	/**
+	 * A stats recorder.
+	 */
+	private final IuliiaServerStats stats;
+
+	/**
+	 * A maximum request body length.
+	 */
+	private final int maxRequestLength;
+
+	/**
+	 * Initialize an {@link IuliiaServer} instance.
+	 *
+	 * @param builder	builder to initialize from
+	 *
+	 * @throws IOException	if the server socket cannot be bound
+	 */
+	private IuliiaServer(Builder builder) throws IOException {
+		Map<String, IuliiaTransliterator> transliterators = new HashMap<>();
+		List<String> schemaNames = new ArrayList<>();
+
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			IuliiaSchema schema = IuliiaSchema.fromEnumType(type);
+			if (schema == null) {
+				continue;
+			}
+
+			IuliiaTransliterator transliterator = IuliiaTransliterator.of(schema);
+
+			transliterators.put(type.name().toLowerCase(Locale.ROOT), transliterator);
+			transliterators.put(schema.getName().toLowerCase(Locale.ROOT), transliterator);
+
+			schemaNames.add(schema.getName());
+		}
+
+		Collections.sort(schemaNames);
+
+		this.transliterators = transliterators;
+		this.schemaNames = Collections.unmodifiableList(schemaNames);
+		this.stats = new IuliiaServerStats();
+		this.maxRequestLength = builder.maxRequestLength;
+		this.executor = createExecutor(builder.threads, builder.queueCapacity, builder.virtualThreads);
+
+		this.server = HttpServer.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/transliterate", this.guard(this::handleTransliterate));
+		this.server.createContext("/schemas", this.guard(this::handleSchemas));
+		this.server.createContext("/stats", this.guard(this::handleStats));
+	}
+
+	/**
+	 * Start this server.
+	 *
+	 * @return	this server
+	 */
+	public IuliiaServer start() {
+		this.server.start();
+		return this;
+	}
+
+	/**
+	 * Get this server bound address.
+	 *
+	 * @return	bound address
+	 */
+	public InetSocketAddress getAddress() {
+		return this.server.getAddress();
+	}
+
+	/**
+	 * Get this server stats.
+	 *
+	 * @return	stats
+	 */
+	public IuliiaServerStats getStats() {
+		return this.stats;
+	}
+
+	/**
+	 * Stop this server, waiting up to a second for the exchanges in progress.
+	 */
+	@Override
+	public void close() {
+		this.server.stop(1);
+		this.executor.shutdown();
+	}
+
+	/**
+	 * Wrap the provided handler to answer the exchanges rejected by the worker pool
+	 * w/ {@code 503 Service Unavailable} instead.
+	 *
+	 * @param handler	handler to wrap
+	 * @return			wrapped handler
+	 */
+	private HttpHandler guard(HttpHandler handler) {
+		return exchange -> {
+			if (REJECTED.get() == null) {
+				handler.handle(exchange);
+				return;
+			}
+
+			try {
+				exchange.getResponseHeaders()
+						.set("Retry-After", "1");
+
+				this.sendError(exchange, 503, "Server is overloaded");
+			} finally {
+				exchange.close();
+			}
+		};
+	}
+
+	/**
+	 * Handle a {@code /transliterate} request.
+	 *
+	 * @param exchange	HTTP exchange
+	 *
+	 * @throws IOException	if the exchange fails
+	 */
+	private void handleTransliterate(HttpExchange exchange) throws IOException {
+		long start = System.nanoTime();
+
+		try {
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				this.sendError(exchange, 405, "Method not allowed");
+				return;
+			}
+
+			String schemaName = null;
+			List<String> texts = null;
+
+			try (JsonReader reader = new JsonReader(new InputStreamReader(
+					new LimitedInputStream(exchange.getRequestBody(), this.maxRequestLength), StandardCharsets.UTF_8))) {
+				reader.beginObject();
+
+				while (reader.hasNext()) {
+					String name = reader.nextName();
+
+					if ("schema".equals(name)) {
+						schemaName = reader.nextString();
+					} else if ("texts".equals(name)) {
+						texts = readTexts(reader);
+					} else if ("text".equals(name)) {
+						texts = Collections.singletonList(reader.nextString());
+					} else {
+						reader.skipValue();
+					}
+				}
+
+				reader.endObject();
+			} catch (LimitedInputStream.LimitExceededException e) {
+				this.sendError(exchange, 413, e.getMessage());
+				return;
+			} catch (JsonParseException | IOException | IllegalStateException e) {
+				this.sendError(exchange, 400, "Malformed request: " + e.getMessage());
+				return;
+			}
+
+			if (schemaName == null || texts == null) {
+				this.sendError(exchange, 400, "Both schema and texts must be provided");
+				return;
+			}
+
+			IuliiaTransliterator transliterator = this.transliterators.get(schemaName.toLowerCase(Locale.ROOT));
+			if (transliterator == null) {
+				this.sendError(exchange, 404, "Unknown schema: " + schemaName);
+				return;
+			}
+
+			int chars = 0;
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + texts.size() * 32);
+			try (JsonWriter writer = newJsonWriter(bytes)) {
+				writer.beginObject();
+				writer.name("results");
+				writer.beginArray();
+
+				for (String text : texts) {
+					if (text == null) {
+						writer.nullValue();
+						continue;
+					}
+
+					chars += text.length();
+					writer.value(transliterator.transliterate(text));
+				}
+
+				writer.endArray();
+				writer.endObject();
+			}
+
+			this.send(exchange, 200, bytes);
+			this.stats.recordRequest(texts.size(), chars, System.nanoTime() - start);
+		} catch (RuntimeException e) {
+			this.sendError(exchange, 500, "Internal error");
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Handle a {@code /schemas} request.
+	 *
+	 * @param exchange	HTTP exchange
+	 *
+	 * @throws IOException	if the exchange fails
+	 */
+	private void handleSchemas(HttpExchange exchange) throws IOException {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+			try (JsonWriter writer = newJsonWriter(bytes)) {
+				writer.beginArray();
+
+				for (String name : this.schemaNames) {
+					writer.value(name);
+				}
+
+				writer.endArray();
+			}
+
+			this.send(exchange, 200, bytes);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Handle a {@code /stats} request.
+	 *
+	 * @param exchange	HTTP exchange
+	 *
+	 * @throws IOException	if the exchange fails
+	 */
+	private void handleStats(HttpExchange exchange) throws IOException {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+			try (JsonWriter writer = newJsonWriter(bytes)) {
+				this.stats.writeTo(writer);
+			}
+
+			this.send(exchange, 200, bytes);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Send an error response.
+	 *
+	 * @param exchange	HTTP exchange
+	 * @param status	HTTP status code
+	 * @param message	error message
+	 *
+	 * @throws IOException	if the exchange fails
+	 */
+	private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		this.stats.recordError();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (JsonWriter writer = newJsonWriter(bytes)) {
+			writer.beginObject();
+			writer.name("error").value(message);
+			writer.endObject();
+		}
+
+		this.send(exchange, status, bytes);
+	}
+
+	/**
+	 * Send a JSON response.
+	 *
+	 * @param exchange	HTTP exchange
+	 * @param status	HTTP status code
+	 * @param bytes		response body
+	 *
+	 * @throws IOException	if the exchange fails
+	 */
+	private void send(HttpExchange exchange, int status, ByteArrayOutputStream bytes) throws IOException {
+		exchange.getResponseHeaders()
+				.set("Content-Type", JSON_CONTENT_TYPE);
+
+		exchange.sendResponseHeaders(status, bytes.size());
+
+		try (OutputStream out = exchange.getResponseBody()) {
+			bytes.writeTo(out);
+		}
+	}
+
+	/**
+	 * Read a text array.
+	 *
+	 * @param reader	JSON reader positioned at the array
+	 * @return			text list, w/ {@code null} for JSON nulls
+	 *
+	 * @throws IOException	if the array cannot be read
+	 */
+	private static List<String> readTexts(JsonReader reader) throws IOException {
+		List<String> texts = new ArrayList<>();
+
+		reader.beginArray();
+
+		while (reader.hasNext()) {
+			if (reader.peek() == JsonToken.NULL) {
+				reader.nextNull();
+				texts.add(null);
+			} else {
+				texts.add(reader.nextString());
+			}
+		}
+
+		reader.endArray();
+
+		return texts;
+	}
+
+	/**
+	 * Create a new JSON writer.
+	 *
+	 * @param bytes		output to write to
+	 * @return			JSON writer
+	 */
+	private static JsonWriter newJsonWriter(ByteArrayOutputStream bytes) {
+		Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+
+		JsonWriter jsonWriter = new JsonWriter(writer);
+		jsonWriter.setHtmlSafe(false);
+
+		return jsonWriter;
+	}
+
+	/**
+	 * Create a request executor.
+	 *
+	 * @param threads			worker thread count
+	 * @param queueCapacity		pending request queue capacity
+	 * @param virtualThreads	whether to use virtual threads if available
+	 * @return					request executor
+	 */
+	private static ExecutorService createExecutor(int threads, int queueCapacity, boolean virtualThreads) {
+		if (virtualThreads) {
+			try {
+				return (ExecutorService) Executors.class
+						.getMethod("newVirtualThreadPerTaskExecutor")
+						.invoke(null);
+			} catch (ReflectiveOperationException ignored) {
+				// not available on this runtime, fall back to the bounded pool
+			}
+		}
+
+		AtomicInteger count = new AtomicInteger();
+
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "IuliiaServer-" + count.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		};
+
+		return new ThreadPoolExecutor(
+				threads,
+				threads,
+				0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				threadFactory,
+				IuliiaServer::reject
+		);
+	}
+
+	/**
+	 * Run the provided rejected exchange on the accepting thread
+	 * to be answered w/ {@code 503 Service Unavailable}, see {@link #guard(HttpHandler)}.
+	 *
+	 * @param runnable	rejected exchange
+	 * @param executor	rejecting executor
+	 */
+	private static void reject(Runnable runnable, ThreadPoolExecutor executor) {
+		REJECTED.set(Boolean.TRUE);
+
+		try {
+			runnable.run();
+		} finally {
+			REJECTED.remove();
+		}
+	}
+
+	/**
+	 * Create a new server builder.
+	 *
+	 * @return	server builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Run a server until the process is terminated.
+	 *
+	 * <p>Accepts an optional port and an optional {@code --virtual-threads} flag,
+	 * disables Nagle's algorithm unless the {@code sun.net.httpserver.nodelay} property is set.
+	 *
+	 * @param args	command line arguments
+	 *
+	 * @throws IOException	if the server socket cannot be bound
+	 */
+	public static void main(String[] args) throws IOException {
+		if (System.getProperty(NODELAY_PROPERTY) == null) {
+			System.setProperty(NODELAY_PROPERTY, "true");
+		}
+
+		Builder builder = builder();
+
+		for (String arg : args) {
+			if ("--virtual-threads".equals(arg)) {
+				builder.setVirtualThreads(true);
+			} else {
+				builder.setPort(Integer.parseInt(arg));
+			}
+		}
+
+		IuliiaServer server = builder.build()
+				.start();
+
+		Runtime.getRuntime()
+				.addShutdownHook(new Thread(server::close));
+
+		LOGGER.info("Listening on " + server.getAddress());
+	}
+
+	/**
+	 * A server builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A host to bind to.
+		 */
+		private String host;
+
+		/**
+		 * A port to bind to.
+		 */
+		private int port;
+
+		/**
+		 * A socket backlog.
+		 */
+		private int backlog;
+
+		/**
+		 * A worker thread count.
+		 */
+		private int threads;
+
+		/**
+		 * A pending request queue capacity.
+		 */
+		private int queueCapacity;
+
+		/**
+		 * A maximum request body length.
+		 */
+		private int maxRequestLength;
+
+		/**
+		 * Whether to use virtual threads if available.
+		 */
+		private boolean virtualThreads;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 */
+		private Builder() {
+			this.host = "127.0.0.1";
+			this.port = DEFAULT_PORT;
+			this.backlog = 1024;
+			this.threads = Runtime.getRuntime().availableProcessors();
+			this.queueCapacity = 4096;
+			this.maxRequestLength = DEFAULT_MAX_REQUEST_LENGTH;
+		}
+
+		/**
+		 * Set the host to bind to.
+		 *
+		 * <p>Default to the loopback address.
+		 *
+		 * @param host	host to bind to
+		 * @return		this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided host is {@code null}
+		 */
+		public Builder setHost(String host) {
+			if (host == null) {
+				throw new IllegalArgumentException("Host mustn't be <null>");
+			}
+
+			this.host = host;
+			return this;
+		}
+
+		/**
+		 * Set the port to bind to.
+		 *
+		 * <p>Default to {@link #DEFAULT_PORT}, {@code 0} picks an ephemeral port.
+		 *
+		 * @param port	port to bind to
+		 * @return		this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided port is out of range
+		 */
+		public Builder setPort(int port) {
+			if (port < 0 || port > 0xFFFF) {
+				throw new IllegalArgumentException("Port must be in range [0, 65535]");
+			}
+
+			this.port = port;
+			return this;
+		}
+
+		/**
+		 * Set the socket backlog.
+		 *
+		 * @param backlog	socket backlog, system default if not positive
+		 * @return			this builder
+		 */
+		public Builder setBacklog(int backlog) {
+			this.backlog = backlog;
+			return this;
+		}
+
+		/**
+		 * Set the worker thread count.
+		 *
+		 * <p>Default to the available processor count.
+		 *
+		 * @param threads	worker thread count
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided count is not positive
+		 */
+		public Builder setThreads(int threads) {
+			if (threads <= 0) {
+				throw new IllegalArgumentException("Thread count must be positive");
+			}
+
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * Set the pending request queue capacity,
+		 * overflowing requests are answered w/ {@code 503 Service Unavailable}.
+		 *
+		 * @param queueCapacity		pending request queue capacity
+		 * @return					this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided capacity is not positive
+		 */
+		public Builder setQueueCapacity(int queueCapacity) {
+			if (queueCapacity <= 0) {
+				throw new IllegalArgumentException("Queue capacity must be positive");
+			}
+
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Set the maximum request body length,
+		 * longer requests are answered w/ {@code 413 Payload Too Large}.
+		 *
+		 * <p>Default to {@link #DEFAULT_MAX_REQUEST_LENGTH}.
+		 *
+		 * @param maxRequestLength	maximum request body length
+		 * @return					this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided length is not positive
+		 */
+		public Builder setMaxRequestLength(int maxRequestLength) {
+			if (maxRequestLength <= 0) {
+				throw new IllegalArgumentException("Maximum request length must be positive");
+			}
+
+			this.maxRequestLength = maxRequestLength;
+			return this;
+		}
+
+		/**
+		 * Set whether to handle requests by virtual threads if the runtime has them,
+		 * instead of the bounded worker pool.
+		 *
+		 * @param virtualThreads	boolean value
+		 * @return					this builder
+		 */
+		public Builder setVirtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+			return this;
+		}
+
+		/**
+		 * Build a new server, bound but not started yet.
+		 *
+		 * @return	server
+		 *
+		 * @throws IOException	if the server socket cannot be bound
+		 */
+		public IuliiaServer build() throws IOException {
+			return new IuliiaServer(this);
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package io.github.anominy.uwiuliia.server;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A transliteration server stats recorder.
+ *
+ * <p>Records throughput counters and a latency histogram w/ power of two microsecond buckets,
+ * w/o locking on the request path.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaServerStats {
+
+	/**
+	 * A latency histogram bucket count, the last one holds everything above.
+	 */
+	private static final int BUCKET_COUNT = 32;
+
+	/**
+	 * A start time in nanoseconds.
+	 */
+	private final long startNanos;
+
+	/**
+	 * A successful request count.
+	 */
+	private final LongAdder requests;
+
+	/**
+	 * A failed request count.
+	 */
+	private final LongAdder errors;
+
+	/**
+	 * A transliterated text count.
+	 */
+	private final LongAdder texts;
+
+	/**
+	 * A transliterated character count.
+	 */
+	private final LongAdder chars;
+
+	/**
+	 * A total successful request latency in nanoseconds.
+	 */
+	private final LongAdder latencyNanos;
+
+	/**
+	 * A latency histogram, the bucket {@code i} counts latencies below {@code 2^i} microseconds.
+	 */
+	private final AtomicLongArray latencyBuckets;
+
+	/**
+	 * Initialize an {@link IuliiaServerStats} instance.
+	 */
+	IuliiaServerStats() {
+		this.startNanos = System.nanoTime();
+		this.requests = new LongAdder();
+		this.errors = new LongAdder();
+		this.texts = new LongAdder();
+		this.chars = new LongAdder();
+		this.latencyNanos = new LongAdder();
+		this.latencyBuckets = new AtomicLongArray(BUCKET_COUNT);
+	}
+
+	/**
+	 * Record a successful request.
+	 *
+	 * @param texts			transliterated text count
+	 * @param chars			transliterated character count
+	 * @param latencyNanos	request latency in nanoseconds
+	 */
+	void recordRequest(int texts, int chars, long latencyNanos) {
+		this.requests.increment();
+		this.texts.add(texts);
+		this.chars.add(chars);
+		this.latencyNanos.add(latencyNanos);
+
+		long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+		int bucket = Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(micros));
+
+		this.latencyBuckets.incrementAndGet(bucket);
+	}
+
+	/**
+	 * Record a failed request.
+	 */
+	void recordError() {
+		this.errors.increment();
+	}
+
+	/**
+	 * Get a successful request count.
+	 *
+	 * @return	successful request count
+	 */
+	public long getRequests() {
+		return this.requests.sum();
+	}
+
+	/**
+	 * Get a failed request count.
+	 *
+	 * @return	failed request count
+	 */
+	public long getErrors() {
+		return this.errors.sum();
+	}
+
+	/**
+	 * Get a transliterated text count.
+	 *
+	 * @return	transliterated text count
+	 */
+	public long getTexts() {
+		return this.texts.sum();
+	}
+
+	/**
+	 * Get a transliterated character count.
+	 *
+	 * @return	transliterated character count
+	 */
+	public long getChars() {
+		return this.chars.sum();
+	}
+
+	/**
+	 * Get an uptime in seconds.
+	 *
+	 * @return	uptime in seconds
+	 */
+	public double getUptimeSeconds() {
+		return (System.nanoTime() - this.startNanos) / 1e9;
+	}
+
+	/**
+	 * Get an average successful request throughput since start.
+	 *
+	 * @return	requests per second
+	 */
+	public double getRequestsPerSecond() {
+		return this.getRequests() / Math.max(1e-9, this.getUptimeSeconds());
+	}
+
+	/**
+	 * Get an average successful request latency.
+	 *
+	 * @return	average latency in microseconds
+	 */
+	public double getMeanLatencyMicros() {
+		long requests = this.getRequests();
+
+		if (requests == 0) {
+			return 0;
+		}
+
+		return this.latencyNanos.sum() / 1e3 / requests;
+	}
+
+	/**
+	 * Get an upper bound of the provided successful request latency percentile.
+	 *
+	 * @param percentile	percentile in range {@code (0, 100]}
+	 * @return				latency upper bound in microseconds, power of two
+	 *
+	 * @throws IllegalArgumentException		if the provided percentile is out of range
+	 */
+	public long getLatencyPercentileMicros(double percentile) {
+		if (!(percentile > 0 && percentile <= 100)) {
+			throw new IllegalArgumentException("Percentile must be in range (0, 100]");
+		}
+
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			total += counts[i] = this.latencyBuckets.get(i);
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(total * percentile / 100);
+		long seen = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+
+			if (seen >= rank) {
+				return 1L << i;
+			}
+		}
+
+		return 1L << (BUCKET_COUNT - 1);
+	}
+
+	/**
+	 * Write these stats as a JSON object.
+	 *
+	 * @param writer	JSON writer to write to
+	 *
+	 * @throws IOException	if the stats cannot be written
+	 */
+	void writeTo(JsonWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("uptimeSeconds").value(this.getUptimeSeconds());
+		writer.name("requests").value(this.getRequests());
+		writer.name("errors").value(this.getErrors());
+		writer.name("texts").value(this.getTexts());
+		writer.name("chars").value(this.getChars());
+		writer.name("requestsPerSecond").value(this.getRequestsPerSecond());
+		writer.name("meanLatencyMicros").value(this.getMeanLatencyMicros());
+		writer.name("p50LatencyMicros").value(this.getLatencyPercentileMicros(50));
+		writer.name("p90LatencyMicros").value(this.getLatencyPercentileMicros(90));
+		writer.name("p99LatencyMicros").value(this.getLatencyPercentileMicros(99));
+		writer.endObject();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "["
+				+ "requests=" + this.getRequests()
+				+ ", errors=" + this.getErrors()
+				+ ", texts=" + this.getTexts()
+				+ ", requestsPerSecond=" + String.format("%.1f", this.getRequestsPerSecond())
+				+ ", meanLatencyMicros=" + String.format("%.1f", this.getMeanLatencyMicros())
+				+ ", p99LatencyMicros=" + this.getLatencyPercentileMicros(99)
+				+ "]";
+	}
+}
@@ -0,0 +1,88 @@
+package io.github.anominy.uwiuliia.server;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that fails once more than a given number of bytes is read.
+ */
+final class LimitedInputStream extends FilterInputStream {
+
+	/**
+	 * A number of bytes left to read.
+	 */
+	private long remaining;
+
+	/**
+	 * Initialize a {@link LimitedInputStream} instance.
+	 *
+	 * @param in		input stream to read from
+	 * @param limit		maximum number of bytes to read
+	 */
+	LimitedInputStream(InputStream in, long limit) {
+		super(in);
+		this.remaining = limit;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException {
+		int b = super.read();
+
+		if (b >= 0) {
+			this.consume(1);
+		}
+
+		return b;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int n = super.read(b, off, len);
+
+		if (n > 0) {
+			this.consume(n);
+		}
+
+		return n;
+	}
+
+	/**
+	 * Account for the provided number of bytes read.
+	 *
+	 * @param n		number of bytes read
+	 *
+	 * @throws LimitExceededException	if the limit has been exceeded
+	 */
+	private void consume(long n) throws IOException {
+		this.remaining -= n;
+
+		if (this.remaining < 0) {
+			throw new LimitExceededException();
+		}
+	}
+
+	/**
+	 * An exception thrown once the limit has been exceeded.
+	 */
+	static final class LimitExceededException extends IOException {
+
+		/**
+		 * A serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Initialize a {@link LimitExceededException} instance.
+		 */
+		LimitExceededException() {
+			super("Request body is too large");
+		}
+	}
+}
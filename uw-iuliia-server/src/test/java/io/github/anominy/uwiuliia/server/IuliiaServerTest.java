@@ -0,0 +1,301 @@
+package io.github.anominy.uwiuliia.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaServer}.
+ */
+class IuliiaServerTest {
+
+	/**
+	 * A host to connect to.
+	 */
+	private static final String HOST = "127.0.0.1";
+
+	/**
+	 * A timeout to wait for a response for, in milliseconds.
+	 */
+	private static final int TIMEOUT_MILLIS = 30_000;
+
+	/**
+	 * A timeout to wait for a response of a request, that may never be answered, for, in milliseconds.
+	 */
+	private static final int PENDING_TIMEOUT_MILLIS = 2_000;
+
+	@Test
+	void transliteratesTexts() throws Exception {
+		try (IuliiaServer server = start(IuliiaServer.builder())) {
+			Response response = request(server, "POST", "/transliterate",
+					"{\"schema\": \"wikipedia\", \"texts\": [\"Юлия\", null, \"Москва\"]}");
+
+			assertEquals(200, response.status);
+			assertEquals("{\"results\":[\"Yuliya\",null,\"Moskva\"]}", response.body);
+
+			response = request(server, "POST", "/transliterate",
+					"{\"schema\": \"WIKIPEDIA\", \"text\": \"Юлия\", \"unknown\": [1, 2]}");
+
+			assertEquals(200, response.status);
+			assertEquals("{\"results\":[\"Yuliya\"]}", response.body);
+
+			response = request(server, "GET", "/schemas", null);
+
+			assertEquals(200, response.status);
+			assertTrue(response.body.contains("\"wikipedia\""), response.body);
+
+			assertEquals(2, server.getStats().getRequests());
+			assertEquals(0, server.getStats().getErrors());
+
+			response = request(server, "GET", "/stats", null);
+
+			assertEquals(200, response.status);
+			assertTrue(response.body.startsWith("{"), response.body);
+		}
+	}
+
+	@Test
+	void rejectsInvalidRequests() throws Exception {
+		try (IuliiaServer server = start(IuliiaServer.builder().setMaxRequestLength(1024))) {
+			assertEquals(400, request(server, "POST", "/transliterate", "{\"schema\": ").status);
+			assertEquals(400, request(server, "POST", "/transliterate", "[]").status);
+			assertEquals(400, request(server, "POST", "/transliterate", "{\"schema\": \"wikipedia\"}").status);
+
+			Response response = request(server, "POST", "/transliterate", "{\"schema\": \"unknown\", \"text\": \"Юлия\"}");
+
+			assertEquals(404, response.status);
+			assertEquals("{\"error\":\"Unknown schema: unknown\"}", response.body);
+
+			assertEquals(405, request(server, "GET", "/transliterate", null).status);
+
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < 1024; i++) {
+				text.append('ж');
+			}
+
+			response = request(server, "POST", "/transliterate", "{\"schema\": \"wikipedia\", \"text\": \"" + text + "\"}");
+
+			assertEquals(413, response.status);
+			assertNull(response.retryAfter);
+
+			assertEquals(0, server.getStats().getRequests());
+			assertEquals(6, server.getStats().getErrors());
+		}
+	}
+
+	@Test
+	void rejectsOverflowingRequests() throws Exception {
+		try (IuliiaServer server = start(IuliiaServer.builder().setThreads(1).setQueueCapacity(1))) {
+			List<Socket> sockets = new ArrayList<>();
+
+			try {
+				// requests w/ incomplete bodies occupy the only worker and queue slot until closed
+				for (int i = 0; i < 3; i++) {
+					Socket socket = new Socket(HOST, server.getAddress().getPort());
+					socket.setSoTimeout(PENDING_TIMEOUT_MILLIS);
+					sockets.add(socket);
+
+					OutputStream out = socket.getOutputStream();
+					out.write(("POST /transliterate HTTP/1.1\r\n"
+							+ "Host: " + HOST + "\r\n"
+							+ "Content-Length: 1024\r\n"
+							+ "\r\n"
+							+ "{\"schema\": ").getBytes(StandardCharsets.US_ASCII));
+					out.flush();
+				}
+
+				int rejected = 0;
+
+				for (Socket socket : sockets) {
+					String head = readHead(socket);
+
+					// still waiting for its body
+					if (head == null) {
+						continue;
+					}
+
+					assertTrue(head.startsWith("HTTP/1.1 503"), head);
+					assertTrue(head.toLowerCase(Locale.ROOT).contains("\r\nretry-after: 1\r\n"), head);
+
+					rejected++;
+				}
+
+				assertTrue(rejected > 0);
+			} finally {
+				for (Socket socket : sockets) {
+					socket.close();
+				}
+			}
+
+			long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			Response response;
+
+			// serves again once the incomplete requests are gone
+			while ((response = request(server, "GET", "/schemas", null)).status == 503) {
+				assertEquals("1", response.retryAfter);
+				assertTrue(System.currentTimeMillis() < deadline, "still overloaded");
+
+				Thread.sleep(10);
+			}
+
+			assertEquals(200, response.status);
+		}
+	}
+
+	/**
+	 * Start a server on an ephemeral port.
+	 *
+	 * @param builder	server builder
+	 * @return			started server
+	 *
+	 * @throws IOException	if the server socket cannot be bound
+	 */
+	private static IuliiaServer start(IuliiaServer.Builder builder) throws IOException {
+		return builder.setHost(HOST)
+				.setPort(0)
+				.build()
+				.start();
+	}
+
+	/**
+	 * Send a request to the provided server.
+	 *
+	 * @param server	server to send to
+	 * @param method	HTTP method
+	 * @param path		request path
+	 * @param body		request body or {@code null}
+	 * @return			response
+	 *
+	 * @throws IOException	if the request fails
+	 */
+	private static Response request(IuliiaServer server, String method, String path, String body) throws IOException {
+		URL url = new URL("http", HOST, server.getAddress().getPort(), path);
+
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setConnectTimeout(TIMEOUT_MILLIS);
+		connection.setReadTimeout(TIMEOUT_MILLIS);
+		connection.setRequestMethod(method);
+
+		try {
+			if (body != null) {
+				byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+				connection.setDoOutput(true);
+				connection.setFixedLengthStreamingMode(bytes.length);
+
+				try (OutputStream out = connection.getOutputStream()) {
+					out.write(bytes);
+				}
+			}
+
+			int status = connection.getResponseCode();
+
+			try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+				return new Response(status, connection.getHeaderField("Retry-After"), read(in));
+			}
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	/**
+	 * Read the provided input stream fully as a UTF-8 string.
+	 *
+	 * @param in	input stream to read
+	 * @return		read string
+	 *
+	 * @throws IOException	if the input stream cannot be read
+	 */
+	private static String read(InputStream in) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+
+		for (int n; (n = in.read(buffer)) > 0; ) {
+			bytes.write(buffer, 0, n);
+		}
+
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Read the response status line and headers from the provided socket.
+	 *
+	 * @param socket	socket to read from
+	 * @return			response head or {@code null} if not answered in time
+	 *
+	 * @throws IOException	if the socket cannot be read
+	 */
+	private static String readHead(Socket socket) throws IOException {
+		InputStream in = socket.getInputStream();
+		StringBuilder head = new StringBuilder();
+
+		try {
+			for (int b; (b = in.read()) >= 0; ) {
+				head.append((char) b);
+
+				if (head.length() >= 4 && head.lastIndexOf("\r\n\r\n") == head.length() - 4) {
+					return head.toString();
+				}
+			}
+		} catch (SocketTimeoutException e) {
+			if (head.length() == 0) {
+				return null;
+			}
+
+			throw e;
+		}
+
+		return head.length() > 0
+				? head.toString()
+				: null;
+	}
+
+	/**
+	 * An HTTP response.
+	 */
+	private static final class Response {
+
+		/**
+		 * A status code.
+		 */
+		private final int status;
+
+		/**
+		 * A {@code Retry-After} header value or {@code null}.
+		 */
+		private final String retryAfter;
+
+		/**
+		 * A body.
+		 */
+		private final String body;
+
+		/**
+		 * Initialize a {@link Response} instance.
+		 *
+		 * @param status		status code
+		 * @param retryAfter	{@code Retry-After} header value or {@code null}
+		 * @param body			body
+		 */
+		private Response(int status, String retryAfter, String body) {
+			this.status = status;
+			this.retryAfter = retryAfter;
+			this.body = body;
+		}
+	}
+}
@@ -7,7 +7,7 @@ import com.google.gson.JsonParseException;
 import io.github.anominy.uwutils.UwMap;
 
 import java.lang.reflect.Type;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
@@ -28,21 +28,39 @@ abstract class AbstractLetterMapJsonDeserializer implements JsonDeserializer<Map
 	 */
 	@Override
 	public final Map<String, String> deserialize(JsonElement json, Type type, JsonDeserializationContext context) throws JsonParseException {
-		Map<String, String> map = context.deserialize(json, ConcurrentMap.class);
+		Map<String, String> rules = context.deserialize(json, ConcurrentMap.class);
 
-		if (map == null) {
+		if (rules == null) {
 			return UwMap.EMPTY;
 		}
 
-		extendLetterMap(map);
+		return this.extend(rules);
+	}
+
+	/**
+	 * Copy provided letter-map and extend it w/ a custom rule-set.
+	 *
+	 * <p>Produces the same letter-map as deserializing the provided one would.
+	 *
+	 * @param map	letter-map to copy
+	 * @return		extended compact letter-map
+	 */
+	final Map<String, String> extend(Map<String, String> map) {
+		Map<String, String> copy = new HashMap<>(map);
 
-		return Collections.unmodifiableMap(map);
+		extendLetterMap(map, copy);
+
+		return IuliiaLetterMap.of(copy);
 	}
 
 	/**
 	 * Extend provided letter-map w/ a custom rule-set.
 	 *
-	 * @param map	letter-map
+	 * <p>Reads the rules from the source letter-map and puts the derived ones into the target,
+	 * so that no map is modified while being iterated over.
+	 *
+	 * @param rules		source letter-map
+	 * @param map		target letter-map, initially a copy of the source one
 	 */
-	protected abstract void extendLetterMap(Map<String, String> map);
+	protected abstract void extendLetterMap(Map<String, String> rules, Map<String, String> map);
 }
@@ -0,0 +1,26 @@
+package io.github.anominy.uwiuliia;
+
+/**
+ * An enum type to enumerate letter case handling modes.
+ */
+@SuppressWarnings("unused")
+public enum EIuliiaCaseMode {
+
+	/**
+	 * Look up the capitalized and upper case letter-map entries
+	 * extended from the lower case rules, i.e. the {@link Iuliia} default.
+	 *
+	 * <p>Upper case letters are transliterated capitalized,
+	 * even inside of upper case words.
+	 */
+	EXPAND,
+
+	/**
+	 * Look up the lower case rules only and apply the source letter case
+	 * to the transliterated letters while writing them.
+	 *
+	 * <p>Upper case letters are transliterated capitalized,
+	 * or upper case if the whole word is upper case.
+	 */
+	FOLD
+}
@@ -0,0 +1,30 @@
+package io.github.anominy.uwiuliia;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * A whole-word exception map deserializer.
+ */
+@SuppressWarnings({"unchecked", "unused"})
+final class ExceptionMapJsonDeserializer implements JsonDeserializer<Map<String, String>> {
+
+	/**
+	 * Initialize an {@link ExceptionMapJsonDeserializer} instance.
+	 */
+	public ExceptionMapJsonDeserializer() {
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, String> deserialize(JsonElement json, Type type, JsonDeserializationContext context) throws JsonParseException {
+		return IuliiaExceptionMap.of(context.deserialize(json, Map.class));
+	}
+}
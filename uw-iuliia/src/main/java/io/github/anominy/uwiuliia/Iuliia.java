@@ -127,6 +127,124 @@ public final class Iuliia {
 		return transliterate(text, null, schemaType);
 	}
 
+	/**
+	 * Transliterate text using provided word separator, mapping-schema and letter case handling mode.
+	 *
+	 * <p>The {@link EIuliiaCaseMode#EXPAND} mode is the same as
+	 * {@link Iuliia#transliterate(String, String, IuliiaSchema)}.
+	 *
+	 * @param text			text to transliterate
+	 * @param separator		word separator, default to {@link #DEFAULT_SEPARATOR} if {@code null}
+	 * @param schema		transliteration schema
+	 * @param caseMode		letter case handling mode, default to {@link EIuliiaCaseMode#EXPAND} if {@code null}
+	 * @return				transliterated text or the same string
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static String transliterate(String text, String separator, IuliiaSchema schema, EIuliiaCaseMode caseMode) {
+		if (caseMode != EIuliiaCaseMode.FOLD) {
+			return transliterate(text, separator, schema);
+		}
+
+		if (text == null || text.isEmpty()) {
+			return text;
+		}
+
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		return schema.getFoldedTransliterator(separator)
+				.transliterate(text);
+	}
+
+	/**
+	 * Transliterate text using provided word separator, mapping-schema and letter case handling mode.
+	 *
+	 * <p>Wraps {@link Iuliia#transliterate(String, String, IuliiaSchema, EIuliiaCaseMode)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param text			text to transliterate
+	 * @param separator		word separator
+	 * @param schemaPath	path to the transliteration schema file
+	 * @param caseMode		letter case handling mode
+	 * @return				transliterated text
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static String transliterate(String text, String separator, String schemaPath, EIuliiaCaseMode caseMode) {
+		return transliterate(text, separator, IuliiaSchema.fromFilePath(schemaPath), caseMode);
+	}
+
+	/**
+	 * Transliterate text using provided word separator, mapping-schema and letter case handling mode.
+	 *
+	 * <p>Wraps {@link Iuliia#transliterate(String, String, String, EIuliiaCaseMode)}
+	 * w/ {@link EIuliiaSchema#getFilePath()} as the path to the transliteration schema file.
+	 *
+	 * @param text			text to transliterate
+	 * @param separator		word separator
+	 * @param schemaType	transliteration schema enum type
+	 * @param caseMode		letter case handling mode
+	 * @return				transliterated text
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static String transliterate(String text, String separator, EIuliiaSchema schemaType, EIuliiaCaseMode caseMode) {
+		return transliterate(text, separator, IuliiaSchema.fromEnumType(schemaType), caseMode);
+	}
+
+	/**
+	 * Transliterate text using provided mapping-schema and letter case handling mode.
+	 *
+	 * <p>Wraps {@link Iuliia#transliterate(String, String, IuliiaSchema, EIuliiaCaseMode)}
+	 * w/ {@code null} as the word separator.
+	 *
+	 * @param text		text to transliterate
+	 * @param schema	transliteration schema
+	 * @param caseMode	letter case handling mode
+	 * @return			transliterated text
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static String transliterate(String text, IuliiaSchema schema, EIuliiaCaseMode caseMode) {
+		return transliterate(text, null, schema, caseMode);
+	}
+
+	/**
+	 * Transliterate text using provided mapping-schema and letter case handling mode.
+	 *
+	 * <p>Wraps {@link Iuliia#transliterate(String, String, String, EIuliiaCaseMode)}
+	 * w/ {@code null} as the word separator.
+	 *
+	 * @param text			text to transliterate
+	 * @param schemaPath	path to the transliteration schema file
+	 * @param caseMode		letter case handling mode
+	 * @return				transliterated text
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static String transliterate(String text, String schemaPath, EIuliiaCaseMode caseMode) {
+		return transliterate(text, null, schemaPath, caseMode);
+	}
+
+	/**
+	 * Transliterate text using provided mapping-schema and letter case handling mode.
+	 *
+	 * <p>Wraps {@link Iuliia#transliterate(String, String, EIuliiaSchema, EIuliiaCaseMode)}
+	 * w/ {@code null} as the word separator.
+	 *
+	 * @param text			text to transliterate
+	 * @param schemaType	transliteration schema enum type
+	 * @param caseMode		letter case handling mode
+	 * @return				transliterated text
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static String transliterate(String text, EIuliiaSchema schemaType, EIuliiaCaseMode caseMode) {
+		return transliterate(text, null, schemaType, caseMode);
+	}
+
 
 	/**
 	 * Transliterate word using provided mapping-schema.
@@ -157,7 +275,8 @@ public final class Iuliia {
 	 * Transliterate string-word using provided mapping-schema.
 	 *
 	 * <p>Wraps {@link Iuliia#transliterateWord(IuliiaWord, IuliiaSchema)}
-	 * w/ {@link IuliiaWord#IuliiaWord(String)} as the word.
+	 * w/ {@link IuliiaWord#IuliiaWord(String)} as the word,
+	 * unless it is a whole-word exception of the mapping-schema.
 	 *
 	 * @param word		string-word to transliterate
 	 * @param schema	transliteration schema
@@ -165,7 +284,18 @@ public final class Iuliia {
 	 *
 	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
 	 */
-	private static String transliterateWord(String word, IuliiaSchema schema) {
+	static String transliterateWord(String word, IuliiaSchema schema) {
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		String exception = schema.getExceptions()
+				.transliterate(word);
+
+		if (exception != null) {
+			return exception;
+		}
+
 		return transliterateWord(new IuliiaWord(word), schema);
 	}
 
@@ -223,7 +353,7 @@ public final class Iuliia {
 	 *
 	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
 	 */
-	private static String transliterateLetter(Character prevChar, Character currChar, Character nextChar, IuliiaSchema schema) {
+	static String transliterateLetter(Character prevChar, Character currChar, Character nextChar, IuliiaSchema schema) {
 		if (schema == null) {
 			throw new IllegalArgumentException("Schema mustn't be <null>");
 		}
@@ -0,0 +1,1442 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A transliterated prefix autocomplete index.
+ *
+ * <p>Indexes the transliterations of dictionary entries under several mapping-schemas,
+ * so that entries can be looked up by a prefix typed according to any of them.
+ *
+ * <p>Transliteration variants are de-duplicated across mapping-schemas and entries,
+ * sorted and front-coded in blocks, each variant points back to its source entries.
+ * Entries are stored in a single character array, so that nothing is held per variant
+ * or per entry as a separate object.
+ *
+ * <p>Top-k lookups visit the variants in decreasing entry weight order
+ * by a best-first search over a block maximum weight tree,
+ * so that broad prefixes do not scan all of their variants.
+ *
+ * <p>Instances are immutable and can be shared freely across threads.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaAutocompleteIndex {
+
+	/**
+	 * A serialized form magic number.
+	 */
+	private static final int MAGIC = 0x49554C41;
+
+	/**
+	 * A serialized form version.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * A front-coded block size, in variants.
+	 */
+	private static final int BLOCK_SIZE = 16;
+
+	/**
+	 * An array serialization chunk size, in bytes.
+	 */
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * A maximum variant length, limited by the front coding.
+	 */
+	private static final int MAX_VARIANT_LENGTH = Character.MAX_VALUE;
+
+	/**
+	 * Whether entries are indexed and looked up in lower case.
+	 */
+	private final boolean lowerCase;
+
+	/**
+	 * Mapping-schema names, in the indexing order.
+	 */
+	private final List<String> schemaNames;
+
+	/**
+	 * Entry characters.
+	 */
+	private final char[] entryChars;
+
+	/**
+	 * Entry offsets into {@link #entryChars}, one more than the entry count.
+	 */
+	private final int[] entryOffsets;
+
+	/**
+	 * Entry weights.
+	 */
+	private final int[] entryWeights;
+
+	/**
+	 * A variant count.
+	 */
+	private final int variantCount;
+
+	/**
+	 * Front-coded variant characters.
+	 *
+	 * <p>Every block starts w/ a full variant, written as its length and characters,
+	 * followed by variants written as their shared prefix length w/ the previous one,
+	 * their suffix length and suffix characters.
+	 */
+	private final char[] variantChars;
+
+	/**
+	 * Block offsets into {@link #variantChars}, one more than the block count.
+	 */
+	private final int[] blockOffsets;
+
+	/**
+	 * Posting offsets into {@link #postings} by variant, one more than the variant count.
+	 */
+	private final int[] postingOffsets;
+
+	/**
+	 * Entry indexes of every variant, in decreasing weight order.
+	 */
+	private final int[] postings;
+
+	/**
+	 * A block maximum weight tree leaf count, power of two.
+	 */
+	private final int treeLeafCount;
+
+	/**
+	 * A block maximum weight tree, w/ the root at {@code 1}
+	 * and the block leaves starting at {@link #treeLeafCount}.
+	 */
+	private final int[] weightTree;
+
+	/**
+	 * Initialize an {@link IuliiaAutocompleteIndex} instance.
+	 *
+	 * @param lowerCase			whether entries are indexed and looked up in lower case
+	 * @param schemaNames		mapping-schema names
+	 * @param entryChars		entry characters
+	 * @param entryOffsets		entry offsets
+	 * @param entryWeights		entry weights
+	 * @param variantCount		variant count
+	 * @param variantChars		front-coded variant characters
+	 * @param blockOffsets		block offsets
+	 * @param postingOffsets	posting offsets
+	 * @param postings			postings
+	 */
+	private IuliiaAutocompleteIndex(
+			boolean lowerCase,
+			List<String> schemaNames,
+			char[] entryChars,
+			int[] entryOffsets,
+			int[] entryWeights,
+			int variantCount,
+			char[] variantChars,
+			int[] blockOffsets,
+			int[] postingOffsets,
+			int[] postings
+	) {
+		this.lowerCase = lowerCase;
+		this.schemaNames = Collections.unmodifiableList(schemaNames);
+		this.entryChars = entryChars;
+		this.entryOffsets = entryOffsets;
+		this.entryWeights = entryWeights;
+		this.variantCount = variantCount;
+		this.variantChars = variantChars;
+		this.blockOffsets = blockOffsets;
+		this.postingOffsets = postingOffsets;
+		this.postings = postings;
+
+		int blockCount = blockOffsets.length - 1;
+
+		this.treeLeafCount = Integer.highestOneBit(Math.max(1, blockCount - 1)) << 1;
+		this.weightTree = new int[this.treeLeafCount << 1];
+
+		Arrays.fill(this.weightTree, Integer.MIN_VALUE);
+
+		for (int i = 0; i < variantCount; i++) {
+			int leaf = this.treeLeafCount + i / BLOCK_SIZE;
+			this.weightTree[leaf] = Math.max(this.weightTree[leaf], this.getVariantWeight(i, 0));
+		}
+
+		for (int i = this.treeLeafCount - 1; i > 0; i--) {
+			this.weightTree[i] = Math.max(this.weightTree[i << 1], this.weightTree[(i << 1) | 1]);
+		}
+	}
+
+	/**
+	 * Check whether entries are indexed and looked up in lower case.
+	 *
+	 * @return	boolean value as a result
+	 */
+	public boolean isLowerCase() {
+		return this.lowerCase;
+	}
+
+	/**
+	 * Get the indexed mapping-schema names.
+	 *
+	 * @return	mapping-schema names, in the indexing order
+	 */
+	public List<String> getSchemaNames() {
+		return this.schemaNames;
+	}
+
+	/**
+	 * Get an entry count.
+	 *
+	 * @return	entry count
+	 */
+	public int getEntryCount() {
+		return this.entryWeights.length;
+	}
+
+	/**
+	 * Get a distinct transliteration variant count.
+	 *
+	 * @return	variant count
+	 */
+	public int getVariantCount() {
+		return this.variantCount;
+	}
+
+	/**
+	 * Get an entry by its index.
+	 *
+	 * @param index		entry index, in the insertion order
+	 * @return			entry
+	 *
+	 * @throws IndexOutOfBoundsException	if the provided index is out of range
+	 */
+	public String getEntry(int index) {
+		int start = this.entryOffsets[index];
+		return new String(this.entryChars, start, this.entryOffsets[index + 1] - start);
+	}
+
+	/**
+	 * Get an entry weight by its index.
+	 *
+	 * @param index		entry index, in the insertion order
+	 * @return			entry weight
+	 *
+	 * @throws IndexOutOfBoundsException	if the provided index is out of range
+	 */
+	public int getWeight(int index) {
+		return this.entryWeights[index];
+	}
+
+	/**
+	 * Look up the entries w/ any transliteration variant starting w/ the provided prefix.
+	 *
+	 * <p>Wraps {@link #searchIndexes(CharSequence, int)} w/ {@link #getEntry(int)}.
+	 *
+	 * @param prefix	transliterated prefix to look up
+	 * @param limit		maximum entry count
+	 * @return			entries, in decreasing weight order
+	 *
+	 * @throws IllegalArgumentException		if the provided prefix is {@code null} or limit is negative
+	 */
+	public List<String> search(CharSequence prefix, int limit) {
+		int[] indexes = this.searchIndexes(prefix, limit);
+		List<String> entries = new ArrayList<>(indexes.length);
+
+		for (int index : indexes) {
+			entries.add(this.getEntry(index));
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Look up the indexes of the entries w/ any transliteration variant starting w/ the provided prefix.
+	 *
+	 * <p>Entries of equal weight are ordered by their first matching variant,
+	 * i.e. lexicographically by transliteration.
+	 *
+	 * @param prefix	transliterated prefix to look up
+	 * @param limit		maximum entry count
+	 * @return			entry indexes, in decreasing weight order
+	 *
+	 * @throws IllegalArgumentException		if the provided prefix is {@code null} or limit is negative
+	 */
+	public int[] searchIndexes(CharSequence prefix, int limit) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("Prefix mustn't be <null>");
+		}
+
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit mustn't be negative");
+		}
+
+		if (this.lowerCase) {
+			prefix = toLowerCase(prefix);
+		}
+
+		Decoder decoder = new Decoder();
+
+		int start = this.findBound(prefix, false, decoder);
+		int end = this.findBound(prefix, true, decoder);
+
+		if (start >= end || limit == 0) {
+			return new int[0];
+		}
+
+		PriorityQueue<Candidate> queue = new PriorityQueue<>();
+		this.addRange(queue, start, end);
+
+		Set<Integer> seen = new HashSet<>();
+		int[] result = new int[Math.min(limit, 16)];
+		int count = 0;
+
+		while (count < limit && !queue.isEmpty()) {
+			Candidate candidate = queue.poll();
+
+			switch (candidate.kind) {
+				case Candidate.ENTRY:
+					if (seen.add(candidate.value)) {
+						if (count == result.length) {
+							result = Arrays.copyOf(result, Math.min(limit, count << 1));
+						}
+
+						result[count++] = candidate.value;
+					}
+
+					break;
+				case Candidate.VARIANT:
+					this.addPosting(queue, candidate.position, candidate.value);
+					break;
+				default:
+					this.addNode(queue, candidate.value, start, end);
+					break;
+			}
+		}
+
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Add the block maximum weight tree nodes covering the provided variant range to the queue.
+	 *
+	 * @param queue		queue to add to
+	 * @param start		first variant index, inclusive
+	 * @param end		last variant index, exclusive
+	 */
+	private void addRange(PriorityQueue<Candidate> queue, int start, int end) {
+		int lo = this.treeLeafCount + start / BLOCK_SIZE;
+		int hi = this.treeLeafCount + (end - 1) / BLOCK_SIZE + 1;
+
+		for (; lo < hi; lo >>= 1, hi >>= 1) {
+			if ((lo & 1) != 0) {
+				this.addNodeCandidate(queue, lo++, start);
+			}
+
+			if ((hi & 1) != 0) {
+				this.addNodeCandidate(queue, --hi, start);
+			}
+		}
+	}
+
+	/**
+	 * Expand a block maximum weight tree node into the queue.
+	 *
+	 * <p>Descends along the maximum weight path while it stays ahead of the queue,
+	 * queueing the other children only, and queues the variants of the reached block.
+	 *
+	 * @param queue		queue to add to
+	 * @param node		node to expand
+	 * @param start		first variant index in range, inclusive
+	 * @param end		last variant index in range, exclusive
+	 */
+	private void addNode(PriorityQueue<Candidate> queue, int node, int start, int end) {
+		while (node < this.treeLeafCount) {
+			Candidate left = this.newNodeCandidate(node << 1, start);
+			Candidate right = this.newNodeCandidate((node << 1) | 1, start);
+
+			Candidate best = right == null || (left != null && left.compareTo(right) <= 0)
+					? left
+					: right;
+
+			Candidate other = best == left
+					? right
+					: left;
+
+			if (other != null) {
+				queue.add(other);
+			}
+
+			Candidate head = queue.peek();
+			if (head != null && head.compareTo(best) < 0) {
+				queue.add(best);
+				return;
+			}
+
+			node = best.value;
+		}
+
+		int block = node - this.treeLeafCount;
+		int from = Math.max(start, block * BLOCK_SIZE);
+		int to = Math.min(end, (block + 1) * BLOCK_SIZE);
+
+		for (int i = from; i < to; i++) {
+			queue.add(new Candidate(Candidate.VARIANT, this.getVariantWeight(i, 0), i, 0));
+		}
+	}
+
+	/**
+	 * Add a block maximum weight tree node to the queue unless it is empty.
+	 *
+	 * @param queue		queue to add to
+	 * @param node		node to add
+	 * @param start		first variant index in range, inclusive
+	 */
+	private void addNodeCandidate(PriorityQueue<Candidate> queue, int node, int start) {
+		Candidate candidate = this.newNodeCandidate(node, start);
+
+		if (candidate != null) {
+			queue.add(candidate);
+		}
+	}
+
+	/**
+	 * Create a block maximum weight tree node candidate or return {@code null} if it is empty.
+	 *
+	 * @param node		node to create the candidate of
+	 * @param start		first variant index in range, inclusive
+	 * @return			node candidate or {@code null}
+	 */
+	private Candidate newNodeCandidate(int node, int start) {
+		int weight = this.weightTree[node];
+		if (weight == Integer.MIN_VALUE) {
+			return null;
+		}
+
+		int first = node;
+		while (first < this.treeLeafCount) {
+			first <<= 1;
+		}
+
+		int position = Math.max(start, (first - this.treeLeafCount) * BLOCK_SIZE);
+		return new Candidate(Candidate.NODE, weight, position, node);
+	}
+
+	/**
+	 * Add a variant posting entry to the queue, followed by the rest of the variant postings.
+	 *
+	 * @param queue		queue to add to
+	 * @param variant	variant index
+	 * @param posting	posting index within the variant
+	 */
+	private void addPosting(PriorityQueue<Candidate> queue, int variant, int posting) {
+		int offset = this.postingOffsets[variant] + posting;
+		int entry = this.postings[offset];
+
+		queue.add(new Candidate(Candidate.ENTRY, this.entryWeights[entry], variant, entry));
+
+		if (offset + 1 < this.postingOffsets[variant + 1]) {
+			queue.add(new Candidate(Candidate.VARIANT, this.getVariantWeight(variant, posting + 1), variant, posting + 1));
+		}
+	}
+
+	/**
+	 * Get a variant posting weight.
+	 *
+	 * @param variant	variant index
+	 * @param posting	posting index within the variant
+	 * @return			posting entry weight
+	 */
+	private int getVariantWeight(int variant, int posting) {
+		return this.entryWeights[this.postings[this.postingOffsets[variant] + posting]];
+	}
+
+	/**
+	 * Find the first variant that is not less than the provided prefix,
+	 * or the first one after all the variants starting w/ the provided prefix.
+	 *
+	 * @param prefix	prefix to look up
+	 * @param upper		whether to skip the variants starting w/ the prefix
+	 * @param decoder	variant decoder to use
+	 * @return			variant index
+	 */
+	private int findBound(CharSequence prefix, boolean upper, Decoder decoder) {
+		int blockCount = this.blockOffsets.length - 1;
+		int lo = 0;
+		int hi = blockCount;
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+
+			decoder.reset(mid);
+			decoder.next();
+
+			if (decoder.isAfter(prefix, upper)) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+		}
+
+		if (lo == 0) {
+			return 0;
+		}
+
+		int block = lo - 1;
+		int variant = block * BLOCK_SIZE;
+		int end = Math.min(this.variantCount, variant + BLOCK_SIZE);
+
+		decoder.reset(block);
+
+		for (; variant < end; variant++) {
+			decoder.next();
+
+			if (decoder.isAfter(prefix, upper)) {
+				return variant;
+			}
+		}
+
+		return variant;
+	}
+
+	/**
+	 * Write this index.
+	 *
+	 * @param out	stream to write to
+	 *
+	 * @throws IOException	if the index cannot be written
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeBoolean(this.lowerCase);
+		data.writeInt(this.schemaNames.size());
+
+		for (String name : this.schemaNames) {
+			data.writeUTF(name);
+		}
+
+		writeChars(data, this.entryChars, this.entryChars.length);
+		writeInts(data, this.entryOffsets, this.entryOffsets.length);
+		writeInts(data, this.entryWeights, this.entryWeights.length);
+
+		data.writeInt(this.variantCount);
+
+		writeChars(data, this.variantChars, this.variantChars.length);
+		writeInts(data, this.blockOffsets, this.blockOffsets.length);
+		writeInts(data, this.postingOffsets, this.postingOffsets.length);
+		writeInts(data, this.postings, this.postings.length);
+
+		data.flush();
+	}
+
+	/**
+	 * Write this index into a file.
+	 *
+	 * @param path	path to the file to write
+	 *
+	 * @throws IOException	if the index cannot be written
+	 */
+	public void writeTo(Path path) throws IOException {
+		try (OutputStream out = Files.newOutputStream(path)) {
+			this.writeTo(out);
+		}
+	}
+
+	/**
+	 * Read an index.
+	 *
+	 * @param in	stream to read from
+	 * @return		index
+	 *
+	 * @throws IOException	if the index cannot be read or is malformed
+	 */
+	public static IuliiaAutocompleteIndex readFrom(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+
+		if (data.readInt() != MAGIC) {
+			throw new StreamCorruptedException("Not an autocomplete index");
+		}
+
+		int version = data.readInt();
+		if (version != VERSION) {
+			throw new StreamCorruptedException("Unsupported autocomplete index version: " + version);
+		}
+
+		boolean lowerCase = data.readBoolean();
+		int schemaCount = readLength(data);
+
+		List<String> schemaNames = new ArrayList<>(schemaCount);
+		for (int i = 0; i < schemaCount; i++) {
+			schemaNames.add(data.readUTF());
+		}
+
+		char[] entryChars = readChars(data);
+		int[] entryOffsets = readInts(data);
+		int[] entryWeights = readInts(data);
+		int variantCount = readLength(data);
+		char[] variantChars = readChars(data);
+		int[] blockOffsets = readInts(data);
+		int[] postingOffsets = readInts(data);
+		int[] postings = readInts(data);
+
+		if (entryOffsets.length != entryWeights.length + 1
+				|| postingOffsets.length != variantCount + 1
+				|| blockOffsets.length != (variantCount + BLOCK_SIZE - 1) / BLOCK_SIZE + 1) {
+			throw new StreamCorruptedException("Inconsistent autocomplete index lengths");
+		}
+
+		return new IuliiaAutocompleteIndex(
+				lowerCase,
+				schemaNames,
+				entryChars,
+				entryOffsets,
+				entryWeights,
+				variantCount,
+				variantChars,
+				blockOffsets,
+				postingOffsets,
+				postings
+		);
+	}
+
+	/**
+	 * Read an index from a file.
+	 *
+	 * @param path	path to the file to read
+	 * @return		index
+	 *
+	 * @throws IOException	if the index cannot be read or is malformed
+	 */
+	public static IuliiaAutocompleteIndex readFrom(Path path) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			return readFrom(in);
+		}
+	}
+
+	/**
+	 * Create a new autocomplete index builder.
+	 *
+	 * @return	autocomplete index builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Convert text to lower case, character by character.
+	 *
+	 * @param text	text to convert
+	 * @return		lower case text
+	 */
+	private static CharSequence toLowerCase(CharSequence text) {
+		int length = text.length();
+		char[] chars = new char[length];
+
+		for (int i = 0; i < length; i++) {
+			chars[i] = Character.toLowerCase(text.charAt(i));
+		}
+
+		return CharBuffer.wrap(chars);
+	}
+
+	/**
+	 * Write a character array prefixed w/ its length.
+	 *
+	 * @param out		stream to write to
+	 * @param chars		characters to write
+	 * @param length	character count
+	 *
+	 * @throws IOException	if the characters cannot be written
+	 */
+	private static void writeChars(DataOutputStream out, char[] chars, int length) throws IOException {
+		out.writeInt(length);
+
+		byte[] chunk = new byte[CHUNK_SIZE];
+		ByteBuffer buffer = ByteBuffer.wrap(chunk);
+
+		for (int i = 0, count; i < length; i += count) {
+			count = Math.min(length - i, CHUNK_SIZE / Character.BYTES);
+
+			buffer.asCharBuffer().put(chars, i, count);
+			out.write(chunk, 0, count * Character.BYTES);
+		}
+	}
+
+	/**
+	 * Write an integer array prefixed w/ its length.
+	 *
+	 * @param out		stream to write to
+	 * @param ints		integers to write
+	 * @param length	integer count
+	 *
+	 * @throws IOException	if the integers cannot be written
+	 */
+	private static void writeInts(DataOutputStream out, int[] ints, int length) throws IOException {
+		out.writeInt(length);
+
+		byte[] chunk = new byte[CHUNK_SIZE];
+		ByteBuffer buffer = ByteBuffer.wrap(chunk);
+
+		for (int i = 0, count; i < length; i += count) {
+			count = Math.min(length - i, CHUNK_SIZE / Integer.BYTES);
+
+			buffer.asIntBuffer().put(ints, i, count);
+			out.write(chunk, 0, count * Integer.BYTES);
+		}
+	}
+
+	/**
+	 * Read an array length.
+	 *
+	 * @param in	stream to read from
+	 * @return		array length
+	 *
+	 * @throws IOException	if the length cannot be read or is negative
+	 */
+	private static int readLength(DataInputStream in) throws IOException {
+		int length = in.readInt();
+
+		if (length < 0) {
+			throw new StreamCorruptedException("Negative autocomplete index length");
+		}
+
+		return length;
+	}
+
+	/**
+	 * Read a character array prefixed w/ its length.
+	 *
+	 * @param in	stream to read from
+	 * @return		characters
+	 *
+	 * @throws IOException	if the characters cannot be read
+	 */
+	private static char[] readChars(DataInputStream in) throws IOException {
+		char[] chars = new char[readLength(in)];
+
+		byte[] chunk = new byte[CHUNK_SIZE];
+		ByteBuffer buffer = ByteBuffer.wrap(chunk);
+
+		for (int i = 0, count; i < chars.length; i += count) {
+			count = Math.min(chars.length - i, CHUNK_SIZE / Character.BYTES);
+
+			in.readFully(chunk, 0, count * Character.BYTES);
+			buffer.asCharBuffer().get(chars, i, count);
+		}
+
+		return chars;
+	}
+
+	/**
+	 * Read an integer array prefixed w/ its length.
+	 *
+	 * @param in	stream to read from
+	 * @return		integers
+	 *
+	 * @throws IOException	if the integers cannot be read
+	 */
+	private static int[] readInts(DataInputStream in) throws IOException {
+		int[] ints = new int[readLength(in)];
+
+		byte[] chunk = new byte[CHUNK_SIZE];
+		ByteBuffer buffer = ByteBuffer.wrap(chunk);
+
+		for (int i = 0, count; i < ints.length; i += count) {
+			count = Math.min(ints.length - i, CHUNK_SIZE / Integer.BYTES);
+
+			in.readFully(chunk, 0, count * Integer.BYTES);
+			buffer.asIntBuffer().get(ints, i, count);
+		}
+
+		return ints;
+	}
+
+	/**
+	 * A front-coded variant decoder.
+	 */
+	private final class Decoder {
+
+		/**
+		 * A decoded variant buffer.
+		 */
+		private char[] buffer;
+
+		/**
+		 * A decoded variant length.
+		 */
+		private int length;
+
+		/**
+		 * A next encoded variant offset into {@link #variantChars}.
+		 */
+		private int offset;
+
+		/**
+		 * Whether the next encoded variant is the first one of its block.
+		 */
+		private boolean first;
+
+		/**
+		 * Initialize a {@link Decoder} instance.
+		 */
+		private Decoder() {
+			this.buffer = new char[64];
+		}
+
+		/**
+		 * Position this decoder at the start of the provided block.
+		 *
+		 * @param block		block index
+		 */
+		private void reset(int block) {
+			this.offset = IuliiaAutocompleteIndex.this.blockOffsets[block];
+			this.length = 0;
+			this.first = true;
+		}
+
+		/**
+		 * Decode the next variant of the block.
+		 */
+		private void next() {
+			char[] chars = IuliiaAutocompleteIndex.this.variantChars;
+
+			int shared = this.first ? 0 : chars[this.offset++];
+			int suffix = chars[this.offset++];
+
+			this.length = shared + suffix;
+			this.first = false;
+
+			if (this.length > this.buffer.length) {
+				this.buffer = Arrays.copyOf(this.buffer, Math.max(this.length, this.buffer.length << 1));
+			}
+
+			System.arraycopy(chars, this.offset, this.buffer, shared, suffix);
+			this.offset += suffix;
+		}
+
+		/**
+		 * Check whether the decoded variant is not less than the provided prefix,
+		 * or comes after all the variants starting w/ the provided prefix.
+		 *
+		 * @param prefix	prefix to compare w/
+		 * @param upper		whether the variants starting w/ the prefix are considered before it
+		 * @return			boolean value as a result
+		 */
+		private boolean isAfter(CharSequence prefix, boolean upper) {
+			int prefixLength = prefix.length();
+			int length = Math.min(this.length, prefixLength);
+
+			for (int i = 0; i < length; i++) {
+				char c = this.buffer[i];
+				char p = prefix.charAt(i);
+
+				if (c != p) {
+					return c > p;
+				}
+			}
+
+			if (this.length < prefixLength) {
+				return false;
+			}
+
+			return !upper;
+		}
+	}
+
+	/**
+	 * A top-k lookup candidate.
+	 */
+	private static final class Candidate implements Comparable<Candidate> {
+
+		/**
+		 * An entry candidate kind, its value is the entry index.
+		 */
+		private static final int ENTRY = 0;
+
+		/**
+		 * A variant postings candidate kind, its value is the next posting index within the variant.
+		 */
+		private static final int VARIANT = 1;
+
+		/**
+		 * A tree node candidate kind, its value is the node index.
+		 */
+		private static final int NODE = 2;
+
+		/**
+		 * A candidate kind.
+		 */
+		private final int kind;
+
+		/**
+		 * A maximum entry weight reachable from this candidate.
+		 */
+		private final int weight;
+
+		/**
+		 * A first variant index reachable from this candidate.
+		 */
+		private final int position;
+
+		/**
+		 * A candidate kind specific value.
+		 */
+		private final int value;
+
+		/**
+		 * Initialize a {@link Candidate} instance.
+		 *
+		 * @param kind			candidate kind
+		 * @param weight		maximum entry weight
+		 * @param position		first variant index
+		 * @param value			candidate kind specific value
+		 */
+		private Candidate(int kind, int weight, int position, int value) {
+			this.kind = kind;
+			this.weight = weight;
+			this.position = position;
+			this.value = value;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compareTo(Candidate that) {
+			if (this.weight != that.weight) {
+				return this.weight > that.weight ? -1 : 1;
+			}
+
+			if (this.position != that.position) {
+				return this.position < that.position ? -1 : 1;
+			}
+
+			if (this.kind != that.kind) {
+				return this.kind < that.kind ? -1 : 1;
+			}
+
+			return Integer.compare(this.value, that.value);
+		}
+	}
+
+	/**
+	 * An autocomplete index builder.
+	 *
+	 * <p>Holds the added entries in a single character array,
+	 * and generates the transliteration variants on {@link #build()} only.
+	 */
+	public static final class Builder {
+
+		/**
+		 * Transliterators, in the indexing order.
+		 */
+		private final List<IuliiaTransliterator> transliterators;
+
+		/**
+		 * Whether entries are indexed and looked up in lower case.
+		 */
+		private boolean lowerCase;
+
+		/**
+		 * Entry characters.
+		 */
+		private char[] entryChars;
+
+		/**
+		 * An entry character count.
+		 */
+		private int entryCharCount;
+
+		/**
+		 * Entry offsets into {@link #entryChars}, one more than the entry count.
+		 */
+		private int[] entryOffsets;
+
+		/**
+		 * Entry weights.
+		 */
+		private int[] entryWeights;
+
+		/**
+		 * An entry count.
+		 */
+		private int entryCount;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 */
+		private Builder() {
+			this.transliterators = new ArrayList<>();
+			this.lowerCase = true;
+			this.entryChars = new char[256];
+			this.entryOffsets = new int[17];
+			this.entryWeights = new int[16];
+		}
+
+		/**
+		 * Add a mapping-schema to index the entry transliterations of.
+		 *
+		 * @param schema	transliteration schema
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+		 */
+		public Builder addSchema(IuliiaSchema schema) {
+			this.transliterators.add(IuliiaTransliterator.of(schema));
+			return this;
+		}
+
+		/**
+		 * Add a mapping-schema to index the entry transliterations of.
+		 *
+		 * <p>Wraps {@link #addSchema(IuliiaSchema)}
+		 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+		 *
+		 * @param schemaPath	path to the transliteration schema file
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+		 */
+		public Builder addSchema(String schemaPath) {
+			return this.addSchema(IuliiaSchema.fromFilePath(schemaPath));
+		}
+
+		/**
+		 * Add a mapping-schema to index the entry transliterations of.
+		 *
+		 * <p>Wraps {@link #addSchema(IuliiaSchema)}
+		 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+		 *
+		 * @param schemaType	transliteration schema enum type
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+		 */
+		public Builder addSchema(EIuliiaSchema schemaType) {
+			return this.addSchema(IuliiaSchema.fromEnumType(schemaType));
+		}
+
+		/**
+		 * Set whether to index and look up entries in lower case, default to {@code true}.
+		 *
+		 * @param lowerCase		boolean value
+		 * @return				this builder
+		 */
+		public Builder setLowerCase(boolean lowerCase) {
+			this.lowerCase = lowerCase;
+			return this;
+		}
+
+		/**
+		 * Add a dictionary entry w/ zero weight.
+		 *
+		 * @param entry		entry to add
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided entry is {@code null}
+		 */
+		public Builder add(CharSequence entry) {
+			return this.add(entry, 0);
+		}
+
+		/**
+		 * Add a dictionary entry.
+		 *
+		 * @param entry		entry to add
+		 * @param weight	entry weight, higher weight entries are looked up first
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided entry is {@code null}
+		 */
+		public Builder add(CharSequence entry, int weight) {
+			if (entry == null) {
+				throw new IllegalArgumentException("Entry mustn't be <null>");
+			}
+
+			int length = entry.length();
+
+			if (this.entryCharCount + length > this.entryChars.length) {
+				this.entryChars = Arrays.copyOf(this.entryChars, Math.max(this.entryCharCount + length, this.entryChars.length << 1));
+			}
+
+			if (this.entryCount == this.entryWeights.length) {
+				this.entryWeights = Arrays.copyOf(this.entryWeights, this.entryCount << 1);
+				this.entryOffsets = Arrays.copyOf(this.entryOffsets, (this.entryCount << 1) + 1);
+			}
+
+			for (int i = 0; i < length; i++) {
+				this.entryChars[this.entryCharCount++] = entry.charAt(i);
+			}
+
+			this.entryWeights[this.entryCount++] = weight;
+			this.entryOffsets[this.entryCount] = this.entryCharCount;
+
+			return this;
+		}
+
+		/**
+		 * Build a new autocomplete index.
+		 *
+		 * @return	autocomplete index
+		 *
+		 * @throws IllegalStateException	if no mapping-schema is added
+		 * 									or any entry transliteration is too long
+		 */
+		public IuliiaAutocompleteIndex build() {
+			if (this.transliterators.isEmpty()) {
+				throw new IllegalStateException("At least one schema must be added");
+			}
+
+			Variants variants = this.generateVariants();
+			int[] order = variants.sort();
+
+			List<String> schemaNames = new ArrayList<>(this.transliterators.size());
+			for (IuliiaTransliterator transliterator : this.transliterators) {
+				schemaNames.add(transliterator.getSchema().getName());
+			}
+
+			int[] entryWeights = Arrays.copyOf(this.entryWeights, this.entryCount);
+			int[] entryOffsets = Arrays.copyOf(this.entryOffsets, this.entryCount + 1);
+			char[] entryChars = Arrays.copyOf(this.entryChars, this.entryCharCount);
+
+			return variants.encode(order, this.lowerCase, schemaNames, entryChars, entryOffsets, entryWeights);
+		}
+
+		/**
+		 * Generate the transliteration variants of all the entries,
+		 * skipping the ones repeated by several mapping-schemas for the same entry.
+		 *
+		 * @return	variants
+		 */
+		private Variants generateVariants() {
+			Variants variants = new Variants(this.entryWeights, this.entryCount * this.transliterators.size());
+			StringBuilder sb = new StringBuilder();
+
+			for (int entry = 0; entry < this.entryCount; entry++) {
+				int start = this.entryOffsets[entry];
+				CharSequence text = CharBuffer.wrap(this.entryChars, start, this.entryOffsets[entry + 1] - start);
+
+				int first = variants.count;
+
+				for (IuliiaTransliterator transliterator : this.transliterators) {
+					sb.setLength(0);
+					transliterator.transliterate(text, sb);
+
+					if (this.lowerCase) {
+						for (int i = 0, length = sb.length(); i < length; i++) {
+							sb.setCharAt(i, Character.toLowerCase(sb.charAt(i)));
+						}
+					}
+
+					if (sb.length() > MAX_VARIANT_LENGTH) {
+						throw new IllegalStateException("Entry transliteration is too long: " + sb.length());
+					}
+
+					if (!variants.contains(first, sb)) {
+						variants.add(sb, entry);
+					}
+				}
+			}
+
+			return variants;
+		}
+	}
+
+	/**
+	 * A transliteration variant list being built.
+	 */
+	private static final class Variants {
+
+		/**
+		 * Entry weights.
+		 */
+		private final int[] entryWeights;
+
+		/**
+		 * Variant characters.
+		 */
+		private char[] chars;
+
+		/**
+		 * A variant character count.
+		 */
+		private int charCount;
+
+		/**
+		 * Variant offsets into {@link #chars}, one more than the variant count.
+		 */
+		private int[] offsets;
+
+		/**
+		 * Variant entry indexes.
+		 */
+		private int[] entries;
+
+		/**
+		 * A variant count.
+		 */
+		private int count;
+
+		/**
+		 * Initialize a {@link Variants} instance.
+		 *
+		 * @param entryWeights	entry weights
+		 * @param capacity		expected variant count
+		 */
+		private Variants(int[] entryWeights, int capacity) {
+			this.entryWeights = entryWeights;
+			this.chars = new char[Math.max(16, capacity * 8)];
+			this.offsets = new int[Math.max(16, capacity) + 1];
+			this.entries = new int[Math.max(16, capacity)];
+		}
+
+		/**
+		 * Add a variant.
+		 *
+		 * @param variant	variant to add
+		 * @param entry		source entry index
+		 */
+		private void add(CharSequence variant, int entry) {
+			int length = variant.length();
+
+			if (this.charCount + length > this.chars.length) {
+				this.chars = Arrays.copyOf(this.chars, Math.max(this.charCount + length, this.chars.length << 1));
+			}
+
+			if (this.count == this.entries.length) {
+				this.entries = Arrays.copyOf(this.entries, this.count << 1);
+				this.offsets = Arrays.copyOf(this.offsets, (this.count << 1) + 1);
+			}
+
+			for (int i = 0; i < length; i++) {
+				this.chars[this.charCount++] = variant.charAt(i);
+			}
+
+			this.entries[this.count++] = entry;
+			this.offsets[this.count] = this.charCount;
+		}
+
+		/**
+		 * Check whether the provided variant is already added since the provided one.
+		 *
+		 * @param from		first variant index to check
+		 * @param variant	variant to look for
+		 * @return			boolean value as a result
+		 */
+		private boolean contains(int from, CharSequence variant) {
+			int length = variant.length();
+
+			outer:
+			for (int i = from; i < this.count; i++) {
+				int start = this.offsets[i];
+
+				if (this.offsets[i + 1] - start != length) {
+					continue;
+				}
+
+				for (int j = 0; j < length; j++) {
+					if (this.chars[start + j] != variant.charAt(j)) {
+						continue outer;
+					}
+				}
+
+				return true;
+			}
+
+			return false;
+		}
+
+		/**
+		 * Compare two variants by their characters, then by decreasing entry weight and entry index.
+		 *
+		 * @param a		first variant index
+		 * @param b		second variant index
+		 * @return		negative, zero or positive value
+		 */
+		private int compare(int a, int b) {
+			int result = this.compareChars(a, b);
+			if (result != 0) {
+				return result;
+			}
+
+			int wa = this.entryWeights[this.entries[a]];
+			int wb = this.entryWeights[this.entries[b]];
+
+			if (wa != wb) {
+				return wa > wb ? -1 : 1;
+			}
+
+			return Integer.compare(this.entries[a], this.entries[b]);
+		}
+
+		/**
+		 * Compare two variants by their characters.
+		 *
+		 * @param a		first variant index
+		 * @param b		second variant index
+		 * @return		negative, zero or positive value
+		 */
+		private int compareChars(int a, int b) {
+			int aStart = this.offsets[a];
+			int aLength = this.offsets[a + 1] - aStart;
+			int bStart = this.offsets[b];
+			int bLength = this.offsets[b + 1] - bStart;
+
+			for (int i = 0, length = Math.min(aLength, bLength); i < length; i++) {
+				char ca = this.chars[aStart + i];
+				char cb = this.chars[bStart + i];
+
+				if (ca != cb) {
+					return ca - cb;
+				}
+			}
+
+			return aLength - bLength;
+		}
+
+		/**
+		 * Sort the variants w/o moving their characters.
+		 *
+		 * @return	variant indexes in the sorted order
+		 */
+		private int[] sort() {
+			int[] order = new int[this.count];
+			for (int i = 0; i < this.count; i++) {
+				order[i] = i;
+			}
+
+			int[] buffer = new int[this.count];
+
+			// Bottom-up merge sort, stable and w/o boxing the indexes.
+			for (int width = 1; width < this.count; width <<= 1) {
+				for (int lo = 0; lo < this.count - width; lo += width << 1) {
+					int mid = lo + width;
+					int hi = Math.min(lo + (width << 1), this.count);
+
+					if (this.compare(order[mid - 1], order[mid]) <= 0) {
+						continue;
+					}
+
+					System.arraycopy(order, lo, buffer, lo, hi - lo);
+
+					for (int i = lo, j = mid, k = lo; k < hi; k++) {
+						if (j >= hi || (i < mid && this.compare(buffer[i], buffer[j]) <= 0)) {
+							order[k] = buffer[i++];
+						} else {
+							order[k] = buffer[j++];
+						}
+					}
+				}
+			}
+
+			return order;
+		}
+
+		/**
+		 * Encode the sorted variants into a new autocomplete index.
+		 *
+		 * @param order			variant indexes in the sorted order
+		 * @param lowerCase		whether entries are indexed and looked up in lower case
+		 * @param schemaNames	mapping-schema names
+		 * @param entryChars	entry characters
+		 * @param entryOffsets	entry offsets
+		 * @param entryWeights	entry weights
+		 * @return				autocomplete index
+		 */
+		private IuliiaAutocompleteIndex encode(
+				int[] order,
+				boolean lowerCase,
+				List<String> schemaNames,
+				char[] entryChars,
+				int[] entryOffsets,
+				int[] entryWeights
+		) {
+			int[] postings = new int[this.count];
+			int[] postingOffsets = new int[this.count + 1];
+			char[] variantChars = new char[this.charCount + this.count * 2];
+			int[] blockOffsets = new int[this.count / BLOCK_SIZE + 2];
+
+			int postingCount = 0;
+			int variantCount = 0;
+			int charCount = 0;
+			int previous = -1;
+
+			for (int i = 0; i < this.count; i++) {
+				int variant = order[i];
+				int entry = this.entries[variant];
+
+				if (previous >= 0 && this.compareChars(previous, variant) == 0) {
+					if (postings[postingCount - 1] != entry) {
+						postings[postingCount++] = entry;
+					}
+
+					continue;
+				}
+
+				int start = this.offsets[variant];
+				int length = this.offsets[variant + 1] - start;
+				int shared = 0;
+
+				if (variantCount % BLOCK_SIZE == 0) {
+					blockOffsets[variantCount / BLOCK_SIZE] = charCount;
+				} else {
+					int previousStart = this.offsets[previous];
+					int previousLength = this.offsets[previous + 1] - previousStart;
+					int max = Math.min(length, previousLength);
+
+					while (shared < max && this.chars[start + shared] == this.chars[previousStart + shared]) {
+						shared++;
+					}
+
+					variantChars[charCount++] = (char) shared;
+				}
+
+				variantChars[charCount++] = (char) (length - shared);
+				System.arraycopy(this.chars, start + shared, variantChars, charCount, length - shared);
+				charCount += length - shared;
+
+				postingOffsets[variantCount++] = postingCount;
+				postings[postingCount++] = entry;
+				previous = variant;
+			}
+
+			int blockCount = (variantCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+			postingOffsets[variantCount] = postingCount;
+			blockOffsets[blockCount] = charCount;
+
+			return new IuliiaAutocompleteIndex(
+					lowerCase,
+					new ArrayList<>(schemaNames),
+					entryChars,
+					entryOffsets,
+					entryWeights,
+					variantCount,
+					Arrays.copyOf(variantChars, charCount),
+					Arrays.copyOf(blockOffsets, blockCount + 1),
+					Arrays.copyOf(postingOffsets, variantCount + 1),
+					Arrays.copyOf(postings, postingCount)
+			);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package io.github.anominy.uwiuliia;
+
+import java.util.Arrays;
+
+/**
+ * A transliteration output sink that writes single byte characters into a byte array.
+ *
+ * <p>Accepts characters up to a limit only, i.e. ASCII or Latin-1 ones,
+ * and becomes {@link #isFull() full} once any character above the limit is appended,
+ * so that the caller can stop and fall back to a wider output.
+ *
+ * <p>Instances are cached per thread, see {@link #get(char)}.
+ */
+final class IuliiaByteSink implements IuliiaSink {
+
+	/**
+	 * A maximum ASCII character.
+	 */
+	static final char ASCII_LIMIT = 0x7F;
+
+	/**
+	 * A maximum Latin-1 character.
+	 */
+	static final char LATIN1_LIMIT = 0xFF;
+
+	/**
+	 * A maximum buffer length kept between uses.
+	 */
+	private static final int MAX_CACHED_BUFFER_LENGTH = 8192;
+
+	/**
+	 * An initial buffer length.
+	 */
+	private static final int INITIAL_BUFFER_LENGTH = 256;
+
+	/**
+	 * A per-thread {@link IuliiaByteSink} cache.
+	 */
+	private static final ThreadLocal<IuliiaByteSink> CACHE = ThreadLocal.withInitial(IuliiaByteSink::new);
+
+	/**
+	 * An output buffer.
+	 */
+	private byte[] buffer;
+
+	/**
+	 * An output length.
+	 */
+	private int length;
+
+	/**
+	 * A maximum accepted character.
+	 */
+	private char limit;
+
+	/**
+	 * Whether any character above the limit has been appended.
+	 */
+	private boolean overflowed;
+
+	/**
+	 * Initialize an {@link IuliiaByteSink} instance.
+	 */
+	private IuliiaByteSink() {
+		this.buffer = new byte[INITIAL_BUFFER_LENGTH];
+	}
+
+	/**
+	 * Release this sink, dropping an oversized buffer.
+	 */
+	void release() {
+		if (this.buffer.length > MAX_CACHED_BUFFER_LENGTH) {
+			this.buffer = new byte[INITIAL_BUFFER_LENGTH];
+		}
+	}
+
+	/**
+	 * Check whether any character above the limit has been appended.
+	 *
+	 * @return	boolean value as a result
+	 */
+	boolean isOverflowed() {
+		return this.overflowed;
+	}
+
+	/**
+	 * Create a string of the written characters.
+	 *
+	 * <p>Copies the bytes once, straight into a compact Latin-1 string on Java 9+.
+	 *
+	 * @return	string
+	 */
+	@SuppressWarnings("deprecation")
+	String toLatin1String() {
+		return new String(this.buffer, 0, 0, this.length);
+	}
+
+	/**
+	 * Copy the written characters into a new array.
+	 *
+	 * @return	single byte characters
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(this.buffer, this.length);
+	}
+
+	/**
+	 * Ensure the buffer can hold the provided number of characters more.
+	 *
+	 * @param count		number of characters to append
+	 */
+	private void ensureCapacity(int count) {
+		int required = this.length + count;
+
+		if (required > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(char c) {
+		if (c > this.limit) {
+			this.overflowed = true;
+			return;
+		}
+
+		this.ensureCapacity(1);
+		this.buffer[this.length++] = (byte) c;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(String s) {
+		int length = s.length();
+
+		this.ensureCapacity(length);
+
+		for (int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+
+			if (c > this.limit) {
+				this.overflowed = true;
+				return;
+			}
+
+			this.buffer[this.length++] = (byte) c;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isFull() {
+		return this.overflowed;
+	}
+
+	/**
+	 * Get this thread sink set up to accept characters up to the provided limit.
+	 *
+	 * <p>The sink must be {@link #release() released} after use.
+	 *
+	 * @param limit		maximum accepted character
+	 * @return			sink
+	 */
+	static IuliiaByteSink get(char limit) {
+		IuliiaByteSink sink = CACHE.get();
+
+		sink.length = 0;
+		sink.limit = limit;
+		sink.overflowed = false;
+
+		return sink;
+	}
+}
@@ -0,0 +1,167 @@
+package io.github.anominy.uwiuliia;
+
+/**
+ * A letter case utility.
+ *
+ * <p>Looks up the case of Latin and Cyrillic characters in precomputed tables,
+ * falling back to {@link Character} for the rest.
+ */
+final class IuliiaCase {
+
+	/**
+	 * An uncased character class.
+	 */
+	static final byte NONE = 0;
+
+	/**
+	 * A lower case character class.
+	 */
+	static final byte LOWER = 1;
+
+	/**
+	 * An upper case character class.
+	 */
+	static final byte UPPER = 2;
+
+	/**
+	 * A size of the precomputed tables, covers Latin and Cyrillic blocks.
+	 */
+	private static final int TABLE_SIZE = 0x0530;
+
+	/**
+	 * A character class table.
+	 */
+	private static final byte[] CLASSES = new byte[TABLE_SIZE];
+
+	/**
+	 * A lower case character table.
+	 */
+	private static final char[] LOWER_CASES = new char[TABLE_SIZE];
+
+	/**
+	 * An upper case character table.
+	 */
+	private static final char[] UPPER_CASES = new char[TABLE_SIZE];
+
+	static {
+		for (char c = 0; c < TABLE_SIZE; c++) {
+			CLASSES[c] = getClassSlow(c);
+			LOWER_CASES[c] = Character.toLowerCase(c);
+			UPPER_CASES[c] = Character.toUpperCase(c);
+		}
+	}
+
+	/**
+	 * Get a class of the provided character.
+	 *
+	 * @param c		character to classify
+	 * @return		{@link #NONE}, {@link #LOWER} or {@link #UPPER}
+	 */
+	static byte getClass(char c) {
+		if (c < TABLE_SIZE) {
+			return CLASSES[c];
+		}
+
+		return getClassSlow(c);
+	}
+
+	/**
+	 * Convert the provided character to lower case.
+	 *
+	 * @param c		character to convert
+	 * @return		lower case character
+	 */
+	static char toLowerCase(char c) {
+		if (c < TABLE_SIZE) {
+			return LOWER_CASES[c];
+		}
+
+		return Character.toLowerCase(c);
+	}
+
+	/**
+	 * Convert the provided character to upper case.
+	 *
+	 * @param c		character to convert
+	 * @return		upper case character
+	 */
+	static char toUpperCase(char c) {
+		if (c < TABLE_SIZE) {
+			return UPPER_CASES[c];
+		}
+
+		return Character.toUpperCase(c);
+	}
+
+	/**
+	 * Check whether all the cased characters of the provided word are upper case
+	 * and there are at least two of them.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @return			boolean value as a result
+	 */
+	static boolean isUpperCaseWord(CharSequence text, int start, int end) {
+		int upper = 0;
+
+		for (int i = start; i < end; i++) {
+			byte cls = getClass(text.charAt(i));
+
+			if (cls == LOWER) {
+				return false;
+			}
+
+			if (cls == UPPER) {
+				upper++;
+			}
+		}
+
+		return upper > 1;
+	}
+
+	/**
+	 * Append a transliterated letter in the provided case.
+	 *
+	 * @param sink		sink to append to
+	 * @param s			lower case transliterated letter
+	 * @param cls		case to apply, see {@link #getClass(char)}
+	 * @param word		whether to apply the upper case to the whole letter
+	 */
+	static void append(IuliiaSink sink, String s, byte cls, boolean word) {
+		if (cls != UPPER || s.isEmpty()) {
+			sink.append(s);
+			return;
+		}
+
+		sink.append(toUpperCase(s.charAt(0)));
+
+		for (int i = 1; i < s.length(); i++) {
+			char c = s.charAt(i);
+
+			sink.append(word ? toUpperCase(c) : c);
+		}
+	}
+
+	/**
+	 * Get a class of the provided character w/o the precomputed tables.
+	 *
+	 * @param c		character to classify
+	 * @return		{@link #NONE}, {@link #LOWER} or {@link #UPPER}
+	 */
+	private static byte getClassSlow(char c) {
+		if (Character.isUpperCase(c) || Character.isTitleCase(c)) {
+			return UPPER;
+		}
+
+		if (Character.isLowerCase(c)) {
+			return LOWER;
+		}
+
+		return NONE;
+	}
+
+	private IuliiaCase() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,65 @@
+package io.github.anominy.uwiuliia;
+
+import java.nio.CharBuffer;
+
+/**
+ * A transliteration output sink that puts into a {@link CharBuffer}.
+ *
+ * <p>Instances are cached per thread, see {@link #get(CharBuffer)}.
+ */
+final class IuliiaCharBufferSink implements IuliiaSink {
+
+	/**
+	 * A per-thread {@link IuliiaCharBufferSink} cache.
+	 */
+	private static final ThreadLocal<IuliiaCharBufferSink> CACHE = ThreadLocal.withInitial(IuliiaCharBufferSink::new);
+
+	/**
+	 * A buffer to put into.
+	 */
+	private CharBuffer dst;
+
+	/**
+	 * Initialize an {@link IuliiaCharBufferSink} instance.
+	 */
+	private IuliiaCharBufferSink() {
+	}
+
+	/**
+	 * Release the buffer held by this sink.
+	 */
+	void release() {
+		this.dst = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(char c) {
+		this.dst.put(c);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(String s) {
+		this.dst.put(s);
+	}
+
+	/**
+	 * Get this thread sink set up to put into the provided buffer.
+	 *
+	 * <p>The sink must be {@link #release() released} after use.
+	 *
+	 * @param dst	buffer to put into
+	 * @return		sink
+	 */
+	static IuliiaCharBufferSink get(CharBuffer dst) {
+		IuliiaCharBufferSink sink = CACHE.get();
+		sink.dst = dst;
+
+		return sink;
+	}
+}
@@ -0,0 +1,114 @@
+package io.github.anominy.uwiuliia;
+
+import java.util.Map;
+
+/**
+ * A compiled single character letter-map.
+ *
+ * <p>Stores values in a dense array indexed
+ * by the character offset from the smallest key.
+ */
+final class IuliiaCharMap {
+
+	/**
+	 * An empty {@link IuliiaCharMap} instance.
+	 */
+	static final IuliiaCharMap EMPTY = new IuliiaCharMap(0, new String[0]);
+
+	/**
+	 * A smallest key character.
+	 */
+	private final int offset;
+
+	/**
+	 * A value array indexed by the key offset.
+	 */
+	private final String[] values;
+
+	/**
+	 * Initialize an {@link IuliiaCharMap} instance.
+	 *
+	 * @param offset	smallest key character
+	 * @param values	value array indexed by the key offset
+	 */
+	private IuliiaCharMap(int offset, String[] values) {
+		this.offset = offset;
+		this.values = values;
+	}
+
+	/**
+	 * Get a value by its key character or return {@code null}.
+	 *
+	 * @param c		key character
+	 * @return		associated value or {@code null}
+	 */
+	String get(char c) {
+		int index = c - this.offset;
+
+		if (index < 0 || index >= this.values.length) {
+			return null;
+		}
+
+		return this.values[index];
+	}
+
+	/**
+	 * Estimate a footprint of this letter-map.
+	 *
+	 * @param footprint		footprint to add the objects of this letter-map to
+	 * @param owner			owner of the objects
+	 */
+	void addTo(IuliiaFootprint.Builder footprint, IuliiaSchema owner) {
+		footprint.addObject(owner, this, 2);
+		footprint.addArray(owner, this.values, this.values.length);
+
+		for (String value : this.values) {
+			footprint.addString(owner, value);
+		}
+	}
+
+	/**
+	 * Compile a single character letter-map from the provided letter-map.
+	 *
+	 * <p>Only entries w/ a single character key
+	 * and a non-{@code null} value are taken into account.
+	 *
+	 * @param map	letter-map to compile
+	 * @return		compiled letter-map
+	 */
+	static IuliiaCharMap compile(Map<String, String> map) {
+		int min = Character.MAX_VALUE + 1;
+		int max = -1;
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+
+			if (key == null || key.length() != 1 || entry.getValue() == null) {
+				continue;
+			}
+
+			char c = key.charAt(0);
+
+			min = Math.min(min, c);
+			max = Math.max(max, c);
+		}
+
+		if (max < 0) {
+			return EMPTY;
+		}
+
+		String[] values = new String[max - min + 1];
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+
+			if (key == null || key.length() != 1 || entry.getValue() == null) {
+				continue;
+			}
+
+			values[key.charAt(0) - min] = entry.getValue();
+		}
+
+		return new IuliiaCharMap(min, values);
+	}
+}
@@ -0,0 +1,164 @@
+package io.github.anominy.uwiuliia;
+
+import java.util.Map;
+
+/**
+ * A compiled character pair letter-map.
+ *
+ * <p>Stores values in an open-addressing hash table
+ * keyed by both characters packed into a single integer.
+ */
+final class IuliiaCharPairMap {
+
+	/**
+	 * An empty {@link IuliiaCharPairMap} instance.
+	 */
+	static final IuliiaCharPairMap EMPTY = new IuliiaCharPairMap(new int[1], new String[1]);
+
+	/**
+	 * A golden ratio hash multiplier.
+	 */
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+	/**
+	 * A packed key array.
+	 */
+	private final int[] keys;
+
+	/**
+	 * A value array, {@code null} marks an empty slot.
+	 */
+	private final String[] values;
+
+	/**
+	 * A slot index mask.
+	 */
+	private final int mask;
+
+	/**
+	 * Initialize an {@link IuliiaCharPairMap} instance.
+	 *
+	 * @param keys		packed key array
+	 * @param values	value array
+	 */
+	private IuliiaCharPairMap(int[] keys, String[] values) {
+		this.keys = keys;
+		this.values = values;
+		this.mask = keys.length - 1;
+	}
+
+	/**
+	 * Get a value by its key characters or return {@code null}.
+	 *
+	 * @param first		first key character
+	 * @param second	second key character
+	 * @return			associated value or {@code null}
+	 */
+	String get(char first, char second) {
+		int key = pack(first, second);
+
+		for (int i = hash(key) & this.mask; ; i = (i + 1) & this.mask) {
+			String value = this.values[i];
+
+			if (value == null) {
+				return null;
+			}
+
+			if (this.keys[i] == key) {
+				return value;
+			}
+		}
+	}
+
+	/**
+	 * Estimate a footprint of this letter-map.
+	 *
+	 * @param footprint		footprint to add the objects of this letter-map to
+	 * @param owner			owner of the objects
+	 */
+	void addTo(IuliiaFootprint.Builder footprint, IuliiaSchema owner) {
+		footprint.addObject(owner, this, 3);
+		footprint.addIntArray(owner, this.keys, this.keys.length);
+		footprint.addArray(owner, this.values, this.values.length);
+
+		for (String value : this.values) {
+			footprint.addString(owner, value);
+		}
+	}
+
+	/**
+	 * Pack both key characters into a single integer.
+	 *
+	 * @param first		first key character
+	 * @param second	second key character
+	 * @return			packed key
+	 */
+	private static int pack(char first, char second) {
+		return (first << Character.SIZE) | second;
+	}
+
+	/**
+	 * Spread the packed key bits.
+	 *
+	 * @param key	packed key
+	 * @return		spread hash
+	 */
+	private static int hash(int key) {
+		int h = key * HASH_MULTIPLIER;
+
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Compile a character pair letter-map from the provided letter-map.
+	 *
+	 * <p>Only entries w/ a two character key
+	 * and a non-{@code null} value are taken into account.
+	 *
+	 * @param map	letter-map to compile
+	 * @return		compiled letter-map
+	 */
+	static IuliiaCharPairMap compile(Map<String, String> map) {
+		int size = 0;
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+
+			if (key != null && key.length() == 2 && entry.getValue() != null) {
+				size++;
+			}
+		}
+
+		if (size == 0) {
+			return EMPTY;
+		}
+
+		int capacity = Integer.highestOneBit(size * 2 + 1) << 1;
+
+		int[] keys = new int[capacity];
+		String[] values = new String[capacity];
+
+		int mask = capacity - 1;
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+			String value = entry.getValue();
+
+			if (key == null || key.length() != 2 || value == null) {
+				continue;
+			}
+
+			int packedKey = pack(key.charAt(0), key.charAt(1));
+
+			int i = hash(packedKey) & mask;
+			while (values[i] != null && keys[i] != packedKey) {
+				i = (i + 1) & mask;
+			}
+
+			keys[i] = packedKey;
+			values[i] = value;
+		}
+
+		return new IuliiaCharPairMap(keys, values);
+	}
+}
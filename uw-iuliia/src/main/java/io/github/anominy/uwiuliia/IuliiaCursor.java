@@ -0,0 +1,505 @@
+package io.github.anominy.uwiuliia;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A transliteration cursor.
+ *
+ * <p>Transliterates text incrementally, a word at a time, into a word buffer,
+ * so that the transliterated text can be read character by character
+ * w/o materializing it as a whole.
+ *
+ * <p>Splits text into words exactly the way {@link IuliiaTransliterator} does.
+ *
+ * <p>Instances are cached per thread, see {@link #get(IuliiaTransliterator, CharSequence)},
+ * a new one is used instead while the cached one is in use, e.g. by a nested transliterated text view.
+ */
+final class IuliiaCursor implements IuliiaSink {
+
+	/**
+	 * A maximum word buffer length kept between uses.
+	 */
+	private static final int MAX_CACHED_BUFFER_LENGTH = 1024;
+
+	/**
+	 * An initial word buffer length.
+	 */
+	private static final int INITIAL_BUFFER_LENGTH = 32;
+
+	/**
+	 * A per-thread {@link IuliiaCursor} cache.
+	 */
+	private static final ThreadLocal<IuliiaCursor> CACHE = ThreadLocal.withInitial(IuliiaCursor::new);
+
+	/**
+	 * A per-thread {@link IuliiaCursor} cache of the second compared text.
+	 */
+	private static final ThreadLocal<IuliiaCursor> SECOND_CACHE = ThreadLocal.withInitial(IuliiaCursor::new);
+
+	/**
+	 * A compiled mapping-schema.
+	 */
+	private IuliiaTable table;
+
+	/**
+	 * A word separator matcher or {@code null} if split by the {@code \b} word boundary.
+	 */
+	private Matcher matcher;
+
+	/**
+	 * Whether the word separator matcher has found all the separators.
+	 */
+	private boolean matcherDone;
+
+	/**
+	 * A text to transliterate.
+	 */
+	private CharSequence text;
+
+	/**
+	 * A text length.
+	 */
+	private int length;
+
+	/**
+	 * A next word start index.
+	 */
+	private int start;
+
+	/**
+	 * A number of empty words held back until a non-empty word follows.
+	 */
+	private int emptyWords;
+
+	/**
+	 * A transliterated word buffer.
+	 */
+	private char[] buffer;
+
+	/**
+	 * A transliterated word length.
+	 */
+	private int bufferLength;
+
+	/**
+	 * A next character index in the transliterated word.
+	 */
+	private int bufferIndex;
+
+	/**
+	 * A number of transliterated characters read.
+	 */
+	private int position;
+
+	/**
+	 * A query prefix function table of {@link #indexOf(CharSequence)}.
+	 */
+	private int[] prefixTable;
+
+	/**
+	 * Whether this cursor is in use until {@link #release() released}.
+	 */
+	private boolean inUse;
+
+	/**
+	 * Initialize an {@link IuliiaCursor} instance.
+	 */
+	IuliiaCursor() {
+		this.buffer = new char[INITIAL_BUFFER_LENGTH];
+	}
+
+	/**
+	 * Set up this cursor to read the transliteration of the provided text from the start.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @param text				text to transliterate
+	 * @return					this cursor
+	 */
+	IuliiaCursor reset(IuliiaTransliterator transliterator, CharSequence text) {
+		Pattern pattern = transliterator.getSeparatorPattern();
+
+		if (pattern == null) {
+			this.matcher = null;
+		} else if (this.matcher == null || this.matcher.pattern() != pattern) {
+			this.matcher = pattern.matcher(text);
+		} else {
+			this.matcher.reset(text);
+		}
+
+		this.table = transliterator.getTable();
+		this.matcherDone = false;
+		this.text = text;
+		this.length = text.length();
+		this.start = 0;
+		this.emptyWords = 0;
+		this.bufferLength = 0;
+		this.bufferIndex = 0;
+		this.position = 0;
+
+		return this;
+	}
+
+	/**
+	 * Release the text held by this cursor.
+	 */
+	void release() {
+		if (this.matcher != null) {
+			this.matcher.reset("");
+		}
+
+		this.text = null;
+		this.inUse = false;
+
+		if (this.buffer.length > MAX_CACHED_BUFFER_LENGTH) {
+			this.buffer = new char[INITIAL_BUFFER_LENGTH];
+		}
+
+		if (this.prefixTable != null && this.prefixTable.length > MAX_CACHED_BUFFER_LENGTH) {
+			this.prefixTable = null;
+		}
+	}
+
+	/**
+	 * Get a number of transliterated characters read.
+	 *
+	 * @return	number of characters read
+	 */
+	int getPosition() {
+		return this.position;
+	}
+
+	/**
+	 * Read the next transliterated character.
+	 *
+	 * @return	transliterated character or {@code -1} if the end is reached
+	 */
+	int next() {
+		if (this.bufferIndex == this.bufferLength && !this.fill()) {
+			return -1;
+		}
+
+		this.position++;
+		return this.buffer[this.bufferIndex++];
+	}
+
+	/**
+	 * Skip the transliterated characters up to the provided index,
+	 * skipping whole words w/o reading them character by character.
+	 *
+	 * @param index		index of the next character to read, not less than the current position
+	 * @return			whether the transliterated text is longer than the provided index
+	 */
+	boolean seek(int index) {
+		while (true) {
+			int remaining = this.bufferLength - this.bufferIndex;
+
+			if (index - this.position < remaining) {
+				this.bufferIndex += index - this.position;
+				this.position = index;
+
+				return true;
+			}
+
+			this.position += remaining;
+			this.bufferIndex = this.bufferLength;
+
+			if (!this.fill()) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Check whether the rest of the transliterated text equals or starts w/ the provided query,
+	 * reading it only up to the first mismatch.
+	 *
+	 * @param query		query to match
+	 * @param prefix	whether the query may be followed by more characters
+	 * @return			boolean value as a result
+	 */
+	boolean matches(CharSequence query, boolean prefix) {
+		for (int i = 0, length = query.length(); i < length; i++) {
+			if (this.next() != query.charAt(i)) {
+				return false;
+			}
+		}
+
+		return prefix || this.next() < 0;
+	}
+
+	/**
+	 * Find the first occurrence of the provided query in the rest of the transliterated text,
+	 * reading it only up to the end of the occurrence.
+	 *
+	 * <p>Uses the Knuth-Morris-Pratt search, so that every character is read once.
+	 *
+	 * @param query		query to find
+	 * @return			occurrence index in the transliterated text or {@code -1} if not found
+	 */
+	int indexOf(CharSequence query) {
+		int length = query.length();
+
+		if (length == 0) {
+			return this.position;
+		}
+
+		int[] table = this.getPrefixTable(query);
+
+		for (int c, matched = 0; (c = this.next()) >= 0; ) {
+			while (matched > 0 && query.charAt(matched) != c) {
+				matched = table[matched - 1];
+			}
+
+			if (query.charAt(matched) == c && ++matched == length) {
+				return this.position - length;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Compute a prefix function table of the provided query,
+	 * i.e. the longest proper prefix length that is also a suffix of each query prefix.
+	 *
+	 * @param query		query to compute the table of
+	 * @return			prefix function table, at least as long as the query
+	 */
+	private int[] getPrefixTable(CharSequence query) {
+		int length = query.length();
+		int[] table = this.prefixTable;
+
+		if (table == null || table.length < length) {
+			table = this.prefixTable = new int[Math.max(length, INITIAL_BUFFER_LENGTH)];
+		}
+
+		table[0] = 0;
+
+		for (int i = 1, k = 0; i < length; i++) {
+			char c = query.charAt(i);
+
+			while (k > 0 && query.charAt(k) != c) {
+				k = table[k - 1];
+			}
+
+			if (query.charAt(k) == c) {
+				k++;
+			}
+
+			table[i] = k;
+		}
+
+		return table;
+	}
+
+	/**
+	 * Transliterate the next non-empty word into the word buffer.
+	 *
+	 * @return	whether any word is left
+	 */
+	private boolean fill() {
+		this.bufferLength = 0;
+		this.bufferIndex = 0;
+
+		while (this.bufferLength == 0) {
+			if (!this.nextWord()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Transliterate the next word into the word buffer.
+	 *
+	 * @return	whether any word is left
+	 */
+	private boolean nextWord() {
+		if (this.matcher == null) {
+			if (this.start >= this.length) {
+				return false;
+			}
+
+			int end = IuliiaTable.getWordEnd(this.text, this.start, this.length);
+
+			this.table.transliterateWord(this.text, this.start, end, this);
+			this.start = end;
+
+			return true;
+		}
+
+		// Mirrors IuliiaTransliterator#transliterate(CharSequence, IuliiaSink),
+		// one non-empty word at a time.
+		while (!this.matcherDone) {
+			if (!this.matcher.find()) {
+				this.matcherDone = true;
+				break;
+			}
+
+			int end = this.matcher.start();
+
+			if (end == 0 && this.matcher.end() == 0) {
+				continue;
+			}
+
+			if (this.start == end) {
+				this.emptyWords++;
+				this.start = this.matcher.end();
+
+				continue;
+			}
+
+			this.transliterateWord(end);
+			this.start = this.matcher.end();
+
+			return true;
+		}
+
+		if (this.start < this.length) {
+			this.transliterateWord(this.length);
+			this.start = this.length;
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Transliterate the word ending at the provided index preceded by the held back empty words.
+	 *
+	 * @param end	word end index, exclusive
+	 */
+	private void transliterateWord(int end) {
+		for (; this.emptyWords > 0; this.emptyWords--) {
+			this.table.transliterateWord(this.text, this.start, this.start, this);
+		}
+
+		this.table.transliterateWord(this.text, this.start, end, this);
+	}
+
+	/**
+	 * Ensure the word buffer can hold the provided number of characters more.
+	 *
+	 * @param count		number of characters to append
+	 */
+	private void ensureCapacity(int count) {
+		int required = this.bufferLength + count;
+
+		if (required > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(char c) {
+		this.ensureCapacity(1);
+		this.buffer[this.bufferLength++] = c;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(String s) {
+		int length = s.length();
+
+		this.ensureCapacity(length);
+		s.getChars(0, length, this.buffer, this.bufferLength);
+
+		this.bufferLength += length;
+	}
+
+	/**
+	 * Compare the transliterated texts of two cursors lexicographically,
+	 * reading them only up to the first difference.
+	 *
+	 * @param a		first cursor
+	 * @param b		second cursor
+	 * @return		negative, zero or positive value, the same as {@link String#compareTo(String)} sign
+	 */
+	static int compare(IuliiaCursor a, IuliiaCursor b) {
+		while (true) {
+			int ca = a.next();
+			int cb = b.next();
+
+			if (ca != cb) {
+				if (ca < 0) {
+					return -1;
+				}
+
+				if (cb < 0) {
+					return 1;
+				}
+
+				return ca - cb;
+			}
+
+			if (ca < 0) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Get this thread cursor set up to read the transliteration of the provided text.
+	 *
+	 * <p>The cursor must be {@link #release() released} after use.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @param text				text to transliterate
+	 * @return					cursor
+	 */
+	static IuliiaCursor get(IuliiaTransliterator transliterator, CharSequence text) {
+		return acquire(CACHE, transliterator, text);
+	}
+
+	/**
+	 * Get this thread second cursor set up to read the transliteration of the provided text,
+	 * meant to be used along w/ the {@link #get(IuliiaTransliterator, CharSequence) first} one.
+	 *
+	 * <p>The cursor must be {@link #release() released} after use.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @param text				text to transliterate
+	 * @return					cursor
+	 */
+	static IuliiaCursor getSecond(IuliiaTransliterator transliterator, CharSequence text) {
+		return acquire(SECOND_CACHE, transliterator, text);
+	}
+
+	/**
+	 * Get the provided cache thread cursor, or a new one if it is in use,
+	 * set up to read the transliteration of the provided text.
+	 *
+	 * <p>The cached cursor is marked in use before it is set up,
+	 * so that a text reading the transliteration of another one gets its own cursor.
+	 *
+	 * @param cache				per-thread cursor cache
+	 * @param transliterator	transliterator to transliterate w/
+	 * @param text				text to transliterate
+	 * @return					cursor
+	 */
+	private static IuliiaCursor acquire(ThreadLocal<IuliiaCursor> cache, IuliiaTransliterator transliterator, CharSequence text) {
+		IuliiaCursor cursor = cache.get();
+
+		if (cursor.inUse) {
+			cursor = new IuliiaCursor();
+		}
+
+		cursor.inUse = true;
+
+		try {
+			return cursor.reset(transliterator, text);
+		} catch (RuntimeException e) {
+			cursor.release();
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,366 @@
+package io.github.anominy.uwiuliia;
+
+import java.util.Arrays;
+
+/**
+ * A dictionary-encoded string column.
+ *
+ * <p>Holds a row code array along w/ a dictionary of the distinct values,
+ * so that a column w/ millions of rows but only thousands of distinct values
+ * is stored, and transliterated, at the cost of its cardinality.
+ * A {@code null} row is encoded as {@link #NULL_CODE}.
+ *
+ * <p>Instances are immutable, the code and the dictionary arrays are not copied
+ * and must not be modified, see {@link #getCodes()} and {@link #getDictionary()}.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaDictionaryColumn {
+
+	/**
+	 * A {@code null} row code.
+	 */
+	public static final int NULL_CODE = -1;
+
+	/**
+	 * A minimum hash table length.
+	 */
+	private static final int MIN_TABLE_LENGTH = 16;
+
+	/**
+	 * A row code array.
+	 */
+	private final int[] codes;
+
+	/**
+	 * A dictionary of the distinct values.
+	 */
+	private final String[] dictionary;
+
+	/**
+	 * Initialize an {@link IuliiaDictionaryColumn} instance.
+	 *
+	 * @param codes			row code array
+	 * @param dictionary	dictionary of the distinct values
+	 */
+	private IuliiaDictionaryColumn(int[] codes, String[] dictionary) {
+		this.codes = codes;
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * Get this number of rows.
+	 *
+	 * @return	number of rows
+	 */
+	public int size() {
+		return this.codes.length;
+	}
+
+	/**
+	 * Get this number of dictionary values.
+	 *
+	 * @return	number of dictionary values
+	 */
+	public int getCardinality() {
+		return this.dictionary.length;
+	}
+
+	/**
+	 * Get a code of the provided row.
+	 *
+	 * @param row	row index
+	 * @return		dictionary index or {@link #NULL_CODE} if the row is {@code null}
+	 *
+	 * @throws IndexOutOfBoundsException	if the row index is out of bounds
+	 */
+	public int getCode(int row) {
+		return this.codes[row];
+	}
+
+	/**
+	 * Get a value of the provided row.
+	 *
+	 * @param row	row index
+	 * @return		row value or {@code null}
+	 *
+	 * @throws IndexOutOfBoundsException	if the row index is out of bounds
+	 */
+	public String get(int row) {
+		int code = this.codes[row];
+
+		return code == NULL_CODE
+				? null
+				: this.dictionary[code];
+	}
+
+	/**
+	 * Get this row code array.
+	 *
+	 * <p>The array is not copied and must not be modified.
+	 *
+	 * @return	row code array
+	 */
+	public int[] getCodes() {
+		return this.codes;
+	}
+
+	/**
+	 * Get this dictionary of the distinct values.
+	 *
+	 * <p>The array is not copied and must not be modified.
+	 *
+	 * @return	dictionary
+	 */
+	public String[] getDictionary() {
+		return this.dictionary;
+	}
+
+	/**
+	 * Decode this column into a value per row.
+	 *
+	 * @return	row value array
+	 */
+	public String[] toArray() {
+		String[] values = new String[this.codes.length];
+
+		for (int i = 0; i < values.length; i++) {
+			values[i] = this.get(i);
+		}
+
+		return values;
+	}
+
+	/**
+	 * Transliterate this column w/ the provided transliterator.
+	 *
+	 * <p>Transliterates each dictionary value exactly once,
+	 * merging the values that transliterate to the same text,
+	 * so that the rows are visited only if any of the values are merged.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @return					transliterated column
+	 *
+	 * @throws IllegalArgumentException		if the provided transliterator is {@code null}
+	 */
+	public IuliiaDictionaryColumn transliterate(IuliiaTransliterator transliterator) {
+		if (transliterator == null) {
+			throw new IllegalArgumentException("Transliterator mustn't be <null>");
+		}
+
+		String[] values = new String[this.dictionary.length];
+
+		for (int i = 0; i < values.length; i++) {
+			String value = this.dictionary[i];
+
+			values[i] = value != null
+					? transliterator.transliterate(value)
+					: null;
+		}
+
+		IuliiaDictionaryColumn dictionary = encode(values);
+
+		int[] remap = dictionary.codes;
+		if (isIdentity(remap)) {
+			return new IuliiaDictionaryColumn(this.codes, dictionary.dictionary);
+		}
+
+		int[] codes = new int[this.codes.length];
+
+		for (int i = 0; i < codes.length; i++) {
+			int code = this.codes[i];
+
+			codes[i] = code == NULL_CODE
+					? NULL_CODE
+					: remap[code];
+		}
+
+		return new IuliiaDictionaryColumn(codes, dictionary.dictionary);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || this.getClass() != obj.getClass()) {
+			return false;
+		}
+
+		IuliiaDictionaryColumn that = (IuliiaDictionaryColumn) obj;
+
+		return Arrays.equals(this.codes, that.codes)
+				&& Arrays.equals(this.dictionary, that.dictionary);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(this.codes) + Arrays.hashCode(this.dictionary);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return IuliiaDictionaryColumn.class.getSimpleName() + "["
+				+ "size=" + this.codes.length
+				+ ", cardinality=" + this.dictionary.length
+				+ "]";
+	}
+
+	/**
+	 * Dictionary-encode the provided column.
+	 *
+	 * <p>Codes the distinct values in the order of their first occurrence.
+	 *
+	 * @param column	value per row, {@code null} values allowed
+	 * @return			dictionary-encoded column
+	 *
+	 * @throws IllegalArgumentException		if the column is {@code null}
+	 */
+	public static IuliiaDictionaryColumn encode(String[] column) {
+		if (column == null) {
+			throw new IllegalArgumentException("Column mustn't be <null>");
+		}
+
+		int[] codes = new int[column.length];
+
+		// open addressing table of dictionary indices plus one, grown as the dictionary does
+		int[] table = new int[MIN_TABLE_LENGTH];
+		int[] hashes = new int[MIN_TABLE_LENGTH >> 1];
+		String[] dictionary = new String[MIN_TABLE_LENGTH >> 1];
+		int size = 0;
+
+		for (int i = 0; i < column.length; i++) {
+			String value = column[i];
+
+			if (value == null) {
+				codes[i] = NULL_CODE;
+				continue;
+			}
+
+			int hash = value.hashCode();
+			int mask = table.length - 1;
+			int slot = mix(hash) & mask;
+			int code;
+
+			while ((code = table[slot] - 1) >= 0 && (hashes[code] != hash || !dictionary[code].equals(value))) {
+				slot = (slot + 1) & mask;
+			}
+
+			if (code < 0) {
+				code = size++;
+
+				if (code == dictionary.length) {
+					dictionary = Arrays.copyOf(dictionary, code << 1);
+					hashes = Arrays.copyOf(hashes, code << 1);
+				}
+
+				dictionary[code] = value;
+				hashes[code] = hash;
+				table[slot] = code + 1;
+
+				// kept at most half full
+				if (size << 1 > table.length) {
+					table = rehash(hashes, size, table.length << 1);
+				}
+			}
+
+			codes[i] = code;
+		}
+
+		return new IuliiaDictionaryColumn(codes, Arrays.copyOf(dictionary, size));
+	}
+
+	/**
+	 * Wrap the provided dictionary-encoded column.
+	 *
+	 * <p>The arrays are not copied and must not be modified afterwards.
+	 *
+	 * @param codes			dictionary index per row or {@link #NULL_CODE}
+	 * @param dictionary	dictionary, {@code null} and duplicate values allowed
+	 * @return				dictionary-encoded column
+	 *
+	 * @throws IllegalArgumentException		if any of the arrays is {@code null}
+	 * 										or any code is out of the dictionary bounds
+	 */
+	public static IuliiaDictionaryColumn of(int[] codes, String[] dictionary) {
+		if (codes == null) {
+			throw new IllegalArgumentException("Codes mustn't be <null>");
+		}
+
+		if (dictionary == null) {
+			throw new IllegalArgumentException("Dictionary mustn't be <null>");
+		}
+
+		for (int i = 0; i < codes.length; i++) {
+			int code = codes[i];
+
+			if (code < NULL_CODE || code >= dictionary.length) {
+				throw new IllegalArgumentException("Code mustn't be out of the dictionary bounds: row " + i + ", code " + code);
+			}
+		}
+
+		return new IuliiaDictionaryColumn(codes, dictionary);
+	}
+
+	/**
+	 * Rebuild an open addressing table of the provided dictionary hashes.
+	 *
+	 * @param hashes	dictionary value hashes
+	 * @param size		dictionary size
+	 * @param length	table length, a power of two
+	 * @return			table of dictionary indices plus one
+	 */
+	private static int[] rehash(int[] hashes, int size, int length) {
+		int[] table = new int[length];
+		int mask = length - 1;
+
+		for (int code = 0; code < size; code++) {
+			int slot = mix(hashes[code]) & mask;
+
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+
+			table[slot] = code + 1;
+		}
+
+		return table;
+	}
+
+	/**
+	 * Spread the provided hash bits, so that the low ones are usable as a slot index.
+	 *
+	 * @param hash	hash
+	 * @return		mixed hash
+	 */
+	private static int mix(int hash) {
+		hash *= 0x9E3779B9;
+
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Check whether the provided code mapping is an identity one.
+	 *
+	 * @param remap		code mapping
+	 * @return			boolean value as a result
+	 */
+	private static boolean isIdentity(int[] remap) {
+		for (int i = 0; i < remap.length; i++) {
+			if (remap[i] != i) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
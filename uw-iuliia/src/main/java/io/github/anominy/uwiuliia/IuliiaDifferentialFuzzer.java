@@ -0,0 +1,665 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.PrintStream;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * A differential transliteration fuzzer.
+ *
+ * <p>Generates random texts of Cyrillic and Latin words in mixed letter case,
+ * the mapping-schema exception words and endings, punctuation, whitespace,
+ * combining marks and surrogates, and transliterates each of them
+ * w/ every optimized path of a {@link IuliiaTransliterator},
+ * reporting any of the results that differs from the {@link Iuliia} reference transliteration.
+ *
+ * <p>Runs every mapping-schema w/ the default, a single character and a character class word separator,
+ * using the {@link EIuliiaCaseMode#EXPAND} letter case handling mode,
+ * since the {@link Iuliia} reference folds the letter case using a transliterator itself.
+ * A run is reproducible from its seed, see {@link #getSeed()}.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaDifferentialFuzzer {
+
+	/**
+	 * A word separator array, {@code null} for the {@code \b} word boundary.
+	 */
+	private static final String[] SEPARATORS = {null, " ", "[ ,]"};
+
+	/**
+	 * A lower case Cyrillic letter alphabet, including the non-Russian ones.
+	 */
+	private static final String CYRILLIC_LETTERS = "абвгдеёжзийклмнопрстуфхцчшщъыьэюяієїґўј";
+
+	/**
+	 * A lower case Latin letter alphabet.
+	 */
+	private static final String LATIN_LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+	/**
+	 * A punctuation and digit alphabet.
+	 */
+	private static final String PUNCTUATION = ".,;:!?-–—'\"«»()[]/0123456789";
+
+	/**
+	 * A whitespace alphabet.
+	 */
+	private static final String WHITESPACE = "  \t\n\r  ";
+
+	/**
+	 * An exotic fragment array, i.e. combining marks, surrogates and the characters around the letters.
+	 */
+	private static final String[] EXOTIC_FRAGMENTS = {
+			"\u0301", "\u0300", "\u0308", "\u0306", "\u200D", "\u00AD",
+			"\uD83D\uDE00", "\uD835\uDC00", "\uD83D", "\uDE00",
+			"\u00DF", "\u01C5", "\u0131", "\u0130", "\uFB01", "\u00B5", "\u2126", "\u00FF", "_", "\u0000"
+	};
+
+	/**
+	 * A default number of the texts per mapping-schema and word separator.
+	 */
+	private static final int DEFAULT_ITERATIONS = 2000;
+
+	/**
+	 * A default maximum text length.
+	 */
+	private static final int DEFAULT_MAX_LENGTH = 64;
+
+	/**
+	 * A maximum number of the kept mismatches per mapping-schema.
+	 */
+	private static final int MAX_KEPT_MISMATCHES = 10;
+
+	/**
+	 * A seed.
+	 */
+	private final long seed;
+
+	/**
+	 * A number of the texts per mapping-schema and word separator.
+	 */
+	private final int iterations;
+
+	/**
+	 * A maximum text length.
+	 */
+	private final int maxLength;
+
+	/**
+	 * Initialize an {@link IuliiaDifferentialFuzzer} instance.
+	 *
+	 * @param builder	builder to initialize from
+	 */
+	private IuliiaDifferentialFuzzer(Builder builder) {
+		this.seed = builder.seed;
+		this.iterations = builder.iterations;
+		this.maxLength = builder.maxLength;
+	}
+
+	/**
+	 * Get this seed.
+	 *
+	 * @return	seed
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Run all the mapping-schemas.
+	 *
+	 * @param out	stream to report each result and mismatch to or {@code null}
+	 * @return		results, in the {@link EIuliiaSchema} order
+	 */
+	public List<Result> run(PrintStream out) {
+		if (out != null) {
+			out.printf("%-20s %10s %10s %10s%n", "schema", "texts", "checks", "mismatches");
+		}
+
+		List<Result> results = new ArrayList<>();
+
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			IuliiaSchema schema = IuliiaSchema.fromEnumType(type);
+
+			if (schema == null) {
+				continue;
+			}
+
+			Result result = this.run(type, schema);
+			results.add(result);
+
+			if (out != null) {
+				out.printf("%-20s %10d %10d %10d%n", type.name(), result.texts, result.checks, result.mismatchCount);
+
+				for (IuliiaMismatch mismatch : result.mismatches) {
+					out.println("  " + mismatch);
+				}
+			}
+		}
+
+		return Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * Run a single mapping-schema.
+	 *
+	 * @param type		mapping-schema type
+	 * @param schema	mapping-schema
+	 * @return			result
+	 */
+	private Result run(EIuliiaSchema type, IuliiaSchema schema) {
+		Result result = new Result(type);
+
+		// seeded per schema, so that a schema is reproducible regardless of the others
+		Random random = new Random(this.seed ^ ((long) type.ordinal() * 0x9E3779B97F4A7C15L));
+		Generator generator = new Generator(random, schema, this.maxLength);
+
+		for (String separator : SEPARATORS) {
+			IuliiaTransliterator transliterator = IuliiaTransliterator.builder(schema)
+					.setSeparator(separator)
+					.build();
+
+			for (int i = 0; i < this.iterations; i++) {
+				String text = generator.next();
+				String expected = Iuliia.transliterate(text, separator, schema);
+
+				this.check(result, transliterator, random, text, expected);
+				result.texts++;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Check every optimized path of the provided transliterator.
+	 *
+	 * @param result			result to record to
+	 * @param transliterator	transliterator to check
+	 * @param random			random to chunk the text w/
+	 * @param text				source text
+	 * @param expected			reference transliteration
+	 */
+	private void check(Result result, IuliiaTransliterator transliterator, Random random, String text, String expected) {
+		this.check(result, transliterator, "transliterate", text, expected,
+				transliterator.transliterate(text));
+
+		this.check(result, transliterator, "builder", text, expected,
+				transliterator.transliterate(text, new StringBuilder("#"))
+						.substring(1));
+
+		this.check(result, transliterator, "charBuffer", text, expected,
+				transliterateToCharBuffer(transliterator, text, expected.length()));
+
+		this.check(result, transliterator, "view", text, expected,
+				transliterator.view(text).toString());
+
+		byte[] ascii = transliterator.transliterateToAscii(text);
+
+		this.check(result, transliterator, "ascii", text, expected, ascii != null
+				? new String(ascii, StandardCharsets.US_ASCII)
+				: (isAscii(expected) ? null : expected));
+
+		IuliiaDictionaryColumn column = transliterator.transliterateColumn(new String[] {text, null, text});
+
+		this.check(result, transliterator, "column", text, expected,
+				column.get(1) == null && column.getCode(0) == column.getCode(2)
+						? column.get(0)
+						: null);
+
+		if (transliterator.getSeparator() == null) {
+			this.check(result, transliterator, "textBuffer", text, expected,
+					transliterateInChunks(transliterator, random, text));
+		}
+	}
+
+	/**
+	 * Check a single optimized path result, recording it to the provided result.
+	 *
+	 * @param result			result to record to
+	 * @param transliterator	transliterator checked
+	 * @param path				optimized path name
+	 * @param text				source text
+	 * @param expected			reference transliteration
+	 * @param actual			optimized path transliteration
+	 */
+	private void check(Result result, IuliiaTransliterator transliterator, String path, String text, String expected, String actual) {
+		result.checks++;
+
+		if (expected.equals(actual)) {
+			return;
+		}
+
+		result.mismatchCount++;
+
+		if (result.mismatches.size() < MAX_KEPT_MISMATCHES) {
+			result.mismatches.add(new IuliiaMismatch(path, transliterator.getSchema(), transliterator.getSeparator(), text, expected, actual));
+		}
+	}
+
+	/**
+	 * Create a new differential fuzzer builder.
+	 *
+	 * @return	differential fuzzer builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Transliterate text into a char buffer of the exact reference length,
+	 * surrounded by guard characters that must be left untouched.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @param text				text to transliterate
+	 * @param length			reference transliteration length
+	 * @return					transliterated text or {@code null} if the buffer has been overflowed or guards overwritten
+	 */
+	private static String transliterateToCharBuffer(IuliiaTransliterator transliterator, String text, int length) {
+		CharBuffer buffer = CharBuffer.allocate(length + 2);
+		buffer.put(0, '#');
+		buffer.put(length + 1, '#');
+		((Buffer) buffer).position(1);
+		((Buffer) buffer).limit(length + 1);
+
+		try {
+			transliterator.transliterate(text, buffer);
+		} catch (BufferOverflowException e) {
+			return null;
+		}
+
+		char[] chars = buffer.array();
+
+		if (buffer.position() != length + 1 || chars[0] != '#' || chars[length + 1] != '#') {
+			return null;
+		}
+
+		return new String(chars, 1, length);
+	}
+
+	/**
+	 * Transliterate text split into random chunks using a text buffer.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @param random			random to split the text w/
+	 * @param text				text to transliterate
+	 * @return					transliterated text
+	 */
+	private static String transliterateInChunks(IuliiaTransliterator transliterator, Random random, String text) {
+		IuliiaTextBuffer buffer = new IuliiaTextBuffer(transliterator.getTable());
+		StringBuilder sb = new StringBuilder();
+
+		int start = 0;
+		int length = text.length();
+
+		while (start < length) {
+			int end = Math.min(length, start + 1 + random.nextInt(8));
+
+			buffer.add(text.substring(start, end));
+			buffer.transliterate(sb, false);
+
+			start = end;
+		}
+
+		buffer.transliterate(sb, true);
+		return sb.toString();
+	}
+
+	/**
+	 * Check whether the provided text is ASCII only.
+	 *
+	 * @param text	text to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isAscii(String text) {
+		for (int i = 0, length = text.length(); i < length; i++) {
+			if (text.charAt(i) > 0x7F) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * A random text generator.
+	 */
+	private static final class Generator {
+
+		/**
+		 * A random.
+		 */
+		private final Random random;
+
+		/**
+		 * A maximum text length.
+		 */
+		private final int maxLength;
+
+		/**
+		 * A mapping-schema exception word array.
+		 */
+		private final String[] exceptionWords;
+
+		/**
+		 * A mapping-schema ending array.
+		 */
+		private final String[] endings;
+
+		/**
+		 * A text builder.
+		 */
+		private final StringBuilder sb;
+
+		/**
+		 * Initialize a {@link Generator} instance.
+		 *
+		 * @param random		random
+		 * @param schema		mapping-schema to take the exception words and endings from
+		 * @param maxLength		maximum text length
+		 */
+		private Generator(Random random, IuliiaSchema schema, int maxLength) {
+			this.random = random;
+			this.maxLength = maxLength;
+			this.exceptionWords = schema.getExceptionMap().keySet().toArray(new String[0]);
+			this.endings = schema.getEndingLetterMap().keySet().toArray(new String[0]);
+			this.sb = new StringBuilder();
+		}
+
+		/**
+		 * Generate a next text.
+		 *
+		 * @return	text
+		 */
+		private String next() {
+			StringBuilder sb = this.sb;
+			sb.setLength(0);
+
+			int length = this.random.nextInt(this.maxLength + 1);
+
+			while (sb.length() < length) {
+				int kind = this.random.nextInt(20);
+
+				if (kind < 8) {
+					sb.append(this.toRandomCase(this.nextWord(CYRILLIC_LETTERS)));
+				} else if (kind < 10) {
+					sb.append(this.toRandomCase(this.nextWord(CYRILLIC_LETTERS) + this.pick(this.endings)));
+				} else if (kind < 11) {
+					sb.append(this.toRandomCase(this.pick(this.exceptionWords)));
+				} else if (kind < 13) {
+					sb.append(this.toRandomCase(this.nextWord(LATIN_LETTERS)));
+				} else if (kind < 15) {
+					sb.append(this.nextChar(PUNCTUATION));
+				} else if (kind < 19) {
+					sb.append(this.nextChar(WHITESPACE));
+				} else {
+					sb.append(this.pick(EXOTIC_FRAGMENTS));
+				}
+			}
+
+			return sb.toString();
+		}
+
+		/**
+		 * Generate a next lower case word.
+		 *
+		 * @param alphabet	alphabet to generate from
+		 * @return			word
+		 */
+		private String nextWord(String alphabet) {
+			int length = 1 + this.random.nextInt(8);
+			char[] chars = new char[length];
+
+			for (int i = 0; i < length; i++) {
+				chars[i] = this.nextChar(alphabet);
+			}
+
+			return new String(chars);
+		}
+
+		/**
+		 * Pick a next character of the provided alphabet.
+		 *
+		 * @param alphabet	alphabet to pick from
+		 * @return			character
+		 */
+		private char nextChar(String alphabet) {
+			return alphabet.charAt(this.random.nextInt(alphabet.length()));
+		}
+
+		/**
+		 * Pick a next element of the provided array.
+		 *
+		 * @param array		array to pick from
+		 * @return			element or an empty string if the array is empty
+		 */
+		private String pick(String[] array) {
+			return array.length > 0
+					? array[this.random.nextInt(array.length)]
+					: "";
+		}
+
+		/**
+		 * Convert a lower case word to a random letter case,
+		 * i.e. lower, upper, title or mixed one.
+		 *
+		 * @param word	lower case word
+		 * @return		word in a random letter case
+		 */
+		private String toRandomCase(String word) {
+			if (word.isEmpty()) {
+				return word;
+			}
+
+			switch (this.random.nextInt(4)) {
+				case 0:
+					return word;
+				case 1:
+					return word.toUpperCase(Locale.ROOT);
+				case 2:
+					return word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
+				default: {
+					char[] chars = word.toCharArray();
+
+					for (int i = 0; i < chars.length; i++) {
+						if (this.random.nextBoolean()) {
+							chars[i] = Character.toUpperCase(chars[i]);
+						}
+					}
+
+					return new String(chars);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A mapping-schema fuzzing result.
+	 */
+	public static final class Result {
+
+		/**
+		 * A mapping-schema type.
+		 */
+		private final EIuliiaSchema type;
+
+		/**
+		 * A list of the first mismatches.
+		 */
+		private final List<IuliiaMismatch> mismatches;
+
+		/**
+		 * A number of the generated texts.
+		 */
+		private long texts;
+
+		/**
+		 * A number of the checked optimized path results.
+		 */
+		private long checks;
+
+		/**
+		 * A number of the mismatched optimized path results.
+		 */
+		private long mismatchCount;
+
+		/**
+		 * Initialize a {@link Result} instance.
+		 *
+		 * @param type	mapping-schema type
+		 */
+		private Result(EIuliiaSchema type) {
+			this.type = type;
+			this.mismatches = new ArrayList<>();
+		}
+
+		/**
+		 * Get this mapping-schema type.
+		 *
+		 * @return	mapping-schema type
+		 */
+		public EIuliiaSchema getType() {
+			return this.type;
+		}
+
+		/**
+		 * Get this number of the generated texts.
+		 *
+		 * @return	number of the generated texts
+		 */
+		public long getTexts() {
+			return this.texts;
+		}
+
+		/**
+		 * Get this number of the checked optimized path results.
+		 *
+		 * @return	number of the checked results
+		 */
+		public long getChecks() {
+			return this.checks;
+		}
+
+		/**
+		 * Get this number of the mismatched optimized path results.
+		 *
+		 * @return	number of the mismatched results
+		 */
+		public long getMismatchCount() {
+			return this.mismatchCount;
+		}
+
+		/**
+		 * Get the first mismatches.
+		 *
+		 * @return	unmodifiable list of up to ten first mismatches
+		 */
+		public List<IuliiaMismatch> getMismatches() {
+			return Collections.unmodifiableList(this.mismatches);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return this.getClass().getSimpleName() + "["
+					+ "type=" + this.type
+					+ ", texts=" + this.texts
+					+ ", checks=" + this.checks
+					+ ", mismatches=" + this.mismatchCount
+					+ "]";
+		}
+	}
+
+	/**
+	 * A differential fuzzer builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A seed.
+		 */
+		private long seed;
+
+		/**
+		 * A number of the texts per mapping-schema and word separator.
+		 */
+		private int iterations;
+
+		/**
+		 * A maximum text length.
+		 */
+		private int maxLength;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 */
+		private Builder() {
+			this.seed = System.nanoTime();
+			this.iterations = DEFAULT_ITERATIONS;
+			this.maxLength = DEFAULT_MAX_LENGTH;
+		}
+
+		/**
+		 * Set the seed.
+		 *
+		 * @param seed	seed, default to a random one
+		 * @return		this builder
+		 */
+		public Builder setSeed(long seed) {
+			this.seed = seed;
+			return this;
+		}
+
+		/**
+		 * Set the number of the texts per mapping-schema and word separator.
+		 *
+		 * @param iterations	number of the texts, default to {@code 2000}
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided number is negative
+		 */
+		public Builder setIterations(int iterations) {
+			if (iterations < 0) {
+				throw new IllegalArgumentException("Iterations mustn't be negative");
+			}
+
+			this.iterations = iterations;
+			return this;
+		}
+
+		/**
+		 * Set the maximum text length.
+		 *
+		 * @param maxLength		maximum text length, default to {@code 64}
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided length is negative
+		 */
+		public Builder setMaxLength(int maxLength) {
+			if (maxLength < 0) {
+				throw new IllegalArgumentException("Max length mustn't be negative");
+			}
+
+			this.maxLength = maxLength;
+			return this;
+		}
+
+		/**
+		 * Build a new differential fuzzer.
+		 *
+		 * @return	differential fuzzer
+		 */
+		public IuliiaDifferentialFuzzer build() {
+			return new IuliiaDifferentialFuzzer(this);
+		}
+	}
+}
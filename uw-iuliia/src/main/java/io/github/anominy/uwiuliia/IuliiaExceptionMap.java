@@ -0,0 +1,733 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A compact unmodifiable whole-word exception map.
+ *
+ * <p>Stores lower case words and their transliterations in flat character arrays,
+ * indexed by an open-addressing hash table of entry indices along w/ the full word hashes,
+ * so that a miss costs a length check or a single probe in most cases.
+ *
+ * <p>Words of a text are looked up regardless of their case, see {@link #indexOf(CharSequence, int, int)},
+ * while the {@link Map} methods look up the lower case words exactly,
+ * so that this map behaves the same as any other one w/ the same entries.
+ *
+ * <p>An overlay exception map, see {@link #overlay(IuliiaExceptionMap, Map)},
+ * stores its own words only and falls through to the base exception map,
+ * w/o copying any of its entries.
+ */
+final class IuliiaExceptionMap extends AbstractMap<String, String> implements Serializable {
+
+	/**
+	 * A serialization version.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * An empty {@link IuliiaExceptionMap} instance.
+	 */
+	static final IuliiaExceptionMap EMPTY = new IuliiaExceptionMap(new TreeMap<>());
+
+	/**
+	 * A golden ratio hash multiplier.
+	 */
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+	/**
+	 * A concatenated lower case word array.
+	 */
+	private final char[] keyChars;
+
+	/**
+	 * A word start offset array, w/ the total length at the end.
+	 */
+	private final int[] keyOffsets;
+
+	/**
+	 * A concatenated transliteration array.
+	 */
+	private final char[] valueChars;
+
+	/**
+	 * A transliteration start offset array, w/ the total length at the end.
+	 */
+	private final int[] valueOffsets;
+
+	/**
+	 * A word hash array.
+	 */
+	private final int[] hashes;
+
+	/**
+	 * An open-addressing hash index of entry indices plus one, {@code 0} marks an empty slot.
+	 */
+	private final int[] slots;
+
+	/**
+	 * A minimum word length.
+	 */
+	private final int minKeyLength;
+
+	/**
+	 * A maximum word length.
+	 */
+	private final int maxKeyLength;
+
+	/**
+	 * A base exception map or {@code null}.
+	 */
+	private final IuliiaExceptionMap base;
+
+	/**
+	 * A number of visible entries, along w/ the base ones that are not overridden.
+	 */
+	private final int size;
+
+	/**
+	 * An {@link #entrySet()} cache.
+	 */
+	private transient volatile Set<Map.Entry<String, String>> entrySetCache;
+
+	/**
+	 * Initialize an {@link IuliiaExceptionMap} instance.
+	 *
+	 * @param map	lower case words sorted along w/ their transliterations
+	 */
+	private IuliiaExceptionMap(TreeMap<String, String> map) {
+		this(map, null);
+	}
+
+	/**
+	 * Initialize an {@link IuliiaExceptionMap} instance.
+	 *
+	 * @param map	lower case words sorted along w/ their transliterations
+	 * @param base	base exception map or {@code null}
+	 */
+	private IuliiaExceptionMap(TreeMap<String, String> map, IuliiaExceptionMap base) {
+		int size = map.size();
+
+		int keyLength = 0;
+		int valueLength = 0;
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			keyLength += entry.getKey().length();
+			valueLength += entry.getValue().length();
+		}
+
+		this.keyChars = new char[keyLength];
+		this.keyOffsets = new int[size + 1];
+		this.valueChars = new char[valueLength];
+		this.valueOffsets = new int[size + 1];
+		this.hashes = new int[size];
+		this.slots = new int[Integer.highestOneBit(size * 2 + 1) << 1];
+
+		int mask = this.slots.length - 1;
+
+		int minKeyLength = Integer.MAX_VALUE;
+		int maxKeyLength = -1;
+
+		int i = 0;
+		keyLength = 0;
+		valueLength = 0;
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+			String value = entry.getValue();
+
+			key.getChars(0, key.length(), this.keyChars, keyLength);
+			value.getChars(0, value.length(), this.valueChars, valueLength);
+
+			this.keyOffsets[i] = keyLength;
+			this.valueOffsets[i] = valueLength;
+
+			keyLength += key.length();
+			valueLength += value.length();
+
+			minKeyLength = Math.min(minKeyLength, key.length());
+			maxKeyLength = Math.max(maxKeyLength, key.length());
+
+			int hash = hash(key, 0, key.length());
+			this.hashes[i] = hash;
+
+			int slot = hash & mask;
+			while (this.slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+
+			this.slots[slot] = ++i;
+		}
+
+		this.keyOffsets[size] = keyLength;
+		this.valueOffsets[size] = valueLength;
+
+		this.minKeyLength = minKeyLength;
+		this.maxKeyLength = maxKeyLength;
+
+		this.base = base;
+
+		if (base != null) {
+			for (String key : base.keySet()) {
+				if (!map.containsKey(key)) {
+					size++;
+				}
+			}
+		}
+
+		this.size = size;
+	}
+
+	/**
+	 * Get an index of the provided word regardless of its case or return {@code -1}.
+	 *
+	 * <p>Indices of the base entries follow the own ones.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @return			entry index or {@code -1}
+	 */
+	int indexOf(CharSequence text, int start, int end) {
+		int index = this.indexOfOwn(text, start, end);
+
+		if (index >= 0 || this.base == null) {
+			return index;
+		}
+
+		index = this.base.indexOf(text, start, end);
+
+		if (index < 0) {
+			return -1;
+		}
+
+		return this.hashes.length + index;
+	}
+
+	/**
+	 * Get an index of the provided word among the own entries regardless of its case or return {@code -1}.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @return			own entry index or {@code -1}
+	 */
+	private int indexOfOwn(CharSequence text, int start, int end) {
+		int length = end - start;
+
+		if (length < this.minKeyLength || length > this.maxKeyLength) {
+			return -1;
+		}
+
+		int hash = hash(text, start, end);
+		int mask = this.slots.length - 1;
+
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+			int index = this.slots[slot] - 1;
+
+			if (index < 0) {
+				return -1;
+			}
+
+			if (this.hashes[index] == hash && this.matches(index, text, start, end)) {
+				return index;
+			}
+		}
+	}
+
+	/**
+	 * Append a transliteration of the provided entry in the case of the provided word.
+	 *
+	 * <p>The transliteration is appended as is, unless the word starts w/ an upper case letter,
+	 * then it is capitalized, or upper cased if the whole word is upper case.
+	 *
+	 * @param index		entry index
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @param sink		sink to append to
+	 */
+	void append(int index, CharSequence text, int start, int end, IuliiaSink sink) {
+		if (index >= this.hashes.length) {
+			this.base.append(index - this.hashes.length, text, start, end, sink);
+			return;
+		}
+
+		int valueStart = this.valueOffsets[index];
+		int valueEnd = this.valueOffsets[index + 1];
+
+		if (valueStart == valueEnd) {
+			return;
+		}
+
+		if (IuliiaCase.getClass(text.charAt(start)) != IuliiaCase.UPPER) {
+			for (int i = valueStart; i < valueEnd; i++) {
+				sink.append(this.valueChars[i]);
+			}
+
+			return;
+		}
+
+		boolean upperCaseWord = IuliiaCase.isUpperCaseWord(text, start, end);
+
+		sink.append(IuliiaCase.toUpperCase(this.valueChars[valueStart]));
+
+		for (int i = valueStart + 1; i < valueEnd; i++) {
+			char c = this.valueChars[i];
+
+			sink.append(upperCaseWord ? IuliiaCase.toUpperCase(c) : c);
+		}
+	}
+
+	/**
+	 * Get a transliteration of the provided word in its case or return {@code null}.
+	 *
+	 * @param word	word to look up
+	 * @return		transliteration or {@code null}
+	 */
+	String transliterate(String word) {
+		int index = this.indexOf(word, 0, word.length());
+
+		if (index < 0) {
+			return null;
+		}
+
+		StringBuilder sb = new StringBuilder();
+		IuliiaStringSink sink = IuliiaStringSink.get(sb);
+
+		try {
+			this.append(index, word, 0, word.length(), sink);
+		} finally {
+			sink.release();
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Check whether any of the words consists of ASCII characters only.
+	 *
+	 * @return	boolean value as a result
+	 */
+	boolean hasAsciiKey() {
+		for (int i = 0; i < this.hashes.length; i++) {
+			boolean ascii = true;
+
+			for (int j = this.keyOffsets[i]; j < this.keyOffsets[i + 1] && ascii; j++) {
+				ascii = this.keyChars[j] < 0x80;
+			}
+
+			if (ascii) {
+				return true;
+			}
+		}
+
+		return this.base != null
+				&& this.base.hasAsciiKey();
+	}
+
+	/**
+	 * Check whether all the transliterations are ASCII,
+	 * so that they stay ASCII in any of the cases they can be appended in.
+	 *
+	 * @return	boolean value as a result
+	 */
+	boolean hasAsciiValuesOnly() {
+		for (char c : this.valueChars) {
+			if (c >= 0x80) {
+				return false;
+			}
+		}
+
+		return this.base == null
+				|| this.base.hasAsciiValuesOnly();
+	}
+
+	/**
+	 * Get a maximum UTF-8 length of a transliteration per word character,
+	 * in any of the cases it can be appended in.
+	 *
+	 * @return	maximum UTF-8 length per word character
+	 */
+	int getMaxUtf8LengthPerChar() {
+		int max = 0;
+
+		for (int i = 0; i < this.hashes.length; i++) {
+			String value = this.getValue(i);
+
+			int length = Math.max(
+					IuliiaUtf8.getEncodedLength(value),
+					IuliiaUtf8.getEncodedLength(value.toUpperCase())
+			);
+
+			int keyLength = Math.max(1, this.keyOffsets[i + 1] - this.keyOffsets[i]);
+
+			max = Math.max(max, (length + keyLength - 1) / keyLength);
+		}
+
+		if (this.base != null) {
+			max = Math.max(max, this.base.getMaxUtf8LengthPerChar());
+		}
+
+		return max;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String get(Object key) {
+		if (!(key instanceof String)) {
+			return null;
+		}
+
+		int index = this.indexOfKey((String) key);
+
+		if (index >= 0) {
+			return this.getValue(index);
+		}
+
+		if (this.base == null) {
+			return null;
+		}
+
+		return this.base.get(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		if (!(key instanceof String)) {
+			return false;
+		}
+
+		return this.indexOfKey((String) key) >= 0
+				|| (this.base != null && this.base.containsKey(key));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Map.Entry<String, String>> entrySet() {
+		Set<Map.Entry<String, String>> entrySet = this.entrySetCache;
+
+		if (entrySet == null) {
+			this.entrySetCache = entrySet = new EntrySet();
+		}
+
+		return entrySet;
+	}
+
+	/**
+	 * Estimate a footprint of this exception map.
+	 *
+	 * @param footprint		footprint to add the objects of this exception map to
+	 * @param owner			owner of the objects
+	 */
+	void addTo(IuliiaFootprint.Builder footprint, IuliiaSchema owner) {
+		footprint.addObject(owner, this, 11);
+		footprint.addCharArray(owner, this.keyChars, this.keyChars.length);
+		footprint.addIntArray(owner, this.keyOffsets, this.keyOffsets.length);
+		footprint.addCharArray(owner, this.valueChars, this.valueChars.length);
+		footprint.addIntArray(owner, this.valueOffsets, this.valueOffsets.length);
+		footprint.addIntArray(owner, this.hashes, this.hashes.length);
+		footprint.addIntArray(owner, this.slots, this.slots.length);
+		footprint.addMap(owner, this.base);
+	}
+
+	/**
+	 * Get an own index of the provided word as is or return {@code -1}.
+	 *
+	 * @param word	word to look up
+	 * @return		own entry index or {@code -1}
+	 */
+	private int indexOfKey(String word) {
+		int index = this.indexOfOwn(word, 0, word.length());
+
+		if (index < 0) {
+			return -1;
+		}
+
+		int keyStart = this.keyOffsets[index];
+
+		for (int i = 0; i < word.length(); i++) {
+			if (this.keyChars[keyStart + i] != word.charAt(i)) {
+				return -1;
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Get a word of the provided entry.
+	 *
+	 * @param index		entry index
+	 * @return			lower case word
+	 */
+	private String getKey(int index) {
+		int start = this.keyOffsets[index];
+
+		return new String(this.keyChars, start, this.keyOffsets[index + 1] - start);
+	}
+
+	/**
+	 * Get a transliteration of the provided entry.
+	 *
+	 * @param index		entry index
+	 * @return			transliteration
+	 */
+	private String getValue(int index) {
+		int start = this.valueOffsets[index];
+
+		return new String(this.valueChars, start, this.valueOffsets[index + 1] - start);
+	}
+
+	/**
+	 * Check whether the word of the provided entry matches the provided word regardless of its case.
+	 *
+	 * @param index		entry index
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @return			boolean value as a result
+	 */
+	private boolean matches(int index, CharSequence text, int start, int end) {
+		int keyStart = this.keyOffsets[index];
+
+		if (this.keyOffsets[index + 1] - keyStart != end - start) {
+			return false;
+		}
+
+		for (int i = start; i < end; i++) {
+			if (this.keyChars[keyStart++] != IuliiaCase.toLowerCase(text.charAt(i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Hash the provided word regardless of its case.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @return			spread hash
+	 */
+	private static int hash(CharSequence text, int start, int end) {
+		int h = 0;
+
+		for (int i = start; i < end; i++) {
+			h = 31 * h + IuliiaCase.toLowerCase(text.charAt(i));
+		}
+
+		h *= HASH_MULTIPLIER;
+
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Get a compact copy of the provided exception map.
+	 *
+	 * <p>Words are converted to lower case,
+	 * entries w/ a {@code null} or empty word or a {@code null} transliteration are skipped.
+	 *
+	 * @param map	words along w/ their transliterations
+	 * @return		compact exception map
+	 */
+	static IuliiaExceptionMap of(Map<String, String> map) {
+		if (map == null || map.isEmpty()) {
+			return EMPTY;
+		}
+
+		if (map instanceof IuliiaExceptionMap) {
+			return (IuliiaExceptionMap) map;
+		}
+
+		TreeMap<String, String> sorted = new TreeMap<>();
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			put(sorted, entry.getKey(), entry.getValue());
+		}
+
+		return ofSorted(sorted);
+	}
+
+	/**
+	 * Get a compact copy of the provided sorted exception map,
+	 * filled in by {@link #put(TreeMap, String, String)}.
+	 *
+	 * @param sorted	lower case words along w/ their transliterations
+	 * @return			compact exception map
+	 */
+	static IuliiaExceptionMap ofSorted(TreeMap<String, String> sorted) {
+		if (sorted.isEmpty()) {
+			return EMPTY;
+		}
+
+		return new IuliiaExceptionMap(sorted);
+	}
+
+	/**
+	 * Get an exception map overlaying the provided base exception map w/ the provided one.
+	 *
+	 * <p>The overriding words are converted to lower case and looked up first,
+	 * the base words are only looked up if not overridden.
+	 *
+	 * @param base		base exception map
+	 * @param map		overriding words along w/ their transliterations
+	 * @return			overlay exception map, or the base one if nothing is overridden
+	 */
+	static IuliiaExceptionMap overlay(IuliiaExceptionMap base, Map<String, String> map) {
+		TreeMap<String, String> sorted = new TreeMap<>();
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			put(sorted, entry.getKey(), entry.getValue());
+		}
+
+		if (sorted.isEmpty()) {
+			return base;
+		}
+
+		if (base.isEmpty()) {
+			return new IuliiaExceptionMap(sorted);
+		}
+
+		return new IuliiaExceptionMap(sorted, base);
+	}
+
+	/**
+	 * Put a whole-word exception into the provided sorted exception map,
+	 * converting the word to lower case.
+	 *
+	 * <p>Skips an entry w/ a {@code null} or empty word or a {@code null} transliteration.
+	 *
+	 * @param sorted	sorted exception map to put into
+	 * @param key		word
+	 * @param value		transliteration
+	 */
+	static void put(TreeMap<String, String> sorted, String key, String value) {
+		if (key == null || key.isEmpty() || value == null) {
+			return;
+		}
+
+		char[] chars = key.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = IuliiaCase.toLowerCase(chars[i]);
+		}
+
+		sorted.put(new String(chars), value);
+	}
+
+	/**
+	 * An exception map entry set.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Map.Entry<String, String>> iterator() {
+			IuliiaExceptionMap base = IuliiaExceptionMap.this.base;
+
+			Iterator<Map.Entry<String, String>> baseIterator = base == null
+					? null
+					: base.entrySet().iterator();
+
+			return new Iterator<Map.Entry<String, String>>() {
+
+				/**
+				 * A next own entry index.
+				 */
+				private int index;
+
+				/**
+				 * A next base entry or {@code null}.
+				 */
+				private Map.Entry<String, String> next = this.advance();
+
+				/**
+				 * Advance to the next base entry that is not overridden.
+				 *
+				 * @return	next visible base entry or {@code null}
+				 */
+				private Map.Entry<String, String> advance() {
+					if (baseIterator == null) {
+						return null;
+					}
+
+					while (baseIterator.hasNext()) {
+						Map.Entry<String, String> entry = baseIterator.next();
+
+						if (IuliiaExceptionMap.this.indexOfKey(entry.getKey()) < 0) {
+							return entry;
+						}
+					}
+
+					return null;
+				}
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public boolean hasNext() {
+					return this.index < IuliiaExceptionMap.this.hashes.length
+							|| this.next != null;
+				}
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public Map.Entry<String, String> next() {
+					if (this.index < IuliiaExceptionMap.this.hashes.length) {
+						int i = this.index++;
+
+						return new AbstractMap.SimpleImmutableEntry<>(
+								IuliiaExceptionMap.this.getKey(i),
+								IuliiaExceptionMap.this.getValue(i)
+						);
+					}
+
+					Map.Entry<String, String> entry = this.next;
+					if (entry == null) {
+						throw new NoSuchElementException();
+					}
+
+					this.next = this.advance();
+
+					return entry;
+				}
+			};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return IuliiaExceptionMap.this.size;
+		}
+	}
+}
@@ -0,0 +1,450 @@
+package io.github.anominy.uwiuliia;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A mapping-schema memory footprint report.
+ *
+ * <p>Estimates the heap occupied by a set of mapping-schemas
+ * assuming a 64-bit JVM w/ compressed references.
+ * Objects shared by several schemas, e.g. interned letter-maps and strings,
+ * are counted once in the total and split evenly between their owners.
+ *
+ * <p>Mapping-schemas are reported by identity,
+ * so that equal but distinct instances are reported separately.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaFootprint {
+
+	/**
+	 * An object header size.
+	 */
+	private static final int OBJECT_HEADER_SIZE = 12;
+
+	/**
+	 * An array header size.
+	 */
+	private static final int ARRAY_HEADER_SIZE = 16;
+
+	/**
+	 * A reference and an int field size.
+	 */
+	private static final int FIELD_SIZE = 4;
+
+	/**
+	 * An object alignment.
+	 */
+	private static final int ALIGNMENT = 8;
+
+	/**
+	 * A hash map entry size.
+	 */
+	private static final int MAP_ENTRY_SIZE = 32;
+
+	/**
+	 * A list of reported mapping-schemas, in the report order.
+	 */
+	private final List<IuliiaSchema> schemas;
+
+	/**
+	 * An identity map of amortized sizes by their mapping-schemas.
+	 */
+	private final Map<IuliiaSchema, Long> bytes;
+
+	/**
+	 * An identity map of exclusively owned sizes by their mapping-schemas.
+	 */
+	private final Map<IuliiaSchema, Long> exclusiveBytes;
+
+	/**
+	 * A total size.
+	 */
+	private final long totalBytes;
+
+	/**
+	 * Initialize an {@link IuliiaFootprint} instance.
+	 *
+	 * @param schemas			list of reported mapping-schemas
+	 * @param bytes				identity map of amortized sizes by their mapping-schemas
+	 * @param exclusiveBytes	identity map of exclusively owned sizes by their mapping-schemas
+	 * @param totalBytes		total size
+	 */
+	private IuliiaFootprint(List<IuliiaSchema> schemas, Map<IuliiaSchema, Long> bytes, Map<IuliiaSchema, Long> exclusiveBytes, long totalBytes) {
+		this.schemas = Collections.unmodifiableList(schemas);
+		this.bytes = Collections.unmodifiableMap(bytes);
+		this.exclusiveBytes = Collections.unmodifiableMap(exclusiveBytes);
+		this.totalBytes = totalBytes;
+	}
+
+	/**
+	 * Get a total size of all the reported mapping-schemas.
+	 *
+	 * @return	total size in bytes
+	 */
+	public long getTotalBytes() {
+		return this.totalBytes;
+	}
+
+	/**
+	 * Get a size of the provided mapping-schema,
+	 * w/ the shared objects split evenly between their owners.
+	 *
+	 * @param schema	reported mapping-schema
+	 * @return			size in bytes or {@code 0} if not reported
+	 */
+	public long getBytes(IuliiaSchema schema) {
+		return this.bytes.getOrDefault(schema, 0L);
+	}
+
+	/**
+	 * Get a size of the objects owned by the provided mapping-schema only.
+	 *
+	 * @param schema	reported mapping-schema
+	 * @return			size in bytes or {@code 0} if not reported
+	 */
+	public long getExclusiveBytes(IuliiaSchema schema) {
+		return this.exclusiveBytes.getOrDefault(schema, 0L);
+	}
+
+	/**
+	 * Get a list of reported mapping-schemas.
+	 *
+	 * @return	unmodifiable list of mapping-schemas, in the report order
+	 */
+	public List<IuliiaSchema> getSchemas() {
+		return this.schemas;
+	}
+
+	/**
+	 * Get an identity map of sizes by their mapping-schemas,
+	 * w/ the shared objects split evenly between their owners.
+	 *
+	 * @return	unmodifiable identity map of sizes in bytes
+	 */
+	public Map<IuliiaSchema, Long> getBytes() {
+		return this.bytes;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+
+		for (IuliiaSchema schema : this.schemas) {
+			sb.append(schema.getName())
+					.append(": ")
+					.append(this.getBytes(schema))
+					.append(" B (exclusive ")
+					.append(this.getExclusiveBytes(schema))
+					.append(" B)")
+					.append(System.lineSeparator());
+		}
+
+		return sb.append("total: ")
+				.append(this.totalBytes)
+				.append(" B")
+				.toString();
+	}
+
+	/**
+	 * Estimate a footprint of the provided mapping-schemas.
+	 *
+	 * @param schemas	mapping-schemas to report
+	 * @return			footprint report
+	 */
+	public static IuliiaFootprint of(Collection<IuliiaSchema> schemas) {
+		Builder builder = new Builder();
+
+		for (IuliiaSchema schema : schemas) {
+			if (schema != null) {
+				builder.addSchema(schema);
+			}
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Estimate a footprint of the provided mapping-schemas.
+	 *
+	 * <p>Wraps {@link #of(Collection)}.
+	 *
+	 * @param schemas	mapping-schemas to report
+	 * @return			footprint report
+	 */
+	public static IuliiaFootprint of(IuliiaSchema... schemas) {
+		return of(Arrays.asList(schemas));
+	}
+
+	/**
+	 * Estimate a footprint of all the built-in mapping-schemas,
+	 * loading them if not loaded yet.
+	 *
+	 * @return	footprint report
+	 */
+	public static IuliiaFootprint ofBuiltIn() {
+		Builder builder = new Builder();
+
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			builder.addSchema(IuliiaSchema.fromEnumType(type));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Align the provided size.
+	 *
+	 * @param size	size to align
+	 * @return		aligned size
+	 */
+	private static long align(long size) {
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+	/**
+	 * A footprint report builder.
+	 *
+	 * <p>Tracks every visited object by identity along w/ its owners.
+	 */
+	static final class Builder {
+
+		/**
+		 * A map of visited objects to their sizes and owners.
+		 */
+		private final Map<Object, Node> nodes;
+
+		/**
+		 * A list of reported mapping-schemas.
+		 */
+		private final List<IuliiaSchema> schemas;
+
+		/**
+		 * An identity set of reported mapping-schemas.
+		 */
+		private final Map<IuliiaSchema, Boolean> schemaSet;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 */
+		private Builder() {
+			this.nodes = new IdentityHashMap<>();
+			this.schemas = new ArrayList<>();
+			this.schemaSet = new IdentityHashMap<>();
+		}
+
+		/**
+		 * Add the objects of the provided mapping-schema.
+		 *
+		 * @param schema	mapping-schema to add
+		 */
+		private void addSchema(IuliiaSchema schema) {
+			if (this.schemaSet.put(schema, Boolean.TRUE) != null) {
+				return;
+			}
+
+			this.schemas.add(schema);
+
+			schema.addTo(this);
+		}
+
+		/**
+		 * Add a plain object.
+		 *
+		 * @param owner		owner of the object
+		 * @param obj		object to add
+		 * @param fields	number of the object fields
+		 */
+		void addObject(IuliiaSchema owner, Object obj, int fields) {
+			this.add(owner, obj, align(OBJECT_HEADER_SIZE + (long) fields * FIELD_SIZE));
+		}
+
+		/**
+		 * Add a reference array.
+		 *
+		 * @param owner		owner of the array
+		 * @param array		array to add
+		 * @param length	array length
+		 */
+		void addArray(IuliiaSchema owner, Object array, int length) {
+			this.add(owner, array, align(ARRAY_HEADER_SIZE + (long) length * FIELD_SIZE));
+		}
+
+		/**
+		 * Add an int array.
+		 *
+		 * @param owner		owner of the array
+		 * @param array		array to add
+		 * @param length	array length
+		 */
+		void addIntArray(IuliiaSchema owner, int[] array, int length) {
+			this.add(owner, array, align(ARRAY_HEADER_SIZE + (long) length * Integer.BYTES));
+		}
+
+		/**
+		 * Add a char array.
+		 *
+		 * @param owner		owner of the array
+		 * @param array		array to add
+		 * @param length	array length
+		 */
+		void addCharArray(IuliiaSchema owner, char[] array, int length) {
+			this.add(owner, array, align(ARRAY_HEADER_SIZE + (long) length * Character.BYTES));
+		}
+
+		/**
+		 * Add a string w/ its compact value array.
+		 *
+		 * @param owner		owner of the string
+		 * @param s			string to add
+		 */
+		void addString(IuliiaSchema owner, String s) {
+			if (s == null || !this.add(owner, s, align(OBJECT_HEADER_SIZE + 3L * FIELD_SIZE))) {
+				return;
+			}
+
+			int charSize = 1;
+			for (int i = 0; i < s.length(); i++) {
+				if (s.charAt(i) > 0xFF) {
+					charSize = 2;
+					break;
+				}
+			}
+
+			this.nodes.get(s).size += align(ARRAY_HEADER_SIZE + (long) s.length() * charSize);
+		}
+
+		/**
+		 * Add a letter-map of any implementation.
+		 *
+		 * @param owner		owner of the letter-map
+		 * @param map		letter-map to add
+		 */
+		void addMap(IuliiaSchema owner, Map<String, String> map) {
+			if (map == null) {
+				return;
+			}
+
+			if (map instanceof IuliiaLetterMap) {
+				((IuliiaLetterMap) map).addTo(this, owner);
+				return;
+			}
+
+			if (map instanceof IuliiaOverlayMap) {
+				((IuliiaOverlayMap) map).addTo(this, owner);
+				return;
+			}
+
+			if (map instanceof IuliiaExceptionMap) {
+				((IuliiaExceptionMap) map).addTo(this, owner);
+				return;
+			}
+
+			int size = map.size();
+
+			this.add(owner, map, align(OBJECT_HEADER_SIZE + 6L * FIELD_SIZE)
+					+ align(ARRAY_HEADER_SIZE + (long) Integer.highestOneBit(size * 2 + 1) * FIELD_SIZE)
+					+ (long) size * MAP_ENTRY_SIZE);
+
+			for (Map.Entry<String, String> entry : map.entrySet()) {
+				this.addString(owner, entry.getKey());
+				this.addString(owner, entry.getValue());
+			}
+		}
+
+		/**
+		 * Add an object.
+		 *
+		 * @param owner		owner of the object
+		 * @param obj		object to add
+		 * @param size		object size
+		 * @return			whether the object has been added for the first time
+		 */
+		private boolean add(IuliiaSchema owner, Object obj, long size) {
+			if (obj == null) {
+				return false;
+			}
+
+			Node node = this.nodes.get(obj);
+			boolean added = node == null;
+
+			if (added) {
+				node = new Node(size);
+				this.nodes.put(obj, node);
+			}
+
+			node.owners.put(owner, Boolean.TRUE);
+
+			return added;
+		}
+
+		/**
+		 * Build a footprint report.
+		 *
+		 * @return	footprint report
+		 */
+		private IuliiaFootprint build() {
+			Map<IuliiaSchema, Long> bytes = new IdentityHashMap<>();
+			Map<IuliiaSchema, Long> exclusiveBytes = new IdentityHashMap<>();
+
+			for (IuliiaSchema schema : this.schemas) {
+				bytes.put(schema, 0L);
+				exclusiveBytes.put(schema, 0L);
+			}
+
+			long totalBytes = 0;
+
+			for (Node node : this.nodes.values()) {
+				totalBytes += node.size;
+
+				Set<IuliiaSchema> owners = node.owners.keySet();
+				long share = node.size / owners.size();
+
+				for (IuliiaSchema schema : owners) {
+					bytes.merge(schema, share, Long::sum);
+
+					if (owners.size() == 1) {
+						exclusiveBytes.merge(schema, node.size, Long::sum);
+					}
+				}
+			}
+
+			return new IuliiaFootprint(this.schemas, bytes, exclusiveBytes, totalBytes);
+		}
+	}
+
+	/**
+	 * A visited object.
+	 */
+	private static final class Node {
+
+		/**
+		 * An object size.
+		 */
+		private long size;
+
+		/**
+		 * An identity set of the object owners.
+		 */
+		private final Map<IuliiaSchema, Boolean> owners;
+
+		/**
+		 * Initialize a {@link Node} instance.
+		 *
+		 * @param size	object size
+		 */
+		private Node(long size) {
+			this.size = size;
+			this.owners = new IdentityHashMap<>();
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package io.github.anominy.uwiuliia;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An interning utility.
+ *
+ * <p>Shares equal immutable objects, e.g. letter-maps, their key sets and strings,
+ * across all the loaded mapping-schemas. Interned objects are only weakly
+ * referenced and are dropped once no mapping-schema uses them.
+ */
+final class IuliiaInterner {
+
+	/**
+	 * An interned object pool.
+	 */
+	private static final Map<Object, WeakReference<Object>> POOL = new WeakHashMap<>();
+
+	/**
+	 * Get an interned object equal to the provided one,
+	 * interning the provided one if there is none.
+	 *
+	 * @param obj	object to intern
+	 * @param <T>	object type
+	 * @return		interned object or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T intern(T obj) {
+		if (obj == null) {
+			return null;
+		}
+
+		synchronized (POOL) {
+			WeakReference<Object> ref = POOL.get(obj);
+
+			Object interned = ref != null ? ref.get() : null;
+			if (interned != null) {
+				return (T) interned;
+			}
+
+			POOL.put(obj, new WeakReference<>(obj));
+
+			return obj;
+		}
+	}
+
+	private IuliiaInterner() {
+		throw new UnsupportedOperationException();
+	}
+}
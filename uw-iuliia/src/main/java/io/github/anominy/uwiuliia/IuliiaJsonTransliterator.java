@@ -0,0 +1,627 @@
+package io.github.anominy.uwiuliia;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A streaming JSON transliterator.
+ *
+ * <p>Copies a JSON document token by token w/o building a tree,
+ * transliterating the selected string values, while field names,
+ * numbers, booleans and nulls are passed through.
+ * Memory use does not depend on the document size,
+ * only the current string value and the current path are held.
+ *
+ * <p>String values are selected by their field names or by their JSON paths,
+ * every string value is transliterated if none selected.
+ * Paths start w/ {@code $} followed by the {@code .name} object member
+ * and the {@code [index]} array element steps,
+ * where {@code *} stands for any member name or any element index,
+ * e.g. {@code $.items[*].title}.
+ *
+ * <p>The output is compact and equivalent to the input,
+ * though not byte for byte, e.g. the whitespace between tokens is dropped
+ * and the string escapes are written the way {@link JsonWriter} writes them.
+ * Instances are immutable and can be shared freely across threads.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaJsonTransliterator {
+
+	/**
+	 * A source and target buffer size.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * An initial path stack length.
+	 */
+	private static final int INITIAL_STACK_LENGTH = 32;
+
+	/**
+	 * A transliterator.
+	 */
+	private final IuliiaTransliterator transliterator;
+
+	/**
+	 * A set of names of the fields to transliterate the string values of.
+	 */
+	private final Set<String> fieldNames;
+
+	/**
+	 * A set of JSON paths of the string values to transliterate.
+	 */
+	private final Set<String> paths;
+
+	/**
+	 * An array of parsed {@link #paths}.
+	 */
+	private final Step[][] pathSteps;
+
+	/**
+	 * Initialize an {@link IuliiaJsonTransliterator} instance.
+	 *
+	 * @param transliterator	transliterator
+	 * @param fieldNames		names of the fields to transliterate the string values of
+	 * @param paths				JSON paths of the string values to transliterate
+	 */
+	private IuliiaJsonTransliterator(IuliiaTransliterator transliterator, Set<String> fieldNames, Set<String> paths) {
+		this.transliterator = transliterator;
+		this.fieldNames = fieldNames;
+		this.paths = paths;
+
+		this.pathSteps = new Step[paths.size()][];
+
+		int i = 0;
+		for (String path : paths) {
+			this.pathSteps[i++] = Step.parse(path);
+		}
+	}
+
+	/**
+	 * Get this transliterator.
+	 *
+	 * @return	transliterator
+	 */
+	public IuliiaTransliterator getTransliterator() {
+		return this.transliterator;
+	}
+
+	/**
+	 * Get this set of names of the fields to transliterate the string values of.
+	 *
+	 * @return	unmodifiable set of field names
+	 */
+	public Set<String> getFieldNames() {
+		return this.fieldNames;
+	}
+
+	/**
+	 * Get this set of JSON paths of the string values to transliterate.
+	 *
+	 * @return	unmodifiable set of JSON paths
+	 */
+	public Set<String> getPaths() {
+		return this.paths;
+	}
+
+	/**
+	 * Transliterate a UTF-8 JSON document from the provided input stream
+	 * into the provided output stream.
+	 *
+	 * <p>Neither stream is closed.
+	 *
+	 * @param in	input stream to read the document from
+	 * @param out	output stream to write the transliterated document to
+	 *
+	 * @throws IOException	if the document is malformed or cannot be read or written,
+	 * 						w/ the error JSON path in the message,
+	 * 						as well as the line and column of the syntax errors
+	 */
+	public void transliterate(InputStream in, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+		this.transliterate(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE), writer);
+
+		writer.flush();
+	}
+
+	/**
+	 * Transliterate a JSON document from the provided reader into the provided writer.
+	 *
+	 * <p>The writer is flushed, but neither the reader nor the writer is closed.
+	 *
+	 * @param in	reader to read the document from
+	 * @param out	writer to write the transliterated document to
+	 *
+	 * @throws IOException	if the document is malformed or cannot be read or written,
+	 * 						w/ the error JSON path in the message,
+	 * 						as well as the line and column of the syntax errors
+	 */
+	public void transliterate(Reader in, Writer out) throws IOException {
+		JsonReader reader = new JsonReader(in);
+		JsonWriter writer = new JsonWriter(out);
+
+		writer.setSerializeNulls(true);
+
+		try {
+			this.transliterate(reader, writer);
+		} catch (IllegalStateException | NumberFormatException e) {
+			// JsonReader reports the unexpected tokens this way,
+			// the message already contains the error location
+			throw new MalformedJsonException(e.getMessage(), e);
+		}
+
+		writer.flush();
+	}
+
+	/**
+	 * Transliterate a single JSON value from the provided JSON reader into the provided JSON writer.
+	 *
+	 * @param reader	JSON reader to read from
+	 * @param writer	JSON writer to write to
+	 *
+	 * @throws IOException	if the value is malformed or cannot be read or written
+	 */
+	private void transliterate(JsonReader reader, JsonWriter writer) throws IOException {
+		// Object member names or null for arrays, along w/ the current array element indices
+		String[] names = new String[INITIAL_STACK_LENGTH];
+		int[] indices = new int[INITIAL_STACK_LENGTH];
+		int depth = 0;
+
+		do {
+			JsonToken token = reader.peek();
+
+			if (token == JsonToken.END_ARRAY) {
+				reader.endArray();
+				writer.endArray();
+
+				depth--;
+				continue;
+			}
+
+			if (token == JsonToken.END_OBJECT) {
+				reader.endObject();
+				writer.endObject();
+
+				depth--;
+				continue;
+			}
+
+			if (token == JsonToken.NAME) {
+				String name = reader.nextName();
+
+				writer.name(name);
+				names[depth - 1] = name;
+
+				continue;
+			}
+
+			if (depth > 0 && names[depth - 1] == null) {
+				indices[depth - 1]++;
+			}
+
+			switch (token) {
+				case BEGIN_ARRAY:
+				case BEGIN_OBJECT:
+					if (depth == names.length) {
+						names = Arrays.copyOf(names, depth << 1);
+						indices = Arrays.copyOf(indices, depth << 1);
+					}
+
+					if (token == JsonToken.BEGIN_ARRAY) {
+						reader.beginArray();
+						writer.beginArray();
+
+						names[depth] = null;
+						indices[depth] = -1;
+					} else {
+						reader.beginObject();
+						writer.beginObject();
+
+						names[depth] = "";
+						indices[depth] = -1;
+					}
+
+					depth++;
+					break;
+				case STRING:
+					String value = reader.nextString();
+
+					writer.value(this.isSelected(names, indices, depth)
+							? this.transliterator.transliterate(value)
+							: value);
+					break;
+				case NUMBER:
+					// written as is, w/o a round trip through a number type
+					writer.jsonValue(reader.nextString());
+					break;
+				case BOOLEAN:
+					writer.value(reader.nextBoolean());
+					break;
+				case NULL:
+					reader.nextNull();
+					writer.nullValue();
+					break;
+				default:
+					throw new MalformedJsonException("Unexpected " + token + " at path " + reader.getPath());
+			}
+		} while (depth > 0);
+
+		if (reader.peek() != JsonToken.END_DOCUMENT) {
+			throw new MalformedJsonException("Expected the end of the document but was " + reader.peek() + " at path " + reader.getPath());
+		}
+	}
+
+	/**
+	 * Check whether the string value at the provided path is selected.
+	 *
+	 * @param names		object member names or {@code null} for arrays, by depth
+	 * @param indices	array element indices, by depth
+	 * @param depth		value depth
+	 * @return			boolean value as a result
+	 */
+	private boolean isSelected(String[] names, int[] indices, int depth) {
+		if (this.fieldNames.isEmpty() && this.pathSteps.length == 0) {
+			return true;
+		}
+
+		if (depth > 0 && names[depth - 1] != null && this.fieldNames.contains(names[depth - 1])) {
+			return true;
+		}
+
+		for (Step[] steps : this.pathSteps) {
+			if (Step.matches(steps, names, indices, depth)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Create a new JSON transliterator builder.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @return					JSON transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided transliterator is {@code null}
+	 */
+	public static Builder builder(IuliiaTransliterator transliterator) {
+		if (transliterator == null) {
+			throw new IllegalArgumentException("Transliterator mustn't be <null>");
+		}
+
+		return new Builder(transliterator);
+	}
+
+	/**
+	 * Create a new JSON transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaTransliterator)}
+	 * w/ {@link IuliiaTransliterator#of(IuliiaSchema)} as the transliterator.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			JSON transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static Builder builder(IuliiaSchema schema) {
+		return builder(IuliiaTransliterator.of(schema));
+	}
+
+	/**
+	 * Create a new JSON transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaTransliterator)}
+	 * w/ {@link IuliiaTransliterator#of(String)} as the transliterator.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				JSON transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static Builder builder(String schemaPath) {
+		return builder(IuliiaTransliterator.of(schemaPath));
+	}
+
+	/**
+	 * Create a new JSON transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaTransliterator)}
+	 * w/ {@link IuliiaTransliterator#of(EIuliiaSchema)} as the transliterator.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				JSON transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static Builder builder(EIuliiaSchema schemaType) {
+		return builder(IuliiaTransliterator.of(schemaType));
+	}
+
+	/**
+	 * Create a new JSON transliterator w/ the default options,
+	 * i.e. transliterating every string value.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			JSON transliterator
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static IuliiaJsonTransliterator of(IuliiaSchema schema) {
+		return builder(schema).build();
+	}
+
+	/**
+	 * Create a new JSON transliterator w/ the default options.
+	 *
+	 * <p>Wraps {@link #of(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				JSON transliterator
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static IuliiaJsonTransliterator of(String schemaPath) {
+		return of(IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Create a new JSON transliterator w/ the default options.
+	 *
+	 * <p>Wraps {@link #of(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				JSON transliterator
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static IuliiaJsonTransliterator of(EIuliiaSchema schemaType) {
+		return of(IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * A JSON path step.
+	 */
+	private static final class Step {
+
+		/**
+		 * A JSON path root.
+		 */
+		private static final char ROOT = '$';
+
+		/**
+		 * A JSON path wildcard.
+		 */
+		private static final String WILDCARD = "*";
+
+		/**
+		 * An object member name, {@code null} if any, or {@code null} for an array element step.
+		 */
+		private final String name;
+
+		/**
+		 * An array element index, {@code -1} if any, or {@code -1} for an object member step.
+		 */
+		private final int index;
+
+		/**
+		 * Whether this step is an array element one.
+		 */
+		private final boolean element;
+
+		/**
+		 * Initialize a {@link Step} instance.
+		 *
+		 * @param name		object member name or {@code null}
+		 * @param index		array element index or {@code -1}
+		 * @param element	whether the step is an array element one
+		 */
+		private Step(String name, int index, boolean element) {
+			this.name = name;
+			this.index = index;
+			this.element = element;
+		}
+
+		/**
+		 * Check whether this step matches the provided path level.
+		 *
+		 * @param name		object member name or {@code null} for an array
+		 * @param index		array element index
+		 * @return			boolean value as a result
+		 */
+		private boolean matches(String name, int index) {
+			if (this.element) {
+				return name == null && (this.index < 0 || this.index == index);
+			}
+
+			return name != null && (this.name == null || this.name.equals(name));
+		}
+
+		/**
+		 * Check whether the provided steps match the provided path.
+		 *
+		 * @param steps		JSON path steps
+		 * @param names		object member names or {@code null} for arrays, by depth
+		 * @param indices	array element indices, by depth
+		 * @param depth		path depth
+		 * @return			boolean value as a result
+		 */
+		private static boolean matches(Step[] steps, String[] names, int[] indices, int depth) {
+			if (steps.length != depth) {
+				return false;
+			}
+
+			// the innermost level is the most selective one
+			for (int i = depth - 1; i >= 0; i--) {
+				if (!steps[i].matches(names[i], indices[i])) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Parse the provided JSON path.
+		 *
+		 * @param path	JSON path, e.g. {@code $.items[*].title}
+		 * @return		JSON path steps
+		 *
+		 * @throws IllegalArgumentException		if the JSON path is malformed
+		 */
+		private static Step[] parse(String path) {
+			if (path.isEmpty() || path.charAt(0) != ROOT) {
+				throw new IllegalArgumentException("Path must start w/ '" + ROOT + "': " + path);
+			}
+
+			List<Step> steps = new ArrayList<>();
+
+			for (int i = 1, length = path.length(); i < length; ) {
+				char c = path.charAt(i);
+
+				if (c == '.') {
+					int end = i + 1;
+					while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+						end++;
+					}
+
+					if (end == i + 1) {
+						throw new IllegalArgumentException("Path member name mustn't be empty: " + path);
+					}
+
+					String name = path.substring(i + 1, end);
+					steps.add(new Step(WILDCARD.equals(name) ? null : name, -1, false));
+
+					i = end;
+				} else if (c == '[') {
+					int end = path.indexOf(']', i);
+
+					if (end < 0) {
+						throw new IllegalArgumentException("Path element index must be closed w/ ']': " + path);
+					}
+
+					String index = path.substring(i + 1, end);
+
+					try {
+						steps.add(new Step(null, WILDCARD.equals(index) ? -1 : Integer.parseUnsignedInt(index), true));
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException("Path element index must be a number or '" + WILDCARD + "': " + path, e);
+					}
+
+					i = end + 1;
+				} else {
+					throw new IllegalArgumentException("Path step must start w/ '.' or '[': " + path);
+				}
+			}
+
+			return steps.toArray(new Step[0]);
+		}
+	}
+
+	/**
+	 * A JSON transliterator builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A transliterator.
+		 */
+		private final IuliiaTransliterator transliterator;
+
+		/**
+		 * A set of names of the fields to transliterate the string values of.
+		 */
+		private final Set<String> fieldNames;
+
+		/**
+		 * A set of JSON paths of the string values to transliterate.
+		 */
+		private final Set<String> paths;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 *
+		 * @param transliterator	transliterator
+		 */
+		private Builder(IuliiaTransliterator transliterator) {
+			this.transliterator = transliterator;
+			this.fieldNames = new HashSet<>();
+			this.paths = new LinkedHashSet<>();
+		}
+
+		/**
+		 * Add a field to transliterate the string values of, at any depth.
+		 *
+		 * <p>Covers the string value of the field itself,
+		 * but neither the nested objects nor the array elements.
+		 *
+		 * @param fieldName		field name
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the field name is {@code null}
+		 */
+		public Builder addFieldName(String fieldName) {
+			if (fieldName == null) {
+				throw new IllegalArgumentException("Field name mustn't be <null>");
+			}
+
+			this.fieldNames.add(fieldName);
+			return this;
+		}
+
+		/**
+		 * Add a JSON path of the string values to transliterate.
+		 *
+		 * @param path	JSON path, e.g. {@code $.items[*].title}
+		 * @return		this builder
+		 *
+		 * @throws IllegalArgumentException		if the JSON path is {@code null} or malformed
+		 */
+		public Builder addPath(String path) {
+			if (path == null) {
+				throw new IllegalArgumentException("Path mustn't be <null>");
+			}
+
+			Step.parse(path);
+
+			this.paths.add(path);
+			return this;
+		}
+
+		/**
+		 * Build a new JSON transliterator.
+		 *
+		 * @return	JSON transliterator
+		 */
+		public IuliiaJsonTransliterator build() {
+			return new IuliiaJsonTransliterator(
+					this.transliterator,
+					Collections.unmodifiableSet(new HashSet<>(this.fieldNames)),
+					Collections.unmodifiableSet(new LinkedHashSet<>(this.paths))
+			);
+		}
+	}
+}
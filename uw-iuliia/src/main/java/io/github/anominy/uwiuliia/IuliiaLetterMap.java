@@ -0,0 +1,289 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A compact unmodifiable letter-map.
+ *
+ * <p>Stores keys and values in parallel arrays, the key array along w/ its
+ * hash index is interned and shared by all the letter-maps that have the same keys,
+ * while keys, values and whole letter-maps are interned as well.
+ */
+final class IuliiaLetterMap extends AbstractMap<String, String> implements Serializable {
+
+	/**
+	 * A serialization version.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * A shared key set.
+	 */
+	private final Keys keys;
+
+	/**
+	 * A value array aligned w/ the key array.
+	 */
+	private final String[] values;
+
+	/**
+	 * An {@link #entrySet()} cache.
+	 */
+	private transient volatile Set<Map.Entry<String, String>> entrySetCache;
+
+	/**
+	 * Initialize an {@link IuliiaLetterMap} instance.
+	 *
+	 * @param keys		shared key set
+	 * @param values	value array aligned w/ the key array
+	 */
+	private IuliiaLetterMap(Keys keys, String[] values) {
+		this.keys = keys;
+		this.values = values;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String get(Object key) {
+		int index = this.keys.indexOf(key);
+
+		if (index < 0) {
+			return null;
+		}
+
+		return this.values[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return this.keys.indexOf(key) >= 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.values.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Map.Entry<String, String>> entrySet() {
+		Set<Map.Entry<String, String>> entrySet = this.entrySetCache;
+
+		if (entrySet == null) {
+			this.entrySetCache = entrySet = new EntrySet();
+		}
+
+		return entrySet;
+	}
+
+	/**
+	 * Estimate a footprint of this letter-map.
+	 *
+	 * @param footprint		footprint to add the objects of this letter-map to
+	 * @param owner			owner of the objects
+	 */
+	void addTo(IuliiaFootprint.Builder footprint, IuliiaSchema owner) {
+		footprint.addObject(owner, this, 3);
+		footprint.addArray(owner, this.values, this.values.length);
+
+		for (String value : this.values) {
+			footprint.addString(owner, value);
+		}
+
+		footprint.addObject(owner, this.keys, 2);
+		footprint.addArray(owner, this.keys.keys, this.keys.keys.length);
+		footprint.addIntArray(owner, this.keys.slots, this.keys.slots.length);
+
+		for (String key : this.keys.keys) {
+			footprint.addString(owner, key);
+		}
+	}
+
+	/**
+	 * Get an interned compact copy of the provided letter-map.
+	 *
+	 * @param map	letter-map to copy
+	 * @return		interned compact letter-map
+	 */
+	static IuliiaLetterMap of(Map<String, String> map) {
+		String[] keys = new String[map.size()];
+		int size = 0;
+
+		for (String key : map.keySet()) {
+			keys[size++] = IuliiaInterner.intern(key);
+		}
+
+		Arrays.sort(keys, 0, size);
+		keys = Arrays.copyOf(keys, size);
+
+		String[] values = new String[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = IuliiaInterner.intern(map.get(keys[i]));
+		}
+
+		return IuliiaInterner.intern(new IuliiaLetterMap(IuliiaInterner.intern(new Keys(keys)), values));
+	}
+
+	/**
+	 * A shared key set.
+	 */
+	private static final class Keys implements Serializable {
+
+		/**
+		 * A serialization version.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * A sorted key array.
+		 */
+		private final String[] keys;
+
+		/**
+		 * An open-addressing hash index of key indices plus one, {@code 0} marks an empty slot.
+		 */
+		private final int[] slots;
+
+		/**
+		 * Initialize a {@link Keys} instance.
+		 *
+		 * @param keys	sorted key array
+		 */
+		private Keys(String[] keys) {
+			this.keys = keys;
+			this.slots = new int[Integer.highestOneBit(keys.length * 2 + 1) << 1];
+
+			int mask = this.slots.length - 1;
+
+			for (int i = 0; i < keys.length; i++) {
+				int slot = keys[i].hashCode() & mask;
+
+				while (this.slots[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+
+				this.slots[slot] = i + 1;
+			}
+		}
+
+		/**
+		 * Get an index of the provided key or return {@code -1}.
+		 *
+		 * @param key	key to look up
+		 * @return		key index or {@code -1}
+		 */
+		private int indexOf(Object key) {
+			if (key == null) {
+				return -1;
+			}
+
+			int mask = this.slots.length - 1;
+
+			for (int slot = key.hashCode() & mask; ; slot = (slot + 1) & mask) {
+				int index = this.slots[slot] - 1;
+
+				if (index < 0) {
+					return -1;
+				}
+
+				if (this.keys[index].equals(key)) {
+					return index;
+				}
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (obj == null || this.getClass() != obj.getClass()) {
+				return false;
+			}
+
+			return Arrays.equals(this.keys, ((Keys) obj).keys);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(this.keys);
+		}
+	}
+
+	/**
+	 * A letter-map entry set.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Map.Entry<String, String>> iterator() {
+			return new Iterator<Map.Entry<String, String>>() {
+
+				/**
+				 * A next entry index.
+				 */
+				private int index;
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public boolean hasNext() {
+					return this.index < IuliiaLetterMap.this.values.length;
+				}
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public Map.Entry<String, String> next() {
+					if (!this.hasNext()) {
+						throw new NoSuchElementException();
+					}
+
+					int i = this.index++;
+
+					return new AbstractMap.SimpleImmutableEntry<>(
+							IuliiaLetterMap.this.keys.keys[i],
+							IuliiaLetterMap.this.values[i]
+					);
+				}
+			};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return IuliiaLetterMap.this.values.length;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package io.github.anominy.uwiuliia;
+
+/**
+ * A transliteration mismatch.
+ *
+ * <p>Records an input along w/ the {@link Iuliia} reference transliteration of it
+ * and the different one produced by an optimized transliteration path.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaMismatch {
+
+	/**
+	 * A transliteration path name.
+	 */
+	private final String path;
+
+	/**
+	 * A transliteration schema.
+	 */
+	private final IuliiaSchema schema;
+
+	/**
+	 * A word separator or {@code null} if split by the {@code \b} word boundary.
+	 */
+	private final String separator;
+
+	/**
+	 * A source text.
+	 */
+	private final String text;
+
+	/**
+	 * A reference transliteration.
+	 */
+	private final String expected;
+
+	/**
+	 * An optimized path transliteration.
+	 */
+	private final String actual;
+
+	/**
+	 * Initialize an {@link IuliiaMismatch} instance.
+	 *
+	 * @param path			transliteration path name
+	 * @param schema		transliteration schema
+	 * @param separator		word separator or {@code null}
+	 * @param text			source text
+	 * @param expected		reference transliteration
+	 * @param actual		optimized path transliteration
+	 */
+	IuliiaMismatch(String path, IuliiaSchema schema, String separator, String text, String expected, String actual) {
+		this.path = path;
+		this.schema = schema;
+		this.separator = separator;
+		this.text = text;
+		this.expected = expected;
+		this.actual = actual;
+	}
+
+	/**
+	 * Get this transliteration path name.
+	 *
+	 * @return	transliteration path name
+	 */
+	public String getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Get this transliteration schema.
+	 *
+	 * @return	transliteration schema
+	 */
+	public IuliiaSchema getSchema() {
+		return this.schema;
+	}
+
+	/**
+	 * Get this word separator.
+	 *
+	 * @return	word separator or {@code null} if split by the {@code \b} word boundary
+	 */
+	public String getSeparator() {
+		return this.separator;
+	}
+
+	/**
+	 * Get this source text.
+	 *
+	 * @return	source text
+	 */
+	public String getText() {
+		return this.text;
+	}
+
+	/**
+	 * Get this reference transliteration.
+	 *
+	 * @return	reference transliteration
+	 */
+	public String getExpected() {
+		return this.expected;
+	}
+
+	/**
+	 * Get this optimized path transliteration.
+	 *
+	 * @return	optimized path transliteration
+	 */
+	public String getActual() {
+		return this.actual;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "["
+				+ "path=" + this.path
+				+ ", schema=" + this.schema.getName()
+				+ ", separator=" + quote(this.separator)
+				+ ", text=" + quote(this.text)
+				+ ", expected=" + quote(this.expected)
+				+ ", actual=" + quote(this.actual)
+				+ "]";
+	}
+
+	/**
+	 * Quote the provided string, escaping the control and non-ASCII characters,
+	 * so that it can be reproduced from a log.
+	 *
+	 * @param s		string to quote or {@code null}
+	 * @return		quoted string or {@code "null"}
+	 */
+	private static String quote(String s) {
+		if (s == null) {
+			return "null";
+		}
+
+		StringBuilder sb = new StringBuilder(s.length() + 2)
+				.append('"');
+
+		for (int i = 0, length = s.length(); i < length; i++) {
+			char c = s.charAt(i);
+
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20 || c > 0x7E) {
+				sb.append(String.format("\\u%04X", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+
+		return sb.append('"')
+				.toString();
+	}
+}
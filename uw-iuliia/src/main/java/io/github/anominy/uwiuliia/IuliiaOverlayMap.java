@@ -0,0 +1,200 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An unmodifiable letter-map overlay.
+ *
+ * <p>Looks up the overriding letter-map first and falls through
+ * to the base letter-map, w/o copying any of them.
+ */
+final class IuliiaOverlayMap extends AbstractMap<String, String> implements Serializable {
+
+	/**
+	 * A serialization version.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * A base letter-map.
+	 */
+	private final Map<String, String> base;
+
+	/**
+	 * An overriding letter-map.
+	 */
+	private final Map<String, String> overrides;
+
+	/**
+	 * A number of entries.
+	 */
+	private final int size;
+
+	/**
+	 * An {@link #entrySet()} cache.
+	 */
+	private transient volatile Set<Map.Entry<String, String>> entrySetCache;
+
+	/**
+	 * Initialize an {@link IuliiaOverlayMap} instance.
+	 *
+	 * @param base			base letter-map
+	 * @param overrides		overriding letter-map
+	 */
+	IuliiaOverlayMap(Map<String, String> base, Map<String, String> overrides) {
+		this.base = base;
+		this.overrides = overrides;
+
+		int size = overrides.size();
+		for (String key : base.keySet()) {
+			if (!overrides.containsKey(key)) {
+				size++;
+			}
+		}
+
+		this.size = size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String get(Object key) {
+		String value = this.overrides.get(key);
+
+		if (value != null) {
+			return value;
+		}
+
+		return this.base.get(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return this.overrides.containsKey(key)
+				|| this.base.containsKey(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Map.Entry<String, String>> entrySet() {
+		Set<Map.Entry<String, String>> entrySet = this.entrySetCache;
+
+		if (entrySet == null) {
+			this.entrySetCache = entrySet = new EntrySet();
+		}
+
+		return entrySet;
+	}
+
+	/**
+	 * Estimate a footprint of this letter-map.
+	 *
+	 * @param footprint		footprint to add the objects of this letter-map to
+	 * @param owner			owner of the objects
+	 */
+	void addTo(IuliiaFootprint.Builder footprint, IuliiaSchema owner) {
+		footprint.addObject(owner, this, 4);
+		footprint.addMap(owner, this.base);
+		footprint.addMap(owner, this.overrides);
+	}
+
+	/**
+	 * An overlay entry set.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Map.Entry<String, String>> iterator() {
+			Iterator<Map.Entry<String, String>> overrides = IuliiaOverlayMap.this.overrides
+					.entrySet()
+					.iterator();
+
+			Iterator<Map.Entry<String, String>> base = IuliiaOverlayMap.this.base
+					.entrySet()
+					.iterator();
+
+			return new Iterator<Map.Entry<String, String>>() {
+
+				/**
+				 * A next entry or {@code null}.
+				 */
+				private Map.Entry<String, String> next = this.advance();
+
+				/**
+				 * Advance to the next visible entry.
+				 *
+				 * @return	next visible entry or {@code null}
+				 */
+				private Map.Entry<String, String> advance() {
+					if (overrides.hasNext()) {
+						return overrides.next();
+					}
+
+					while (base.hasNext()) {
+						Map.Entry<String, String> entry = base.next();
+
+						if (!IuliiaOverlayMap.this.overrides.containsKey(entry.getKey())) {
+							return entry;
+						}
+					}
+
+					return null;
+				}
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public boolean hasNext() {
+					return this.next != null;
+				}
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public Map.Entry<String, String> next() {
+					Map.Entry<String, String> entry = this.next;
+					if (entry == null) {
+						throw new NoSuchElementException();
+					}
+
+					this.next = this.advance();
+
+					return new AbstractMap.SimpleImmutableEntry<>(entry);
+				}
+			};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return IuliiaOverlayMap.this.size;
+		}
+	}
+}
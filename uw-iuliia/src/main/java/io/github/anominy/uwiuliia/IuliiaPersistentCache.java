@@ -0,0 +1,1412 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A persistent transliteration cache.
+ *
+ * <p>Keeps the transliterations of the looked up texts, e.g. words or names,
+ * in a memory-mapped hash file on local disk, so that they survive restarts
+ * and are shared by every process that opens the same file.
+ *
+ * <p>The file is laid out as a header, an open-addressing slot table of entry offsets
+ * along w/ their text hashes and an append-only entry area.
+ * Lookups neither lock nor allocate anything but the found transliteration,
+ * while additions are serialized across threads and processes by a lock file,
+ * that is held open for the cache lifetime.
+ * An entry is verified by its length, its text and its transliteration hash,
+ * so that a partially written one reads as a miss.
+ *
+ * <p>The header holds a fingerprint of the transliterator mapping-schema,
+ * letter case handling mode and word separator,
+ * a file w/ another fingerprint is started anew when opened.
+ * A full file is compacted into a new one keeping the most recently added half of the entries,
+ * that replaces the old one atomically, and the processes that have the old one mapped
+ * switch over on their next lookup.
+ *
+ * <p>I/O failures while looking up or adding a transliteration, e.g. a full disk,
+ * a lock or a remap failure, fall back to transliterating the text w/o the cache,
+ * see {@link #getFailureCount()}.
+ *
+ * <p>Only worth it where the transliterated texts repeat across runs,
+ * since a compiled mapping-schema transliterates a word in tens of nanoseconds.
+ * Can be consulted for every word by a transliterator w/ the same configuration,
+ * see {@link IuliiaTransliterator.Builder#setCache(IuliiaPersistentCache)}.
+ * Such a transliterator skips the cache for the short words and non-word tokens,
+ * e.g. spaces and punctuation, and adds the missing words in batches, see {@link #flush()}.
+ * A file is meant to be used w/ a single transliterator configuration at a time.
+ * Instances are thread-safe.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaPersistentCache implements Closeable {
+
+	/**
+	 * A file format magic number, i.e. {@code "IUPC"}.
+	 */
+	private static final int MAGIC = 0x49555043;
+
+	/**
+	 * A file format version.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * A minimum file size.
+	 */
+	public static final int MIN_SIZE = 64 * 1024;
+
+	/**
+	 * A maximum file size.
+	 */
+	public static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+	/**
+	 * An active file state.
+	 */
+	private static final int ACTIVE = 1;
+
+	/**
+	 * A retired file state, i.e. the file has been replaced.
+	 */
+	private static final int RETIRED = 2;
+
+	/**
+	 * A {@code magic} header field offset.
+	 */
+	private static final int MAGIC_OFFSET = 0;
+
+	/**
+	 * A {@code version} header field offset.
+	 */
+	private static final int VERSION_OFFSET = 4;
+
+	/**
+	 * A {@code fingerprint} header field offset.
+	 */
+	private static final int FINGERPRINT_OFFSET = 8;
+
+	/**
+	 * A {@code state} header field offset.
+	 */
+	private static final int STATE_OFFSET = 16;
+
+	/**
+	 * A {@code slotCount} header field offset.
+	 */
+	private static final int SLOT_COUNT_OFFSET = 20;
+
+	/**
+	 * A {@code dataEnd} header field offset.
+	 */
+	private static final int DATA_END_OFFSET = 24;
+
+	/**
+	 * A {@code size} header field offset.
+	 */
+	private static final int SIZE_OFFSET = 28;
+
+	/**
+	 * A header length, i.e. the slot table offset.
+	 */
+	private static final int HEADER_LENGTH = 64;
+
+	/**
+	 * A slot length.
+	 */
+	private static final int SLOT_LENGTH = 8;
+
+	/**
+	 * An entry header length,
+	 * i.e. the text length, the transliteration length and the transliteration hash.
+	 */
+	private static final int ENTRY_HEADER_LENGTH = 12;
+
+	/**
+	 * An expected average entry length, used to size the slot table.
+	 */
+	private static final int AVERAGE_ENTRY_LENGTH = 56;
+
+	/**
+	 * A minimum length of a word to cache,
+	 * the shorter ones are transliterated faster than looked up.
+	 */
+	private static final int MIN_WORD_LENGTH = 4;
+
+	/**
+	 * A maximum number of words in a batch.
+	 */
+	private static final int BATCH_SIZE = 64;
+
+	/**
+	 * A maximum length of the words and their transliterations in a batch.
+	 */
+	private static final int BATCH_LENGTH = 8 * 1024;
+
+	/**
+	 * A lock file name suffix.
+	 */
+	private static final String LOCK_FILE_SUFFIX = ".lock";
+
+	/**
+	 * A compacted file name suffix.
+	 */
+	private static final String COMPACTED_FILE_SUFFIX = ".tmp";
+
+	/**
+	 * A map of the {@link #bufferMutex} mutexes by their cache file paths,
+	 * so that the instances of the same cache file never lock it concurrently.
+	 */
+	private static final ConcurrentMap<Path, Object> MUTEXES = new ConcurrentHashMap<>();
+
+	/**
+	 * A per-thread {@link WordBuffer} cache.
+	 */
+	private static final ThreadLocal<WordBuffer> WORD_BUFFERS = ThreadLocal.withInitial(WordBuffer::new);
+
+	/**
+	 * A transliterator.
+	 */
+	private final IuliiaTransliterator transliterator;
+
+	/**
+	 * A cache file path.
+	 */
+	private final Path path;
+
+	/**
+	 * A lock file channel.
+	 */
+	private final FileChannel lock;
+
+	/**
+	 * A cache file size.
+	 */
+	private final int fileSize;
+
+	/**
+	 * A transliterator fingerprint.
+	 */
+	private final long fingerprint;
+
+	/**
+	 * A memory-mapped cache file.
+	 */
+	private volatile MappedByteBuffer buffer;
+
+	/**
+	 * A {@link #buffer} mutex, held while adding entries, shared by the instances of the same cache file.
+	 */
+	private final Object bufferMutex;
+
+	/**
+	 * A batch of the words pending addition, also its own mutex.
+	 */
+	private final Batch batch;
+
+	/**
+	 * A number of I/O failures fallen back from.
+	 */
+	private final AtomicLong failureCount;
+
+	/**
+	 * Initialize an {@link IuliiaPersistentCache} instance.
+	 *
+	 * @param transliterator	transliterator
+	 * @param path				cache file path
+	 * @param fileSize			cache file size
+	 *
+	 * @throws IOException	if the cache file cannot be opened or created
+	 */
+	private IuliiaPersistentCache(IuliiaTransliterator transliterator, Path path, int fileSize) throws IOException {
+		this.transliterator = transliterator;
+		this.path = path;
+		this.fileSize = fileSize;
+		this.fingerprint = fingerprintOf(transliterator);
+		this.bufferMutex = MUTEXES.computeIfAbsent(path, key -> new Object());
+		this.batch = new Batch();
+		this.failureCount = new AtomicLong();
+
+		this.lock = FileChannel.open(path.resolveSibling(path.getFileName() + LOCK_FILE_SUFFIX),
+				StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE
+		);
+
+		try {
+			synchronized (this.bufferMutex) {
+				FileLock fileLock = this.lock.lock();
+
+				try {
+					this.buffer = this.map();
+				} finally {
+					fileLock.release();
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			this.lock.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Get this transliterator.
+	 *
+	 * @return	transliterator
+	 */
+	public IuliiaTransliterator getTransliterator() {
+		return this.transliterator;
+	}
+
+	/**
+	 * Get this cache file path.
+	 *
+	 * @return	cache file path
+	 */
+	public Path getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Get this transliterator fingerprint.
+	 *
+	 * @return	transliterator fingerprint
+	 */
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * Get this number of cached transliterations.
+	 *
+	 * @return	number of cached transliterations
+	 */
+	public int size() {
+		return this.current().getInt(SIZE_OFFSET);
+	}
+
+	/**
+	 * Get this number of I/O failures fallen back from,
+	 * i.e. of the lookups and additions skipped.
+	 *
+	 * @return	number of I/O failures
+	 */
+	public long getFailureCount() {
+		return this.failureCount.get();
+	}
+
+	/**
+	 * Transliterate text, looking it up in this cache first
+	 * and adding it to this cache if missing.
+	 *
+	 * <p>Transliterates text w/o this cache if the cache file cannot be read or written.
+	 *
+	 * @param text	text to transliterate
+	 * @return		transliterated text or {@code null}
+	 */
+	public String transliterate(String text) {
+		if (text == null) {
+			return null;
+		}
+
+		String value = this.get(text);
+		if (value != null) {
+			return value;
+		}
+
+		value = this.transliterator.transliterate(text);
+
+		this.put(text, value);
+
+		return value;
+	}
+
+	/**
+	 * Transliterate word w/ the provided compiled mapping-schema,
+	 * looking it up in this cache first and adding it to this cache if missing.
+	 *
+	 * @param table		compiled mapping-schema of the {@link #getTransliterator() transliterator}
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @param sink		sink to append the transliterated word to
+	 */
+	void transliterateWord(IuliiaTable table, CharSequence text, int start, int end, IuliiaSink sink) {
+		// neither worth a lookup nor repeated across texts
+		if (end - start < MIN_WORD_LENGTH || !Character.isLetter(text.charAt(start))) {
+			table.transliterateWord(text, start, end, sink);
+			return;
+		}
+
+		int hash = hashOf(text, start, end);
+		WordBuffer value = WORD_BUFFERS.get();
+
+		if (!this.lookup(text, start, end, hash, value)) {
+			value.clear();
+			table.transliterateWord(text, start, end, value);
+
+			this.enqueue(text, start, end, hash, value);
+		}
+
+		value.appendTo(sink);
+	}
+
+	/**
+	 * Look up the cached transliteration of the provided text.
+	 *
+	 * @param text	text to look up
+	 * @return		cached transliteration or {@code null} if missing or the cache file cannot be read
+	 */
+	public String get(String text) {
+		if (text == null) {
+			return null;
+		}
+
+		WordBuffer value = WORD_BUFFERS.get();
+
+		return this.lookup(text, 0, text.length(), text.hashCode(), value)
+				? value.toString()
+				: null;
+	}
+
+	/**
+	 * Look up the cached transliteration of the provided text.
+	 *
+	 * @param text		text containing the text to look up
+	 * @param start		text start index, inclusive
+	 * @param end		text end index, exclusive
+	 * @param hash		text hash
+	 * @param value		buffer to read the found transliteration into
+	 * @return			boolean value as a result, {@code false} if missing or the cache file cannot be read
+	 */
+	private boolean lookup(CharSequence text, int start, int end, int hash, WordBuffer value) {
+		try {
+			return find(this.current(), text, start, end, hash, value) >= 0;
+		} catch (RuntimeException | InternalError e) {
+			// a corrupt cache file, e.g. an offset out of bounds,
+			// or a memory-mapped file access fault, e.g. the file has been truncated
+			this.failureCount.incrementAndGet();
+			return false;
+		}
+	}
+
+	/**
+	 * Add the transliteration of the provided text into this cache,
+	 * compacting the cache file if full.
+	 *
+	 * <p>Skips the addition if the cache file cannot be locked, written or replaced.
+	 *
+	 * @param text		text
+	 * @param value		transliteration
+	 */
+	private void put(String text, String value) {
+		try {
+			synchronized (this.bufferMutex) {
+				FileLock fileLock = this.lock.lock();
+
+				try {
+					this.add(text, value, text.hashCode());
+				} finally {
+					fileLock.release();
+				}
+			}
+		} catch (IOException | RuntimeException | InternalError e) {
+			// an internal error is thrown on a memory-mapped file access fault, e.g. the disk is full
+			this.failureCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Add the transliteration of the provided word into the pending batch,
+	 * writing the batch into this cache file if full.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @param hash		word hash
+	 * @param value		transliteration
+	 */
+	private void enqueue(CharSequence text, int start, int end, int hash, WordBuffer value) {
+		synchronized (this.batch) {
+			if (this.batch.contains(text, start, end, hash)) {
+				return;
+			}
+
+			if (!this.batch.add(text, start, end, hash, value)) {
+				this.flush();
+
+				// a word too long to batch is not cached
+				this.batch.add(text, start, end, hash, value);
+			}
+		}
+	}
+
+	/**
+	 * Write the pending batch of words into this cache file under a single lock.
+	 *
+	 * <p>The words missed by a transliterator are batched,
+	 * and the batch is written once full, on {@link #compact()} and on {@link #close()}.
+	 * Skips the batch if the cache file cannot be locked, written or replaced.
+	 */
+	public void flush() {
+		synchronized (this.batch) {
+			if (this.batch.isEmpty()) {
+				return;
+			}
+
+			try {
+				synchronized (this.bufferMutex) {
+					FileLock fileLock = this.lock.lock();
+
+					try {
+						for (int i = 0, size = this.batch.size(); i < size; i++) {
+							this.add(this.batch.getText(i), this.batch.getValue(i), this.batch.getHash(i));
+						}
+					} finally {
+						fileLock.release();
+					}
+				}
+			} catch (IOException | RuntimeException | InternalError e) {
+				// an internal error is thrown on a memory-mapped file access fault, e.g. the disk is full
+				this.failureCount.incrementAndGet();
+			} finally {
+				this.batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Add the transliteration of the provided text into this cache file,
+	 * compacting it if full.
+	 *
+	 * <p>Must be called while holding the lock file.
+	 *
+	 * @param text		text
+	 * @param value		transliteration
+	 * @param hash		text hash
+	 *
+	 * @throws IOException	if the cache file cannot be mapped or compacted
+	 */
+	private void add(CharSequence text, CharSequence value, int hash) throws IOException {
+		int length = entryLengthOf(text.length(), value.length());
+
+		// a text too long to cache at all
+		if (length > this.fileSize - HEADER_LENGTH >> 2) {
+			return;
+		}
+
+		MappedByteBuffer buffer = this.active();
+
+		// added by another process meanwhile
+		if (find(buffer, text, 0, text.length(), hash, null) >= 0) {
+			return;
+		}
+
+		if (!isAddable(buffer, length)) {
+			this.buffer = buffer = this.compact(buffer);
+
+			if (!isAddable(buffer, length)) {
+				return;
+			}
+		}
+
+		add(buffer, text, value, hash);
+	}
+
+	/**
+	 * Compact this cache file, keeping the most recently added half of the entries.
+	 *
+	 * <p>Writes the pending batch of words first.
+	 *
+	 * @throws IOException	if the cache file cannot be compacted
+	 */
+	public void compact() throws IOException {
+		this.flush();
+
+		synchronized (this.bufferMutex) {
+			FileLock fileLock = this.lock.lock();
+
+			try {
+				this.buffer = this.compact(this.active());
+			} finally {
+				fileLock.release();
+			}
+		}
+	}
+
+	/**
+	 * Write the pending batch of words, flush this cache file changes to the disk
+	 * and close the lock file.
+	 *
+	 * <p>Lookups keep working afterwards, while additions are skipped as failures.
+	 * The cache file stays mapped until this instance is garbage collected,
+	 * as do the retired ones this instance has switched over from, e.g. after a compaction,
+	 * since a mapping cannot be released explicitly.
+	 *
+	 * @throws IOException	if the lock file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		this.flush();
+
+		this.buffer.force();
+		this.lock.close();
+	}
+
+	/**
+	 * Get this current memory-mapped cache file,
+	 * switching over to the new one if replaced.
+	 *
+	 * @return	memory-mapped cache file
+	 */
+	private MappedByteBuffer current() {
+		MappedByteBuffer buffer = this.buffer;
+
+		if (buffer.getInt(STATE_OFFSET) == ACTIVE) {
+			return buffer;
+		}
+
+		synchronized (this.bufferMutex) {
+			if (this.buffer.getInt(STATE_OFFSET) != ACTIVE) {
+				try {
+					FileLock fileLock = this.lock.lock();
+
+					try {
+						this.active();
+					} finally {
+						fileLock.release();
+					}
+				} catch (IOException e) {
+					// stays on the retired file, that is still valid to read
+					this.failureCount.incrementAndGet();
+					return this.buffer;
+				}
+			}
+
+			return this.buffer;
+		}
+	}
+
+	/**
+	 * Get this active memory-mapped cache file,
+	 * switching over to the new one if replaced.
+	 *
+	 * <p>Must be called while holding the lock file.
+	 *
+	 * @return	memory-mapped cache file
+	 *
+	 * @throws IOException	if the new cache file cannot be mapped
+	 */
+	private MappedByteBuffer active() throws IOException {
+		if (this.buffer.getInt(STATE_OFFSET) != ACTIVE) {
+			this.buffer = this.map();
+		}
+
+		return this.buffer;
+	}
+
+	/**
+	 * Map this cache file, starting it anew if missing, malformed or of another fingerprint.
+	 *
+	 * <p>Must be called while holding the lock file.
+	 *
+	 * @return	memory-mapped cache file
+	 *
+	 * @throws IOException	if the cache file cannot be mapped or created
+	 */
+	private MappedByteBuffer map() throws IOException {
+		if (Files.exists(this.path)) {
+			MappedByteBuffer buffer;
+
+			try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				buffer = channel.size() == this.fileSize
+						? channel.map(FileChannel.MapMode.READ_WRITE, 0, this.fileSize)
+						: null;
+			}
+
+			if (buffer != null
+					&& buffer.getInt(MAGIC_OFFSET) == MAGIC
+					&& buffer.getInt(VERSION_OFFSET) == VERSION
+					&& buffer.getLong(FINGERPRINT_OFFSET) == this.fingerprint
+					&& buffer.getInt(STATE_OFFSET) == ACTIVE) {
+				return buffer;
+			}
+
+			if (buffer != null && buffer.getInt(MAGIC_OFFSET) == MAGIC) {
+				buffer.putInt(STATE_OFFSET, RETIRED);
+			}
+		}
+
+		return this.replace(null, 0);
+	}
+
+	/**
+	 * Compact the provided cache file into a new one,
+	 * keeping the most recently added half of the entries.
+	 *
+	 * <p>Must be called while holding the lock file.
+	 *
+	 * @param buffer	memory-mapped cache file to compact
+	 * @return			memory-mapped compacted cache file
+	 *
+	 * @throws IOException	if the compacted cache file cannot be created
+	 */
+	private MappedByteBuffer compact(MappedByteBuffer buffer) throws IOException {
+		int slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+		int dataStart = HEADER_LENGTH + slotCount * SLOT_LENGTH;
+		int dataEnd = buffer.getInt(DATA_END_OFFSET);
+		int size = buffer.getInt(SIZE_OFFSET);
+
+		// entries are contiguous, so that the most recent half starts at the first entry past the middle
+		int from = dataStart;
+		int keep = size;
+
+		while (from < dataEnd && (dataEnd - from > (this.fileSize - dataStart) >> 1 || keep > maxSizeOf(slotCount) >> 1)) {
+			from += entryLengthOf(buffer.getInt(from), buffer.getInt(from + 4));
+			keep--;
+		}
+
+		MappedByteBuffer compacted = this.replace(buffer, from);
+
+		buffer.putInt(STATE_OFFSET, RETIRED);
+
+		return compacted;
+	}
+
+	/**
+	 * Create a new cache file, copying the entries of the provided one from the provided offset,
+	 * and replace this cache file w/ it.
+	 *
+	 * @param source	memory-mapped cache file to copy the entries of or {@code null}
+	 * @param from		offset of the first entry to copy
+	 * @return			memory-mapped new cache file
+	 *
+	 * @throws IOException	if the new cache file cannot be created
+	 */
+	private MappedByteBuffer replace(MappedByteBuffer source, int from) throws IOException {
+		Path tmp = this.path.resolveSibling(this.path.getFileName() + COMPACTED_FILE_SUFFIX);
+
+		MappedByteBuffer buffer;
+
+		try (FileChannel channel = FileChannel.open(tmp,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.fileSize);
+		}
+
+		int slotCount = Integer.highestOneBit(Math.max(this.fileSize / AVERAGE_ENTRY_LENGTH, 2));
+
+		buffer.putInt(MAGIC_OFFSET, MAGIC);
+		buffer.putInt(VERSION_OFFSET, VERSION);
+		buffer.putLong(FINGERPRINT_OFFSET, this.fingerprint);
+		buffer.putInt(STATE_OFFSET, ACTIVE);
+		buffer.putInt(SLOT_COUNT_OFFSET, slotCount);
+		buffer.putInt(DATA_END_OFFSET, HEADER_LENGTH + slotCount * SLOT_LENGTH);
+		buffer.putInt(SIZE_OFFSET, 0);
+
+		if (source != null) {
+			int dataEnd = source.getInt(DATA_END_OFFSET);
+
+			for (int offset = from; offset < dataEnd; ) {
+				int length = entryLengthOf(source.getInt(offset), source.getInt(offset + 4));
+
+				copy(source, offset, buffer, length);
+				offset += length;
+			}
+		}
+
+		Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		return buffer;
+	}
+
+	/**
+	 * Find the entry of the provided text in the provided cache file.
+	 *
+	 * @param buffer	memory-mapped cache file
+	 * @param text		text containing the text to find
+	 * @param start		text start index, inclusive
+	 * @param end		text end index, exclusive
+	 * @param hash		text hash
+	 * @param value		buffer to read the found transliteration into or {@code null}
+	 * @return			entry offset or {@code -1} if missing
+	 */
+	private static int find(MappedByteBuffer buffer, CharSequence text, int start, int end, int hash, WordBuffer value) {
+		int slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+		int mask = slotCount - 1;
+
+		for (int i = 0, slot = mix(hash) & mask; i < slotCount; i++, slot = (slot + 1) & mask) {
+			long entry = buffer.getLong(HEADER_LENGTH + slot * SLOT_LENGTH);
+
+			if (entry == 0) {
+				return -1;
+			}
+
+			if ((int) (entry >>> 32) == hash && read(buffer, (int) entry, text, start, end, value)) {
+				return (int) entry;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Read the transliteration of an entry if its text equals the provided one.
+	 *
+	 * @param buffer	memory-mapped cache file
+	 * @param offset	entry offset
+	 * @param text		text containing the text to compare w/
+	 * @param start		text start index, inclusive
+	 * @param end		text end index, exclusive
+	 * @param value		buffer to read the transliteration into or {@code null}
+	 * @return			boolean value as a result, {@code false} if the text differs or the entry is incomplete
+	 */
+	private static boolean read(MappedByteBuffer buffer, int offset, CharSequence text, int start, int end, WordBuffer value) {
+		int limit = buffer.capacity();
+
+		if (offset < HEADER_LENGTH || offset > limit - ENTRY_HEADER_LENGTH) {
+			return false;
+		}
+
+		int textLength = buffer.getInt(offset);
+		int valueLength = buffer.getInt(offset + 4);
+		int valueHash = buffer.getInt(offset + 8);
+
+		if (textLength != end - start || valueLength < 0 || valueLength > limit - offset >> 1) {
+			return false;
+		}
+
+		int index = offset + ENTRY_HEADER_LENGTH;
+		if (index + ((textLength + valueLength) << 1) > limit) {
+			return false;
+		}
+
+		for (int i = start; i < end; i++, index += 2) {
+			if (buffer.getChar(index) != text.charAt(i)) {
+				return false;
+			}
+		}
+
+		if (value != null) {
+			value.clear();
+		}
+
+		int hash = 0;
+
+		for (int i = 0; i < valueLength; i++, index += 2) {
+			char c = buffer.getChar(index);
+
+			if (value != null) {
+				value.append(c);
+			}
+
+			hash = 31 * hash + c;
+		}
+
+		return hash == valueHash;
+	}
+
+	/**
+	 * Add an entry into the provided cache file.
+	 *
+	 * <p>Writes the entry first and publishes its slot afterwards.
+	 *
+	 * @param buffer	memory-mapped cache file
+	 * @param text		text
+	 * @param value		transliteration
+	 * @param hash		text hash
+	 */
+	private static void add(MappedByteBuffer buffer, CharSequence text, CharSequence value, int hash) {
+		int offset = buffer.getInt(DATA_END_OFFSET);
+
+		int index = offset + ENTRY_HEADER_LENGTH;
+
+		for (int i = 0, length = text.length(); i < length; i++, index += 2) {
+			buffer.putChar(index, text.charAt(i));
+		}
+
+		for (int i = 0, length = value.length(); i < length; i++, index += 2) {
+			buffer.putChar(index, value.charAt(i));
+		}
+
+		buffer.putInt(offset, text.length());
+		buffer.putInt(offset + 4, value.length());
+		buffer.putInt(offset + 8, hashOf(value, 0, value.length()));
+
+		buffer.putInt(DATA_END_OFFSET, offset + entryLengthOf(text.length(), value.length()));
+
+		publish(buffer, hash, offset);
+	}
+
+	/**
+	 * Copy an entry into the provided cache file.
+	 *
+	 * @param source	memory-mapped cache file to copy from
+	 * @param offset	entry offset
+	 * @param target	memory-mapped cache file to copy to
+	 * @param length	entry length
+	 */
+	private static void copy(MappedByteBuffer source, int offset, MappedByteBuffer target, int length) {
+		int targetOffset = target.getInt(DATA_END_OFFSET);
+		int textLength = source.getInt(offset);
+
+		for (int i = 0; i < length; i += 4) {
+			target.putInt(targetOffset + i, source.getInt(offset + i));
+		}
+
+		int hash = 0;
+		for (int i = 0, index = offset + ENTRY_HEADER_LENGTH; i < textLength; i++, index += 2) {
+			hash = 31 * hash + source.getChar(index);
+		}
+
+		target.putInt(DATA_END_OFFSET, targetOffset + length);
+
+		publish(target, hash, targetOffset);
+	}
+
+	/**
+	 * Publish an entry in the slot table of the provided cache file.
+	 *
+	 * @param buffer	memory-mapped cache file
+	 * @param hash		entry text hash
+	 * @param offset	entry offset
+	 */
+	private static void publish(MappedByteBuffer buffer, int hash, int offset) {
+		int mask = buffer.getInt(SLOT_COUNT_OFFSET) - 1;
+		int slot = mix(hash) & mask;
+
+		while (buffer.getLong(HEADER_LENGTH + slot * SLOT_LENGTH) != 0) {
+			slot = (slot + 1) & mask;
+		}
+
+		buffer.putLong(HEADER_LENGTH + slot * SLOT_LENGTH, (long) hash << 32 | offset & 0xFFFFFFFFL);
+		buffer.putInt(SIZE_OFFSET, buffer.getInt(SIZE_OFFSET) + 1);
+	}
+
+	/**
+	 * Check whether an entry of the provided length fits into the provided cache file.
+	 *
+	 * @param buffer	memory-mapped cache file
+	 * @param length	entry length
+	 * @return			boolean value as a result
+	 */
+	private static boolean isAddable(MappedByteBuffer buffer, int length) {
+		return buffer.getInt(SIZE_OFFSET) < maxSizeOf(buffer.getInt(SLOT_COUNT_OFFSET))
+				&& buffer.getInt(DATA_END_OFFSET) <= buffer.capacity() - length;
+	}
+
+	/**
+	 * Get a maximum number of entries of a slot table, i.e. three quarters of the slots.
+	 *
+	 * @param slotCount		number of slots
+	 * @return				maximum number of entries
+	 */
+	private static int maxSizeOf(int slotCount) {
+		return slotCount - (slotCount >> 2);
+	}
+
+	/**
+	 * Get an entry length, aligned to four bytes.
+	 *
+	 * @param textLength	text length
+	 * @param valueLength	transliteration length
+	 * @return				entry length
+	 */
+	private static int entryLengthOf(int textLength, int valueLength) {
+		return ENTRY_HEADER_LENGTH + ((textLength + valueLength + 1) & ~1) * 2;
+	}
+
+	/**
+	 * Compute a hash of the provided text, equal to the {@link String#hashCode()} of it.
+	 *
+	 * @param text		text containing the text to hash
+	 * @param start		text start index, inclusive
+	 * @param end		text end index, exclusive
+	 * @return			text hash
+	 */
+	private static int hashOf(CharSequence text, int start, int end) {
+		int hash = 0;
+
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + text.charAt(i);
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Spread the provided hash bits, so that the low ones are usable as a slot index.
+	 *
+	 * @param hash	hash
+	 * @return		mixed hash
+	 */
+	private static int mix(int hash) {
+		hash *= 0x9E3779B9;
+
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Compute a fingerprint of the provided transliterator,
+	 * i.e. of its mapping-schema content, letter case handling mode and word separator,
+	 * that is stable across runs.
+	 *
+	 * @param transliterator	transliterator
+	 * @return					transliterator fingerprint
+	 */
+	static long fingerprintOf(IuliiaTransliterator transliterator) {
+		return fingerprintOf(transliterator.getSchema(), transliterator.getCaseMode(), transliterator.getSeparator());
+	}
+
+	/**
+	 * Compute a fingerprint of the provided transliterator configuration,
+	 * see {@link #fingerprintOf(IuliiaTransliterator)}.
+	 *
+	 * @param schema		transliteration schema
+	 * @param caseMode		letter case handling mode
+	 * @param separator		word separator or {@code null}
+	 * @return				transliterator fingerprint
+	 */
+	static long fingerprintOf(IuliiaSchema schema, EIuliiaCaseMode caseMode, String separator) {
+		long hash = fingerprintOf(0xCBF29CE484222325L, VERSION);
+
+		hash = fingerprintOf(hash, schema.getName());
+		hash = fingerprintOf(hash, schema.getSingleLetterMap());
+		hash = fingerprintOf(hash, schema.getPreviousLetterMap());
+		hash = fingerprintOf(hash, schema.getNextLetterMap());
+		hash = fingerprintOf(hash, schema.getEndingLetterMap());
+
+		// already sorted
+		for (Map.Entry<String, String> entry : schema.getExceptions().entrySet()) {
+			hash = fingerprintOf(hash, entry.getKey());
+			hash = fingerprintOf(hash, entry.getValue());
+		}
+
+		hash = fingerprintOf(hash, caseMode.name());
+		hash = fingerprintOf(hash, separator);
+
+		return hash;
+	}
+
+	/**
+	 * Add the provided letter-map to a fingerprint, in the key order.
+	 *
+	 * @param hash	fingerprint
+	 * @param map	letter-map or {@code null}
+	 * @return		fingerprint
+	 */
+	private static long fingerprintOf(long hash, Map<String, String> map) {
+		if (map == null) {
+			return fingerprintOf(hash, -1);
+		}
+
+		hash = fingerprintOf(hash, map.size());
+
+		for (Map.Entry<String, String> entry : new TreeMap<>(map).entrySet()) {
+			hash = fingerprintOf(hash, entry.getKey());
+			hash = fingerprintOf(hash, entry.getValue());
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Add the provided string to a fingerprint.
+	 *
+	 * @param hash	fingerprint
+	 * @param s		string or {@code null}
+	 * @return		fingerprint
+	 */
+	private static long fingerprintOf(long hash, String s) {
+		if (s == null) {
+			return fingerprintOf(hash, -1);
+		}
+
+		hash = fingerprintOf(hash, s.length());
+
+		for (int i = 0, length = s.length(); i < length; i++) {
+			hash = (hash ^ s.charAt(i)) * 0x100000001B3L;
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Add the provided number to a fingerprint.
+	 *
+	 * @param hash	fingerprint
+	 * @param n		number
+	 * @return		fingerprint
+	 */
+	private static long fingerprintOf(long hash, int n) {
+		for (int i = 0; i < 4; i++, n >>>= 8) {
+			hash = (hash ^ (n & 0xFF)) * 0x100000001B3L;
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Open a persistent transliteration cache.
+	 *
+	 * @param transliterator	transliterator to transliterate the missing texts w/
+	 * @param path				cache file path, created if missing
+	 * @param fileSize			cache file size, the cache file is compacted once full
+	 * @return					persistent transliteration cache
+	 *
+	 * @throws IllegalArgumentException		if the provided transliterator or path is {@code null}
+	 * 										or the file size is out of bounds
+	 * @throws IOException					if the cache file cannot be opened or created
+	 */
+	public static IuliiaPersistentCache open(IuliiaTransliterator transliterator, Path path, int fileSize) throws IOException {
+		if (transliterator == null) {
+			throw new IllegalArgumentException("Transliterator mustn't be <null>");
+		}
+
+		if (path == null) {
+			throw new IllegalArgumentException("Path mustn't be <null>");
+		}
+
+		if (fileSize < MIN_SIZE || fileSize > MAX_SIZE) {
+			throw new IllegalArgumentException("File size mustn't be out of bounds: " + fileSize);
+		}
+
+		return new IuliiaPersistentCache(transliterator, path.toAbsolutePath(), fileSize);
+	}
+
+	/**
+	 * Open a persistent transliteration cache.
+	 *
+	 * <p>Wraps {@link #open(IuliiaTransliterator, Path, int)}
+	 * w/ {@link IuliiaTransliterator#of(IuliiaSchema)} as the transliterator.
+	 *
+	 * @param schema	transliteration schema
+	 * @param path		cache file path, created if missing
+	 * @param fileSize	cache file size, the cache file is compacted once full
+	 * @return			persistent transliteration cache
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema or path is {@code null}
+	 * 										or the file size is out of bounds
+	 * @throws IOException					if the cache file cannot be opened or created
+	 */
+	public static IuliiaPersistentCache open(IuliiaSchema schema, Path path, int fileSize) throws IOException {
+		return open(IuliiaTransliterator.of(schema), path, fileSize);
+	}
+
+	/**
+	 * Open a persistent transliteration cache.
+	 *
+	 * <p>Wraps {@link #open(IuliiaTransliterator, Path, int)}
+	 * w/ {@link IuliiaTransliterator#of(String)} as the transliterator.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @param path			cache file path, created if missing
+	 * @param fileSize		cache file size, the cache file is compacted once full
+	 * @return				persistent transliteration cache
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found, the path is {@code null}
+	 * 										or the file size is out of bounds
+	 * @throws IOException					if the cache file cannot be opened or created
+	 */
+	public static IuliiaPersistentCache open(String schemaPath, Path path, int fileSize) throws IOException {
+		return open(IuliiaTransliterator.of(schemaPath), path, fileSize);
+	}
+
+	/**
+	 * Open a persistent transliteration cache.
+	 *
+	 * <p>Wraps {@link #open(IuliiaTransliterator, Path, int)}
+	 * w/ {@link IuliiaTransliterator#of(EIuliiaSchema)} as the transliterator.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @param path			cache file path, created if missing
+	 * @param fileSize		cache file size, the cache file is compacted once full
+	 * @return				persistent transliteration cache
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type or path is {@code null}
+	 * 										or the file size is out of bounds
+	 * @throws IOException					if the cache file cannot be opened or created
+	 */
+	public static IuliiaPersistentCache open(EIuliiaSchema schemaType, Path path, int fileSize) throws IOException {
+		return open(IuliiaTransliterator.of(schemaType), path, fileSize);
+	}
+
+	/**
+	 * A word transliteration buffer.
+	 */
+	private static final class WordBuffer implements IuliiaSink {
+
+		/**
+		 * A character array.
+		 */
+		private char[] chars;
+
+		/**
+		 * A number of characters.
+		 */
+		private int length;
+
+		/**
+		 * Initialize a {@link WordBuffer} instance.
+		 */
+		private WordBuffer() {
+			this.chars = new char[64];
+		}
+
+		/**
+		 * Get this number of characters.
+		 *
+		 * @return	number of characters
+		 */
+		int length() {
+			return this.length;
+		}
+
+		/**
+		 * Remove all the characters.
+		 */
+		void clear() {
+			this.length = 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void append(char c) {
+			this.ensureCapacity(this.length + 1);
+			this.chars[this.length++] = c;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void append(String s) {
+			int length = s.length();
+
+			this.ensureCapacity(this.length + length);
+			s.getChars(0, length, this.chars, this.length);
+			this.length += length;
+		}
+
+		/**
+		 * Append the characters to the provided sink.
+		 *
+		 * @param sink	sink to append to
+		 */
+		void appendTo(IuliiaSink sink) {
+			for (int i = 0; i < this.length; i++) {
+				sink.append(this.chars[i]);
+			}
+		}
+
+		/**
+		 * Copy the characters into the provided array.
+		 *
+		 * @param target	array to copy into
+		 * @param offset	target array offset
+		 */
+		void copyTo(char[] target, int offset) {
+			System.arraycopy(this.chars, 0, target, offset, this.length);
+		}
+
+		/**
+		 * Grow the character array to fit at least the provided number of characters.
+		 *
+		 * @param capacity	minimum capacity
+		 */
+		private void ensureCapacity(int capacity) {
+			if (capacity > this.chars.length) {
+				this.chars = Arrays.copyOf(this.chars, Math.max(capacity, this.chars.length << 1));
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return new String(this.chars, 0, this.length);
+		}
+	}
+
+	/**
+	 * A batch of the words and their transliterations pending addition.
+	 */
+	private static final class Batch {
+
+		/**
+		 * A length of an entry in the {@link #entries} array.
+		 */
+		private static final int ENTRY_LENGTH = 4;
+
+		/**
+		 * A character array of the words followed by their transliterations.
+		 */
+		private final char[] chars;
+
+		/**
+		 * An array of the word hashes, character array offsets, word lengths and transliteration lengths.
+		 */
+		private final int[] entries;
+
+		/**
+		 * A number of words.
+		 */
+		private int size;
+
+		/**
+		 * A number of characters used.
+		 */
+		private int length;
+
+		/**
+		 * Initialize a {@link Batch} instance.
+		 */
+		private Batch() {
+			this.chars = new char[BATCH_LENGTH];
+			this.entries = new int[BATCH_SIZE * ENTRY_LENGTH];
+		}
+
+		/**
+		 * Get this number of words.
+		 *
+		 * @return	number of words
+		 */
+		int size() {
+			return this.size;
+		}
+
+		/**
+		 * Check whether this batch is empty.
+		 *
+		 * @return	boolean value as a result
+		 */
+		boolean isEmpty() {
+			return this.size == 0;
+		}
+
+		/**
+		 * Check whether this batch contains the provided word.
+		 *
+		 * @param text		text containing the word
+		 * @param start		word start index, inclusive
+		 * @param end		word end index, exclusive
+		 * @param hash		word hash
+		 * @return			boolean value as a result
+		 */
+		boolean contains(CharSequence text, int start, int end, int hash) {
+			for (int i = 0; i < this.size * ENTRY_LENGTH; i += ENTRY_LENGTH) {
+				if (this.entries[i] != hash || this.entries[i + 2] != end - start) {
+					continue;
+				}
+
+				int offset = this.entries[i + 1] - start;
+				int j = start;
+
+				while (j < end && this.chars[offset + j] == text.charAt(j)) {
+					j++;
+				}
+
+				if (j == end) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Add the provided word and its transliteration into this batch.
+		 *
+		 * @param text		text containing the word
+		 * @param start		word start index, inclusive
+		 * @param end		word end index, exclusive
+		 * @param hash		word hash
+		 * @param value		transliteration
+		 * @return			boolean value as a result, {@code false} if this batch is full
+		 */
+		boolean add(CharSequence text, int start, int end, int hash, WordBuffer value) {
+			int textLength = end - start;
+
+			if (this.size == BATCH_SIZE || textLength + value.length() > this.chars.length - this.length) {
+				return false;
+			}
+
+			for (int i = 0; i < textLength; i++) {
+				this.chars[this.length + i] = text.charAt(start + i);
+			}
+
+			value.copyTo(this.chars, this.length + textLength);
+
+			int index = this.size++ * ENTRY_LENGTH;
+
+			this.entries[index] = hash;
+			this.entries[index + 1] = this.length;
+			this.entries[index + 2] = textLength;
+			this.entries[index + 3] = value.length();
+
+			this.length += textLength + value.length();
+
+			return true;
+		}
+
+		/**
+		 * Get the word hash at the provided index.
+		 *
+		 * @param index		word index
+		 * @return			word hash
+		 */
+		int getHash(int index) {
+			return this.entries[index * ENTRY_LENGTH];
+		}
+
+		/**
+		 * Get the word at the provided index.
+		 *
+		 * @param index		word index
+		 * @return			word
+		 */
+		CharSequence getText(int index) {
+			index *= ENTRY_LENGTH;
+
+			return CharBuffer.wrap(this.chars, this.entries[index + 1], this.entries[index + 2]);
+		}
+
+		/**
+		 * Get the transliteration of the word at the provided index.
+		 *
+		 * @param index		word index
+		 * @return			transliteration
+		 */
+		CharSequence getValue(int index) {
+			index *= ENTRY_LENGTH;
+
+			return CharBuffer.wrap(this.chars, this.entries[index + 1] + this.entries[index + 2], this.entries[index + 3]);
+		}
+
+		/**
+		 * Remove all the words.
+		 */
+		void clear() {
+			this.size = 0;
+			this.length = 0;
+		}
+	}
+}
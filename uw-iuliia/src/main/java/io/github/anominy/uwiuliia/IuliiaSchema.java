@@ -0,0 +1,1010 @@
+package io.github.anominy.uwiuliia;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import io.github.anominy.gsonnative.GsonNativeTypeAdapterFactory;
+import io.github.anominy.uwutils.UwFile;
+import io.github.anominy.uwutils.UwObject;
+import io.github.anominy.uwutils.UwResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A mapping-schema representation.
+ */
+@SuppressWarnings({"unused", "MethodDoesntCallSuperMethod", "SynchronizeOnNonFinalField"})
+public final class IuliiaSchema implements Serializable, Cloneable {
+
+	/**
+	 * A simple name of this class.
+	 */
+	private static final String SIMPLE_NAME = IuliiaSchema.class.getSimpleName();
+
+	/**
+	 * A {@link Gson} instance.
+	 */
+	private static final Gson GSON = new GsonBuilder()
+			.registerTypeAdapterFactory(new GsonNativeTypeAdapterFactory())
+			.create();
+
+	/**
+	 * A mapping-schema cache.
+	 *
+	 * <p>Never modified once published, replaced w/ an updated copy instead,
+	 * so that readers never lock.
+	 */
+	private static volatile Map<String, IuliiaSchema> cache = Collections.emptyMap();
+
+	/**
+	 * A {@link #cache} mutex.
+	 */
+	private static final Object CACHE_MUTEX = new Object();
+
+	/**
+	 * A maximum number of the cached {@link EIuliiaCaseMode#FOLD} mode transliterators per mapping-schema,
+	 * so that ever-changing word separators do not pile up.
+	 */
+	private static final int MAX_CACHED_FOLDED_TRANSLITERATORS = 16;
+
+	/**
+	 * A system property to load and compile all internal mapping-schemas on class initialization.
+	 *
+	 * <p>Meant for native images built w/ {@code -Duwiuliia.preload=true}
+	 * and {@code --initialize-at-build-time=io.github.anominy.uwiuliia},
+	 * so that the compiled schemas are stored in the image heap and nothing is parsed at startup.
+	 */
+	public static final String PRELOAD_PROPERTY = "uwiuliia.preload";
+
+	static {
+		if (Boolean.getBoolean(PRELOAD_PROPERTY)) {
+			preload();
+		}
+	}
+
+	/**
+	 * A schema name.
+	 */
+	@SerializedName("name")
+	private final String name;
+
+	/**
+	 * A schema description.
+	 */
+	@SerializedName("description")
+	private final String description;
+
+	/**
+	 * A schema explanation-URL.
+	 */
+	@SerializedName("url")
+	private final String url;
+
+	/**
+	 * A single letter-map.
+	 */
+	@SerializedName("mapping")
+	@JsonAdapter(value = SingleLetterMapJsonDeserializer.class, nullSafe = false)
+	private final Map<String, String> singleLetterMap;
+
+	/**
+	 * A previous letter-map.
+	 */
+	@SerializedName("prev_mapping")
+	@JsonAdapter(value = PreviousLetterMapJsonDeserializer.class, nullSafe = false)
+	private final Map<String, String> previousLetterMap;
+
+	/**
+	 * A next letter-map.
+	 */
+	@SerializedName("next_mapping")
+	@JsonAdapter(value = NextLetterMapJsonDeserializer.class, nullSafe = false)
+	private final Map<String, String> nextLetterMap;
+
+	/**
+	 * An ending letter-map.
+	 */
+	@SerializedName("ending_mapping")
+	@JsonAdapter(value = EndingLetterMapJsonDeserializer.class, nullSafe = false)
+	private final Map<String, String> endingLetterMap;
+
+	/**
+	 * A whole-word exception map or {@code null}.
+	 */
+	@SerializedName("exceptions")
+	@JsonAdapter(value = ExceptionMapJsonDeserializer.class, nullSafe = false)
+	private final Map<String, String> exceptionMap;
+
+	/**
+	 * An enum type of this built-in mapping-schema or {@code null}.
+	 */
+	private transient EIuliiaSchema type;
+
+	/**
+	 * A {@link #hashCode()} cache.
+	 */
+	private transient volatile Integer hashCodeCache;
+
+	/**
+	 * A {@link #toString()} cache.
+	 */
+	private transient volatile String stringCache;
+
+	/**
+	 * A {@link #getTable()} cache.
+	 */
+	private transient volatile IuliiaTable tableCache;
+
+	/**
+	 * A {@link #getTable(EIuliiaCaseMode)} cache of the {@link EIuliiaCaseMode#FOLD} mode.
+	 */
+	private transient volatile IuliiaTable foldedTableCache;
+
+	/**
+	 * A {@link #getFoldedTransliterator(String)} cache by word separator.
+	 *
+	 * <p>Never modified once published, replaced w/ an updated copy instead.
+	 */
+	private transient volatile Map<String, IuliiaTransliterator> foldedTransliteratorCache;
+
+	/**
+	 * A {@link #hashCodeCache} mutex.
+	 */
+	private transient Object hashCodeCacheMutex;
+
+	/**
+	 * A {@link #stringCache} mutex.
+	 */
+	private transient Object stringCacheMutex;
+
+	/**
+	 * A {@link #tableCache} mutex.
+	 */
+	private transient Object tableCacheMutex;
+
+	/**
+	 * A {@link #foldedTableCache} mutex.
+	 */
+	private transient Object foldedTableCacheMutex;
+
+	/**
+	 * A {@link #foldedTransliteratorCache} mutex.
+	 */
+	private transient Object foldedTransliteratorCacheMutex;
+
+	/**
+	 * Initialize this mutex objects.
+	 */
+	private void initMutexObjects() {
+		this.hashCodeCacheMutex = new Object();
+		this.stringCacheMutex = new Object();
+		this.tableCacheMutex = new Object();
+		this.foldedTableCacheMutex = new Object();
+		this.foldedTransliteratorCacheMutex = new Object();
+	}
+
+	/**
+	 * Override the {@code #readResolve} method to set up
+	 * the object cache mutexes after deserialization.
+	 *
+	 * @return	this instance
+	 */
+	private Object readResolve() {
+		this.initMutexObjects();
+
+		return this;
+	}
+
+	/**
+	 * Override the {@code #writeReplace} method to write
+	 * a compact {@link IuliiaSchemaProxy} form instead.
+	 *
+	 * @return	serialization proxy
+	 */
+	private Object writeReplace() {
+		return new IuliiaSchemaProxy(this);
+	}
+
+	/**
+	 * Initialize a {@link IuliiaSchema} instance.
+	 *
+	 * @param name					schema name
+	 * @param description			schema description
+	 * @param url					schema explanation-URL
+	 * @param singleLetterMap		single letter-map
+	 * @param previousLetterMap		previous letter-map
+	 * @param nextLetterMap			next letter-map
+	 * @param endingLetterMap		ending letter-map
+	 * @param exceptionMap			whole-word exception map
+	 */
+	IuliiaSchema(
+			String name,
+			String description,
+			String url,
+			Map<String, String> singleLetterMap,
+			Map<String, String> previousLetterMap,
+			Map<String, String> nextLetterMap,
+			Map<String, String> endingLetterMap,
+			Map<String, String> exceptionMap
+	) {
+		this.name = name;
+		this.description = description;
+		this.url = url;
+		this.singleLetterMap = singleLetterMap;
+		this.previousLetterMap = previousLetterMap;
+		this.nextLetterMap = nextLetterMap;
+		this.endingLetterMap = endingLetterMap;
+		this.exceptionMap = IuliiaExceptionMap.of(exceptionMap);
+
+		this.initMutexObjects();
+	}
+
+	/**
+	 * Initialize a {@link IuliiaSchema} instance.
+	 *
+	 * <p>Defines a copy constructor.
+	 *
+	 * @param that	instance to copy field values from
+	 */
+	private IuliiaSchema(IuliiaSchema that) {
+		this(
+				that.name,
+				that.description,
+				that.url,
+				that.singleLetterMap,
+				that.previousLetterMap,
+				that.nextLetterMap,
+				that.endingLetterMap,
+				that.exceptionMap
+		);
+
+		this.hashCodeCache = that.hashCodeCache;
+		this.stringCache = that.stringCache;
+		this.tableCache = that.tableCache;
+		this.foldedTableCache = that.foldedTableCache;
+		this.type = that.type;
+	}
+
+	/**
+	 * Get this schema name.
+	 *
+	 * @return	schema name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Get this schema description.
+	 *
+	 * @return	schema description
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * Get this schema explanation-URL.
+	 *
+	 * @return	schema explanation-URL
+	 */
+	public String getUrl() {
+		return this.url;
+	}
+
+	/**
+	 * Get this single letter-map.
+	 *
+	 * @return	schema single letter-map
+	 */
+	public Map<String, String> getSingleLetterMap() {
+		return this.singleLetterMap;
+	}
+
+	/**
+	 * Get this previous letter-map.
+	 *
+	 * @return	schema previous letter-map
+	 */
+	public Map<String, String> getPreviousLetterMap() {
+		return this.previousLetterMap;
+	}
+
+	/**
+	 * Get this next letter-map.
+	 *
+	 * @return	schema next letter-map
+	 */
+	public Map<String, String> getNextLetterMap() {
+		return this.nextLetterMap;
+	}
+
+	/**
+	 * Get this ending letter-map.
+	 *
+	 * @return	schema ending letter-map
+	 */
+	public Map<String, String> getEndingLetterMap() {
+		return this.endingLetterMap;
+	}
+
+	/**
+	 * Get this whole-word exception map.
+	 *
+	 * <p>Words are stored in lower case and looked up regardless of their case,
+	 * their transliterations replace the letter rules for the whole word.
+	 *
+	 * @return	schema whole-word exception map
+	 */
+	public Map<String, String> getExceptionMap() {
+		return this.getExceptions();
+	}
+
+	/**
+	 * Get this compact whole-word exception map.
+	 *
+	 * @return	compact whole-word exception map, empty if none
+	 */
+	IuliiaExceptionMap getExceptions() {
+		if (this.exceptionMap == null) {
+			return IuliiaExceptionMap.EMPTY;
+		}
+
+		return (IuliiaExceptionMap) this.exceptionMap;
+	}
+
+	/**
+	 * Get this schema enum type if built-in or return {@code null}.
+	 *
+	 * @return	schema enum type or {@code null}
+	 */
+	EIuliiaSchema getType() {
+		return this.type;
+	}
+
+	/**
+	 * Get this compiled mapping-schema.
+	 *
+	 * @return	compiled mapping-schema
+	 */
+	IuliiaTable getTable() {
+		if (this.tableCache != null) {
+			return this.tableCache;
+		}
+
+		synchronized (this.tableCacheMutex) {
+			if (this.tableCache != null) {
+				return this.tableCache;
+			}
+
+			return (this.tableCache = IuliiaTable.compile(this));
+		}
+	}
+
+	/**
+	 * Get this compiled mapping-schema in the provided letter case handling mode.
+	 *
+	 * @param caseMode		letter case handling mode
+	 * @return				compiled mapping-schema
+	 */
+	IuliiaTable getTable(EIuliiaCaseMode caseMode) {
+		if (caseMode != EIuliiaCaseMode.FOLD) {
+			return this.getTable();
+		}
+
+		if (this.foldedTableCache != null) {
+			return this.foldedTableCache;
+		}
+
+		synchronized (this.foldedTableCacheMutex) {
+			if (this.foldedTableCache != null) {
+				return this.foldedTableCache;
+			}
+
+			return (this.foldedTableCache = IuliiaTable.compile(this, caseMode));
+		}
+	}
+
+	/**
+	 * Get a transliterator of this mapping-schema in the {@link EIuliiaCaseMode#FOLD} mode.
+	 *
+	 * @param separator		word separator or {@code null}
+	 * @return				transliterator
+	 *
+	 * @throws java.util.regex.PatternSyntaxException	if the word separator is not a valid regex
+	 */
+	IuliiaTransliterator getFoldedTransliterator(String separator) {
+		Map<String, IuliiaTransliterator> cache = this.foldedTransliteratorCache;
+
+		IuliiaTransliterator transliterator;
+		if (cache != null && (transliterator = cache.get(separator)) != null) {
+			return transliterator;
+		}
+
+		synchronized (this.foldedTransliteratorCacheMutex) {
+			cache = this.foldedTransliteratorCache;
+
+			if (cache != null && (transliterator = cache.get(separator)) != null) {
+				return transliterator;
+			}
+
+			transliterator = IuliiaTransliterator.builder(this)
+					.setSeparator(separator)
+					.setCaseMode(EIuliiaCaseMode.FOLD)
+					.build();
+
+			if (cache == null || cache.size() < MAX_CACHED_FOLDED_TRANSLITERATORS) {
+				Map<String, IuliiaTransliterator> map = cache != null
+						? new HashMap<>(cache)
+						: new HashMap<>();
+
+				map.put(separator, transliterator);
+				this.foldedTransliteratorCache = map;
+			}
+
+			return transliterator;
+		}
+	}
+
+	/**
+	 * Estimate a footprint of this mapping-schema.
+	 *
+	 * @param footprint		footprint to add the objects of this mapping-schema to
+	 */
+	void addTo(IuliiaFootprint.Builder footprint) {
+		footprint.addObject(this, this, 19);
+		footprint.addString(this, this.name);
+		footprint.addString(this, this.description);
+		footprint.addString(this, this.url);
+		footprint.addMap(this, this.singleLetterMap);
+		footprint.addMap(this, this.previousLetterMap);
+		footprint.addMap(this, this.nextLetterMap);
+		footprint.addMap(this, this.endingLetterMap);
+		footprint.addMap(this, this.exceptionMap);
+
+		IuliiaTable table = this.tableCache;
+		if (table != null) {
+			table.addTo(footprint, this);
+		}
+
+		IuliiaTable foldedTable = this.foldedTableCache;
+		if (foldedTable != null) {
+			foldedTable.addTo(footprint, this);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || this.getClass() != obj.getClass()) {
+			return false;
+		}
+
+		IuliiaSchema that = (IuliiaSchema) obj;
+
+		return Objects.equals(this.name, that.name)
+				&& Objects.equals(this.description, that.description)
+				&& Objects.equals(this.url, that.url)
+				&& Objects.equals(this.singleLetterMap, that.singleLetterMap)
+				&& Objects.equals(this.previousLetterMap, that.previousLetterMap)
+				&& Objects.equals(this.nextLetterMap, that.nextLetterMap)
+				&& Objects.equals(this.endingLetterMap, that.endingLetterMap)
+				&& Objects.equals(this.getExceptions(), that.getExceptions());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		if (this.hashCodeCache != null) {
+			return this.hashCodeCache;
+		}
+
+		synchronized (this.hashCodeCacheMutex) {
+			if (this.hashCodeCache != null) {
+				return this.hashCodeCache;
+			}
+
+			return (this.hashCodeCache
+					= Objects.hash(
+							this.name,
+							this.description,
+							this.url,
+							this.singleLetterMap,
+							this.previousLetterMap,
+							this.nextLetterMap,
+							this.endingLetterMap,
+							this.getExceptions()
+					)
+			);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		if (this.stringCache != null) {
+			return this.stringCache;
+		}
+
+		synchronized (this.stringCacheMutex) {
+			if (this.stringCache != null) {
+				return this.stringCache;
+			}
+
+			return (this.stringCache = SIMPLE_NAME + "["
+					+ "name=\"" + this.name + "\""
+					+ ", description=\"" + this.description + "\""
+					+ ", url=\"" + this.url + "\""
+					+ ", singleLetterMap=" + this.singleLetterMap
+					+ ", previousLetterMap=" + this.previousLetterMap
+					+ ", nextLetterMap=" + this.nextLetterMap
+					+ ", endingLetterMap=" + this.endingLetterMap
+					+ ", exceptionMap=" + this.getExceptions()
+					+ "]");
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IuliiaSchema clone() {
+		return new IuliiaSchema(this);
+	}
+
+	/**
+	 * Get a mapping-schema by its file path or return {@code null}.
+	 *
+	 * @param path	path to the schema file
+	 * @return		mapping-schema instance or {@code null}
+	 */
+	public static IuliiaSchema fromFilePath(String path) {
+		path = UwFile.getPathOrNull(path);
+		if (path == null) {
+			return null;
+		}
+
+		IuliiaSchema schema = cache.get(path);
+		if (schema != null) {
+			return schema;
+		}
+
+		synchronized (CACHE_MUTEX) {
+			schema = cache.get(path);
+			if (schema != null) {
+				return schema;
+			}
+
+			String schemaJson = UwResource.getAsStringOrNull(path);
+			schema = fromJson(schemaJson);
+
+			if (schema != null) {
+				schema.type = EIuliiaSchema.fromFilePathOrNull(path);
+				putCache(path, schema);
+			}
+		}
+
+		return schema;
+	}
+
+	/**
+	 * Read and compile a mapping-schema from the provided file,
+	 * bypassing the cache.
+	 *
+	 * <p>Streams the file w/o reading it into a string nor building a JSON tree,
+	 * so that large custom schemas can be loaded from outside the classpath.
+	 *
+	 * @param path	path to the schema file
+	 * @return		compiled mapping-schema instance
+	 *
+	 * @throws IllegalArgumentException	if the path is {@code null}
+	 * @throws IOException				if the schema file cannot be read or is malformed,
+	 * 									w/ the error JSON path in the message,
+	 * 									as well as the line and column of the syntax errors
+	 */
+	public static IuliiaSchema fromPath(Path path) throws IOException {
+		if (path == null) {
+			throw new IllegalArgumentException("Path mustn't be <null>");
+		}
+
+		return IuliiaSchemaReader.read(path);
+	}
+
+	/**
+	 * Read and compile a mapping-schema from the provided UTF-8 input stream,
+	 * bypassing the cache.
+	 *
+	 * <p>Streams the input w/o reading it into a string nor building a JSON tree.
+	 * The stream is not closed.
+	 *
+	 * @param in	input stream to read from
+	 * @return		compiled mapping-schema instance
+	 *
+	 * @throws IllegalArgumentException	if the input stream is {@code null}
+	 * @throws IOException				if the input stream cannot be read or is malformed,
+	 * 									w/ the error JSON path in the message,
+	 * 									as well as the line and column of the syntax errors
+	 */
+	public static IuliiaSchema fromInputStream(InputStream in) throws IOException {
+		if (in == null) {
+			throw new IllegalArgumentException("Input stream mustn't be <null>");
+		}
+
+		return IuliiaSchemaReader.read(in);
+	}
+
+	/**
+	 * Get a mapping-schema by its enum type or return {@code null}
+	 *
+	 * @param type	enum type of the schema
+	 * @return		mapping-schema instance or {@code null}
+	 */
+	public static IuliiaSchema fromEnumType(EIuliiaSchema type) {
+		return fromFilePath(UwObject.ifNotNull(type, EIuliiaSchema::getFilePath));
+	}
+
+	/**
+	 * Parse a mapping-schema from its JSON representation or return {@code null}.
+	 *
+	 * @param json	schema JSON representation
+	 * @return		mapping-schema instance or {@code null}
+	 *
+	 * @throws com.google.gson.JsonParseException	if the schema JSON representation is malformed
+	 */
+	static IuliiaSchema fromJson(String json) {
+		if (json == null) {
+			return null;
+		}
+
+		return GSON.fromJson(json, IuliiaSchema.class);
+	}
+
+	/**
+	 * Publish a mapping-schema into the cache,
+	 * replacing the previous version if any.
+	 *
+	 * @param path		normalized path to the schema file
+	 * @param schema	mapping-schema instance
+	 */
+	static void putCache(String path, IuliiaSchema schema) {
+		synchronized (CACHE_MUTEX) {
+			Map<String, IuliiaSchema> map = new HashMap<>(cache);
+			map.put(path, schema);
+
+			cache = map;
+		}
+	}
+
+	/**
+	 * Load all internal mapping-schemas into the cache
+	 * and compile them in every letter case handling mode.
+	 */
+	static void preload() {
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			IuliiaSchema schema = fromEnumType(type);
+			if (schema == null) {
+				continue;
+			}
+
+			for (EIuliiaCaseMode caseMode : EIuliiaCaseMode.values()) {
+				schema.getTable(caseMode);
+			}
+
+			schema.hashCode();
+		}
+	}
+
+	/**
+	 * Create a new mapping-schema builder.
+	 *
+	 * @return	mapping-schema builder
+	 */
+	public static Builder builder() {
+		return new Builder(null);
+	}
+
+	/**
+	 * Create a new mapping-schema builder overlaying the provided mapping-schema.
+	 *
+	 * <p>Letter-maps of the built schema look up the added rules first
+	 * and fall through to the base schema ones w/o copying them.
+	 *
+	 * @param base	mapping-schema to overlay
+	 * @return		mapping-schema builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static Builder builder(IuliiaSchema base) {
+		if (base == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		return new Builder(base);
+	}
+
+	/**
+	 * Create a new mapping-schema builder overlaying the provided mapping-schema.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaSchema)}
+	 * w/ {@link #fromEnumType(EIuliiaSchema)} as the mapping-schema to overlay.
+	 *
+	 * @param baseType	enum type of the mapping-schema to overlay
+	 * @return			mapping-schema builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static Builder builder(EIuliiaSchema baseType) {
+		return builder(fromEnumType(baseType));
+	}
+
+	/**
+	 * A mapping-schema builder.
+	 *
+	 * <p>Rules are defined in the same form as in the schema JSON files,
+	 * i.e. in lower case, and extended the same way on {@link #build()}.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A mapping-schema to overlay or {@code null}.
+		 */
+		private final IuliiaSchema base;
+
+		/**
+		 * A schema name.
+		 */
+		private String name;
+
+		/**
+		 * A schema description.
+		 */
+		private String description;
+
+		/**
+		 * A schema explanation-URL.
+		 */
+		private String url;
+
+		/**
+		 * A single letter-map.
+		 */
+		private final Map<String, String> singleLetterMap;
+
+		/**
+		 * A previous letter-map.
+		 */
+		private final Map<String, String> previousLetterMap;
+
+		/**
+		 * A next letter-map.
+		 */
+		private final Map<String, String> nextLetterMap;
+
+		/**
+		 * An ending letter-map.
+		 */
+		private final Map<String, String> endingLetterMap;
+
+		/**
+		 * A whole-word exception map.
+		 */
+		private final Map<String, String> exceptionMap;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 *
+		 * @param base	mapping-schema to overlay or {@code null}
+		 */
+		private Builder(IuliiaSchema base) {
+			this.base = base;
+
+			if (base != null) {
+				this.name = base.name;
+				this.description = base.description;
+				this.url = base.url;
+			}
+
+			this.singleLetterMap = new HashMap<>();
+			this.previousLetterMap = new HashMap<>();
+			this.nextLetterMap = new HashMap<>();
+			this.endingLetterMap = new HashMap<>();
+			this.exceptionMap = new HashMap<>();
+		}
+
+		/**
+		 * Set the schema name.
+		 *
+		 * @param name	schema name
+		 * @return		this builder
+		 */
+		public Builder setName(String name) {
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Set the schema description.
+		 *
+		 * @param description	schema description
+		 * @return				this builder
+		 */
+		public Builder setDescription(String description) {
+			this.description = description;
+			return this;
+		}
+
+		/**
+		 * Set the schema explanation-URL.
+		 *
+		 * @param url	schema explanation-URL
+		 * @return		this builder
+		 */
+		public Builder setUrl(String url) {
+			this.url = url;
+			return this;
+		}
+
+		/**
+		 * Put a single letter rule.
+		 *
+		 * @param letter	lower case letter
+		 * @param value		transliterated letter
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if any of the arguments is {@code null}
+		 */
+		public Builder putSingleLetter(String letter, String value) {
+			return put(this.singleLetterMap, letter, value);
+		}
+
+		/**
+		 * Put a previous letter rule.
+		 *
+		 * @param letters	lower case previous and current letters,
+		 *					or the current letter alone to match at a word start
+		 * @param value		transliterated current letter
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if any of the arguments is {@code null}
+		 */
+		public Builder putPreviousLetter(String letters, String value) {
+			return put(this.previousLetterMap, letters, value);
+		}
+
+		/**
+		 * Put a next letter rule.
+		 *
+		 * @param letters	lower case current and next letters,
+		 *					or the current letter alone to match at a word end
+		 * @param value		transliterated current letter
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if any of the arguments is {@code null}
+		 */
+		public Builder putNextLetter(String letters, String value) {
+			return put(this.nextLetterMap, letters, value);
+		}
+
+		/**
+		 * Put an ending letter rule.
+		 *
+		 * @param ending	lower case two letter word ending
+		 * @param value		transliterated word ending
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if any of the arguments is {@code null}
+		 */
+		public Builder putEndingLetter(String ending, String value) {
+			return put(this.endingLetterMap, ending, value);
+		}
+
+		/**
+		 * Put a whole-word exception.
+		 *
+		 * <p>The word is matched regardless of its case, while its transliteration
+		 * is used as is, capitalized or upper cased following the case of the word.
+		 *
+		 * @param word		word to transliterate as a whole
+		 * @param value		transliterated word
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if any of the arguments is {@code null}
+		 */
+		public Builder putException(String word, String value) {
+			return put(this.exceptionMap, word, value);
+		}
+
+		/**
+		 * Build a mapping-schema instance.
+		 *
+		 * @return	mapping-schema instance
+		 */
+		public IuliiaSchema build() {
+			return new IuliiaSchema(
+					this.name,
+					this.description,
+					this.url,
+					this.build(new SingleLetterMapJsonDeserializer(), this.singleLetterMap,
+							UwObject.ifNotNull(this.base, IuliiaSchema::getSingleLetterMap)),
+					this.build(new PreviousLetterMapJsonDeserializer(), this.previousLetterMap,
+							UwObject.ifNotNull(this.base, IuliiaSchema::getPreviousLetterMap)),
+					this.build(new NextLetterMapJsonDeserializer(), this.nextLetterMap,
+							UwObject.ifNotNull(this.base, IuliiaSchema::getNextLetterMap)),
+					this.build(new EndingLetterMapJsonDeserializer(), this.endingLetterMap,
+							UwObject.ifNotNull(this.base, IuliiaSchema::getEndingLetterMap)),
+					this.buildExceptionMap()
+			);
+		}
+
+		/**
+		 * Build a whole-word exception map, overlaying the base one if any.
+		 *
+		 * @return	whole-word exception map
+		 */
+		private Map<String, String> buildExceptionMap() {
+			if (this.base == null) {
+				return IuliiaExceptionMap.of(this.exceptionMap);
+			}
+
+			return IuliiaExceptionMap.overlay(this.base.getExceptions(), this.exceptionMap);
+		}
+
+		/**
+		 * Build a letter-map, overlaying the provided base letter-map if any.
+		 *
+		 * @param deserializer	deserializer to extend the letter-map w/
+		 * @param rules			letter-map rules
+		 * @param base			base letter-map or {@code null}
+		 * @return				letter-map
+		 */
+		private Map<String, String> build(AbstractLetterMapJsonDeserializer deserializer, Map<String, String> rules, Map<String, String> base) {
+			if (base == null) {
+				return deserializer.extend(rules);
+			}
+
+			if (rules.isEmpty()) {
+				return base;
+			}
+
+			return new IuliiaOverlayMap(base, deserializer.extend(rules));
+		}
+
+		/**
+		 * Put a rule into the provided letter-map.
+		 *
+		 * @param map		letter-map to put into
+		 * @param key		rule key
+		 * @param value		rule value
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if any of the arguments is {@code null}
+		 */
+		private Builder put(Map<String, String> map, String key, String value) {
+			if (key == null || value == null) {
+				throw new IllegalArgumentException("Rule mustn't be <null>");
+			}
+
+			map.put(key, value);
+
+			return this;
+		}
+	}
+}
@@ -0,0 +1,473 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A compact serialized form of an {@link IuliiaSchema}.
+ *
+ * <p>Built-in mapping-schemas are written as their {@link EIuliiaSchema} type only
+ * and resolve to the locally cached instance.
+ *
+ * <p>Custom mapping-schemas are written as their source rules only,
+ * i.e. w/o the extended letter-map entries, and are rebuilt once per distinct
+ * serialized form, repeated reads resolve to the same cached instance
+ * for as long as it is referenced elsewhere.
+ */
+@SuppressWarnings("unused")
+final class IuliiaSchemaProxy implements Externalizable {
+
+	/**
+	 * A serialization version.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * A built-in mapping-schema tag.
+	 */
+	private static final byte BUILT_IN_TAG = 0;
+
+	/**
+	 * A custom mapping-schema tag.
+	 */
+	private static final byte CUSTOM_TAG = 1;
+
+	/**
+	 * A maximum serialized form length of a custom mapping-schema.
+	 */
+	private static final int MAX_FORM_LENGTH = 256 << 20;
+
+	/**
+	 * A serialized form read chunk length,
+	 * so that a forged length cannot allocate more than the stream holds.
+	 */
+	private static final int READ_CHUNK_LENGTH = 64 << 10;
+
+	/**
+	 * A custom mapping-schema cache by serialized form, w/ weakly referenced values.
+	 */
+	private static final Map<ByteBuffer, SchemaReference> CACHE = new HashMap<>();
+
+	/**
+	 * A queue of the {@link #CACHE} references cleared by the garbage collector.
+	 */
+	private static final ReferenceQueue<IuliiaSchema> CACHE_QUEUE = new ReferenceQueue<>();
+
+	/**
+	 * A {@link #CACHE} mutex.
+	 */
+	private static final Object CACHE_MUTEX = new Object();
+
+	/**
+	 * A mapping-schema to write or the one that has been read.
+	 */
+	private IuliiaSchema schema;
+
+	/**
+	 * Initialize an {@link IuliiaSchemaProxy} instance.
+	 *
+	 * <p>Required by {@link Externalizable}.
+	 */
+	public IuliiaSchemaProxy() {
+	}
+
+	/**
+	 * Initialize an {@link IuliiaSchemaProxy} instance.
+	 *
+	 * @param schema	mapping-schema to write
+	 */
+	IuliiaSchemaProxy(IuliiaSchema schema) {
+		this.schema = schema;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		EIuliiaSchema type = this.schema.getType();
+
+		if (type != null) {
+			out.writeByte(BUILT_IN_TAG);
+			out.writeUTF(type.name());
+
+			return;
+		}
+
+		byte[] form = encode(this.schema);
+
+		out.writeByte(CUSTOM_TAG);
+		out.writeInt(form.length);
+		out.write(form);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		byte tag = in.readByte();
+
+		if (tag == BUILT_IN_TAG) {
+			try {
+				this.schema = IuliiaSchema.fromEnumType(EIuliiaSchema.valueOf(in.readUTF()));
+			} catch (IllegalArgumentException e) {
+				throw new InvalidObjectException("Unknown schema type");
+			}
+
+			return;
+		}
+
+		if (tag != CUSTOM_TAG) {
+			throw new InvalidObjectException("Unknown schema tag");
+		}
+
+		int length = in.readInt();
+		if (length < 0) {
+			throw new InvalidObjectException("Negative schema length");
+		}
+
+		if (length > MAX_FORM_LENGTH) {
+			throw new InvalidObjectException("Schema length mustn't exceed " + MAX_FORM_LENGTH + ": " + length);
+		}
+
+		byte[] form = readForm(in, length);
+
+		try {
+			this.schema = resolve(form);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Resolve the mapping-schema that has been read.
+	 *
+	 * @return	mapping-schema instance
+	 */
+	private Object readResolve() {
+		return this.schema;
+	}
+
+	/**
+	 * Read a serialized form of the provided length,
+	 * growing the buffer only as the bytes actually arrive.
+	 *
+	 * @param in		input to read from
+	 * @param length	serialized form length
+	 * @return			serialized form
+	 *
+	 * @throws IOException	if the serialized form cannot be read
+	 */
+	private static byte[] readForm(ObjectInput in, int length) throws IOException {
+		byte[] form = new byte[Math.min(length, READ_CHUNK_LENGTH)];
+		int count = 0;
+
+		while (count < length) {
+			if (count == form.length) {
+				form = Arrays.copyOf(form, (int) Math.min(length, (long) form.length << 1));
+			}
+
+			int read = in.read(form, count, form.length - count);
+			if (read < 0) {
+				throw new EOFException("Schema form ended after " + count + " of " + length + " bytes");
+			}
+
+			count += read;
+		}
+
+		return form;
+	}
+
+	/**
+	 * Resolve a custom mapping-schema by its serialized form,
+	 * decoding it unless an instance of the same form is still cached.
+	 *
+	 * @param form	serialized form
+	 * @return		mapping-schema instance
+	 *
+	 * @throws UncheckedIOException		if the mapping-schema cannot be decoded
+	 */
+	private static IuliiaSchema resolve(byte[] form) {
+		ByteBuffer key = ByteBuffer.wrap(form);
+
+		synchronized (CACHE_MUTEX) {
+			IuliiaSchema schema = getCached(key);
+			if (schema != null) {
+				return schema;
+			}
+		}
+
+		IuliiaSchema decoded = decode(form);
+
+		synchronized (CACHE_MUTEX) {
+			IuliiaSchema schema = getCached(key);
+			if (schema != null) {
+				return schema;
+			}
+
+			CACHE.put(key, new SchemaReference(key, decoded, CACHE_QUEUE));
+			return decoded;
+		}
+	}
+
+	/**
+	 * Get a cached mapping-schema, expunging the cleared references first.
+	 *
+	 * <p>Must be called w/ the {@link #CACHE_MUTEX} held.
+	 *
+	 * @param key	serialized form
+	 * @return		mapping-schema instance or {@code null}
+	 */
+	private static IuliiaSchema getCached(ByteBuffer key) {
+		SchemaReference reference;
+
+		while ((reference = (SchemaReference) CACHE_QUEUE.poll()) != null) {
+			CACHE.remove(reference.key, reference);
+		}
+
+		reference = CACHE.get(key);
+
+		return reference != null
+				? reference.get()
+				: null;
+	}
+
+	/**
+	 * Encode a custom mapping-schema.
+	 *
+	 * @param schema	mapping-schema to encode
+	 * @return			encoded mapping-schema
+	 *
+	 * @throws IOException	if the mapping-schema cannot be encoded
+	 */
+	private static byte[] encode(IuliiaSchema schema) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		writeNullableUTF(out, schema.getName());
+		writeNullableUTF(out, schema.getDescription());
+		writeNullableUTF(out, schema.getUrl());
+
+		writeLetterMap(out, new SingleLetterMapJsonDeserializer(), schema.getSingleLetterMap());
+		writeLetterMap(out, new PreviousLetterMapJsonDeserializer(), schema.getPreviousLetterMap());
+		writeLetterMap(out, new NextLetterMapJsonDeserializer(), schema.getNextLetterMap());
+		writeLetterMap(out, new EndingLetterMapJsonDeserializer(), schema.getEndingLetterMap());
+
+		// written only if any, so that forms w/o exceptions stay the same
+		Map<String, String> exceptionMap = schema.getExceptionMap();
+		if (!exceptionMap.isEmpty()) {
+			out.writeInt(exceptionMap.size());
+
+			for (Map.Entry<String, String> entry : exceptionMap.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue());
+			}
+		}
+
+		out.flush();
+
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decode a custom mapping-schema.
+	 *
+	 * @param form	encoded mapping-schema
+	 * @return		mapping-schema instance
+	 *
+	 * @throws UncheckedIOException		if the mapping-schema cannot be decoded
+	 */
+	private static IuliiaSchema decode(byte[] form) {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(form));
+
+		try {
+			return new IuliiaSchema(
+					readNullableUTF(in),
+					readNullableUTF(in),
+					readNullableUTF(in),
+					readLetterMap(in, new SingleLetterMapJsonDeserializer()),
+					readLetterMap(in, new PreviousLetterMapJsonDeserializer()),
+					readLetterMap(in, new NextLetterMapJsonDeserializer()),
+					readLetterMap(in, new EndingLetterMapJsonDeserializer()),
+					readExceptionMap(in)
+			);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Read a whole-word exception map if any is left to read.
+	 *
+	 * @param in	input to read from
+	 * @return		whole-word exception map or {@code null}
+	 *
+	 * @throws IOException	if the exception map cannot be read
+	 */
+	private static Map<String, String> readExceptionMap(DataInputStream in) throws IOException {
+		if (in.available() <= 0) {
+			return null;
+		}
+
+		int size = in.readInt();
+		if (size < 0) {
+			throw new InvalidObjectException("Negative exception map size");
+		}
+
+		Map<String, String> map = new HashMap<>();
+
+		for (int i = 0; i < size; i++) {
+			map.put(in.readUTF(), in.readUTF());
+		}
+
+		return map;
+	}
+
+	/**
+	 * Write a letter-map as its source rules if they extend back to the same letter-map,
+	 * or as is otherwise.
+	 *
+	 * @param out			output to write to
+	 * @param deserializer	deserializer the letter-map has been extended w/
+	 * @param map			letter-map to write
+	 *
+	 * @throws IOException	if the letter-map cannot be written
+	 */
+	private static void writeLetterMap(DataOutputStream out, AbstractLetterMapJsonDeserializer deserializer, Map<String, String> map) throws IOException {
+		if (map == null) {
+			out.writeByte(-1);
+			return;
+		}
+
+		Map<String, String> rules = new HashMap<>();
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+
+			if (key.equals(key.toLowerCase(Locale.ROOT))) {
+				rules.put(key, entry.getValue());
+			}
+		}
+
+		boolean extended = deserializer.extend(rules)
+				.equals(map);
+
+		if (!extended) {
+			rules = map;
+		}
+
+		out.writeByte(extended ? 1 : 0);
+		out.writeInt(rules.size());
+
+		for (Map.Entry<String, String> entry : rules.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeUTF(entry.getValue());
+		}
+	}
+
+	/**
+	 * Read a letter-map written by {@link #writeLetterMap(DataOutputStream, AbstractLetterMapJsonDeserializer, Map)}.
+	 *
+	 * @param in			input to read from
+	 * @param deserializer	deserializer to extend the letter-map w/
+	 * @return				letter-map or {@code null}
+	 *
+	 * @throws IOException	if the letter-map cannot be read
+	 */
+	private static Map<String, String> readLetterMap(DataInputStream in, AbstractLetterMapJsonDeserializer deserializer) throws IOException {
+		byte extended = in.readByte();
+		if (extended < 0) {
+			return null;
+		}
+
+		int size = in.readInt();
+		if (size < 0) {
+			throw new InvalidObjectException("Negative letter-map size");
+		}
+
+		Map<String, String> rules = new HashMap<>();
+
+		for (int i = 0; i < size; i++) {
+			rules.put(in.readUTF(), in.readUTF());
+		}
+
+		if (extended == 0) {
+			return IuliiaLetterMap.of(rules);
+		}
+
+		return deserializer.extend(rules);
+	}
+
+	/**
+	 * Write a nullable string.
+	 *
+	 * @param out	output to write to
+	 * @param s		string to write or {@code null}
+	 *
+	 * @throws IOException	if the string cannot be written
+	 */
+	private static void writeNullableUTF(DataOutputStream out, String s) throws IOException {
+		out.writeBoolean(s != null);
+
+		if (s != null) {
+			out.writeUTF(s);
+		}
+	}
+
+	/**
+	 * Read a nullable string.
+	 *
+	 * @param in	input to read from
+	 * @return		string or {@code null}
+	 *
+	 * @throws IOException	if the string cannot be read
+	 */
+	private static String readNullableUTF(DataInputStream in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+
+		return in.readUTF();
+	}
+
+	/**
+	 * A weak {@link #CACHE} reference to a mapping-schema.
+	 */
+	private static final class SchemaReference extends WeakReference<IuliiaSchema> {
+
+		/**
+		 * A serialized form of the mapping-schema.
+		 */
+		private final ByteBuffer key;
+
+		/**
+		 * Initialize a {@link SchemaReference} instance.
+		 *
+		 * @param key		serialized form of the mapping-schema
+		 * @param schema	mapping-schema to reference
+		 * @param queue		queue to enqueue this reference to once cleared
+		 */
+		private SchemaReference(ByteBuffer key, IuliiaSchema schema, ReferenceQueue<IuliiaSchema> queue) {
+			super(schema, queue);
+
+			this.key = key;
+		}
+	}
+}
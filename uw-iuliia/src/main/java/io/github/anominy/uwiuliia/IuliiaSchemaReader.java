@@ -0,0 +1,340 @@
+package io.github.anominy.uwiuliia;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import io.github.anominy.uwutils.UwMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A streaming mapping-schema reader.
+ *
+ * <p>Reads a mapping-schema JSON representation token by token,
+ * putting the letter rules and the whole-word exceptions straight into their maps,
+ * w/o reading the whole source into a string nor building a JSON tree.
+ *
+ * <p>Produces the same mapping-schema as {@link IuliiaSchema#fromJson(String)},
+ * except that missing letter-maps are read as empty ones.
+ * Input is read in the strict mode, errors are reported along w/ the JSON path they occur at,
+ * as well as the line and the column of the syntax errors.
+ */
+@SuppressWarnings("unchecked")
+final class IuliiaSchemaReader {
+
+	/**
+	 * A schema name key.
+	 */
+	private static final String NAME_KEY = "name";
+
+	/**
+	 * A schema description key.
+	 */
+	private static final String DESCRIPTION_KEY = "description";
+
+	/**
+	 * A schema explanation-URL key.
+	 */
+	private static final String URL_KEY = "url";
+
+	/**
+	 * A single letter-map key.
+	 */
+	private static final String SINGLE_LETTER_MAP_KEY = "mapping";
+
+	/**
+	 * A previous letter-map key.
+	 */
+	private static final String PREVIOUS_LETTER_MAP_KEY = "prev_mapping";
+
+	/**
+	 * A next letter-map key.
+	 */
+	private static final String NEXT_LETTER_MAP_KEY = "next_mapping";
+
+	/**
+	 * An ending letter-map key.
+	 */
+	private static final String ENDING_LETTER_MAP_KEY = "ending_mapping";
+
+	/**
+	 * A whole-word exception map key.
+	 */
+	private static final String EXCEPTION_MAP_KEY = "exceptions";
+
+	/**
+	 * A source buffer size.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Initialize an {@link IuliiaSchemaReader} instance.
+	 *
+	 * @throws UnsupportedOperationException	on invocation
+	 */
+	private IuliiaSchemaReader() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Read and compile a mapping-schema from the provided file.
+	 *
+	 * @param path	path to the schema file
+	 * @return		compiled mapping-schema instance
+	 *
+	 * @throws IOException	if the schema file cannot be read or is malformed
+	 */
+	static IuliiaSchema read(Path path) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			return read(in);
+		}
+	}
+
+	/**
+	 * Read and compile a mapping-schema from the provided UTF-8 input stream.
+	 *
+	 * <p>The stream is not closed.
+	 *
+	 * @param in	input stream to read from
+	 * @return		compiled mapping-schema instance
+	 *
+	 * @throws IOException	if the input stream cannot be read or is malformed
+	 */
+	static IuliiaSchema read(InputStream in) throws IOException {
+		return read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
+	}
+
+	/**
+	 * Read and compile a mapping-schema from the provided character stream.
+	 *
+	 * <p>The stream is not closed.
+	 *
+	 * @param source	character stream to read from
+	 * @return			compiled mapping-schema instance
+	 *
+	 * @throws IOException	if the character stream cannot be read or is malformed
+	 */
+	static IuliiaSchema read(Reader source) throws IOException {
+		JsonReader reader = new JsonReader(source);
+
+		IuliiaSchema schema = readSchema(reader);
+
+		if (reader.peek() != JsonToken.END_DOCUMENT) {
+			throw error(reader, "Expected the end of the schema but was " + reader.peek());
+		}
+
+		schema.getTable();
+
+		return schema;
+	}
+
+	/**
+	 * Read a mapping-schema object.
+	 *
+	 * @param reader	JSON reader to read from
+	 * @return			mapping-schema instance
+	 *
+	 * @throws IOException	if the schema object cannot be read or is malformed
+	 */
+	private static IuliiaSchema readSchema(JsonReader reader) throws IOException {
+		expect(reader, JsonToken.BEGIN_OBJECT, "a schema object");
+
+		String name = null;
+		String description = null;
+		String url = null;
+
+		Map<String, String> singleLetterMap = UwMap.EMPTY;
+		Map<String, String> previousLetterMap = UwMap.EMPTY;
+		Map<String, String> nextLetterMap = UwMap.EMPTY;
+		Map<String, String> endingLetterMap = UwMap.EMPTY;
+		Map<String, String> exceptionMap = IuliiaExceptionMap.EMPTY;
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+			String key = reader.nextName();
+
+			switch (key) {
+				case NAME_KEY:
+					name = readNullableString(reader);
+					break;
+				case DESCRIPTION_KEY:
+					description = readNullableString(reader);
+					break;
+				case URL_KEY:
+					url = readNullableString(reader);
+					break;
+				case SINGLE_LETTER_MAP_KEY:
+					singleLetterMap = readLetterMap(reader, new SingleLetterMapJsonDeserializer());
+					break;
+				case PREVIOUS_LETTER_MAP_KEY:
+					previousLetterMap = readLetterMap(reader, new PreviousLetterMapJsonDeserializer());
+					break;
+				case NEXT_LETTER_MAP_KEY:
+					nextLetterMap = readLetterMap(reader, new NextLetterMapJsonDeserializer());
+					break;
+				case ENDING_LETTER_MAP_KEY:
+					endingLetterMap = readLetterMap(reader, new EndingLetterMapJsonDeserializer());
+					break;
+				case EXCEPTION_MAP_KEY:
+					exceptionMap = readExceptionMap(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+
+		reader.endObject();
+
+		return new IuliiaSchema(
+				name,
+				description,
+				url,
+				singleLetterMap,
+				previousLetterMap,
+				nextLetterMap,
+				endingLetterMap,
+				exceptionMap
+		);
+	}
+
+	/**
+	 * Read a letter-map object and extend it w/ the provided deserializer rule-set.
+	 *
+	 * @param reader		JSON reader to read from
+	 * @param deserializer	deserializer to extend the letter-map w/
+	 * @return				extended compact letter-map, empty if {@code null}
+	 *
+	 * @throws IOException	if the letter-map object cannot be read or is malformed
+	 */
+	private static Map<String, String> readLetterMap(JsonReader reader, AbstractLetterMapJsonDeserializer deserializer) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return UwMap.EMPTY;
+		}
+
+		expect(reader, JsonToken.BEGIN_OBJECT, "a letter-map object");
+
+		Map<String, String> rules = new HashMap<>();
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+			String key = reader.nextName();
+
+			if (reader.peek() == JsonToken.NULL) {
+				throw error(reader, "Letter-map value mustn't be <null>");
+			}
+
+			rules.put(key, readString(reader));
+		}
+
+		reader.endObject();
+
+		return deserializer.extend(rules);
+	}
+
+	/**
+	 * Read a whole-word exception map object.
+	 *
+	 * <p>Entries w/ an empty word or a {@code null} transliteration are skipped,
+	 * the same way as {@link IuliiaExceptionMap#of(Map)} does.
+	 *
+	 * @param reader	JSON reader to read from
+	 * @return			compact whole-word exception map, empty if {@code null}
+	 *
+	 * @throws IOException	if the exception map object cannot be read or is malformed
+	 */
+	private static Map<String, String> readExceptionMap(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return IuliiaExceptionMap.EMPTY;
+		}
+
+		expect(reader, JsonToken.BEGIN_OBJECT, "an exception map object");
+
+		TreeMap<String, String> sorted = new TreeMap<>();
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+			String key = reader.nextName();
+
+			IuliiaExceptionMap.put(sorted, key, readNullableString(reader));
+		}
+
+		reader.endObject();
+
+		return IuliiaExceptionMap.ofSorted(sorted);
+	}
+
+	/**
+	 * Read a string value or {@code null}.
+	 *
+	 * @param reader	JSON reader to read from
+	 * @return			string value or {@code null}
+	 *
+	 * @throws IOException	if the value cannot be read or is not a string
+	 */
+	private static String readNullableString(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+
+		return readString(reader);
+	}
+
+	/**
+	 * Read a string value.
+	 *
+	 * @param reader	JSON reader to read from
+	 * @return			string value
+	 *
+	 * @throws IOException	if the value cannot be read or is not a string
+	 */
+	private static String readString(JsonReader reader) throws IOException {
+		expect(reader, JsonToken.STRING, "a string");
+
+		return reader.nextString();
+	}
+
+	/**
+	 * Ensure the next token is of the provided type.
+	 *
+	 * @param reader	JSON reader to read from
+	 * @param token		expected token type
+	 * @param what		expected value description
+	 *
+	 * @throws IOException	if the next token cannot be read or is of another type
+	 */
+	private static void expect(JsonReader reader, JsonToken token, String what) throws IOException {
+		JsonToken actual = reader.peek();
+
+		if (actual != token) {
+			throw error(reader, "Expected " + what + " but was " + actual);
+		}
+	}
+
+	/**
+	 * Create a malformed schema exception w/ the provided message
+	 * followed by the current JSON reader path.
+	 *
+	 * @param reader	JSON reader to locate the error w/
+	 * @param message	error message
+	 * @return			malformed schema exception
+	 */
+	private static MalformedJsonException error(JsonReader reader, String message) {
+		return new MalformedJsonException(message + " at path " + reader.getPath());
+	}
+}
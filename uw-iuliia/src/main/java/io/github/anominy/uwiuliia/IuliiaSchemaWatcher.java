@@ -0,0 +1,292 @@
+package io.github.anominy.uwiuliia;
+
+import io.github.anominy.uwutils.UwFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A mapping-schema file watcher.
+ *
+ * <p>Reloads watched schema files on change and publishes new versions
+ * into the {@link IuliiaSchema#fromFilePath(String)} cache.
+ * Each version is parsed and compiled on the watcher thread before being published
+ * w/ a single copy-on-write swap, so readers never lock nor see a half-built schema.
+ *
+ * <p>A version that fails to load is reported to the {@link Listener}
+ * and the current version stays in use.
+ * Neither a failed reload nor a throwing listener stops the watcher thread.
+ *
+ * <p>Schema instances obtained before a reload are not affected,
+ * resolve schemas by their path to observe new versions.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaSchemaWatcher implements Closeable {
+
+	/**
+	 * A watcher thread name.
+	 */
+	private static final String THREAD_NAME = IuliiaSchemaWatcher.class.getSimpleName();
+
+	/**
+	 * A no-op {@link Listener} instance.
+	 */
+	private static final Listener NO_OP_LISTENER = new Listener() {};
+
+	/**
+	 * A {@link WatchService} instance.
+	 */
+	private final WatchService watchService;
+
+	/**
+	 * A reload listener.
+	 */
+	private final Listener listener;
+
+	/**
+	 * A map of normalized schema paths by their absolute file paths.
+	 */
+	private final Map<Path, String> files;
+
+	/**
+	 * A map of watch keys by their absolute directory paths.
+	 */
+	private final Map<Path, WatchKey> directories;
+
+	/**
+	 * Initialize an {@link IuliiaSchemaWatcher} instance.
+	 *
+	 * @param listener	reload listener, default to a no-op listener if {@code null}
+	 *
+	 * @throws IOException	if the watch service cannot be created
+	 */
+	public IuliiaSchemaWatcher(Listener listener) throws IOException {
+		this.watchService = FileSystems.getDefault()
+				.newWatchService();
+
+		this.listener = listener != null ? listener : NO_OP_LISTENER;
+		this.files = new ConcurrentHashMap<>();
+		this.directories = new ConcurrentHashMap<>();
+
+		Thread thread = new Thread(this::run, THREAD_NAME);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Initialize an {@link IuliiaSchemaWatcher} instance.
+	 *
+	 * <p>Wraps {@link #IuliiaSchemaWatcher(Listener)}
+	 * w/ {@code null} as the reload listener.
+	 *
+	 * @throws IOException	if the watch service cannot be created
+	 */
+	public IuliiaSchemaWatcher() throws IOException {
+		this(null);
+	}
+
+	/**
+	 * Load a mapping-schema file and start watching it for changes.
+	 *
+	 * @param path	path to the schema file on the file system
+	 * @return		loaded mapping-schema instance
+	 *
+	 * @throws IllegalArgumentException		if the path is {@code null} or the schema file is empty
+	 * @throws IOException					if the schema file cannot be read, is malformed or cannot be watched
+	 */
+	public IuliiaSchema watch(String path) throws IOException {
+		String key = UwFile.getPathOrNull(path);
+		if (key == null) {
+			throw new IllegalArgumentException("Path mustn't be <null>");
+		}
+
+		Path file = Paths.get(key)
+				.toAbsolutePath()
+				.normalize();
+
+		IuliiaSchema schema = load(file);
+		IuliiaSchema.putCache(key, schema);
+
+		Path directory = file.getParent();
+
+		synchronized (this.directories) {
+			if (!this.directories.containsKey(directory)) {
+				this.directories.put(directory, directory.register(this.watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY
+				));
+			}
+
+			this.files.put(file, key);
+		}
+
+		return schema;
+	}
+
+	/**
+	 * Stop watching a mapping-schema file.
+	 *
+	 * <p>The last loaded version stays cached.
+	 *
+	 * @param path	path to the schema file on the file system
+	 */
+	public void unwatch(String path) {
+		String key = UwFile.getPathOrNull(path);
+		if (key == null) {
+			return;
+		}
+
+		Path file = Paths.get(key)
+				.toAbsolutePath()
+				.normalize();
+
+		Path directory = file.getParent();
+
+		synchronized (this.directories) {
+			this.files.remove(file);
+
+			for (Path watched : this.files.keySet()) {
+				if (watched.getParent().equals(directory)) {
+					return;
+				}
+			}
+
+			WatchKey watchKey = this.directories.remove(directory);
+			if (watchKey != null) {
+				watchKey.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Stop watching all the mapping-schema files and the watcher thread.
+	 *
+	 * @throws IOException	if the watch service cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		this.watchService.close();
+	}
+
+	/**
+	 * Run the watcher loop until this watcher is closed.
+	 */
+	private void run() {
+		try {
+			while (true) {
+				WatchKey watchKey = this.watchService.take();
+				Path directory = (Path) watchKey.watchable();
+
+				for (WatchEvent<?> event : watchKey.pollEvents()) {
+					try {
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							this.reloadDirectory(directory);
+						} else {
+							this.reload(directory.resolve((Path) event.context()));
+						}
+					} catch (RuntimeException ignored) {
+						// keep watching the other files
+					}
+				}
+
+				watchKey.reset();
+			}
+		} catch (ClosedWatchServiceException | InterruptedException ignored) {
+		}
+	}
+
+	/**
+	 * Reload all the watched mapping-schema files of the provided directory.
+	 *
+	 * @param directory		absolute directory path
+	 */
+	private void reloadDirectory(Path directory) {
+		for (Path file : this.files.keySet()) {
+			if (file.getParent().equals(directory)) {
+				this.reload(file);
+			}
+		}
+	}
+
+	/**
+	 * Reload a watched mapping-schema file and publish its new version.
+	 *
+	 * @param file	absolute file path
+	 */
+	private void reload(Path file) {
+		String key = this.files.get(file);
+		if (key == null) {
+			return;
+		}
+
+		IuliiaSchema schema;
+
+		try {
+			schema = load(file);
+			IuliiaSchema.putCache(key, schema);
+		} catch (IOException | RuntimeException e) {
+			try {
+				this.listener.onFailure(key, e);
+			} catch (RuntimeException ignored) {
+				// a listener mustn't stop the watcher thread
+			}
+
+			return;
+		}
+
+		try {
+			this.listener.onReload(key, schema);
+		} catch (RuntimeException ignored) {
+			// a listener mustn't stop the watcher thread
+		}
+	}
+
+	/**
+	 * Load and compile a mapping-schema file.
+	 *
+	 * @param file	absolute file path
+	 * @return		compiled mapping-schema instance
+	 *
+	 * @throws IOException	if the schema file cannot be read or is malformed
+	 */
+	private static IuliiaSchema load(Path file) throws IOException {
+		return IuliiaSchemaReader.read(file);
+	}
+
+	/**
+	 * A mapping-schema reload listener.
+	 *
+	 * <p>Invoked on the watcher thread.
+	 */
+	public interface Listener {
+
+		/**
+		 * Handle a successfully reloaded mapping-schema.
+		 *
+		 * @param path		normalized path to the schema file
+		 * @param schema	new mapping-schema version
+		 */
+		default void onReload(String path, IuliiaSchema schema) {
+		}
+
+		/**
+		 * Handle a failed mapping-schema reload,
+		 * the current version stays in use.
+		 *
+		 * @param path		normalized path to the schema file
+		 * @param cause		failure cause
+		 */
+		default void onFailure(String path, Exception cause) {
+		}
+	}
+}
@@ -0,0 +1,570 @@
+package io.github.anominy.uwiuliia;
+
+/**
+ * A search key generator.
+ *
+ * <p>Transliterates text and normalizes the transliterated text in a single pass
+ * into a single buffer, w/ the following configurable steps:
+ * <ul>
+ *     <li>folding {@code ё} into {@code е} before the transliteration,</li>
+ *     <li>converting to lower case,</li>
+ *     <li>removing punctuation characters,</li>
+ *     <li>collapsing whitespace runs into a single space and trimming them,</li>
+ *     <li>limiting the key length, skipping the rest of the text once reached.</li>
+ * </ul>
+ *
+ * <p>Instances are immutable and can be shared freely across threads.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaSearchKeyGenerator {
+
+	/**
+	 * A maximum {@link #BUILDER_CACHE} string builder capacity kept between calls.
+	 */
+	private static final int MAX_CACHED_BUILDER_CAPACITY = 8192;
+
+	/**
+	 * A per-thread string builder cache.
+	 */
+	private static final ThreadLocal<StringBuilder> BUILDER_CACHE = ThreadLocal.withInitial(StringBuilder::new);
+
+	/**
+	 * A per-thread {@link KeySink} cache.
+	 */
+	private static final ThreadLocal<KeySink> SINK_CACHE = ThreadLocal.withInitial(KeySink::new);
+
+	/**
+	 * A per-thread {@link YoFoldedText} cache.
+	 */
+	private static final ThreadLocal<YoFoldedText> TEXT_CACHE = ThreadLocal.withInitial(YoFoldedText::new);
+
+	/**
+	 * A transliterator.
+	 */
+	private final IuliiaTransliterator transliterator;
+
+	/**
+	 * Whether to fold {@code ё} into {@code е} before the transliteration.
+	 */
+	private final boolean yoFolded;
+
+	/**
+	 * Whether to convert the key to lower case.
+	 */
+	private final boolean lowerCase;
+
+	/**
+	 * Whether to remove punctuation characters.
+	 */
+	private final boolean punctuationRemoved;
+
+	/**
+	 * Whether to collapse whitespace runs into a single space and trim them.
+	 */
+	private final boolean whitespaceCollapsed;
+
+	/**
+	 * A maximum key length.
+	 */
+	private final int maxLength;
+
+	/**
+	 * Initialize an {@link IuliiaSearchKeyGenerator} instance.
+	 *
+	 * @param builder	builder to initialize from
+	 */
+	private IuliiaSearchKeyGenerator(Builder builder) {
+		this.transliterator = IuliiaTransliterator.of(builder.schema);
+		this.yoFolded = builder.yoFolded;
+		this.lowerCase = builder.lowerCase;
+		this.punctuationRemoved = builder.punctuationRemoved;
+		this.whitespaceCollapsed = builder.whitespaceCollapsed;
+		this.maxLength = builder.maxLength;
+	}
+
+	/**
+	 * Get this transliteration schema.
+	 *
+	 * @return	transliteration schema
+	 */
+	public IuliiaSchema getSchema() {
+		return this.transliterator.getSchema();
+	}
+
+	/**
+	 * Get this maximum key length.
+	 *
+	 * @return	maximum key length
+	 */
+	public int getMaxLength() {
+		return this.maxLength;
+	}
+
+	/**
+	 * Generate a search key.
+	 *
+	 * <p>Builds the key in a per-thread buffer,
+	 * so that only the resulting string is allocated.
+	 *
+	 * @param text	text to generate the key of
+	 * @return		search key or {@code null} if the provided text is {@code null}
+	 */
+	public String generate(CharSequence text) {
+		if (text == null) {
+			return null;
+		}
+
+		StringBuilder sb = BUILDER_CACHE.get();
+		sb.setLength(0);
+
+		String result = this.generate(text, sb)
+				.toString();
+
+		if (sb.capacity() > MAX_CACHED_BUILDER_CAPACITY) {
+			BUILDER_CACHE.remove();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Generate a search key appending it to the provided string builder.
+	 *
+	 * <p>Allocates nothing once warmed up on the calling thread.
+	 *
+	 * @param text	text to generate the key of, ignored if {@code null}
+	 * @param sb	string builder to append to
+	 * @return		the same string builder
+	 *
+	 * @throws IllegalArgumentException		if the provided string builder is {@code null}
+	 */
+	public StringBuilder generate(CharSequence text, StringBuilder sb) {
+		if (sb == null) {
+			throw new IllegalArgumentException("String builder mustn't be <null>");
+		}
+
+		if (text == null || text.length() == 0) {
+			return sb;
+		}
+
+		KeySink sink = SINK_CACHE.get()
+				.reset(this, sb);
+
+		YoFoldedText yoFoldedText = this.yoFolded
+				? TEXT_CACHE.get().reset(text)
+				: null;
+
+		try {
+			this.transliterator.transliterate(yoFoldedText != null ? yoFoldedText : text, sink);
+		} finally {
+			sink.release();
+
+			if (yoFoldedText != null) {
+				yoFoldedText.release();
+			}
+		}
+
+		return sb;
+	}
+
+	/**
+	 * Create a new search key generator builder.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			search key generator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static Builder builder(IuliiaSchema schema) {
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		return new Builder(schema);
+	}
+
+	/**
+	 * Create a new search key generator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				search key generator builder
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static Builder builder(String schemaPath) {
+		return builder(IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Create a new search key generator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				search key generator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static Builder builder(EIuliiaSchema schemaType) {
+		return builder(IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * Check whether the provided character is a punctuation character.
+	 *
+	 * @param c		character to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isPunctuation(char c) {
+		switch (Character.getType(c)) {
+			case Character.CONNECTOR_PUNCTUATION:
+			case Character.DASH_PUNCTUATION:
+			case Character.START_PUNCTUATION:
+			case Character.END_PUNCTUATION:
+			case Character.INITIAL_QUOTE_PUNCTUATION:
+			case Character.FINAL_QUOTE_PUNCTUATION:
+			case Character.OTHER_PUNCTUATION:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Check whether the provided character is a whitespace character.
+	 *
+	 * @param c		character to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isWhitespace(char c) {
+		return Character.isWhitespace(c) || Character.isSpaceChar(c);
+	}
+
+	/**
+	 * A search key generator builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A transliteration schema.
+		 */
+		private final IuliiaSchema schema;
+
+		/**
+		 * Whether to fold {@code ё} into {@code е} before the transliteration.
+		 */
+		private boolean yoFolded;
+
+		/**
+		 * Whether to convert the key to lower case.
+		 */
+		private boolean lowerCase;
+
+		/**
+		 * Whether to remove punctuation characters.
+		 */
+		private boolean punctuationRemoved;
+
+		/**
+		 * Whether to collapse whitespace runs into a single space and trim them.
+		 */
+		private boolean whitespaceCollapsed;
+
+		/**
+		 * A maximum key length.
+		 */
+		private int maxLength;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 *
+		 * @param schema	transliteration schema
+		 */
+		private Builder(IuliiaSchema schema) {
+			this.schema = schema;
+			this.lowerCase = true;
+			this.punctuationRemoved = true;
+			this.whitespaceCollapsed = true;
+			this.maxLength = Integer.MAX_VALUE;
+		}
+
+		/**
+		 * Set whether to fold {@code ё} into {@code е} before the transliteration.
+		 *
+		 * <p>Disabled by default.
+		 *
+		 * @param yoFolded	boolean value
+		 * @return			this builder
+		 */
+		public Builder setYoFolded(boolean yoFolded) {
+			this.yoFolded = yoFolded;
+			return this;
+		}
+
+		/**
+		 * Set whether to convert the key to lower case.
+		 *
+		 * <p>Enabled by default.
+		 *
+		 * @param lowerCase		boolean value
+		 * @return				this builder
+		 */
+		public Builder setLowerCase(boolean lowerCase) {
+			this.lowerCase = lowerCase;
+			return this;
+		}
+
+		/**
+		 * Set whether to remove punctuation characters,
+		 * including the ones produced by the transliteration.
+		 *
+		 * <p>Enabled by default.
+		 *
+		 * @param punctuationRemoved	boolean value
+		 * @return						this builder
+		 */
+		public Builder setPunctuationRemoved(boolean punctuationRemoved) {
+			this.punctuationRemoved = punctuationRemoved;
+			return this;
+		}
+
+		/**
+		 * Set whether to collapse whitespace runs into a single space and trim them.
+		 *
+		 * <p>Enabled by default.
+		 *
+		 * @param whitespaceCollapsed	boolean value
+		 * @return						this builder
+		 */
+		public Builder setWhitespaceCollapsed(boolean whitespaceCollapsed) {
+			this.whitespaceCollapsed = whitespaceCollapsed;
+			return this;
+		}
+
+		/**
+		 * Set the maximum key length.
+		 *
+		 * <p>Unlimited by default.
+		 *
+		 * @param maxLength		maximum key length
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided length is negative
+		 */
+		public Builder setMaxLength(int maxLength) {
+			if (maxLength < 0) {
+				throw new IllegalArgumentException("Max length mustn't be negative");
+			}
+
+			this.maxLength = maxLength;
+			return this;
+		}
+
+		/**
+		 * Build a new search key generator.
+		 *
+		 * @return	search key generator
+		 */
+		public IuliiaSearchKeyGenerator build() {
+			return new IuliiaSearchKeyGenerator(this);
+		}
+	}
+
+	/**
+	 * A normalizing output sink.
+	 */
+	private static final class KeySink implements IuliiaSink {
+
+		/**
+		 * A search key generator to take the options from.
+		 */
+		private IuliiaSearchKeyGenerator generator;
+
+		/**
+		 * A string builder to append to.
+		 */
+		private StringBuilder sb;
+
+		/**
+		 * A key start index in the string builder.
+		 */
+		private int start;
+
+		/**
+		 * A key end index limit in the string builder.
+		 */
+		private int limit;
+
+		/**
+		 * Whether a collapsed whitespace run awaits a non-whitespace character.
+		 */
+		private boolean pendingSpace;
+
+		/**
+		 * Whether the key length limit has been reached.
+		 */
+		private boolean full;
+
+		/**
+		 * Set up this sink for a new key.
+		 *
+		 * @param generator		search key generator to take the options from
+		 * @param sb			string builder to append to
+		 * @return				this sink
+		 */
+		private KeySink reset(IuliiaSearchKeyGenerator generator, StringBuilder sb) {
+			this.generator = generator;
+			this.sb = sb;
+			this.start = sb.length();
+			this.limit = (int) Math.min(Integer.MAX_VALUE, (long) this.start + generator.maxLength);
+			this.pendingSpace = false;
+			this.full = this.start >= this.limit;
+
+			return this;
+		}
+
+		/**
+		 * Release the references held by this sink.
+		 */
+		private void release() {
+			this.generator = null;
+			this.sb = null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void append(char c) {
+			if (this.full) {
+				return;
+			}
+
+			IuliiaSearchKeyGenerator generator = this.generator;
+
+			if (generator.punctuationRemoved && isPunctuation(c)) {
+				return;
+			}
+
+			if (generator.whitespaceCollapsed && isWhitespace(c)) {
+				this.pendingSpace = this.sb.length() > this.start;
+				return;
+			}
+
+			if (generator.lowerCase) {
+				c = IuliiaCase.toLowerCase(c);
+			}
+
+			int required = (this.pendingSpace ? 1 : 0)
+					+ (Character.isHighSurrogate(c) ? 2 : 1);
+
+			if (this.sb.length() + required > this.limit) {
+				this.full = true;
+				return;
+			}
+
+			if (this.pendingSpace) {
+				this.sb.append(' ');
+				this.pendingSpace = false;
+			}
+
+			this.sb.append(c);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void append(String s) {
+			for (int i = 0; i < s.length() && !this.full; i++) {
+				this.append(s.charAt(i));
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isFull() {
+			return this.full;
+		}
+	}
+
+	/**
+	 * A text view w/ {@code ё} folded into {@code е}.
+	 */
+	private static final class YoFoldedText implements CharSequence {
+
+		/**
+		 * A text to view.
+		 */
+		private CharSequence text;
+
+		/**
+		 * Set up this view for a new text.
+		 *
+		 * @param text	text to view
+		 * @return		this view
+		 */
+		private YoFoldedText reset(CharSequence text) {
+			this.text = text;
+			return this;
+		}
+
+		/**
+		 * Release the text held by this view.
+		 */
+		private void release() {
+			this.text = null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int length() {
+			return this.text.length();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public char charAt(int index) {
+			char c = this.text.charAt(index);
+
+			if (c == 'ё') {
+				return 'е';
+			}
+
+			if (c == 'Ё') {
+				return 'Е';
+			}
+
+			return c;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return this.toString()
+					.substring(start, end);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return this.text.toString()
+					.replace('ё', 'е')
+					.replace('Ё', 'Е');
+		}
+	}
+}
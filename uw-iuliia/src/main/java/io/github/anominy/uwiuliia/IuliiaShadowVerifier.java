@@ -0,0 +1,709 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A shadow transliteration verifier.
+ *
+ * <p>Checks a sampled fraction of the optimized transliterations in production
+ * against the {@link Iuliia} reference transliteration, so that an optimized path
+ * can be rolled out while any divergence of it is caught along w/ its input.
+ *
+ * <p>A sampled text is verified on a background daemon thread,
+ * the calling thread only hands it over to a bounded queue,
+ * and a sample that does not fit into the queue is dropped rather than waited for.
+ *
+ * <p>Besides whole texts, samples the single word and the single letter transliterations
+ * of the compiled mapping-schema against the {@link Iuliia} reference word and letter steps,
+ * so that a divergence is narrowed down to the step it comes from.
+ *
+ * <p>Verifies the {@link EIuliiaCaseMode#EXPAND} letter case handling mode only,
+ * since the {@link Iuliia} reference folds the letter case using a transliterator itself.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaShadowVerifier implements Closeable {
+
+	/**
+	 * A path name of the transliterations sampled by {@link #transliterate(String)}.
+	 */
+	public static final String TRANSLITERATE_PATH = "transliterate";
+
+	/**
+	 * A path name of the transliterations sampled by {@link #transliterateWord(String)}.
+	 */
+	public static final String TRANSLITERATE_WORD_PATH = "transliterateWord";
+
+	/**
+	 * A path name of the transliterations sampled by {@link #transliterateLetter(Character, char, Character)}.
+	 */
+	public static final String TRANSLITERATE_LETTER_PATH = "transliterateLetter";
+
+	/**
+	 * A default maximum number of the kept mismatches.
+	 */
+	private static final int DEFAULT_MAX_MISMATCHES = 100;
+
+	/**
+	 * A default verification queue capacity.
+	 */
+	private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * An idle verification thread keep-alive time in milliseconds.
+	 */
+	private static final long KEEP_ALIVE_MILLIS = 1000;
+
+	/**
+	 * A time in milliseconds to wait for the queued verifications on close.
+	 */
+	private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+	/**
+	 * A verifier instance counter, used to name the verification threads.
+	 */
+	private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+
+	/**
+	 * A transliterator under verification.
+	 */
+	private final IuliiaTransliterator transliterator;
+
+	/**
+	 * A sampled fraction of the transliterations.
+	 */
+	private final double sampleRate;
+
+	/**
+	 * A maximum number of the kept mismatches.
+	 */
+	private final int maxMismatches;
+
+	/**
+	 * A mismatch listener or {@code null}.
+	 */
+	private final Listener listener;
+
+	/**
+	 * A verification executor.
+	 */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * A number of the sampled transliterations.
+	 */
+	private final AtomicLong sampledCount;
+
+	/**
+	 * A number of the verified transliterations.
+	 */
+	private final AtomicLong verifiedCount;
+
+	/**
+	 * A number of the mismatched transliterations.
+	 */
+	private final AtomicLong mismatchCount;
+
+	/**
+	 * A number of the sampled transliterations dropped w/o verification.
+	 */
+	private final AtomicLong droppedCount;
+
+	/**
+	 * A number of the verifications failed w/ an exception.
+	 */
+	private final AtomicLong failedCount;
+
+	/**
+	 * A queue of the most recent mismatches.
+	 */
+	private final Deque<IuliiaMismatch> mismatches;
+
+	/**
+	 * A {@link #mismatches} mutex.
+	 */
+	private final Object mismatchesMutex;
+
+	/**
+	 * Initialize an {@link IuliiaShadowVerifier} instance.
+	 *
+	 * @param builder	builder to initialize from
+	 */
+	private IuliiaShadowVerifier(Builder builder) {
+		this.transliterator = builder.transliterator;
+		this.sampleRate = builder.sampleRate;
+		this.maxMismatches = builder.maxMismatches;
+		this.listener = builder.listener;
+
+		String threadName = IuliiaShadowVerifier.class.getSimpleName() + "-" + INSTANCE_COUNTER.incrementAndGet() + "-";
+		AtomicInteger threadCounter = new AtomicInteger();
+
+		this.executor = new ThreadPoolExecutor(builder.threads, builder.threads,
+				KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(builder.queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, threadName + threadCounter.incrementAndGet());
+
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+
+					return thread;
+				});
+
+		this.executor.allowCoreThreadTimeOut(true);
+
+		this.sampledCount = new AtomicLong();
+		this.verifiedCount = new AtomicLong();
+		this.mismatchCount = new AtomicLong();
+		this.droppedCount = new AtomicLong();
+		this.failedCount = new AtomicLong();
+		this.mismatches = new ArrayDeque<>();
+		this.mismatchesMutex = new Object();
+	}
+
+	/**
+	 * Get this transliterator under verification.
+	 *
+	 * @return	transliterator
+	 */
+	public IuliiaTransliterator getTransliterator() {
+		return this.transliterator;
+	}
+
+	/**
+	 * Get this sampled fraction of the transliterations.
+	 *
+	 * @return	sample rate, from {@code 0} to {@code 1}
+	 */
+	public double getSampleRate() {
+		return this.sampleRate;
+	}
+
+	/**
+	 * Transliterate text w/ this transliterator, sampling it for verification.
+	 *
+	 * @param text	text to transliterate
+	 * @return		transliterated text or the same string
+	 */
+	public String transliterate(String text) {
+		String result = this.transliterator.transliterate(text);
+
+		this.sample(TRANSLITERATE_PATH, text, result);
+		return result;
+	}
+
+	/**
+	 * Transliterate a single word w/ this transliterator compiled mapping-schema,
+	 * sampling it for verification against the {@link Iuliia} reference word step.
+	 *
+	 * <p>The word is transliterated as a whole, w/o being split by the word separator.
+	 *
+	 * @param word	word to transliterate
+	 * @return		transliterated word
+	 *
+	 * @throws IllegalArgumentException		if the provided word is {@code null}
+	 */
+	public String transliterateWord(String word) {
+		if (word == null) {
+			throw new IllegalArgumentException("Word mustn't be <null>");
+		}
+
+		StringBuilder sb = new StringBuilder(word.length() + 8);
+
+		this.transliterator.getTable()
+				.transliterateWord(word, 0, word.length(), new IuliiaStringSink(sb));
+
+		String result = sb.toString();
+
+		if (this.isSampled()) {
+			IuliiaSchema schema = this.transliterator.getSchema();
+
+			this.queue(TRANSLITERATE_WORD_PATH, word, result, () -> Iuliia.transliterateWord(word, schema));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Transliterate a single word stem letter w/ this transliterator compiled mapping-schema,
+	 * sampling it for verification against the {@link Iuliia} reference letter step.
+	 *
+	 * <p>A mismatch is reported w/ the letter along w/ its neighbours as the text.
+	 *
+	 * @param prev	previous letter or {@code null} if the letter starts the stem
+	 * @param curr	letter to transliterate
+	 * @param next	next letter or {@code null} if the letter ends the stem
+	 * @return		transliterated letter
+	 */
+	public String transliterateLetter(Character prev, char curr, Character next) {
+		StringBuilder sb = new StringBuilder(3);
+
+		if (prev != null) {
+			sb.append(prev.charValue());
+		}
+
+		int index = sb.length();
+
+		sb.append(curr);
+
+		if (next != null) {
+			sb.append(next.charValue());
+		}
+
+		String text = sb.toString();
+		String result = this.transliterator.getTable()
+				.getLetter(text, 0, text.length(), index);
+
+		if (result == null) {
+			result = String.valueOf(curr);
+		}
+
+		if (this.isSampled()) {
+			IuliiaSchema schema = this.transliterator.getSchema();
+
+			this.queue(TRANSLITERATE_LETTER_PATH, text, result, () -> Iuliia.transliterateLetter(prev, curr, next, schema));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Sample a transliteration produced by any optimized path of this transliterator for verification.
+	 *
+	 * <p>The provided transliteration is expected to be the same
+	 * as {@link IuliiaTransliterator#transliterate(String)} of the text.
+	 *
+	 * @param path		optimized path name, reported along w/ a mismatch
+	 * @param text		transliterated text
+	 * @param actual	transliteration to verify
+	 * @return			whether the transliteration has been queued for verification
+	 */
+	public boolean sample(String path, String text, String actual) {
+		return this.isSampled()
+				&& this.verify(path, text, actual);
+	}
+
+	/**
+	 * Queue a transliteration produced by any optimized path of this transliterator for verification,
+	 * regardless of the sample rate.
+	 *
+	 * @param path		optimized path name, reported along w/ a mismatch
+	 * @param text		transliterated text
+	 * @param actual	transliteration to verify
+	 * @return			whether the transliteration has been queued for verification
+	 */
+	public boolean verify(String path, String text, String actual) {
+		IuliiaSchema schema = this.transliterator.getSchema();
+		String separator = this.transliterator.getSeparator();
+
+		return this.queue(path, text, actual, () -> Iuliia.transliterate(text, separator, schema));
+	}
+
+	/**
+	 * Check whether to sample the next transliteration.
+	 *
+	 * @return	boolean value as a result
+	 */
+	private boolean isSampled() {
+		double sampleRate = this.sampleRate;
+
+		return sampleRate > 0
+				&& (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+	}
+
+	/**
+	 * Queue a transliteration for verification against the provided reference one.
+	 *
+	 * @param path			optimized path name
+	 * @param text			transliterated text
+	 * @param actual		transliteration to verify
+	 * @param reference		reference transliteration, computed on the verification thread
+	 * @return				whether the transliteration has been queued for verification
+	 */
+	private boolean queue(String path, String text, String actual, Supplier<String> reference) {
+		this.sampledCount.incrementAndGet();
+
+		try {
+			this.executor.execute(() -> this.check(path, text, actual, reference));
+			return true;
+		} catch (RejectedExecutionException e) {
+			this.droppedCount.incrementAndGet();
+			return false;
+		}
+	}
+
+	/**
+	 * Check a transliteration against the reference one on the calling thread.
+	 *
+	 * @param path			optimized path name
+	 * @param text			transliterated text
+	 * @param actual		transliteration to check
+	 * @param reference		reference transliteration
+	 */
+	private void check(String path, String text, String actual, Supplier<String> reference) {
+		IuliiaMismatch mismatch;
+
+		try {
+			IuliiaSchema schema = this.transliterator.getSchema();
+			String separator = this.transliterator.getSeparator();
+			String expected = reference.get();
+
+			this.verifiedCount.incrementAndGet();
+
+			if (expected == null ? actual == null : expected.equals(actual)) {
+				return;
+			}
+
+			mismatch = new IuliiaMismatch(path, schema, separator, text, expected, actual);
+		} catch (RuntimeException | StackOverflowError e) {
+			this.failedCount.incrementAndGet();
+			return;
+		}
+
+		this.mismatchCount.incrementAndGet();
+
+		synchronized (this.mismatchesMutex) {
+			if (this.maxMismatches > 0) {
+				if (this.mismatches.size() == this.maxMismatches) {
+					this.mismatches.pollFirst();
+				}
+
+				this.mismatches.addLast(mismatch);
+			}
+		}
+
+		if (this.listener != null) {
+			try {
+				this.listener.onMismatch(mismatch);
+			} catch (RuntimeException e) {
+				this.failedCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Get this number of the sampled transliterations.
+	 *
+	 * @return	number of the sampled transliterations
+	 */
+	public long getSampledCount() {
+		return this.sampledCount.get();
+	}
+
+	/**
+	 * Get this number of the verified transliterations.
+	 *
+	 * @return	number of the verified transliterations
+	 */
+	public long getVerifiedCount() {
+		return this.verifiedCount.get();
+	}
+
+	/**
+	 * Get this number of the mismatched transliterations.
+	 *
+	 * @return	number of the mismatched transliterations
+	 */
+	public long getMismatchCount() {
+		return this.mismatchCount.get();
+	}
+
+	/**
+	 * Get this number of the sampled transliterations dropped w/o verification,
+	 * either because the queue was full or because this verifier was closed.
+	 *
+	 * @return	number of the dropped transliterations
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+
+	/**
+	 * Get this number of the verifications failed w/ an exception,
+	 * either thrown by the reference transliteration or by the listener.
+	 *
+	 * @return	number of the failed verifications
+	 */
+	public long getFailedCount() {
+		return this.failedCount.get();
+	}
+
+	/**
+	 * Get the most recent mismatches.
+	 *
+	 * @return	unmodifiable list of the mismatches, from the oldest to the newest
+	 */
+	public List<IuliiaMismatch> getMismatches() {
+		synchronized (this.mismatchesMutex) {
+			return Collections.unmodifiableList(new ArrayList<>(this.mismatches));
+		}
+	}
+
+	/**
+	 * Close this verifier.
+	 *
+	 * <p>Stops accepting the samples and waits for the queued ones to be verified
+	 * for a few seconds, dropping the rest.
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdown();
+
+		try {
+			if (!this.executor.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				this.droppedCount.addAndGet(this.executor.shutdownNow().size());
+			}
+		} catch (InterruptedException e) {
+			this.droppedCount.addAndGet(this.executor.shutdownNow().size());
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "["
+				+ "transliterator=" + this.transliterator
+				+ ", sampleRate=" + this.sampleRate
+				+ ", sampled=" + this.sampledCount.get()
+				+ ", verified=" + this.verifiedCount.get()
+				+ ", mismatches=" + this.mismatchCount.get()
+				+ ", dropped=" + this.droppedCount.get()
+				+ ", failed=" + this.failedCount.get()
+				+ "]";
+	}
+
+	/**
+	 * Create a new shadow verifier builder.
+	 *
+	 * @param transliterator	transliterator to verify
+	 * @return					shadow verifier builder
+	 *
+	 * @throws IllegalArgumentException		if the provided transliterator is {@code null}
+	 * 										or does not use the {@link EIuliiaCaseMode#EXPAND} letter case handling mode
+	 */
+	public static Builder builder(IuliiaTransliterator transliterator) {
+		if (transliterator == null) {
+			throw new IllegalArgumentException("Transliterator mustn't be <null>");
+		}
+
+		if (transliterator.getCaseMode() != EIuliiaCaseMode.EXPAND) {
+			throw new IllegalArgumentException("Transliterator case mode must be <" + EIuliiaCaseMode.EXPAND + ">");
+		}
+
+		return new Builder(transliterator);
+	}
+
+	/**
+	 * Create a new shadow verifier builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaTransliterator)}
+	 * w/ {@link IuliiaTransliterator#of(IuliiaSchema)} as the transliterator.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			shadow verifier builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static Builder builder(IuliiaSchema schema) {
+		return builder(IuliiaTransliterator.of(schema));
+	}
+
+	/**
+	 * Create a new shadow verifier builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				shadow verifier builder
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static Builder builder(String schemaPath) {
+		return builder(IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Create a new shadow verifier builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				shadow verifier builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static Builder builder(EIuliiaSchema schemaType) {
+		return builder(IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * A mismatch listener.
+	 *
+	 * <p>Called on a verification thread.
+	 */
+	@FunctionalInterface
+	public interface Listener {
+
+		/**
+		 * Handle a mismatch.
+		 *
+		 * @param mismatch	mismatch
+		 */
+		void onMismatch(IuliiaMismatch mismatch);
+	}
+
+	/**
+	 * A shadow verifier builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A transliterator to verify.
+		 */
+		private final IuliiaTransliterator transliterator;
+
+		/**
+		 * A sampled fraction of the transliterations.
+		 */
+		private double sampleRate;
+
+		/**
+		 * A maximum number of the kept mismatches.
+		 */
+		private int maxMismatches;
+
+		/**
+		 * A mismatch listener or {@code null}.
+		 */
+		private Listener listener;
+
+		/**
+		 * A verification thread count.
+		 */
+		private int threads;
+
+		/**
+		 * A verification queue capacity.
+		 */
+		private int queueCapacity;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 *
+		 * @param transliterator	transliterator to verify
+		 */
+		private Builder(IuliiaTransliterator transliterator) {
+			this.transliterator = transliterator;
+			this.sampleRate = 0.01;
+			this.maxMismatches = DEFAULT_MAX_MISMATCHES;
+			this.threads = 1;
+			this.queueCapacity = DEFAULT_QUEUE_CAPACITY;
+		}
+
+		/**
+		 * Set the sampled fraction of the transliterations.
+		 *
+		 * @param sampleRate	sample rate, from {@code 0} to {@code 1}, default to {@code 0.01}
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided sample rate is out of bounds
+		 */
+		public Builder setSampleRate(double sampleRate) {
+			if (!(sampleRate >= 0 && sampleRate <= 1)) {
+				throw new IllegalArgumentException("Sample rate must be from 0 to 1");
+			}
+
+			this.sampleRate = sampleRate;
+			return this;
+		}
+
+		/**
+		 * Set the maximum number of the kept mismatches.
+		 *
+		 * @param maxMismatches		maximum number of the most recent mismatches to keep,
+		 * 							default to {@code 100}
+		 * @return					this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided number is negative
+		 */
+		public Builder setMaxMismatches(int maxMismatches) {
+			if (maxMismatches < 0) {
+				throw new IllegalArgumentException("Max mismatches mustn't be negative");
+			}
+
+			this.maxMismatches = maxMismatches;
+			return this;
+		}
+
+		/**
+		 * Set the mismatch listener.
+		 *
+		 * @param listener	mismatch listener or {@code null}
+		 * @return			this builder
+		 */
+		public Builder setListener(Listener listener) {
+			this.listener = listener;
+			return this;
+		}
+
+		/**
+		 * Set the verification thread count.
+		 *
+		 * @param threads	verification thread count, default to {@code 1}
+		 * @return			this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided thread count is not positive
+		 */
+		public Builder setThreads(int threads) {
+			if (threads < 1) {
+				throw new IllegalArgumentException("Threads must be positive");
+			}
+
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * Set the verification queue capacity.
+		 *
+		 * @param queueCapacity		verification queue capacity, default to {@code 1024}
+		 * @return					this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided capacity is not positive
+		 */
+		public Builder setQueueCapacity(int queueCapacity) {
+			if (queueCapacity < 1) {
+				throw new IllegalArgumentException("Queue capacity must be positive");
+			}
+
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Build a new shadow verifier.
+		 *
+		 * @return	shadow verifier
+		 */
+		public IuliiaShadowVerifier build() {
+			return new IuliiaShadowVerifier(this);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package io.github.anominy.uwiuliia;
+
+/**
+ * A transliteration output sink.
+ */
+interface IuliiaSink {
+
+	/**
+	 * Append a source or transliterated character.
+	 *
+	 * @param c		character to append
+	 */
+	void append(char c);
+
+	/**
+	 * Append a transliterated letter.
+	 *
+	 * @param s		string to append
+	 */
+	void append(String s);
+
+	/**
+	 * Check whether this sink accepts no more characters,
+	 * so that the rest of the text can be skipped.
+	 *
+	 * @return	boolean value as a result
+	 */
+	default boolean isFull() {
+		return false;
+	}
+}
@@ -0,0 +1,73 @@
+package io.github.anominy.uwiuliia;
+
+/**
+ * A transliteration output sink that appends to a {@link StringBuilder}.
+ *
+ * <p>Instances are cached per thread, see {@link #get(StringBuilder)}.
+ */
+final class IuliiaStringSink implements IuliiaSink {
+
+	/**
+	 * A per-thread {@link IuliiaStringSink} cache.
+	 */
+	private static final ThreadLocal<IuliiaStringSink> CACHE = ThreadLocal.withInitial(IuliiaStringSink::new);
+
+	/**
+	 * A string builder to append to.
+	 */
+	private StringBuilder sb;
+
+	/**
+	 * Initialize an {@link IuliiaStringSink} instance.
+	 */
+	private IuliiaStringSink() {
+	}
+
+	/**
+	 * Initialize an {@link IuliiaStringSink} instance
+	 * appending to the provided string builder, w/o the per-thread cache.
+	 *
+	 * @param sb	string builder to append to
+	 */
+	IuliiaStringSink(StringBuilder sb) {
+		this.sb = sb;
+	}
+
+	/**
+	 * Release the string builder held by this sink.
+	 */
+	void release() {
+		this.sb = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(char c) {
+		this.sb.append(c);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void append(String s) {
+		this.sb.append(s);
+	}
+
+	/**
+	 * Get this thread sink set up to append to the provided string builder.
+	 *
+	 * <p>The sink must be {@link #release() released} after use.
+	 *
+	 * @param sb	string builder to append to
+	 * @return		sink
+	 */
+	static IuliiaStringSink get(StringBuilder sb) {
+		IuliiaStringSink sink = CACHE.get();
+		sink.sb = sb;
+
+		return sink;
+	}
+}
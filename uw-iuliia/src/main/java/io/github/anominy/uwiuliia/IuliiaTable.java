@@ -0,0 +1,559 @@
+package io.github.anominy.uwiuliia;
+
+import io.github.anominy.uwutils.UwMap;
+import io.github.anominy.uwutils.UwObject;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled mapping-schema representation.
+ *
+ * <p>Holds the letter-maps of an {@link IuliiaSchema} in a form
+ * that is looked up by characters instead of concatenated strings,
+ * while producing exactly the same output as {@link Iuliia}.
+ *
+ * <p>In the {@link EIuliiaCaseMode#FOLD} mode, holds the lower case rules only,
+ * looks them up by lower case characters and applies the source letter case
+ * to the transliterated letters while writing them.
+ */
+@SuppressWarnings("unchecked")
+final class IuliiaTable {
+
+	/**
+	 * A word ending length.
+	 */
+	static final int ENDING_LENGTH = 2;
+
+	/**
+	 * Whether the runtime {@code \b} regex boundary treats non-ASCII letters as word characters.
+	 */
+	private static final boolean UNICODE_WORD_BOUNDARY = Pattern.compile("\\b")
+			.matcher("ж")
+			.find();
+
+	/**
+	 * A single letter-map.
+	 */
+	private final IuliiaCharMap singleLetterMap;
+
+	/**
+	 * A previous letter-map w/o the previous letter, i.e. applied at a word start.
+	 */
+	private final IuliiaCharMap startLetterMap;
+
+	/**
+	 * A previous letter-map.
+	 */
+	private final IuliiaCharPairMap previousLetterMap;
+
+	/**
+	 * A next letter-map w/o the next letter, i.e. applied at a word stem end.
+	 */
+	private final IuliiaCharMap endLetterMap;
+
+	/**
+	 * A next letter-map.
+	 */
+	private final IuliiaCharPairMap nextLetterMap;
+
+	/**
+	 * An ending letter-map.
+	 */
+	private final IuliiaCharPairMap endingLetterMap;
+
+	/**
+	 * A whole-word exception map.
+	 */
+	private final IuliiaExceptionMap exceptionMap;
+
+	/**
+	 * An ending of words that are too short to have one, or {@code null}.
+	 */
+	private final String emptyEnding;
+
+	/**
+	 * Whether ASCII characters are never transliterated nor affect neighbouring letters.
+	 */
+	private final boolean asciiTransparent;
+
+	/**
+	 * Whether all mapped values are ASCII, in any letter case,
+	 * so that the output is ASCII or Latin-1 whenever the untransliterated source characters are.
+	 */
+	private final boolean asciiValued;
+
+	/**
+	 * A maximum UTF-8 length of a single mapped value,
+	 * or of a whole-word exception per word character.
+	 */
+	private final int maxValueUtf8Length;
+
+	/**
+	 * Whether the letter case is applied at runtime, see {@link EIuliiaCaseMode#FOLD}.
+	 */
+	private final boolean folded;
+
+	/**
+	 * Initialize an {@link IuliiaTable} instance.
+	 *
+	 * @param schema		mapping-schema to compile
+	 * @param caseMode		letter case handling mode
+	 */
+	private IuliiaTable(IuliiaSchema schema, EIuliiaCaseMode caseMode) {
+		this.folded = caseMode == EIuliiaCaseMode.FOLD;
+
+		Map<String, String> singleLetterMap = this.getRules(schema.getSingleLetterMap());
+		Map<String, String> previousLetterMap = this.getRules(schema.getPreviousLetterMap());
+		Map<String, String> nextLetterMap = this.getRules(schema.getNextLetterMap());
+		Map<String, String> endingLetterMap = this.getRules(schema.getEndingLetterMap());
+
+		this.singleLetterMap = IuliiaCharMap.compile(singleLetterMap);
+		this.startLetterMap = IuliiaCharMap.compile(previousLetterMap);
+		this.previousLetterMap = IuliiaCharPairMap.compile(previousLetterMap);
+		this.endLetterMap = IuliiaCharMap.compile(nextLetterMap);
+		this.nextLetterMap = IuliiaCharPairMap.compile(nextLetterMap);
+		this.endingLetterMap = IuliiaCharPairMap.compile(endingLetterMap);
+		this.emptyEnding = endingLetterMap.get("");
+		this.exceptionMap = schema.getExceptions();
+
+		this.asciiTransparent = this.emptyEnding == null
+				&& isAsciiFree(singleLetterMap)
+				&& isAsciiFree(previousLetterMap)
+				&& isAsciiFree(nextLetterMap)
+				&& isAsciiFree(endingLetterMap)
+				&& !this.exceptionMap.hasAsciiKey();
+
+		this.asciiValued = isAsciiValued(singleLetterMap)
+				&& isAsciiValued(previousLetterMap)
+				&& isAsciiValued(nextLetterMap)
+				&& isAsciiValued(endingLetterMap)
+				&& this.exceptionMap.hasAsciiValuesOnly();
+
+		this.maxValueUtf8Length = Math.max(
+				Math.max(
+						Math.max(getMaxUtf8Length(singleLetterMap), getMaxUtf8Length(previousLetterMap)),
+						Math.max(getMaxUtf8Length(nextLetterMap), getMaxUtf8Length(endingLetterMap))
+				),
+				this.exceptionMap.getMaxUtf8LengthPerChar()
+		);
+	}
+
+	/**
+	 * Check whether ASCII characters are never transliterated nor affect neighbouring letters.
+	 *
+	 * @return	boolean value as a result
+	 */
+	boolean isAsciiTransparent() {
+		return this.asciiTransparent;
+	}
+
+	/**
+	 * Check whether all mapped values are ASCII, in any letter case.
+	 *
+	 * @return	boolean value as a result
+	 */
+	boolean isAsciiValued() {
+		return this.asciiValued;
+	}
+
+	/**
+	 * Get a maximum UTF-8 length of a single mapped value.
+	 *
+	 * @return	maximum UTF-8 length
+	 */
+	int getMaxValueUtf8Length() {
+		return this.maxValueUtf8Length;
+	}
+
+	/**
+	 * Check whether the letter case is applied at runtime, see {@link EIuliiaCaseMode#FOLD}.
+	 *
+	 * @return	boolean value as a result
+	 */
+	boolean isFolded() {
+		return this.folded;
+	}
+
+	/**
+	 * Estimate a footprint of this compiled mapping-schema.
+	 *
+	 * @param footprint		footprint to add the objects of this compiled mapping-schema to
+	 * @param owner			owner of the objects
+	 */
+	void addTo(IuliiaFootprint.Builder footprint, IuliiaSchema owner) {
+		footprint.addObject(owner, this, 12);
+
+		this.singleLetterMap.addTo(footprint, owner);
+		this.startLetterMap.addTo(footprint, owner);
+		this.previousLetterMap.addTo(footprint, owner);
+		this.endLetterMap.addTo(footprint, owner);
+		this.nextLetterMap.addTo(footprint, owner);
+		this.endingLetterMap.addTo(footprint, owner);
+	}
+
+	/**
+	 * Transliterate word using this compiled mapping-schema.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @param sink		sink to append the transliterated word to
+	 */
+	void transliterateWord(CharSequence text, int start, int end, IuliiaSink sink) {
+		int exception = this.exceptionMap.indexOf(text, start, end);
+
+		if (exception >= 0) {
+			this.exceptionMap.append(exception, text, start, end, sink);
+			return;
+		}
+
+		if (this.folded) {
+			this.transliterateFoldedWord(text, start, end, sink);
+			return;
+		}
+
+		String ending = this.getEnding(text, start, end);
+		int stemEnd = getStemEnd(start, end, ending);
+
+		for (int i = start; i < stemEnd; i++) {
+			String letter = this.getLetter(text, start, stemEnd, i);
+
+			if (letter == null) {
+				sink.append(text.charAt(i));
+			} else {
+				sink.append(letter);
+			}
+		}
+
+		if (ending != null) {
+			sink.append(ending);
+		}
+	}
+
+	/**
+	 * Transliterate word using this compiled mapping-schema
+	 * and apply the source letter case to the transliterated letters.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @param sink		sink to append the transliterated word to
+	 */
+	private void transliterateFoldedWord(CharSequence text, int start, int end, IuliiaSink sink) {
+		boolean upperCaseWord = IuliiaCase.isUpperCaseWord(text, start, end);
+
+		String ending = this.getEnding(text, start, end);
+		int stemEnd = getStemEnd(start, end, ending);
+
+		for (int i = start; i < stemEnd; i++) {
+			char c = text.charAt(i);
+			String letter = this.getLetter(text, start, stemEnd, i);
+
+			if (letter == null) {
+				sink.append(c);
+			} else {
+				IuliiaCase.append(sink, letter, IuliiaCase.getClass(c), upperCaseWord);
+			}
+		}
+
+		if (ending != null) {
+			byte cls = stemEnd < end
+					? IuliiaCase.getClass(text.charAt(stemEnd))
+					: IuliiaCase.NONE;
+
+			IuliiaCase.append(sink, ending, cls, upperCaseWord);
+		}
+	}
+
+	/**
+	 * Get a transliterated word ending or return {@code null}.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @return			transliterated word ending or {@code null}
+	 */
+	String getEnding(CharSequence text, int start, int end) {
+		if (end - start > ENDING_LENGTH) {
+			return this.endingLetterMap.get(this.getKey(text, end - 2), this.getKey(text, end - 1));
+		}
+
+		return this.emptyEnding;
+	}
+
+	/**
+	 * Get a transliterated letter of the word stem or return {@code null} if left as is.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param stemEnd	word stem end index, exclusive
+	 * @param index		letter index
+	 * @return			transliterated letter or {@code null}
+	 */
+	String getLetter(CharSequence text, int start, int stemEnd, int index) {
+		char curr = this.getKey(text, index);
+
+		String result = index > start
+				? this.previousLetterMap.get(this.getKey(text, index - 1), curr)
+				: this.startLetterMap.get(curr);
+
+		if (result == null) {
+			result = index < stemEnd - 1
+					? this.nextLetterMap.get(curr, this.getKey(text, index + 1))
+					: this.endLetterMap.get(curr);
+		}
+
+		if (result == null) {
+			result = this.singleLetterMap.get(curr);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Get a letter-map key character at the provided index.
+	 *
+	 * @param text		text to look into
+	 * @param index		character index
+	 * @return			key character, lower case if folded
+	 */
+	private char getKey(CharSequence text, int index) {
+		char c = text.charAt(index);
+
+		if (this.folded) {
+			return IuliiaCase.toLowerCase(c);
+		}
+
+		return c;
+	}
+
+	/**
+	 * Get the rules of the provided letter-map to compile.
+	 *
+	 * <p>If folded, only the lower case rules are kept,
+	 * i.e. the ones the letter-map was extended from.
+	 *
+	 * @param map	letter-map or {@code null}
+	 * @return		rules to compile
+	 */
+	private Map<String, String> getRules(Map<String, String> map) {
+		map = UwObject.ifNull(map, UwMap.EMPTY);
+
+		if (!this.folded) {
+			return map;
+		}
+
+		Map<String, String> rules = new HashMap<>();
+
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+
+			if (key != null && isLowerCase(key)) {
+				rules.put(key, entry.getValue());
+			}
+		}
+
+		return rules;
+	}
+
+	/**
+	 * Get a word stem end index.
+	 *
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @param ending	transliterated word ending or {@code null}
+	 * @return			word stem end index, exclusive
+	 */
+	static int getStemEnd(int start, int end, String ending) {
+		if (ending != null && end - start > ENDING_LENGTH) {
+			return end - ENDING_LENGTH;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Get a word end index, i.e. the index of the next {@code \b} word boundary.
+	 *
+	 * <p>Mirrors the way {@link Iuliia} splits text into words.
+	 *
+	 * @param text		text to split
+	 * @param start		word start index, inclusive
+	 * @param end		text end index, exclusive
+	 * @return			word end index, exclusive
+	 */
+	static int getWordEnd(CharSequence text, int start, int end) {
+		int cp = Character.codePointAt(text, start);
+
+		boolean base = isNonSpacingMark(cp) && hasBaseLetterOrDigit(text, start);
+		boolean word = isWordCodePoint(cp, base);
+
+		int i = start;
+		while (true) {
+			if (!isNonSpacingMark(cp)) {
+				base = Character.isLetterOrDigit(cp);
+			}
+
+			i += Character.charCount(cp);
+			if (i >= end) {
+				return end;
+			}
+
+			cp = Character.codePointAt(text, i);
+			if (isWordCodePoint(cp, base) != word) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Check whether the provided code point is a word character.
+	 *
+	 * @param cp		code point to check
+	 * @param base		whether the last non-mark code point is a letter or digit
+	 * @return			boolean value as a result
+	 */
+	static boolean isWordCodePoint(int cp, boolean base) {
+		if (cp == '_' || (cp >= '0' && cp <= '9') || (cp >= 'A' && cp <= 'Z') || (cp >= 'a' && cp <= 'z')) {
+			return true;
+		}
+
+		if (UNICODE_WORD_BOUNDARY && cp >= 0x80 && Character.isLetterOrDigit(cp)) {
+			return true;
+		}
+
+		return base && isNonSpacingMark(cp);
+	}
+
+	/**
+	 * Check whether the provided code point is a non-spacing mark.
+	 *
+	 * @param cp	code point to check
+	 * @return		boolean value as a result
+	 */
+	static boolean isNonSpacingMark(int cp) {
+		return cp >= 0x0300 && Character.getType(cp) == Character.NON_SPACING_MARK;
+	}
+
+	/**
+	 * Check whether the non-mark code point before the provided index is a letter or digit.
+	 *
+	 * @param text		text to look into
+	 * @param index		index to look before
+	 * @return			boolean value as a result
+	 */
+	private static boolean hasBaseLetterOrDigit(CharSequence text, int index) {
+		while (index > 0) {
+			int cp = Character.codePointBefore(text, index);
+			if (!isNonSpacingMark(cp)) {
+				return Character.isLetterOrDigit(cp);
+			}
+
+			index -= Character.charCount(cp);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Check whether the provided letter-map key has no upper case characters.
+	 *
+	 * @param key	letter-map key to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isLowerCase(String key) {
+		for (int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+
+			if (IuliiaCase.toLowerCase(c) != c) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Check whether the keys of the provided letter-map contain no ASCII characters.
+	 *
+	 * @param map	letter-map to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isAsciiFree(Map<String, String> map) {
+		for (String key : map.keySet()) {
+			for (int i = 0; i < key.length(); i++) {
+				if (key.charAt(i) < 0x80) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Check whether the values of the provided letter-map contain ASCII characters only.
+	 *
+	 * @param map	letter-map to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isAsciiValued(Map<String, String> map) {
+		for (String value : map.values()) {
+			if (value == null) {
+				continue;
+			}
+
+			for (int i = 0; i < value.length(); i++) {
+				if (value.charAt(i) >= 0x80) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get a maximum UTF-8 length of the letter-map values.
+	 *
+	 * @param map	letter-map to look into
+	 * @return		maximum UTF-8 length
+	 */
+	private static int getMaxUtf8Length(Map<String, String> map) {
+		int max = 0;
+
+		for (String value : map.values()) {
+			if (value != null) {
+				max = Math.max(max, IuliiaUtf8.getEncodedLength(value));
+			}
+		}
+
+		return max;
+	}
+
+	/**
+	 * Compile the provided mapping-schema.
+	 *
+	 * @param schema		mapping-schema to compile
+	 * @param caseMode		letter case handling mode
+	 * @return				compiled mapping-schema
+	 */
+	static IuliiaTable compile(IuliiaSchema schema, EIuliiaCaseMode caseMode) {
+		return new IuliiaTable(schema, caseMode);
+	}
+
+	/**
+	 * Compile the provided mapping-schema.
+	 *
+	 * <p>Wraps {@link #compile(IuliiaSchema, EIuliiaCaseMode)}
+	 * w/ the {@link EIuliiaCaseMode#EXPAND} letter case handling mode.
+	 *
+	 * @param schema	mapping-schema to compile
+	 * @return			compiled mapping-schema
+	 */
+	static IuliiaTable compile(IuliiaSchema schema) {
+		return compile(schema, EIuliiaCaseMode.EXPAND);
+	}
+}
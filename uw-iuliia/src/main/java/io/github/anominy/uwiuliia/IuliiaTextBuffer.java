@@ -0,0 +1,165 @@
+package io.github.anominy.uwiuliia;
+
+import java.util.Arrays;
+
+/**
+ * An incremental transliteration text buffer.
+ *
+ * <p>Accumulates text that arrives in chunks and transliterates it word by word
+ * as soon as each word is known to be complete, holding back the last word only,
+ * so that a word split across chunks is transliterated as a whole
+ * and the output is the same as transliterating the whole text at once.
+ *
+ * <p>Splits text by the {@code \b} word boundary, the same way as {@link Iuliia} does.
+ */
+final class IuliiaTextBuffer implements CharSequence {
+
+	/**
+	 * An initial text buffer length.
+	 */
+	private static final int INITIAL_BUFFER_LENGTH = 256;
+
+	/**
+	 * A compiled mapping-schema.
+	 */
+	private final IuliiaTable table;
+
+	/**
+	 * A pending text buffer.
+	 */
+	private char[] buffer;
+
+	/**
+	 * A pending text length.
+	 */
+	private int length;
+
+	/**
+	 * Initialize an {@link IuliiaTextBuffer} instance.
+	 *
+	 * @param table		compiled mapping-schema
+	 */
+	IuliiaTextBuffer(IuliiaTable table) {
+		this.table = table;
+		this.buffer = new char[INITIAL_BUFFER_LENGTH];
+	}
+
+	/**
+	 * Check whether this buffer holds any pending text.
+	 *
+	 * @return	boolean value as a result
+	 */
+	boolean hasPendingText() {
+		return this.length > 0;
+	}
+
+	/**
+	 * Add a text chunk to this buffer.
+	 *
+	 * @param chunk		text chunk
+	 */
+	void add(String chunk) {
+		int count = chunk.length();
+		int required = this.length + count;
+
+		if (required > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+		}
+
+		chunk.getChars(0, count, this.buffer, this.length);
+		this.length = required;
+	}
+
+	/**
+	 * Transliterate the complete pending words appending them to the provided string builder.
+	 *
+	 * <p>Holds back the last word unless the text is complete,
+	 * as well as the words a combining mark following them may still join.
+	 *
+	 * @param sb		string builder to append to
+	 * @param last		whether no more text chunks follow
+	 */
+	void transliterate(StringBuilder sb, boolean last) {
+		// a trailing high surrogate may still be joined by a low one
+		int limit = this.length;
+		if (!last && limit > 0 && Character.isHighSurrogate(this.buffer[limit - 1])) {
+			limit--;
+		}
+
+		IuliiaStringSink sink = IuliiaStringSink.get(sb);
+
+		int start = 0;
+
+		try {
+			while (start < limit) {
+				int end = IuliiaTable.getWordEnd(this, start, limit);
+
+				// A word is emitted only if the next one starts w/ a base character,
+				// so that the held back text never needs the emitted one to be split.
+				if (!last && (end == limit || IuliiaTable.isNonSpacingMark(Character.codePointAt(this, end)))) {
+					break;
+				}
+
+				this.table.transliterateWord(this, start, end, sink);
+				start = end;
+			}
+		} finally {
+			sink.release();
+		}
+
+		if (last) {
+			start = this.length;
+		}
+
+		System.arraycopy(this.buffer, start, this.buffer, 0, this.length - start);
+		this.length -= start;
+
+		if (this.length == 0 && this.buffer.length > INITIAL_BUFFER_LENGTH << 4) {
+			this.buffer = new char[INITIAL_BUFFER_LENGTH];
+		}
+	}
+
+	/**
+	 * Get this pending text length.
+	 *
+	 * @return	pending text length
+	 */
+	@Override
+	public int length() {
+		return this.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public char charAt(int index) {
+		if (index >= this.length) {
+			throw new StringIndexOutOfBoundsException(index);
+		}
+
+		return this.buffer[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > this.length || end < start) {
+			throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + this.length);
+		}
+
+		return new String(this.buffer, start, end - start);
+	}
+
+	/**
+	 * Get this pending text.
+	 *
+	 * @return	pending text
+	 */
+	@Override
+	public String toString() {
+		return new String(this.buffer, 0, this.length);
+	}
+}
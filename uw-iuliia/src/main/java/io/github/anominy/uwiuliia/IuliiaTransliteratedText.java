@@ -0,0 +1,247 @@
+package io.github.anominy.uwiuliia;
+
+/**
+ * A lazy transliterated text view.
+ *
+ * <p>Holds the source text only and transliterates it on demand, a word at a time,
+ * so that large collections can be sorted by {@link #compareTo(IuliiaTransliteratedText)}
+ * and grouped by {@link #hashCode()} and {@link #equals(Object)}
+ * w/o an extra transliterated string per element.
+ * Comparison and equality stop at the first difference.
+ *
+ * <p>Sequential {@link #charAt(int)} access is amortized constant time,
+ * while going backwards restarts the transliteration from the text start.
+ *
+ * <p>Comparison, hashing and equality can be used across threads,
+ * while {@link #charAt(int)} must not be called concurrently on the same instance.
+ * The source text must not be modified while the view is in use.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaTransliteratedText implements CharSequence, Comparable<IuliiaTransliteratedText> {
+
+	/**
+	 * A transliterator.
+	 */
+	private final IuliiaTransliterator transliterator;
+
+	/**
+	 * A source text.
+	 */
+	private final CharSequence text;
+
+	/**
+	 * A {@link #length()} cache plus one or {@code 0} if not computed yet.
+	 */
+	private int lengthCache;
+
+	/**
+	 * A {@link #hashCode()} cache or {@code 0} if not computed yet.
+	 */
+	private int hashCodeCache;
+
+	/**
+	 * Whether the computed {@link #hashCode()} is {@code 0}.
+	 */
+	private boolean hashCodeZero;
+
+	/**
+	 * A {@link #charAt(int)} cursor or {@code null} if not used yet.
+	 */
+	private IuliiaCursor cursor;
+
+	/**
+	 * Initialize an {@link IuliiaTransliteratedText} instance.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @param text				source text
+	 */
+	IuliiaTransliteratedText(IuliiaTransliterator transliterator, CharSequence text) {
+		this.transliterator = transliterator;
+		this.text = text;
+	}
+
+	/**
+	 * Get this transliterator.
+	 *
+	 * @return	transliterator
+	 */
+	public IuliiaTransliterator getTransliterator() {
+		return this.transliterator;
+	}
+
+	/**
+	 * Get this source text.
+	 *
+	 * @return	source text
+	 */
+	public CharSequence getText() {
+		return this.text;
+	}
+
+	/**
+	 * Get this transliterated text length.
+	 *
+	 * <p>Transliterates the whole text on the first call.
+	 *
+	 * @return	transliterated text length
+	 */
+	@Override
+	public int length() {
+		if (this.lengthCache > 0) {
+			return this.lengthCache - 1;
+		}
+
+		IuliiaCursor cursor = IuliiaCursor.get(this.transliterator, this.text);
+
+		try {
+			cursor.seek(Integer.MAX_VALUE);
+
+			int length = cursor.getPosition();
+
+			this.lengthCache = length + 1;
+			return length;
+		} finally {
+			cursor.release();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public char charAt(int index) {
+		if (index < 0) {
+			throw new StringIndexOutOfBoundsException(index);
+		}
+
+		IuliiaCursor cursor = this.cursor;
+
+		if (cursor == null) {
+			cursor = this.cursor = new IuliiaCursor().reset(this.transliterator, this.text);
+		} else if (cursor.getPosition() > index) {
+			cursor.reset(this.transliterator, this.text);
+		}
+
+		int c;
+		if (!cursor.seek(index) || (c = cursor.next()) < 0) {
+			this.cursor = null;
+			throw new StringIndexOutOfBoundsException(index);
+		}
+
+		return (char) c;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end < start) {
+			throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end);
+		}
+
+		IuliiaCursor cursor = IuliiaCursor.get(this.transliterator, this.text);
+
+		try {
+			StringBuilder sb = new StringBuilder(end - start);
+
+			if (cursor.seek(start)) {
+				for (int i = start, c; i < end && (c = cursor.next()) >= 0; i++) {
+					sb.append((char) c);
+				}
+			}
+
+			if (start + sb.length() < end) {
+				throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + cursor.getPosition());
+			}
+
+			return sb.toString();
+		} finally {
+			cursor.release();
+		}
+	}
+
+	/**
+	 * Compare this transliterated text w/ another one lexicographically,
+	 * stopping at the first difference.
+	 *
+	 * @param that	transliterated text to compare w/
+	 * @return		negative, zero or positive value, the same as the transliterated strings
+	 * 				{@link String#compareTo(String)} sign
+	 */
+	@Override
+	public int compareTo(IuliiaTransliteratedText that) {
+		if (this == that) {
+			return 0;
+		}
+
+		return IuliiaTransliterator.compare(this.transliterator, this.text, that.transliterator, that.text);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || this.getClass() != obj.getClass()) {
+			return false;
+		}
+
+		IuliiaTransliteratedText that = (IuliiaTransliteratedText) obj;
+
+		int hashCode = this.hashCodeCache;
+		int thatHashCode = that.hashCodeCache;
+
+		if (hashCode != 0 && thatHashCode != 0 && hashCode != thatHashCode) {
+			return false;
+		}
+
+		int lengthCache = this.lengthCache;
+		int thatLengthCache = that.lengthCache;
+
+		if (lengthCache != 0 && thatLengthCache != 0 && lengthCache != thatLengthCache) {
+			return false;
+		}
+
+		return this.compareTo(that) == 0;
+	}
+
+	/**
+	 * Get a hash code of this transliterated text.
+	 *
+	 * @return	hash code, equal to the transliterated string {@link String#hashCode()}
+	 */
+	@Override
+	public int hashCode() {
+		// Each cache field is written once w/ the same value by any thread,
+		// so that the unsynchronized reads are safe, the same way as String#hashCode().
+		int hashCode = this.hashCodeCache;
+
+		if (hashCode == 0 && !this.hashCodeZero) {
+			hashCode = this.transliterator.hash(this.text);
+
+			if (hashCode == 0) {
+				this.hashCodeZero = true;
+			} else {
+				this.hashCodeCache = hashCode;
+			}
+		}
+
+		return hashCode;
+	}
+
+	/**
+	 * Get this transliterated text as a string.
+	 *
+	 * @return	transliterated text
+	 */
+	@Override
+	public String toString() {
+		return this.transliterator.transliterate(this.text, new StringBuilder())
+				.toString();
+	}
+}
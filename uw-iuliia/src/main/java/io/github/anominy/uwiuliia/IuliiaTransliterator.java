@@ -0,0 +1,830 @@
+package io.github.anominy.uwiuliia;
+
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A reusable transliterator.
+ *
+ * <p>Binds a mapping-schema, a word separator and a letter case handling mode once,
+ * holding the compiled mapping-schema and the precompiled word separator pattern,
+ * while producing exactly the same output as {@link Iuliia}.
+ *
+ * <p>Instances are immutable and can be shared freely across threads,
+ * while steady-state transliteration into a caller-supplied {@link StringBuilder}
+ * or {@link CharBuffer} allocates nothing.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaTransliterator {
+
+	/**
+	 * A word separator format string, the same as the {@link Iuliia} one.
+	 */
+	private static final String SEPARATOR_FORMAT = "((?<=%1$s)|(?=%1%s))";
+
+	/**
+	 * A maximum {@link #BUILDER_CACHE} string builder capacity kept between calls.
+	 */
+	private static final int MAX_CACHED_BUILDER_CAPACITY = 8192;
+
+	/**
+	 * A per-thread string builder cache.
+	 */
+	private static final ThreadLocal<StringBuilder> BUILDER_CACHE = ThreadLocal.withInitial(StringBuilder::new);
+
+	/**
+	 * A transliteration schema.
+	 */
+	private final IuliiaSchema schema;
+
+	/**
+	 * A word separator or {@code null} if split by the {@code \b} word boundary.
+	 */
+	private final String separator;
+
+	/**
+	 * A letter case handling mode.
+	 */
+	private final EIuliiaCaseMode caseMode;
+
+	/**
+	 * A precompiled word separator pattern or {@code null} if split by the {@code \b} word boundary.
+	 */
+	private final Pattern separatorPattern;
+
+	/**
+	 * A per-thread {@link #separatorPattern} matcher cache or {@code null} if split by the {@code \b} word boundary.
+	 */
+	private final ThreadLocal<Matcher> separatorMatcherCache;
+
+	/**
+	 * A compiled mapping-schema.
+	 */
+	private final IuliiaTable table;
+
+	/**
+	 * A persistent cache consulted for every word or {@code null}.
+	 */
+	private final IuliiaPersistentCache cache;
+
+	/**
+	 * A transliterated text comparator.
+	 */
+	private final Comparator<CharSequence> comparator;
+
+	/**
+	 * A {@link #toString()} cache.
+	 */
+	private volatile String stringCache;
+
+	/**
+	 * Initialize an {@link IuliiaTransliterator} instance.
+	 *
+	 * @param schema		transliteration schema
+	 * @param separator		word separator or {@code null}
+	 * @param caseMode		letter case handling mode
+	 * @param cache			persistent cache consulted for every word or {@code null}
+	 */
+	private IuliiaTransliterator(IuliiaSchema schema, String separator, EIuliiaCaseMode caseMode, IuliiaPersistentCache cache) {
+		this.schema = schema;
+		this.separator = separator;
+		this.caseMode = caseMode;
+		this.cache = cache;
+
+		this.separatorPattern = separator != null
+				? Pattern.compile(String.format(SEPARATOR_FORMAT, separator))
+				: null;
+
+		this.separatorMatcherCache = this.separatorPattern != null
+				? ThreadLocal.withInitial(() -> this.separatorPattern.matcher(""))
+				: null;
+
+		this.table = schema.getTable(caseMode);
+		this.comparator = this::compare;
+	}
+
+	/**
+	 * Get this transliteration schema.
+	 *
+	 * @return	transliteration schema
+	 */
+	public IuliiaSchema getSchema() {
+		return this.schema;
+	}
+
+	/**
+	 * Get this word separator.
+	 *
+	 * @return	word separator or {@code null} if split by the {@code \b} word boundary
+	 */
+	public String getSeparator() {
+		return this.separator;
+	}
+
+	/**
+	 * Get this letter case handling mode.
+	 *
+	 * @return	letter case handling mode
+	 */
+	public EIuliiaCaseMode getCaseMode() {
+		return this.caseMode;
+	}
+
+	/**
+	 * Get this compiled mapping-schema.
+	 *
+	 * @return	compiled mapping-schema
+	 */
+	IuliiaTable getTable() {
+		return this.table;
+	}
+
+	/**
+	 * Get this precompiled word separator pattern.
+	 *
+	 * @return	word separator pattern or {@code null} if split by the {@code \b} word boundary
+	 */
+	Pattern getSeparatorPattern() {
+		return this.separatorPattern;
+	}
+
+	/**
+	 * Transliterate text.
+	 *
+	 * <p>Builds the transliterated text in a per-thread buffer,
+	 * so that only the resulting string is allocated.
+	 * If the mapping-schema maps to ASCII only, writes single byte characters
+	 * into a byte buffer first, falling back to characters on any non-Latin-1 one.
+	 *
+	 * @param text	text to transliterate
+	 * @return		transliterated text or the same string
+	 */
+	public String transliterate(String text) {
+		if (text == null || text.isEmpty()) {
+			return text;
+		}
+
+		if (this.table.isAsciiValued()) {
+			IuliiaByteSink sink = IuliiaByteSink.get(IuliiaByteSink.LATIN1_LIMIT);
+
+			try {
+				this.transliterate(text, sink);
+
+				if (!sink.isOverflowed()) {
+					return sink.toLatin1String();
+				}
+			} finally {
+				sink.release();
+			}
+		}
+
+		StringBuilder sb = BUILDER_CACHE.get();
+		sb.setLength(0);
+
+		String result = this.transliterate(text, sb)
+				.toString();
+
+		if (sb.capacity() > MAX_CACHED_BUILDER_CAPACITY) {
+			BUILDER_CACHE.remove();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Transliterate text into ASCII bytes.
+	 *
+	 * <p>Writes single byte characters straight into a byte array,
+	 * which can be handed to I/O as is, since ASCII is valid UTF-8 and Latin-1.
+	 * Stops early once any non-ASCII character is produced,
+	 * which never comes from the mapping-schema if it maps to ASCII only.
+	 *
+	 * @param text	text to transliterate
+	 * @return		transliterated text ASCII bytes or {@code null} if it has any non-ASCII character
+	 *
+	 * @throws IllegalArgumentException		if the provided text is {@code null}
+	 */
+	public byte[] transliterateToAscii(CharSequence text) {
+		if (text == null) {
+			throw new IllegalArgumentException("Text mustn't be <null>");
+		}
+
+		IuliiaByteSink sink = IuliiaByteSink.get(IuliiaByteSink.ASCII_LIMIT);
+
+		try {
+			this.transliterate(text, sink);
+
+			return sink.isOverflowed()
+					? null
+					: sink.toByteArray();
+		} finally {
+			sink.release();
+		}
+	}
+
+	/**
+	 * Check whether the mapping-schema maps to ASCII only,
+	 * so that the transliterated text is ASCII whenever its untransliterated characters are.
+	 *
+	 * @return	boolean value as a result
+	 */
+	public boolean isAsciiValued() {
+		return this.table.isAsciiValued();
+	}
+
+	/**
+	 * Transliterate text appending it to the provided string builder.
+	 *
+	 * @param text	text to transliterate, ignored if {@code null}
+	 * @param sb	string builder to append to
+	 * @return		the same string builder
+	 *
+	 * @throws IllegalArgumentException		if the provided string builder is {@code null}
+	 */
+	public StringBuilder transliterate(CharSequence text, StringBuilder sb) {
+		if (sb == null) {
+			throw new IllegalArgumentException("String builder mustn't be <null>");
+		}
+
+		if (text == null) {
+			return sb;
+		}
+
+		IuliiaStringSink sink = IuliiaStringSink.get(sb);
+
+		try {
+			this.transliterate(text, sink);
+		} finally {
+			sink.release();
+		}
+
+		return sb;
+	}
+
+	/**
+	 * Transliterate text putting it into the provided buffer.
+	 *
+	 * <p>Advances the position of the buffer,
+	 * that is left untouched if it runs out of space.
+	 *
+	 * @param text	text to transliterate, ignored if {@code null}
+	 * @param dst	buffer to put into
+	 *
+	 * @throws IllegalArgumentException		if the provided buffer is {@code null}
+	 * @throws BufferOverflowException		if the provided buffer is too small
+	 */
+	public void transliterate(CharSequence text, CharBuffer dst) {
+		if (dst == null) {
+			throw new IllegalArgumentException("Buffer mustn't be <null>");
+		}
+
+		if (text == null) {
+			return;
+		}
+
+		int position = dst.position();
+		IuliiaCharBufferSink sink = IuliiaCharBufferSink.get(dst);
+
+		try {
+			this.transliterate(text, sink);
+		} catch (BufferOverflowException e) {
+			((Buffer) dst).position(position);
+			throw e;
+		} finally {
+			sink.release();
+		}
+	}
+
+	/**
+	 * Transliterate a column, each distinct value exactly once.
+	 *
+	 * <p>Wraps {@link IuliiaDictionaryColumn#transliterate(IuliiaTransliterator)}
+	 * w/ {@link IuliiaDictionaryColumn#encode(String[])} as the column.
+	 *
+	 * @param column	value per row, {@code null} values allowed
+	 * @return			dictionary-encoded transliterated column
+	 *
+	 * @throws IllegalArgumentException		if the provided column is {@code null}
+	 */
+	public IuliiaDictionaryColumn transliterateColumn(String[] column) {
+		return IuliiaDictionaryColumn.encode(column)
+				.transliterate(this);
+	}
+
+	/**
+	 * Transliterate a dictionary-encoded column, each dictionary value exactly once.
+	 *
+	 * <p>Wraps {@link IuliiaDictionaryColumn#transliterate(IuliiaTransliterator)}
+	 * w/ {@link IuliiaDictionaryColumn#of(int[], String[])} as the column.
+	 *
+	 * @param codes			dictionary index per row or {@link IuliiaDictionaryColumn#NULL_CODE}
+	 * @param dictionary	dictionary, {@code null} and duplicate values allowed
+	 * @return				dictionary-encoded transliterated column
+	 *
+	 * @throws IllegalArgumentException		if any of the provided arrays is {@code null}
+	 * 										or any code is out of the dictionary bounds
+	 */
+	public IuliiaDictionaryColumn transliterateColumn(int[] codes, String[] dictionary) {
+		return IuliiaDictionaryColumn.of(codes, dictionary)
+				.transliterate(this);
+	}
+
+	/**
+	 * Create a lazy view of the transliterated text.
+	 *
+	 * @param text	text to view the transliteration of
+	 * @return		transliterated text view
+	 *
+	 * @throws IllegalArgumentException		if the provided text is {@code null}
+	 */
+	public IuliiaTransliteratedText view(CharSequence text) {
+		if (text == null) {
+			throw new IllegalArgumentException("Text mustn't be <null>");
+		}
+
+		return new IuliiaTransliteratedText(this, text);
+	}
+
+	/**
+	 * Compare two texts by their transliterations lexicographically.
+	 *
+	 * <p>Transliterates both texts incrementally, a word at a time,
+	 * and stops at the first difference w/o materializing either transliteration.
+	 *
+	 * @param a		first text to compare
+	 * @param b		second text to compare
+	 * @return		negative, zero or positive value, the same as the transliterated strings
+	 * 				{@link String#compareTo(String)} sign
+	 *
+	 * @throws IllegalArgumentException		if any of the provided texts is {@code null}
+	 */
+	public int compare(CharSequence a, CharSequence b) {
+		if (a == null || b == null) {
+			throw new IllegalArgumentException("Text mustn't be <null>");
+		}
+
+		if (a == b) {
+			return 0;
+		}
+
+		return compare(this, a, this, b);
+	}
+
+	/**
+	 * Get a comparator of texts by their transliterations,
+	 * see {@link #compare(CharSequence, CharSequence)}.
+	 *
+	 * @return	transliterated text comparator
+	 */
+	public Comparator<CharSequence> comparator() {
+		return this.comparator;
+	}
+
+	/**
+	 * Compute a hash code of the transliterated text.
+	 *
+	 * <p>Transliterates text incrementally, a word at a time,
+	 * w/o materializing the transliteration.
+	 *
+	 * @param text	text to hash
+	 * @return		hash code, equal to the transliterated string {@link String#hashCode()}
+	 *
+	 * @throws IllegalArgumentException		if the provided text is {@code null}
+	 */
+	public int hash(CharSequence text) {
+		if (text == null) {
+			throw new IllegalArgumentException("Text mustn't be <null>");
+		}
+
+		IuliiaCursor cursor = IuliiaCursor.get(this, text);
+
+		try {
+			int hash = 0;
+
+			for (int c; (c = cursor.next()) >= 0; ) {
+				hash = 31 * hash + c;
+			}
+
+			return hash;
+		} finally {
+			cursor.release();
+		}
+	}
+
+	/**
+	 * Check whether the transliterated text equals the provided query.
+	 *
+	 * <p>Transliterates text incrementally, a word at a time,
+	 * and stops at the first mismatch w/o materializing the transliteration.
+	 *
+	 * @param text		text to transliterate
+	 * @param query		transliterated query to match
+	 * @return			boolean value as a result
+	 *
+	 * @throws IllegalArgumentException		if any of the provided texts is {@code null}
+	 */
+	public boolean matches(CharSequence text, CharSequence query) {
+		return this.matches(text, query, false);
+	}
+
+	/**
+	 * Check whether the transliterated text starts w/ the provided query.
+	 *
+	 * <p>Transliterates text incrementally, a word at a time,
+	 * and stops at the first mismatch or at the query end w/o materializing the transliteration.
+	 *
+	 * @param text		text to transliterate
+	 * @param prefix	transliterated prefix to match
+	 * @return			boolean value as a result
+	 *
+	 * @throws IllegalArgumentException		if any of the provided texts is {@code null}
+	 */
+	public boolean startsWith(CharSequence text, CharSequence prefix) {
+		return this.matches(text, prefix, true);
+	}
+
+	/**
+	 * Check whether the transliterated text contains the provided query.
+	 *
+	 * <p>Transliterates text incrementally, a word at a time,
+	 * and stops at the first occurrence w/o materializing the transliteration.
+	 *
+	 * @param text		text to transliterate
+	 * @param query		transliterated query to find
+	 * @return			boolean value as a result
+	 *
+	 * @throws IllegalArgumentException		if any of the provided texts is {@code null}
+	 */
+	public boolean contains(CharSequence text, CharSequence query) {
+		return this.indexOf(text, query) >= 0;
+	}
+
+	/**
+	 * Find the first occurrence of the provided query in the transliterated text.
+	 *
+	 * <p>Transliterates text incrementally, a word at a time,
+	 * and stops at the first occurrence w/o materializing the transliteration.
+	 *
+	 * @param text		text to transliterate
+	 * @param query		transliterated query to find
+	 * @return			occurrence index in the transliterated text or {@code -1} if not found
+	 *
+	 * @throws IllegalArgumentException		if any of the provided texts is {@code null}
+	 */
+	public int indexOf(CharSequence text, CharSequence query) {
+		if (text == null || query == null) {
+			throw new IllegalArgumentException("Text mustn't be <null>");
+		}
+
+		IuliiaCursor cursor = IuliiaCursor.get(this, text);
+
+		try {
+			return cursor.indexOf(query);
+		} finally {
+			cursor.release();
+		}
+	}
+
+	/**
+	 * Check whether the transliterated text equals or starts w/ the provided query.
+	 *
+	 * @param text		text to transliterate
+	 * @param query		transliterated query to match
+	 * @param prefix	whether the query may be followed by more characters
+	 * @return			boolean value as a result
+	 *
+	 * @throws IllegalArgumentException		if any of the provided texts is {@code null}
+	 */
+	private boolean matches(CharSequence text, CharSequence query, boolean prefix) {
+		if (text == null || query == null) {
+			throw new IllegalArgumentException("Text mustn't be <null>");
+		}
+
+		IuliiaCursor cursor = IuliiaCursor.get(this, text);
+
+		try {
+			return cursor.matches(query, prefix);
+		} finally {
+			cursor.release();
+		}
+	}
+
+	/**
+	 * Compare two texts by their transliterations lexicographically,
+	 * see {@link #compare(CharSequence, CharSequence)}.
+	 *
+	 * @param ta	first text transliterator
+	 * @param a		first text to compare
+	 * @param tb	second text transliterator
+	 * @param b		second text to compare
+	 * @return		negative, zero or positive value
+	 */
+	static int compare(IuliiaTransliterator ta, CharSequence a, IuliiaTransliterator tb, CharSequence b) {
+		IuliiaCursor first = IuliiaCursor.get(ta, a);
+		IuliiaCursor second = IuliiaCursor.getSecond(tb, b);
+
+		try {
+			return IuliiaCursor.compare(first, second);
+		} finally {
+			first.release();
+			second.release();
+		}
+	}
+
+	/**
+	 * Transliterate text appending it to the provided sink.
+	 *
+	 * @param text	text to transliterate
+	 * @param sink	sink to append to
+	 */
+	void transliterate(CharSequence text, IuliiaSink sink) {
+		int length = text.length();
+
+		if (this.separatorPattern == null) {
+			for (int start = 0, end; start < length && !sink.isFull(); start = end) {
+				end = IuliiaTable.getWordEnd(text, start, length);
+				this.transliterateWord(text, start, end, sink);
+			}
+
+			return;
+		}
+
+		if (length == 0) {
+			return;
+		}
+
+		// Mirrors String#split(String), i.e. w/o a leading empty word of a zero-width match
+		// and w/o trailing empty words, that are held back until a non-empty word follows.
+		Matcher matcher = this.separatorMatcherCache.get()
+				.reset(text);
+
+		try {
+			int start = 0;
+			int emptyWords = 0;
+
+			while (!sink.isFull() && matcher.find()) {
+				int end = matcher.start();
+
+				if (end == 0 && matcher.end() == 0) {
+					continue;
+				}
+
+				if (start == end) {
+					emptyWords++;
+				} else {
+					this.transliterateWord(text, start, end, emptyWords, sink);
+					emptyWords = 0;
+				}
+
+				start = matcher.end();
+			}
+
+			if (start < length && !sink.isFull()) {
+				this.transliterateWord(text, start, length, emptyWords, sink);
+			}
+		} finally {
+			matcher.reset("");
+		}
+	}
+
+	/**
+	 * Transliterate word preceded by the provided number of empty words.
+	 *
+	 * @param text			text containing the word
+	 * @param start			word start index, inclusive
+	 * @param end			word end index, exclusive
+	 * @param emptyWords	number of preceding empty words
+	 * @param sink			sink to append to
+	 */
+	private void transliterateWord(CharSequence text, int start, int end, int emptyWords, IuliiaSink sink) {
+		for (int i = 0; i < emptyWords; i++) {
+			this.table.transliterateWord(text, start, start, sink);
+		}
+
+		this.transliterateWord(text, start, end, sink);
+	}
+
+	/**
+	 * Transliterate word, looking it up in the persistent cache first if any.
+	 *
+	 * @param text		text containing the word
+	 * @param start		word start index, inclusive
+	 * @param end		word end index, exclusive
+	 * @param sink		sink to append to
+	 */
+	private void transliterateWord(CharSequence text, int start, int end, IuliiaSink sink) {
+		if (this.cache == null || start == end) {
+			this.table.transliterateWord(text, start, end, sink);
+			return;
+		}
+
+		this.cache.transliterateWord(this.table, text, start, end, sink);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		if (this.stringCache != null) {
+			return this.stringCache;
+		}
+
+		return (this.stringCache = this.getClass().getSimpleName()
+				+ "[schema=" + this.schema.getName()
+				+ ", separator=" + (this.separator == null ? null : "\"" + this.separator + "\"")
+				+ ", caseMode=" + this.caseMode
+				+ "]");
+	}
+
+	/**
+	 * Create a new transliterator builder.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static Builder builder(IuliiaSchema schema) {
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		return new Builder(schema);
+	}
+
+	/**
+	 * Create a new transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static Builder builder(String schemaPath) {
+		return builder(IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Create a new transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static Builder builder(EIuliiaSchema schemaType) {
+		return builder(IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * Create a new transliterator w/ the default options.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			transliterator
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static IuliiaTransliterator of(IuliiaSchema schema) {
+		return builder(schema).build();
+	}
+
+	/**
+	 * Create a new transliterator w/ the default options.
+	 *
+	 * <p>Wraps {@link #of(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				transliterator
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static IuliiaTransliterator of(String schemaPath) {
+		return of(IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Create a new transliterator w/ the default options.
+	 *
+	 * <p>Wraps {@link #of(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				transliterator
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static IuliiaTransliterator of(EIuliiaSchema schemaType) {
+		return of(IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * A transliterator builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A transliteration schema.
+		 */
+		private final IuliiaSchema schema;
+
+		/**
+		 * A word separator or {@code null}.
+		 */
+		private String separator;
+
+		/**
+		 * A letter case handling mode.
+		 */
+		private EIuliiaCaseMode caseMode;
+
+		/**
+		 * A persistent cache consulted for every word or {@code null}.
+		 */
+		private IuliiaPersistentCache cache;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 *
+		 * @param schema	transliteration schema
+		 */
+		private Builder(IuliiaSchema schema) {
+			this.schema = schema;
+			this.caseMode = EIuliiaCaseMode.EXPAND;
+		}
+
+		/**
+		 * Set the word separator.
+		 *
+		 * @param separator		word separator regex,
+		 * 						split by the {@code \b} word boundary if {@code null}
+		 * @return				this builder
+		 */
+		public Builder setSeparator(String separator) {
+			this.separator = separator;
+			return this;
+		}
+
+		/**
+		 * Set the letter case handling mode.
+		 *
+		 * @param caseMode		letter case handling mode,
+		 * 						default to {@link EIuliiaCaseMode#EXPAND} if {@code null}
+		 * @return				this builder
+		 */
+		public Builder setCaseMode(EIuliiaCaseMode caseMode) {
+			this.caseMode = caseMode != null
+					? caseMode
+					: EIuliiaCaseMode.EXPAND;
+
+			return this;
+		}
+
+		/**
+		 * Set the persistent cache to look every word up in before transliterating it, none by default.
+		 *
+		 * <p>Consulted by the {@code transliterate} methods only,
+		 * e.g. the transliterated text views and the streaming transliterators compute every word.
+		 * Only worth it where the words are costly to transliterate, e.g. w/ large exception maps,
+		 * since a cached word is copied out of the cache file.
+		 * The short words and non-word tokens skip the cache,
+		 * and the missing words are added in batches, see {@link IuliiaPersistentCache#flush()}.
+		 *
+		 * @param cache		persistent cache opened w/ a transliterator of the same mapping-schema,
+		 * 					letter case handling mode and word separator, or {@code null}
+		 * @return			this builder
+		 */
+		public Builder setCache(IuliiaPersistentCache cache) {
+			this.cache = cache;
+			return this;
+		}
+
+		/**
+		 * Build a new transliterator.
+		 *
+		 * @return	transliterator
+		 *
+		 * @throws java.util.regex.PatternSyntaxException	if the word separator is not a valid regex
+		 * @throws IllegalArgumentException					if the persistent cache is of another configuration
+		 */
+		public IuliiaTransliterator build() {
+			if (this.cache != null
+					&& this.cache.getFingerprint() != IuliiaPersistentCache.fingerprintOf(this.schema, this.caseMode, this.separator)) {
+				throw new IllegalArgumentException("Cache mustn't be of another transliterator configuration");
+			}
+
+			return new IuliiaTransliterator(this.schema, this.separator, this.caseMode, this.cache);
+		}
+	}
+}
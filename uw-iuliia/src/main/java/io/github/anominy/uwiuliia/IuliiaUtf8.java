@@ -0,0 +1,601 @@
+package io.github.anominy.uwiuliia;
+
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * A UTF-8 transliteration utility.
+ *
+ * <p>Transliterates UTF-8 encoded text w/o decoding it into a {@link String}
+ * and produces exactly the same bytes as encoding the result of
+ * {@link Iuliia#transliterate(String, IuliiaSchema)} would.
+ *
+ * <p>Runs of ASCII bytes are copied in bulk, malformed byte sequences are copied as is.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaUtf8 {
+
+	/**
+	 * A mask of the most significant bit in each byte of a long.
+	 */
+	private static final long NON_ASCII_MASK = 0x8080808080808080L;
+
+	/**
+	 * Transliterate UTF-8 text using provided mapping-schema.
+	 *
+	 * <p>Reads all the remaining bytes of the source buffer
+	 * and writes the transliterated bytes into the destination buffer,
+	 * advancing the positions of both buffers.
+	 *
+	 * <p>Both buffers are left untouched if the destination buffer
+	 * runs out of space, see {@link #getMaxLength(int, IuliiaSchema)}.
+	 *
+	 * <p>Allocates nothing once warmed up on the calling thread.
+	 *
+	 * @param src		source buffer, heap or direct
+	 * @param dst		destination buffer, heap or direct
+	 * @param schema	transliteration schema
+	 *
+	 * @throws IllegalArgumentException		if any of the buffers or the provided mapping-schema is {@code null}
+	 * @throws BufferOverflowException		if the destination buffer is too small
+	 */
+	public static void transliterate(ByteBuffer src, ByteBuffer dst, IuliiaSchema schema) {
+		if (src == null || dst == null) {
+			throw new IllegalArgumentException("Buffer mustn't be <null>");
+		}
+
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		int dstPosition = dst.position();
+
+		Transliteration transliteration = Transliteration.get(src, dst, schema.getTable());
+
+		try {
+			transliteration.run(src.position(), src.limit());
+		} catch (BufferOverflowException e) {
+			((Buffer) dst).position(dstPosition);
+			throw e;
+		} finally {
+			transliteration.release();
+		}
+
+		((Buffer) src).position(src.limit());
+	}
+
+	/**
+	 * Transliterate UTF-8 text using provided mapping-schema.
+	 *
+	 * <p>Wraps {@link IuliiaUtf8#transliterate(ByteBuffer, ByteBuffer, IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param src			source buffer, heap or direct
+	 * @param dst			destination buffer, heap or direct
+	 * @param schemaPath	path to the transliteration schema file
+	 *
+	 * @throws IllegalArgumentException		if any of the buffers is {@code null} or the mapping-schema cannot be found
+	 * @throws BufferOverflowException		if the destination buffer is too small
+	 */
+	public static void transliterate(ByteBuffer src, ByteBuffer dst, String schemaPath) {
+		transliterate(src, dst, IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Transliterate UTF-8 text using provided mapping-schema.
+	 *
+	 * <p>Wraps {@link IuliiaUtf8#transliterate(ByteBuffer, ByteBuffer, IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param src			source buffer, heap or direct
+	 * @param dst			destination buffer, heap or direct
+	 * @param schemaType	transliteration schema enum type
+	 *
+	 * @throws IllegalArgumentException		if any of the buffers or the provided mapping-schema type is {@code null}
+	 * @throws BufferOverflowException		if the destination buffer is too small
+	 */
+	public static void transliterate(ByteBuffer src, ByteBuffer dst, EIuliiaSchema schemaType) {
+		transliterate(src, dst, IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * Transliterate UTF-8 text using provided mapping-schema.
+	 *
+	 * @param src		UTF-8 text to transliterate
+	 * @param schema	transliteration schema
+	 * @return			transliterated UTF-8 text or the same array
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static byte[] transliterate(byte[] src, IuliiaSchema schema) {
+		if (src == null || src.length == 0) {
+			return src;
+		}
+
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		ByteBuffer in = ByteBuffer.wrap(src);
+		ByteBuffer out = ByteBuffer.allocate(src.length + (src.length >>> 1) + 16);
+
+		try {
+			transliterate(in, out, schema);
+		} catch (BufferOverflowException e) {
+			out = ByteBuffer.allocate(getMaxLength(src.length, schema));
+			transliterate(in, out, schema);
+		}
+
+		return Arrays.copyOf(out.array(), out.position());
+	}
+
+	/**
+	 * Transliterate UTF-8 text using provided mapping-schema.
+	 *
+	 * <p>Wraps {@link IuliiaUtf8#transliterate(byte[], IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param src			UTF-8 text to transliterate
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				transliterated UTF-8 text or the same array
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static byte[] transliterate(byte[] src, String schemaPath) {
+		return transliterate(src, IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Transliterate UTF-8 text using provided mapping-schema.
+	 *
+	 * <p>Wraps {@link IuliiaUtf8#transliterate(byte[], IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param src			UTF-8 text to transliterate
+	 * @param schemaType	transliteration schema enum type
+	 * @return				transliterated UTF-8 text or the same array
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static byte[] transliterate(byte[] src, EIuliiaSchema schemaType) {
+		return transliterate(src, IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * Get a maximum length of the transliterated UTF-8 text.
+	 *
+	 * <p>A destination buffer of this size never overflows.
+	 *
+	 * @param length	source UTF-8 text length in bytes
+	 * @param schema	transliteration schema
+	 * @return			maximum transliterated length in bytes
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static int getMaxLength(int length, IuliiaSchema schema) {
+		if (schema == null) {
+			throw new IllegalArgumentException("Schema mustn't be <null>");
+		}
+
+		long factor = Math.max(1, schema.getTable().getMaxValueUtf8Length());
+
+		return (int) Math.min(Integer.MAX_VALUE, length * factor);
+	}
+
+	/**
+	 * Get a UTF-8 encoded length of the provided string.
+	 *
+	 * @param s		string to measure
+	 * @return		UTF-8 encoded length
+	 */
+	static int getEncodedLength(String s) {
+		int length = 0;
+
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+
+			if (c < 0x80) {
+				length += 1;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+
+		return length;
+	}
+
+	/**
+	 * A reusable UTF-8 transliteration run.
+	 *
+	 * <p>Instances are cached per thread, so steady-state runs allocate nothing.
+	 */
+	private static final class Transliteration implements IuliiaSink {
+
+		/**
+		 * An initial {@link #word} buffer length.
+		 */
+		private static final int INITIAL_WORD_LENGTH = 16;
+
+		/**
+		 * A maximum {@link #word} buffer length kept between runs.
+		 */
+		private static final int MAX_CACHED_WORD_LENGTH = 1024;
+
+		/**
+		 * A per-thread {@link Transliteration} cache.
+		 */
+		private static final ThreadLocal<Transliteration> CACHE = ThreadLocal.withInitial(Transliteration::new);
+
+		/**
+		 * A source buffer.
+		 */
+		private ByteBuffer src;
+
+		/**
+		 * A destination buffer.
+		 */
+		private ByteBuffer dst;
+
+		/**
+		 * A compiled mapping-schema.
+		 */
+		private IuliiaTable table;
+
+		/**
+		 * A decoded word buffer.
+		 */
+		private char[] word;
+
+		/**
+		 * A {@link #word} view.
+		 */
+		private CharBuffer wordView;
+
+		/**
+		 * A high surrogate awaiting its pair.
+		 */
+		private char highSurrogate;
+
+		/**
+		 * Initialize a {@link Transliteration} instance.
+		 */
+		private Transliteration() {
+			this.word = new char[INITIAL_WORD_LENGTH];
+			this.wordView = CharBuffer.wrap(this.word);
+		}
+
+		/**
+		 * Get this thread {@link Transliteration} instance set up for a new run.
+		 *
+		 * @param src		source buffer
+		 * @param dst		destination buffer
+		 * @param table		compiled mapping-schema
+		 * @return			transliteration run
+		 */
+		private static Transliteration get(ByteBuffer src, ByteBuffer dst, IuliiaTable table) {
+			Transliteration transliteration = CACHE.get();
+
+			transliteration.src = src;
+			transliteration.dst = dst;
+			transliteration.table = table;
+			transliteration.highSurrogate = 0;
+
+			return transliteration;
+		}
+
+		/**
+		 * Release the references held by this run.
+		 */
+		private void release() {
+			this.src = null;
+			this.dst = null;
+			this.table = null;
+
+			if (this.word.length > MAX_CACHED_WORD_LENGTH) {
+				this.word = new char[INITIAL_WORD_LENGTH];
+				this.wordView = CharBuffer.wrap(this.word);
+			}
+		}
+
+		/**
+		 * Transliterate the provided source range.
+		 *
+		 * @param start		range start index, inclusive
+		 * @param end		range end index, exclusive
+		 */
+		private void run(int start, int end) {
+			boolean transparent = this.table.isAsciiTransparent();
+
+			// whether the last non-mark code point is a letter or digit
+			boolean base = false;
+
+			int copyStart = start;
+			int i = start;
+
+			while (i < end) {
+				if (transparent) {
+					int j = this.skipAscii(i, end);
+
+					if (j == end) {
+						break;
+					}
+
+					if (j > i) {
+						byte last = this.src.get(j - 1);
+						boolean lastWord = isWordByte(last);
+
+						int cp = this.decode(j, end);
+						boolean nextWord = cp >= 0 && IuliiaTable.isWordCodePoint(cp, isLetterOrDigitByte(last));
+
+						int runStart = j;
+						if (nextWord == lastWord) {
+							while (runStart > i && isWordByte(this.src.get(runStart - 1)) == lastWord) {
+								runStart--;
+							}
+						}
+
+						if (runStart > i) {
+							base = isLetterOrDigitByte(this.src.get(runStart - 1));
+						}
+
+						i = runStart;
+					}
+				}
+
+				int length = 0;
+				boolean ascii = true;
+				boolean word = false;
+
+				int runEnd = i;
+				while (runEnd < end) {
+					int cp = this.decode(runEnd, end);
+					if (cp < 0) {
+						break;
+					}
+
+					boolean nonSpacingMark = IuliiaTable.isNonSpacingMark(cp);
+					boolean cpWord = IuliiaTable.isWordCodePoint(cp, base);
+
+					if (runEnd == i) {
+						word = cpWord;
+					} else if (cpWord != word) {
+						break;
+					}
+
+					if (!nonSpacingMark) {
+						base = Character.isLetterOrDigit(cp);
+					}
+
+					if (length + 2 > this.word.length) {
+						this.word = Arrays.copyOf(this.word, this.word.length << 1);
+						this.wordView = CharBuffer.wrap(this.word);
+					}
+
+					length += Character.toChars(cp, this.word, length);
+					ascii &= cp < 0x80;
+					runEnd += getSequenceLength(this.src.get(runEnd));
+				}
+
+				if (runEnd == i) {
+					// malformed sequence, left in the pending copy range
+					base = false;
+					i++;
+
+					continue;
+				}
+
+				if (!transparent || !ascii) {
+					this.copy(copyStart, i);
+					this.table.transliterateWord(this.wordView, 0, length, this);
+
+					copyStart = runEnd;
+				}
+
+				i = runEnd;
+			}
+
+			this.copy(copyStart, end);
+		}
+
+		/**
+		 * Skip ASCII bytes starting from the provided index.
+		 *
+		 * @param start		index to start from, inclusive
+		 * @param end		range end index, exclusive
+		 * @return			index of the first non-ASCII byte or the range end index
+		 */
+		private int skipAscii(int start, int end) {
+			int i = start;
+
+			while (i + Long.BYTES <= end && (this.src.getLong(i) & NON_ASCII_MASK) == 0) {
+				i += Long.BYTES;
+			}
+
+			while (i < end && this.src.get(i) >= 0) {
+				i++;
+			}
+
+			return i;
+		}
+
+		/**
+		 * Decode a code point starting at the provided index.
+		 *
+		 * @param i		sequence start index
+		 * @param end	range end index, exclusive
+		 * @return		decoded code point or {@code -1} if the sequence is malformed
+		 */
+		private int decode(int i, int end) {
+			int b0 = this.src.get(i);
+			if (b0 >= 0) {
+				return b0;
+			}
+
+			int length = getSequenceLength((byte) b0);
+			if (length < 2 || i + length > end) {
+				return -1;
+			}
+
+			int cp = b0 & (0xFF >>> (length + 1));
+			for (int k = 1; k < length; k++) {
+				int b = this.src.get(i + k);
+				if ((b & 0xC0) != 0x80) {
+					return -1;
+				}
+
+				cp = (cp << 6) | (b & 0x3F);
+			}
+
+			if ((length == 2 && cp < 0x80)
+					|| (length == 3 && (cp < 0x800 || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)))
+					|| (length == 4 && (cp < 0x10000 || cp > Character.MAX_CODE_POINT))) {
+				return -1;
+			}
+
+			return cp;
+		}
+
+		/**
+		 * Copy the provided source range into the destination buffer as is.
+		 *
+		 * @param start		range start index, inclusive
+		 * @param end		range end index, exclusive
+		 */
+		private void copy(int start, int end) {
+			int length = end - start;
+			if (length <= 0) {
+				return;
+			}
+
+			if (this.src.hasArray()) {
+				this.dst.put(this.src.array(), this.src.arrayOffset() + start, length);
+				return;
+			}
+
+			if (this.dst.remaining() < length) {
+				throw new BufferOverflowException();
+			}
+
+			// copied w/ absolute reads, a duplicate view would be allocated per run
+			for (int i = start; i < end; i++) {
+				this.dst.put(this.src.get(i));
+			}
+		}
+
+		/**
+		 * Encode the provided code point into the destination buffer.
+		 *
+		 * @param cp	code point to encode
+		 */
+		private void encode(int cp) {
+			if (cp < 0x80) {
+				this.dst.put((byte) cp);
+			} else if (cp < 0x800) {
+				this.dst.put((byte) (0xC0 | (cp >>> 6)));
+				this.dst.put((byte) (0x80 | (cp & 0x3F)));
+			} else if (cp < 0x10000) {
+				this.dst.put((byte) (0xE0 | (cp >>> 12)));
+				this.dst.put((byte) (0x80 | ((cp >>> 6) & 0x3F)));
+				this.dst.put((byte) (0x80 | (cp & 0x3F)));
+			} else {
+				this.dst.put((byte) (0xF0 | (cp >>> 18)));
+				this.dst.put((byte) (0x80 | ((cp >>> 12) & 0x3F)));
+				this.dst.put((byte) (0x80 | ((cp >>> 6) & 0x3F)));
+				this.dst.put((byte) (0x80 | (cp & 0x3F)));
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void append(char c) {
+			if (this.highSurrogate != 0) {
+				char high = this.highSurrogate;
+				this.highSurrogate = 0;
+
+				if (Character.isLowSurrogate(c)) {
+					this.encode(Character.toCodePoint(high, c));
+					return;
+				}
+
+				this.encode(high);
+			}
+
+			if (Character.isHighSurrogate(c)) {
+				this.highSurrogate = c;
+				return;
+			}
+
+			this.encode(c);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void append(String s) {
+			for (int i = 0; i < s.length(); i++) {
+				this.append(s.charAt(i));
+			}
+		}
+	}
+
+	/**
+	 * Get a UTF-8 sequence length by its leading byte.
+	 *
+	 * @param b		leading byte
+	 * @return		sequence length or {@code 1} if the byte cannot lead a sequence
+	 */
+	private static int getSequenceLength(byte b) {
+		if (b >= 0) {
+			return 1;
+		}
+
+		if ((b & 0xE0) == 0xC0) {
+			return 2;
+		}
+
+		if ((b & 0xF0) == 0xE0) {
+			return 3;
+		}
+
+		if ((b & 0xF8) == 0xF0) {
+			return 4;
+		}
+
+		return 1;
+	}
+
+	/**
+	 * Check whether the provided ASCII byte is a word character.
+	 *
+	 * @param b		ASCII byte to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isWordByte(byte b) {
+		return b == '_' || isLetterOrDigitByte(b);
+	}
+
+	/**
+	 * Check whether the provided ASCII byte is a letter or digit.
+	 *
+	 * @param b		ASCII byte to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isLetterOrDigitByte(byte b) {
+		return (b >= '0' && b <= '9') || (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+	}
+
+	private IuliiaUtf8() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,563 @@
+package io.github.anominy.uwiuliia;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.StartDocument;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A streaming XML transliterator.
+ *
+ * <p>Copies an XML document event by event using the StAX API,
+ * transliterating its character data and, optionally, the selected attribute values,
+ * while tags, comments, processing instructions and entity references are passed through.
+ * Memory use does not depend on the document size,
+ * only the last, possibly incomplete, word of the current text node is held.
+ *
+ * <p>Each text node is transliterated the same way as {@link Iuliia} transliterates it as a whole,
+ * even if the parser reports it in multiple character events.
+ * CDATA sections are transliterated as separate text nodes,
+ * the text of the skipped elements, e.g. {@code script} and {@code style}, is left intact.
+ *
+ * <p>Only the text nodes, along w/ the selected attribute values, are preserved character by character
+ * apart from their transliteration, the rest of the markup is written anew,
+ * so that the XML declaration, attribute quoting, empty-element tags
+ * and whitespace inside tags or outside the root element may change, while the document stays equivalent.
+ *
+ * <p>A document type declaration is passed through, but not processed,
+ * so that neither external nor internal entities are ever expanded,
+ * the entity references in character data are passed through as is,
+ * while the ones in attribute values are rejected as undeclared.
+ *
+ * <p>HTML documents must be well-formed, i.e. XHTML.
+ * Instances are immutable and can be shared freely across threads.
+ */
+@SuppressWarnings("unused")
+public final class IuliiaXmlTransliterator {
+
+	/**
+	 * A JDK StAX property to report CDATA sections as separate events.
+	 */
+	private static final String REPORT_CDATA_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+	/**
+	 * A default output encoding.
+	 */
+	private static final String DEFAULT_ENCODING = StandardCharsets.UTF_8.name();
+
+	/**
+	 * A transliterator.
+	 */
+	private final IuliiaTransliterator transliterator;
+
+	/**
+	 * A set of local names of the attributes to transliterate.
+	 */
+	private final Set<String> attributeNames;
+
+	/**
+	 * A set of local names of the elements whose content is left intact.
+	 */
+	private final Set<String> skippedElementNames;
+
+	/**
+	 * A StAX input factory.
+	 */
+	private final XMLInputFactory inputFactory;
+
+	/**
+	 * A StAX output factory.
+	 */
+	private final XMLOutputFactory outputFactory;
+
+	/**
+	 * A StAX event factory.
+	 */
+	private final XMLEventFactory eventFactory;
+
+	/**
+	 * Initialize an {@link IuliiaXmlTransliterator} instance.
+	 *
+	 * @param transliterator		transliterator
+	 * @param attributeNames		local names of the attributes to transliterate
+	 * @param skippedElementNames	local names of the elements whose content is left intact
+	 */
+	private IuliiaXmlTransliterator(IuliiaTransliterator transliterator, Set<String> attributeNames, Set<String> skippedElementNames) {
+		this.transliterator = transliterator;
+		this.attributeNames = attributeNames;
+		this.skippedElementNames = skippedElementNames;
+
+		this.inputFactory = XMLInputFactory.newInstance();
+		this.inputFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+		this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+
+		if (this.inputFactory.isPropertySupported(REPORT_CDATA_PROPERTY)) {
+			this.inputFactory.setProperty(REPORT_CDATA_PROPERTY, true);
+		}
+
+		this.outputFactory = XMLOutputFactory.newInstance();
+		this.eventFactory = XMLEventFactory.newInstance();
+	}
+
+	/**
+	 * Get this transliterator.
+	 *
+	 * @return	transliterator
+	 */
+	public IuliiaTransliterator getTransliterator() {
+		return this.transliterator;
+	}
+
+	/**
+	 * Get this set of local names of the attributes to transliterate.
+	 *
+	 * @return	unmodifiable set of attribute local names
+	 */
+	public Set<String> getAttributeNames() {
+		return this.attributeNames;
+	}
+
+	/**
+	 * Get this set of local names of the elements whose content is left intact.
+	 *
+	 * @return	unmodifiable set of element local names
+	 */
+	public Set<String> getSkippedElementNames() {
+		return this.skippedElementNames;
+	}
+
+	/**
+	 * Transliterate an XML document from the provided input stream into the provided output stream.
+	 *
+	 * <p>The input encoding is detected by the parser,
+	 * the output is written in the encoding declared by the document, or in UTF-8 if none.
+	 * Neither stream is closed.
+	 *
+	 * @param in	input stream to read the document from
+	 * @param out	output stream to write the transliterated document to
+	 *
+	 * @throws XMLStreamException	if the document is malformed or cannot be read or written
+	 */
+	public void transliterate(InputStream in, OutputStream out) throws XMLStreamException {
+		XMLEventReader reader = this.inputFactory.createXMLEventReader(in);
+
+		try {
+			String encoding = null;
+
+			if (reader.hasNext()) {
+				XMLEvent event = reader.peek();
+
+				if (event.isStartDocument() && ((StartDocument) event).encodingSet()) {
+					encoding = ((StartDocument) event).getCharacterEncodingScheme();
+				}
+			}
+
+			XMLEventWriter writer = this.outputFactory.createXMLEventWriter(out, encoding != null ? encoding : DEFAULT_ENCODING);
+
+			try {
+				this.transliterate(reader, writer);
+			} finally {
+				writer.close();
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Transliterate an XML document from the provided reader into the provided writer.
+	 *
+	 * <p>Neither stream is closed.
+	 *
+	 * @param in	reader to read the document from
+	 * @param out	writer to write the transliterated document to
+	 *
+	 * @throws XMLStreamException	if the document is malformed or cannot be read or written
+	 */
+	public void transliterate(Reader in, Writer out) throws XMLStreamException {
+		XMLEventReader reader = this.inputFactory.createXMLEventReader(in);
+
+		try {
+			XMLEventWriter writer = this.outputFactory.createXMLEventWriter(out);
+
+			try {
+				this.transliterate(reader, writer);
+			} finally {
+				writer.close();
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Transliterate XML events from the provided event reader into the provided event writer.
+	 *
+	 * <p>The writer is flushed, but neither the reader nor the writer is closed.
+	 *
+	 * @param reader	event reader to read from
+	 * @param writer	event writer to write to
+	 *
+	 * @throws XMLStreamException	if the events cannot be read or written
+	 */
+	public void transliterate(XMLEventReader reader, XMLEventWriter writer) throws XMLStreamException {
+		IuliiaTextBuffer text = new IuliiaTextBuffer(this.transliterator.getTable());
+		StringBuilder sb = new StringBuilder();
+
+		boolean cdata = false;
+		int skippedDepth = 0;
+
+		while (reader.hasNext()) {
+			XMLEvent event = reader.nextEvent();
+			int type = event.getEventType();
+
+			if (skippedDepth == 0 && (type == XMLStreamConstants.CHARACTERS
+					|| type == XMLStreamConstants.SPACE
+					|| type == XMLStreamConstants.CDATA)) {
+				Characters characters = event.asCharacters();
+
+				// a CDATA section and the adjacent text are separate text nodes
+				if (characters.isCData() != cdata) {
+					this.flush(text, sb, cdata, writer);
+					cdata = characters.isCData();
+				}
+
+				text.add(characters.getData());
+				text.transliterate(sb, false);
+
+				this.write(sb, cdata, writer);
+				continue;
+			}
+
+			this.flush(text, sb, cdata, writer);
+
+			if (type == XMLStreamConstants.START_ELEMENT) {
+				StartElement element = event.asStartElement();
+
+				if (skippedDepth > 0 || this.skippedElementNames.contains(element.getName().getLocalPart())) {
+					skippedDepth++;
+				}
+
+				event = this.transliterateAttributes(element);
+			} else if (type == XMLStreamConstants.END_ELEMENT && skippedDepth > 0) {
+				skippedDepth--;
+			}
+
+			writer.add(event);
+		}
+
+		this.flush(text, sb, cdata, writer);
+
+		writer.flush();
+	}
+
+	/**
+	 * Transliterate the selected attribute values of the provided start element.
+	 *
+	 * @param element	start element
+	 * @return			start element w/ the transliterated attribute values,
+	 * 					the provided one if none selected
+	 */
+	private StartElement transliterateAttributes(StartElement element) {
+		if (this.attributeNames.isEmpty()) {
+			return element;
+		}
+
+		List<Attribute> attributes = null;
+
+		for (Iterator<?> it = element.getAttributes(); it.hasNext(); ) {
+			Attribute attribute = (Attribute) it.next();
+
+			if (attributes == null && this.attributeNames.contains(attribute.getName().getLocalPart())) {
+				attributes = new ArrayList<>();
+
+				for (Iterator<?> copy = element.getAttributes(); copy.hasNext(); ) {
+					attributes.add(this.transliterateAttribute((Attribute) copy.next()));
+				}
+			}
+		}
+
+		if (attributes == null) {
+			return element;
+		}
+
+		QName name = element.getName();
+
+		return this.eventFactory.createStartElement(
+				name.getPrefix(),
+				name.getNamespaceURI(),
+				name.getLocalPart(),
+				attributes.iterator(),
+				element.getNamespaces(),
+				element.getNamespaceContext()
+		);
+	}
+
+	/**
+	 * Transliterate the provided attribute value if selected.
+	 *
+	 * @param attribute		attribute
+	 * @return				attribute w/ the transliterated value, the provided one if not selected
+	 */
+	private Attribute transliterateAttribute(Attribute attribute) {
+		QName name = attribute.getName();
+
+		if (!this.attributeNames.contains(name.getLocalPart())) {
+			return attribute;
+		}
+
+		return this.eventFactory.createAttribute(name, this.transliterator.transliterate(attribute.getValue()));
+	}
+
+	/**
+	 * Transliterate the rest of the current text node and write it.
+	 *
+	 * @param text		pending text buffer
+	 * @param sb		transliterated text buffer
+	 * @param cdata		whether the text node is a CDATA section
+	 * @param writer	event writer to write to
+	 *
+	 * @throws XMLStreamException	if the text cannot be written
+	 */
+	private void flush(IuliiaTextBuffer text, StringBuilder sb, boolean cdata, XMLEventWriter writer) throws XMLStreamException {
+		if (!text.hasPendingText()) {
+			return;
+		}
+
+		text.transliterate(sb, true);
+
+		this.write(sb, cdata, writer);
+	}
+
+	/**
+	 * Write the transliterated text, if any, and clear its buffer.
+	 *
+	 * @param sb		transliterated text buffer
+	 * @param cdata		whether the text node is a CDATA section
+	 * @param writer	event writer to write to
+	 *
+	 * @throws XMLStreamException	if the text cannot be written
+	 */
+	private void write(StringBuilder sb, boolean cdata, XMLEventWriter writer) throws XMLStreamException {
+		if (sb.length() == 0) {
+			return;
+		}
+
+		String data = sb.toString();
+		sb.setLength(0);
+
+		writer.add(cdata
+				? this.eventFactory.createCData(data)
+				: this.eventFactory.createCharacters(data));
+	}
+
+	/**
+	 * Create a new XML transliterator builder.
+	 *
+	 * @param transliterator	transliterator to transliterate w/
+	 * @return					XML transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided transliterator is {@code null}
+	 * 										or has a custom word separator
+	 */
+	public static Builder builder(IuliiaTransliterator transliterator) {
+		if (transliterator == null) {
+			throw new IllegalArgumentException("Transliterator mustn't be <null>");
+		}
+
+		if (transliterator.getSeparator() != null) {
+			throw new IllegalArgumentException("Transliterator mustn't have a custom word separator");
+		}
+
+		return new Builder(transliterator);
+	}
+
+	/**
+	 * Create a new XML transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaTransliterator)}
+	 * w/ {@link IuliiaTransliterator#of(IuliiaSchema)} as the transliterator.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			XML transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static Builder builder(IuliiaSchema schema) {
+		return builder(IuliiaTransliterator.of(schema));
+	}
+
+	/**
+	 * Create a new XML transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaTransliterator)}
+	 * w/ {@link IuliiaTransliterator#of(String)} as the transliterator.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				XML transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static Builder builder(String schemaPath) {
+		return builder(IuliiaTransliterator.of(schemaPath));
+	}
+
+	/**
+	 * Create a new XML transliterator builder.
+	 *
+	 * <p>Wraps {@link #builder(IuliiaTransliterator)}
+	 * w/ {@link IuliiaTransliterator#of(EIuliiaSchema)} as the transliterator.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				XML transliterator builder
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static Builder builder(EIuliiaSchema schemaType) {
+		return builder(IuliiaTransliterator.of(schemaType));
+	}
+
+	/**
+	 * Create a new XML transliterator w/ the default options,
+	 * i.e. transliterating character data only.
+	 *
+	 * @param schema	transliteration schema
+	 * @return			XML transliterator
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema is {@code null}
+	 */
+	public static IuliiaXmlTransliterator of(IuliiaSchema schema) {
+		return builder(schema).build();
+	}
+
+	/**
+	 * Create a new XML transliterator w/ the default options.
+	 *
+	 * <p>Wraps {@link #of(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromFilePath(String)} as the transliteration schema.
+	 *
+	 * @param schemaPath	path to the transliteration schema file
+	 * @return				XML transliterator
+	 *
+	 * @throws IllegalArgumentException		if the mapping-schema cannot be found
+	 */
+	public static IuliiaXmlTransliterator of(String schemaPath) {
+		return of(IuliiaSchema.fromFilePath(schemaPath));
+	}
+
+	/**
+	 * Create a new XML transliterator w/ the default options.
+	 *
+	 * <p>Wraps {@link #of(IuliiaSchema)}
+	 * w/ {@link IuliiaSchema#fromEnumType(EIuliiaSchema)} as the transliteration schema.
+	 *
+	 * @param schemaType	transliteration schema enum type
+	 * @return				XML transliterator
+	 *
+	 * @throws IllegalArgumentException		if the provided mapping-schema type is {@code null}
+	 */
+	public static IuliiaXmlTransliterator of(EIuliiaSchema schemaType) {
+		return of(IuliiaSchema.fromEnumType(schemaType));
+	}
+
+	/**
+	 * An XML transliterator builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A transliterator.
+		 */
+		private final IuliiaTransliterator transliterator;
+
+		/**
+		 * A set of local names of the attributes to transliterate.
+		 */
+		private final Set<String> attributeNames;
+
+		/**
+		 * A set of local names of the elements whose content is left intact.
+		 */
+		private final Set<String> skippedElementNames;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 *
+		 * @param transliterator	transliterator
+		 */
+		private Builder(IuliiaTransliterator transliterator) {
+			this.transliterator = transliterator;
+			this.attributeNames = new HashSet<>();
+			this.skippedElementNames = new HashSet<>();
+		}
+
+		/**
+		 * Add an attribute to transliterate the value of.
+		 *
+		 * @param localName		attribute local name, e.g. {@code title} or {@code alt}
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the local name is {@code null}
+		 */
+		public Builder addAttribute(String localName) {
+			if (localName == null) {
+				throw new IllegalArgumentException("Attribute name mustn't be <null>");
+			}
+
+			this.attributeNames.add(localName);
+			return this;
+		}
+
+		/**
+		 * Add an element to leave the content of intact.
+		 *
+		 * @param localName		element local name, e.g. {@code script} or {@code style}
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the local name is {@code null}
+		 */
+		public Builder addSkippedElement(String localName) {
+			if (localName == null) {
+				throw new IllegalArgumentException("Element name mustn't be <null>");
+			}
+
+			this.skippedElementNames.add(localName);
+			return this;
+		}
+
+		/**
+		 * Build a new XML transliterator.
+		 *
+		 * @return	XML transliterator
+		 */
+		public IuliiaXmlTransliterator build() {
+			return new IuliiaXmlTransliterator(
+					this.transliterator,
+					Collections.unmodifiableSet(new HashSet<>(this.attributeNames)),
+					Collections.unmodifiableSet(new HashSet<>(this.skippedElementNames))
+			);
+		}
+	}
+}
@@ -20,9 +20,9 @@ final class NextLetterMapJsonDeserializer extends AbstractLetterMapJsonDeseriali
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected void extendLetterMap(Map<String, String> map) {
+	protected void extendLetterMap(Map<String, String> rules, Map<String, String> map) {
 		//noinspection DuplicatedCode
-		for (Map.Entry<String, String> entry : map.entrySet()) {
+		for (Map.Entry<String, String> entry : rules.entrySet()) {
 			String key = entry.getKey();
 			String val = entry.getValue();
 
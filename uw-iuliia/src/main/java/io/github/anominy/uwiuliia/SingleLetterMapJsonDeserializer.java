@@ -20,8 +20,8 @@ final class SingleLetterMapJsonDeserializer extends AbstractLetterMapJsonDeseria
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected void extendLetterMap(Map<String, String> map) {
-		for (Map.Entry<String, String> entry : map.entrySet()) {
+	protected void extendLetterMap(Map<String, String> rules, Map<String, String> map) {
+		for (Map.Entry<String, String> entry : rules.entrySet()) {
 			String key = entry.getKey();
 			String val = entry.getValue();
 
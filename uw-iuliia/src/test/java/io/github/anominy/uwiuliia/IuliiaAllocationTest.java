@@ -0,0 +1,127 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Per-call allocation tests of the caller-supplied buffer transliteration paths.
+ *
+ * <p>Measures the bytes allocated by the calling thread once the paths are warmed up,
+ * so that any garbage introduced into them fails the build.
+ */
+class IuliiaAllocationTest {
+
+	/**
+	 * A sample text.
+	 */
+	private static final String SAMPLE_TEXT = "Юлия, съешь же ещё этих мягких французских булок из Йошкар-Олы, да выпей алтайского чаю. "
+			+ "ЩУКА и ЁЖИК в Подъячевском.";
+
+	/**
+	 * A number of the warmup calls.
+	 */
+	private static final int WARMUP_CALLS = 20_000;
+
+	/**
+	 * A number of the measured calls.
+	 */
+	private static final int MEASURED_CALLS = 100_000;
+
+	/**
+	 * A transliterator under test.
+	 */
+	private final IuliiaTransliterator transliterator = IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA);
+
+	@Test
+	void transliterateIntoStringBuilderAllocatesNothing() {
+		StringBuilder sb = new StringBuilder(SAMPLE_TEXT.length() * 4);
+
+		long bytes = getAllocatedBytesPerCall(() -> {
+			sb.setLength(0);
+			this.transliterator.transliterate(SAMPLE_TEXT, sb);
+		});
+
+		assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), sb.toString());
+		assertEquals(0, bytes, "bytes allocated per call");
+	}
+
+	@Test
+	void transliterateIntoCharBufferAllocatesNothing() {
+		CharBuffer buffer = CharBuffer.allocate(SAMPLE_TEXT.length() * 4);
+
+		long bytes = getAllocatedBytesPerCall(() -> {
+			((Buffer) buffer).clear();
+			this.transliterator.transliterate(SAMPLE_TEXT, buffer);
+		});
+
+		((Buffer) buffer).flip();
+
+		assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), buffer.toString());
+		assertEquals(0, bytes, "bytes allocated per call");
+	}
+
+	@Test
+	void transliterateUtf8AllocatesNothing() {
+		IuliiaSchema schema = this.transliterator.getSchema();
+		byte[] bytes = SAMPLE_TEXT.getBytes(StandardCharsets.UTF_8);
+
+		ByteBuffer src = ByteBuffer.allocateDirect(bytes.length);
+		src.put(bytes);
+
+		ByteBuffer dst = ByteBuffer.allocateDirect(IuliiaUtf8.getMaxLength(bytes.length, schema));
+
+		long allocated = getAllocatedBytesPerCall(() -> {
+			((Buffer) src).clear();
+			((Buffer) dst).clear();
+			IuliiaUtf8.transliterate(src, dst, schema);
+		});
+
+		((Buffer) dst).flip();
+
+		byte[] result = new byte[dst.remaining()];
+		dst.get(result);
+
+		assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), new String(result, StandardCharsets.UTF_8));
+		assertEquals(0, allocated, "bytes allocated per call");
+	}
+
+	/**
+	 * Measure the bytes allocated by the calling thread per call of the provided path.
+	 *
+	 * @param call	path to call
+	 * @return		bytes allocated per call, rounded down
+	 */
+	private static long getAllocatedBytesPerCall(Runnable call) {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Thread allocation measurement is not supported");
+
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Thread allocation measurement is not supported");
+
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		for (int i = 0; i < WARMUP_CALLS; i++) {
+			call.run();
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+
+		for (int i = 0; i < MEASURED_CALLS; i++) {
+			call.run();
+		}
+
+		long after = threadBean.getThreadAllocatedBytes(threadId);
+
+		return (after - before) / MEASURED_CALLS;
+	}
+}
@@ -0,0 +1,491 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaAutocompleteIndex}.
+ */
+class IuliiaAutocompleteIndexTest {
+
+	/**
+	 * Indexed mapping-schema types.
+	 */
+	private static final EIuliiaSchema[] SCHEMA_TYPES = {
+			EIuliiaSchema.WIKIPEDIA,
+			EIuliiaSchema.MOSMETRO,
+			EIuliiaSchema.ICAO_DOC_9303,
+			EIuliiaSchema.GOST_779
+	};
+
+	/**
+	 * Letters random entries are made of.
+	 */
+	private static final String LETTERS = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+
+	/**
+	 * Looked up entry limits.
+	 */
+	private static final int[] LIMITS = {1, 3, 10, 100, Integer.MAX_VALUE};
+
+	@Test
+	void matchesBruteForceScanOfDistinctWeights() {
+		Random random = new Random(20240601);
+		List<String> entries = randomEntries(random, 1500);
+		int[] weights = shuffledWeights(random, entries.size());
+
+		IuliiaAutocompleteIndex index = build(entries, weights, true);
+		BruteForce scan = new BruteForce(entries, weights, true);
+
+		for (String prefix : prefixes(random, scan)) {
+			for (int limit : LIMITS) {
+				int[] expected = scan.search(prefix, limit);
+
+				assertArrayEquals(expected, index.searchIndexes(prefix, limit), prefix + " / " + limit);
+				assertEquals(toEntries(entries, expected), index.search(prefix, limit), prefix + " / " + limit);
+			}
+		}
+	}
+
+	@Test
+	void matchesBruteForceScanOfTiedWeights() {
+		Random random = new Random(20240602);
+		List<String> entries = randomEntries(random, 1000);
+
+		int[] weights = new int[entries.size()];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = random.nextInt(4);
+		}
+
+		IuliiaAutocompleteIndex index = build(entries, weights, true);
+		BruteForce scan = new BruteForce(entries, weights, true);
+
+		for (String prefix : prefixes(random, scan)) {
+			for (int limit : LIMITS) {
+				int[] expected = scan.search(prefix, limit);
+				int[] actual = index.searchIndexes(prefix, limit);
+
+				assertEquals(expected.length, actual.length, prefix + " / " + limit);
+
+				Set<Integer> seen = new HashSet<>();
+				for (int i = 0; i < actual.length; i++) {
+					assertTrue(seen.add(actual[i]), prefix + " / " + limit);
+					assertTrue(scan.matches(actual[i], prefix), prefix + " / " + limit);
+					assertEquals(weights[expected[i]], weights[actual[i]], prefix + " / " + limit);
+				}
+			}
+		}
+	}
+
+	@Test
+	void looksUpLowerCaseOnlyIfEnabled() {
+		List<String> entries = Arrays.asList("Москва", "москва-сити", "МОЖАЙСК");
+		int[] weights = {3, 2, 1};
+
+		IuliiaAutocompleteIndex lowerCase = build(entries, weights, true);
+		IuliiaAutocompleteIndex asIs = build(entries, weights, false);
+
+		assertTrue(lowerCase.isLowerCase());
+		assertFalse(asIs.isLowerCase());
+
+		assertEquals(Arrays.asList("Москва", "москва-сити", "МОЖАЙСК"), lowerCase.search("MO", 10));
+		assertEquals(Arrays.asList("Москва", "москва-сити", "МОЖАЙСК"), lowerCase.search("mo", 10));
+		assertEquals(Collections.singletonList("Москва"), asIs.search("Mo", 10));
+		assertEquals(Collections.singletonList("москва-сити"), asIs.search("mo", 10));
+		assertEquals(Collections.singletonList("МОЖАЙСК"), asIs.search("MO", 10));
+
+		Random random = new Random(20240603);
+		List<String> mixed = new ArrayList<>();
+		for (String entry : randomEntries(random, 500)) {
+			mixed.add(random.nextBoolean() ? entry : entry.toUpperCase());
+		}
+
+		int[] mixedWeights = shuffledWeights(random, mixed.size());
+
+		IuliiaAutocompleteIndex index = build(mixed, mixedWeights, false);
+		BruteForce scan = new BruteForce(mixed, mixedWeights, false);
+
+		for (String prefix : prefixes(random, scan)) {
+			assertArrayEquals(scan.search(prefix, 10), index.searchIndexes(prefix, 10), prefix);
+		}
+	}
+
+	@Test
+	void deduplicatesVariants() {
+		IuliiaAutocompleteIndex index = IuliiaAutocompleteIndex.builder()
+				.addSchema(EIuliiaSchema.WIKIPEDIA)
+				.addSchema(EIuliiaSchema.ICAO_DOC_9303)
+				.addSchema(EIuliiaSchema.GOST_779)
+				.add("Москва", 1)
+				.add("Щука", 2)
+				.build();
+
+		assertEquals(2, index.getEntryCount());
+		assertEquals(3, index.getVariantCount());
+		assertEquals(3, index.getSchemaNames().size());
+
+		assertEquals(Collections.singletonList("Москва"), index.search("mosk", 10));
+		assertEquals(Collections.singletonList("Щука"), index.search("shch", 10));
+		assertEquals(Collections.singletonList("Щука"), index.search("ŝ", 10));
+		assertEquals(Arrays.asList("Щука", "Москва"), index.search("", 10));
+	}
+
+	@Test
+	void keepsDuplicateEntries() {
+		IuliiaAutocompleteIndex index = IuliiaAutocompleteIndex.builder()
+				.addSchema(EIuliiaSchema.WIKIPEDIA)
+				.add("Москва", 1)
+				.add("Мурманск", 3)
+				.add("Москва", 5)
+				.build();
+
+		assertEquals(3, index.getEntryCount());
+		assertEquals(1, index.getWeight(0));
+		assertEquals(5, index.getWeight(2));
+
+		assertArrayEquals(new int[] {2, 0}, index.searchIndexes("mosk", 10));
+		assertArrayEquals(new int[] {2, 1, 0}, index.searchIndexes("m", 10));
+		assertArrayEquals(new int[] {2}, index.searchIndexes("m", 1));
+		assertArrayEquals(new int[0], index.searchIndexes("m", 0));
+		assertArrayEquals(new int[0], index.searchIndexes("x", 10));
+	}
+
+	@Test
+	void roundTripsThroughStream() throws IOException {
+		Random random = new Random(20240604);
+		List<String> entries = randomEntries(random, 800);
+		int[] weights = shuffledWeights(random, entries.size());
+
+		IuliiaAutocompleteIndex index = build(entries, weights, true);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.writeTo(out);
+
+		IuliiaAutocompleteIndex copy = IuliiaAutocompleteIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+		assertSameIndex(index, copy, new BruteForce(entries, weights, true), random);
+	}
+
+	@Test
+	void roundTripsThroughFile() throws IOException {
+		Random random = new Random(20240605);
+		List<String> entries = randomEntries(random, 300);
+		int[] weights = shuffledWeights(random, entries.size());
+
+		IuliiaAutocompleteIndex index = build(entries, weights, false);
+
+		Path path = Files.createTempFile("iuliia-autocomplete", ".idx");
+		try {
+			index.writeTo(path);
+
+			IuliiaAutocompleteIndex copy = IuliiaAutocompleteIndex.readFrom(path);
+
+			assertSameIndex(index, copy, new BruteForce(entries, weights, false), random);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	/**
+	 * Assert that the provided indexes hold the same entries and look them up the same way.
+	 *
+	 * @param expected	original index
+	 * @param actual	index read back
+	 * @param scan		brute-force scan to take the prefixes from
+	 * @param random	random to take the prefixes w/
+	 */
+	private static void assertSameIndex(IuliiaAutocompleteIndex expected, IuliiaAutocompleteIndex actual, BruteForce scan, Random random) {
+		assertEquals(expected.isLowerCase(), actual.isLowerCase());
+		assertEquals(expected.getSchemaNames(), actual.getSchemaNames());
+		assertEquals(expected.getEntryCount(), actual.getEntryCount());
+		assertEquals(expected.getVariantCount(), actual.getVariantCount());
+
+		for (int i = 0; i < expected.getEntryCount(); i++) {
+			assertEquals(expected.getEntry(i), actual.getEntry(i));
+			assertEquals(expected.getWeight(i), actual.getWeight(i));
+		}
+
+		for (String prefix : prefixes(random, scan)) {
+			for (int limit : LIMITS) {
+				assertArrayEquals(expected.searchIndexes(prefix, limit), actual.searchIndexes(prefix, limit), prefix + " / " + limit);
+			}
+		}
+	}
+
+	/**
+	 * Build an index of the provided entries under all the mapping-schemas.
+	 *
+	 * @param entries		entries to index
+	 * @param weights		entry weights
+	 * @param lowerCase		whether to index in lower case
+	 * @return				index
+	 */
+	private static IuliiaAutocompleteIndex build(List<String> entries, int[] weights, boolean lowerCase) {
+		IuliiaAutocompleteIndex.Builder builder = IuliiaAutocompleteIndex.builder()
+				.setLowerCase(lowerCase);
+
+		for (EIuliiaSchema type : SCHEMA_TYPES) {
+			builder.addSchema(type);
+		}
+
+		for (int i = 0; i < entries.size(); i++) {
+			builder.add(entries.get(i), weights[i]);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Generate random entries of one to three words.
+	 *
+	 * @param random	random to generate w/
+	 * @param count		entry count
+	 * @return			entries
+	 */
+	private static List<String> randomEntries(Random random, int count) {
+		List<String> entries = new ArrayList<>(count);
+		StringBuilder sb = new StringBuilder();
+
+		for (int i = 0; i < count; i++) {
+			sb.setLength(0);
+
+			for (int words = 1 + random.nextInt(3); words > 0; words--) {
+				if (sb.length() > 0) {
+					sb.append(' ');
+				}
+
+				sb.append(Character.toUpperCase(LETTERS.charAt(random.nextInt(LETTERS.length()))));
+
+				for (int letters = 1 + random.nextInt(7); letters > 0; letters--) {
+					sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+				}
+			}
+
+			entries.add(sb.toString());
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Generate distinct shuffled weights.
+	 *
+	 * @param random	random to shuffle w/
+	 * @param count		weight count
+	 * @return			weights
+	 */
+	private static int[] shuffledWeights(Random random, int count) {
+		List<Integer> list = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			list.add(i * 7 - count);
+		}
+
+		Collections.shuffle(list, random);
+
+		int[] weights = new int[count];
+		for (int i = 0; i < count; i++) {
+			weights[i] = list.get(i);
+		}
+
+		return weights;
+	}
+
+	/**
+	 * Pick the prefixes of some indexed variants, along w/ the empty and unmatched ones.
+	 *
+	 * @param random	random to pick w/
+	 * @param scan		brute-force scan to take the variants from
+	 * @return			prefixes
+	 */
+	private static List<String> prefixes(Random random, BruteForce scan) {
+		List<String> prefixes = new ArrayList<>();
+		prefixes.add("");
+		prefixes.add("zzzz");
+		prefixes.add("щ");
+
+		for (int i = 0; i < 60; i++) {
+			String variant = scan.variants.get(random.nextInt(scan.variants.size()));
+			prefixes.add(variant.substring(0, random.nextInt(Math.min(variant.length(), 6) + 1)));
+		}
+
+		return prefixes;
+	}
+
+	/**
+	 * Get the entries at the provided indexes.
+	 *
+	 * @param entries	all the entries
+	 * @param indexes	entry indexes
+	 * @return			entries
+	 */
+	private static List<String> toEntries(List<String> entries, int[] indexes) {
+		List<String> list = new ArrayList<>(indexes.length);
+
+		for (int index : indexes) {
+			list.add(entries.get(index));
+		}
+
+		return list;
+	}
+
+	/**
+	 * A brute-force prefix scan over all the entry transliterations.
+	 */
+	private static final class BruteForce {
+
+		/**
+		 * Entry weights.
+		 */
+		private final int[] weights;
+
+		/**
+		 * Whether entries are looked up in lower case.
+		 */
+		private final boolean lowerCase;
+
+		/**
+		 * Transliterations of every entry under all the mapping-schemas.
+		 */
+		private final List<List<String>> entryVariants;
+
+		/**
+		 * All the transliterations.
+		 */
+		private final List<String> variants;
+
+		/**
+		 * Initialize a {@link BruteForce} instance.
+		 *
+		 * @param entries		entries to scan
+		 * @param weights		entry weights
+		 * @param lowerCase		whether to look up in lower case
+		 */
+		private BruteForce(List<String> entries, int[] weights, boolean lowerCase) {
+			this.weights = weights;
+			this.lowerCase = lowerCase;
+			this.entryVariants = new ArrayList<>(entries.size());
+			this.variants = new ArrayList<>();
+
+			for (String entry : entries) {
+				List<String> list = new ArrayList<>();
+
+				for (EIuliiaSchema type : SCHEMA_TYPES) {
+					String variant = Iuliia.transliterate(entry, type);
+
+					if (lowerCase) {
+						variant = toLowerCase(variant);
+					}
+
+					list.add(variant);
+				}
+
+				this.entryVariants.add(list);
+				this.variants.addAll(list);
+			}
+		}
+
+		/**
+		 * Check whether any transliteration of the provided entry starts w/ the provided prefix.
+		 *
+		 * @param entry		entry index
+		 * @param prefix	prefix to look up
+		 * @return			boolean value as a result
+		 */
+		private boolean matches(int entry, String prefix) {
+			return this.firstMatch(entry, this.lowerCase ? toLowerCase(prefix) : prefix) != null;
+		}
+
+		/**
+		 * Look up the entries w/ any transliteration starting w/ the provided prefix.
+		 *
+		 * @param prefix	prefix to look up
+		 * @param limit		maximum entry count
+		 * @return			entry indexes, by decreasing weight, first matching variant and index
+		 */
+		private int[] search(String prefix, int limit) {
+			String key = this.lowerCase ? toLowerCase(prefix) : prefix;
+			List<Integer> matches = new ArrayList<>();
+
+			for (int i = 0; i < this.entryVariants.size(); i++) {
+				if (this.firstMatch(i, key) != null) {
+					matches.add(i);
+				}
+			}
+
+			matches.sort((a, b) -> {
+				if (this.weights[a] != this.weights[b]) {
+					return this.weights[a] > this.weights[b] ? -1 : 1;
+				}
+
+				int result = this.firstMatch(a, key).compareTo(this.firstMatch(b, key));
+				if (result != 0) {
+					return result;
+				}
+
+				return Integer.compare(a, b);
+			});
+
+			int count = Math.min(limit, matches.size());
+			int[] result = new int[count];
+
+			for (int i = 0; i < count; i++) {
+				result[i] = matches.get(i);
+			}
+
+			return result;
+		}
+
+		/**
+		 * Get the lexicographically first transliteration of the provided entry
+		 * starting w/ the provided prefix or return {@code null}.
+		 *
+		 * @param entry		entry index
+		 * @param key		prefix to look up
+		 * @return			first matching transliteration or {@code null}
+		 */
+		private String firstMatch(int entry, String key) {
+			String first = null;
+
+			for (String variant : this.entryVariants.get(entry)) {
+				if (variant.startsWith(key) && (first == null || variant.compareTo(first) < 0)) {
+					first = variant;
+				}
+			}
+
+			return first;
+		}
+
+		/**
+		 * Convert text to lower case, character by character.
+		 *
+		 * @param text	text to convert
+		 * @return		lower case text
+		 */
+		private static String toLowerCase(String text) {
+			char[] chars = text.toCharArray();
+
+			for (int i = 0; i < chars.length; i++) {
+				chars[i] = Character.toLowerCase(chars[i]);
+			}
+
+			return new String(chars);
+		}
+	}
+}
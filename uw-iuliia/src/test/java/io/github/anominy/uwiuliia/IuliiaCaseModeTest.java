@@ -0,0 +1,75 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of the {@link EIuliiaCaseMode#FOLD} letter case handling mode.
+ */
+class IuliiaCaseModeTest {
+
+	/**
+	 * A sample text array w/o whole upper case words.
+	 */
+	private static final String[] SAMPLE_TEXTS = {
+			"Юлия Щеглова",
+			"съешь же ещё этих мягких французских булок",
+			"Йошкар-Ола, Подъячевский",
+			"ЩуКа и ёЖиК",
+			"Ё Ж Щ",
+			"ascii 123"
+	};
+
+	@Test
+	void matchesExpandUnlessWholeWordIsUpperCase() {
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			for (String text : SAMPLE_TEXTS) {
+				assertEquals(Iuliia.transliterate(text, type),
+						Iuliia.transliterate(text, type, EIuliiaCaseMode.FOLD),
+						type + ": " + text);
+			}
+		}
+	}
+
+	@Test
+	void upperCasesWholeUpperCaseWords() {
+		assertEquals("SHCHUKA i YOZHIK", Iuliia.transliterate("ЩУКА и ЁЖИК", EIuliiaSchema.WIKIPEDIA, EIuliiaCaseMode.FOLD));
+		assertEquals("ShchUKA i YoZhIK", Iuliia.transliterate("ЩУКА и ЁЖИК", EIuliiaSchema.WIKIPEDIA, EIuliiaCaseMode.EXPAND));
+	}
+
+	@Test
+	void matchesFoldTransliterator() {
+		IuliiaTransliterator transliterator = IuliiaTransliterator.builder(EIuliiaSchema.WIKIPEDIA)
+				.setSeparator(" ")
+				.setCaseMode(EIuliiaCaseMode.FOLD)
+				.build();
+
+		String text = "ЩУКА, Юлия и ЁЖИК";
+
+		assertEquals(transliterator.transliterate(text), Iuliia.transliterate(text, " ", EIuliiaSchema.WIKIPEDIA, EIuliiaCaseMode.FOLD));
+	}
+
+	@Test
+	void cachesTransliteratorPerSeparator() {
+		IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+
+		IuliiaTransliterator transliterator = schema.getFoldedTransliterator(null);
+
+		assertSame(transliterator, schema.getFoldedTransliterator(null));
+		assertNotSame(transliterator, schema.getFoldedTransliterator(" "));
+		assertSame(schema.getFoldedTransliterator(" "), schema.getFoldedTransliterator(" "));
+		assertEquals(EIuliiaCaseMode.FOLD, transliterator.getCaseMode());
+	}
+
+	@Test
+	void transliteratesPastCachedSeparatorLimit() {
+		for (int i = 0; i < 64; i++) {
+			String separator = "[ " + (char) ('a' + i % 26) + i + "]";
+
+			assertEquals("SHCHUKA Yuliya", Iuliia.transliterate("ЩУКА Юлия", separator, EIuliiaSchema.WIKIPEDIA, EIuliiaCaseMode.FOLD));
+		}
+	}
+}
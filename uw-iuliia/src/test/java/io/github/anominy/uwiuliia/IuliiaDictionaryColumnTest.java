@@ -0,0 +1,139 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaDictionaryColumn}.
+ */
+class IuliiaDictionaryColumnTest {
+
+	/**
+	 * Mapping-schema types to transliterate w/.
+	 */
+	private static final EIuliiaSchema[] SCHEMA_TYPES = {
+			EIuliiaSchema.WIKIPEDIA,
+			EIuliiaSchema.ICAO_DOC_9303,
+			EIuliiaSchema.MOSMETRO,
+			EIuliiaSchema.GOST_779
+	};
+
+	/**
+	 * Distinct row values.
+	 */
+	private static final String[] VALUES = {
+			"Москва", "Санкт-Петербург", "Ёлкино", "Елкино", "Подъём", "Подьем",
+			"Юлия", "ЮЛИЯ", "Щёлково", "Хабаровск", "Улица Льва Толстого", "Ж",
+			"", " ", "Moscow", "Воробьёвы горы"
+	};
+
+	@Test
+	void transliteratesEveryRow() {
+		Random random = new Random(20240701);
+
+		String[] column = new String[5000];
+		for (int i = 0; i < column.length; i++) {
+			column[i] = random.nextInt(10) == 0
+					? null
+					: VALUES[random.nextInt(VALUES.length)];
+		}
+
+		IuliiaDictionaryColumn encoded = IuliiaDictionaryColumn.encode(column);
+
+		assertEquals(column.length, encoded.size());
+		assertArrayEquals(column, encoded.toArray());
+
+		for (EIuliiaSchema type : SCHEMA_TYPES) {
+			IuliiaDictionaryColumn transliterated = encoded.transliterate(IuliiaTransliterator.of(type));
+
+			assertEquals(column.length, transliterated.size());
+
+			for (int i = 0; i < column.length; i++) {
+				String expected = column[i] != null
+						? Iuliia.transliterate(column[i], type)
+						: null;
+
+				assertEquals(expected, transliterated.get(i), type + " / " + i);
+			}
+		}
+	}
+
+	@Test
+	void keepsNullAndEmptyRows() {
+		String[] column = {null, "", "Москва", null, "", "Москва"};
+
+		IuliiaDictionaryColumn encoded = IuliiaDictionaryColumn.encode(column);
+
+		assertEquals(6, encoded.size());
+		assertEquals(2, encoded.getCardinality());
+		assertEquals(IuliiaDictionaryColumn.NULL_CODE, encoded.getCode(0));
+		assertEquals(IuliiaDictionaryColumn.NULL_CODE, encoded.getCode(3));
+		assertEquals(encoded.getCode(1), encoded.getCode(4));
+
+		IuliiaDictionaryColumn transliterated = encoded.transliterate(IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA));
+
+		assertArrayEquals(new String[] {null, "", "Moskva", null, "", "Moskva"}, transliterated.toArray());
+		assertEquals(2, transliterated.getCardinality());
+
+		IuliiaDictionaryColumn empty = IuliiaDictionaryColumn.encode(new String[0])
+				.transliterate(IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA));
+
+		assertEquals(0, empty.size());
+		assertEquals(0, empty.getCardinality());
+
+		IuliiaDictionaryColumn nulls = IuliiaDictionaryColumn.encode(new String[3])
+				.transliterate(IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA));
+
+		assertArrayEquals(new String[3], nulls.toArray());
+		assertEquals(0, nulls.getCardinality());
+	}
+
+	@Test
+	void transliteratesMostlyRepeatedValuesOnce() {
+		Random random = new Random(20240702);
+
+		String[] column = new String[100_000];
+		for (int i = 0; i < column.length; i++) {
+			int r = random.nextInt(100);
+
+			column[i] = r < 97 ? "Москва"
+					: r < 99 ? "Ёлкино"
+					: "Елкино";
+		}
+
+		IuliiaDictionaryColumn encoded = IuliiaDictionaryColumn.encode(column);
+		assertEquals(3, encoded.getCardinality());
+
+		IuliiaDictionaryColumn wikipedia = encoded.transliterate(IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA));
+		assertEquals(3, wikipedia.getCardinality());
+		assertArrayEquals(encoded.getCodes(), wikipedia.getCodes());
+
+		// ё and е transliterate the same, so that their values are merged
+		IuliiaDictionaryColumn icao = encoded.transliterate(IuliiaTransliterator.of(EIuliiaSchema.ICAO_DOC_9303));
+		assertEquals(2, icao.getCardinality());
+
+		for (int i = 0; i < column.length; i++) {
+			assertEquals(Iuliia.transliterate(column[i], EIuliiaSchema.WIKIPEDIA), wikipedia.get(i));
+			assertEquals(Iuliia.transliterate(column[i], EIuliiaSchema.ICAO_DOC_9303), icao.get(i));
+		}
+	}
+
+	@Test
+	void transliteratesWrappedDictionary() {
+		IuliiaDictionaryColumn column = IuliiaDictionaryColumn.of(
+				new int[] {0, 1, 2, IuliiaDictionaryColumn.NULL_CODE, 0},
+				new String[] {"Ель", null, "Ель"}
+		);
+
+		IuliiaDictionaryColumn transliterated = column.transliterate(IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA));
+
+		assertArrayEquals(new String[] {"Yel", null, "Yel", null, "Yel"}, transliterated.toArray());
+		assertEquals(1, transliterated.getCardinality());
+		assertNull(transliterated.get(1));
+	}
+}
@@ -0,0 +1,31 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A fixed seed run of {@link IuliiaDifferentialFuzzer}.
+ */
+class IuliiaDifferentialFuzzerTest {
+
+	@Test
+	void findsNoMismatches() {
+		IuliiaDifferentialFuzzer fuzzer = IuliiaDifferentialFuzzer.builder()
+				.setSeed(20240501L)
+				.setIterations(200)
+				.build();
+
+		List<IuliiaDifferentialFuzzer.Result> results = fuzzer.run(null);
+
+		assertEquals(EIuliiaSchema.values().length, results.size());
+
+		for (IuliiaDifferentialFuzzer.Result result : results) {
+			assertTrue(result.getChecks() > 0, result.toString());
+			assertEquals(0, result.getMismatchCount(), "seed " + fuzzer.getSeed() + ": " + result.getMismatches());
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaExceptionMap}.
+ */
+class IuliiaExceptionMapTest {
+
+	/**
+	 * An exception map under test.
+	 */
+	private final IuliiaExceptionMap map = IuliiaExceptionMap.of(source());
+
+	@Test
+	void storesLowerCaseWords() {
+		assertEquals(2, this.map.size());
+		assertTrue(this.map.keySet().contains("москва"));
+		assertTrue(this.map.keySet().contains("питер"));
+	}
+
+	@Test
+	void looksUpMapKeysExactly() {
+		assertEquals("Moskva", this.map.get("москва"));
+		assertTrue(this.map.containsKey("москва"));
+
+		assertNull(this.map.get("МОСКВА"));
+		assertNull(this.map.get("Москва"));
+		assertFalse(this.map.containsKey("Москва"));
+		assertFalse(this.map.containsKey(1));
+	}
+
+	@Test
+	void equalsHashMapBothWays() {
+		Map<String, String> expected = new HashMap<>();
+		expected.put("москва", "Moskva");
+		expected.put("питер", "Piter");
+
+		assertEquals(expected, this.map);
+		assertEquals(this.map, expected);
+		assertEquals(expected.hashCode(), this.map.hashCode());
+	}
+
+	@Test
+	void matchesTextWordsRegardlessOfCase() {
+		String text = "в МОСКВА и Питер";
+
+		assertTrue(this.map.indexOf(text, 2, 8) >= 0);
+		assertTrue(this.map.indexOf(text, 11, 16) >= 0);
+		assertTrue(this.map.indexOf(text, 0, 1) < 0);
+
+		assertEquals("MOSKVA", this.map.transliterate("МОСКВА"));
+		assertEquals("Moskva", this.map.transliterate("Москва"));
+		assertEquals("Piter", this.map.transliterate("питер"));
+	}
+
+	@Test
+	void appliesToSchemaWords() {
+		IuliiaSchema schema = IuliiaSchema.builder(EIuliiaSchema.WIKIPEDIA)
+				.putException("москва", "moscow")
+				.build();
+
+		assertEquals("Moscow i MOSCOW", Iuliia.transliterate("Москва и МОСКВА", schema));
+		assertEquals("Moscow i MOSCOW", IuliiaTransliterator.of(schema).transliterate("Москва и МОСКВА"));
+	}
+
+	/**
+	 * Get a source exception map w/ mixed case words.
+	 *
+	 * @return	source exception map
+	 */
+	private static Map<String, String> source() {
+		Map<String, String> map = new HashMap<>();
+		map.put("Москва", "Moskva");
+		map.put("питер", "Piter");
+
+		return map;
+	}
+}
@@ -0,0 +1,58 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaFootprint}.
+ */
+class IuliiaFootprintTest {
+
+	@Test
+	void reportsEqualSchemasSeparately() {
+		IuliiaSchema base = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+		IuliiaSchema overlay = IuliiaSchema.builder(base)
+				.build();
+
+		assertEquals(base, overlay);
+		assertNotSame(base, overlay);
+
+		IuliiaFootprint footprint = IuliiaFootprint.of(base, overlay);
+
+		assertEquals(2, footprint.getSchemas().size());
+		assertSame(base, footprint.getSchemas().get(0));
+		assertSame(overlay, footprint.getSchemas().get(1));
+		assertTrue(footprint.getBytes(base) > 0);
+		assertTrue(footprint.getBytes(overlay) > 0);
+		assertTrue(footprint.getBytes(base) + footprint.getBytes(overlay) <= footprint.getTotalBytes());
+	}
+
+	@Test
+	void reportsSameSchemaOnce() {
+		IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+
+		IuliiaFootprint footprint = IuliiaFootprint.of(schema, schema);
+
+		assertEquals(1, footprint.getSchemas().size());
+		assertEquals(footprint.getTotalBytes(), footprint.getBytes(schema));
+		assertEquals(footprint.getTotalBytes(), footprint.getExclusiveBytes(schema));
+	}
+
+	@Test
+	void countsSharedObjectsOnce() {
+		IuliiaFootprint all = IuliiaFootprint.ofBuiltIn();
+
+		long sum = 0;
+		for (IuliiaSchema schema : all.getSchemas()) {
+			sum += all.getBytes(schema);
+		}
+
+		assertEquals(EIuliiaSchema.values().length, all.getSchemas().size());
+		assertTrue(sum <= all.getTotalBytes());
+		assertTrue(sum > 0);
+	}
+}
@@ -0,0 +1,113 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.stream.MalformedJsonException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaJsonTransliterator}.
+ */
+class IuliiaJsonTransliteratorTest {
+
+	/**
+	 * A mapping-schema under test.
+	 */
+	private final IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+
+	@Test
+	void transliteratesEveryStringIfNoneSelected() throws IOException {
+		String json = transliterate(IuliiaJsonTransliterator.of(this.schema),
+				"{ \"имя\": \"Юлия\", \"n\": 1.50, \"b\": true, \"z\": null, \"a\": [\"Ёж\", 2] }");
+
+		assertEquals("{\"имя\":\"Yuliya\",\"n\":1.50,\"b\":true,\"z\":null,\"a\":[\"Yozh\",2]}", json);
+	}
+
+	@Test
+	void transliteratesSelectedFields() throws IOException {
+		IuliiaJsonTransliterator transliterator = IuliiaJsonTransliterator.builder(this.schema)
+				.addFieldName("title")
+				.build();
+
+		String json = transliterate(transliterator,
+				"{\"title\": \"Ёж\", \"id\": \"Ёж\", \"inner\": {\"title\": \"Юля\", \"tags\": [\"Ёж\"]}}");
+
+		assertEquals("{\"title\":\"Yozh\",\"id\":\"Ёж\",\"inner\":{\"title\":\"Yulya\",\"tags\":[\"Ёж\"]}}", json);
+	}
+
+	@Test
+	void transliteratesSelectedPaths() throws IOException {
+		IuliiaJsonTransliterator transliterator = IuliiaJsonTransliterator.builder(this.schema)
+				.addPath("$.items[*].title")
+				.addPath("$.names[1]")
+				.build();
+
+		String json = transliterate(transliterator,
+				"{\"items\": [{\"title\": \"Ёж\", \"id\": \"Ёж\"}, {\"title\": \"Юля\"}], \"names\": [\"Ёж\", \"Юля\"], \"title\": \"Ёж\"}");
+
+		assertEquals("{\"items\":[{\"title\":\"Yozh\",\"id\":\"Ёж\"},{\"title\":\"Yulya\"}],\"names\":[\"Ёж\",\"Yulya\"],\"title\":\"Ёж\"}", json);
+	}
+
+	@Test
+	void transliteratesUtf8Streams() throws IOException {
+		byte[] src = "[\"Юлия Щеглова\", \"😀\"]".getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		IuliiaJsonTransliterator.of(this.schema)
+				.transliterate(new ByteArrayInputStream(src), out);
+
+		assertEquals("[\"Yuliya Shcheglova\",\"😀\"]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void reportsErrorPath() {
+		MalformedJsonException e = assertThrows(MalformedJsonException.class,
+				() -> transliterate(IuliiaJsonTransliterator.of(this.schema), "{\"a\": [1, 2]} []"));
+
+		assertTrue(e.getMessage().contains(" path $"), e.getMessage());
+	}
+
+	@Test
+	void rejectsMalformedDocuments() {
+		IuliiaJsonTransliterator transliterator = IuliiaJsonTransliterator.of(this.schema);
+
+		assertThrows(IOException.class, () -> transliterate(transliterator, "{\"a\": }"));
+		assertThrows(IOException.class, () -> transliterate(transliterator, "{'a': 'b'}"));
+		assertThrows(IOException.class, () -> transliterate(transliterator, "[\"a\""));
+	}
+
+	@Test
+	void rejectsMalformedPaths() {
+		IuliiaJsonTransliterator.Builder builder = IuliiaJsonTransliterator.builder(this.schema);
+
+		assertThrows(IllegalArgumentException.class, () -> builder.addPath(null));
+		assertThrows(IllegalArgumentException.class, () -> builder.addPath("items"));
+		assertThrows(IllegalArgumentException.class, () -> builder.addFieldName(null));
+	}
+
+	/**
+	 * Transliterate the provided JSON document.
+	 *
+	 * @param transliterator	JSON transliterator to transliterate w/
+	 * @param json				JSON document
+	 * @return					transliterated JSON document
+	 *
+	 * @throws IOException	if the document is malformed
+	 */
+	private static String transliterate(IuliiaJsonTransliterator transliterator, String json) throws IOException {
+		StringWriter out = new StringWriter();
+
+		transliterator.transliterate(new StringReader(json), out);
+
+		return out.toString();
+	}
+}
@@ -0,0 +1,151 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaOverlayMap} and overlay {@link IuliiaExceptionMap} instances.
+ */
+class IuliiaOverlayMapTest {
+
+	@Test
+	void looksUpOverridesFirst() {
+		Map<String, String> map = new IuliiaOverlayMap(base(), overrides());
+
+		assertEquals("zz", map.get("ж"));
+		assertEquals("a", map.get("а"));
+		assertEquals("q", map.get("щ"));
+		assertNull(map.get("ы"));
+
+		assertTrue(map.containsKey("ж"));
+		assertTrue(map.containsKey("щ"));
+		assertFalse(map.containsKey("ы"));
+	}
+
+	@Test
+	void shadowsOverriddenBaseEntries() {
+		Map<String, String> map = new IuliiaOverlayMap(base(), overrides());
+
+		assertEquals(4, map.size());
+		assertEquals(4, map.entrySet().size());
+
+		Set<String> keys = new HashSet<>();
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			assertTrue(keys.add(entry.getKey()), entry.getKey());
+			assertEquals(map.get(entry.getKey()), entry.getValue());
+		}
+
+		assertEquals(4, keys.size());
+	}
+
+	@Test
+	void equalsEagerlyMergedMap() {
+		Map<String, String> map = new IuliiaOverlayMap(base(), overrides());
+
+		Map<String, String> merged = new HashMap<>(base());
+		merged.putAll(overrides());
+
+		assertEquals(merged, map);
+		assertEquals(map, merged);
+		assertEquals(merged.hashCode(), map.hashCode());
+	}
+
+	@Test
+	void leavesBaseUnmodified() {
+		Map<String, String> base = base();
+		Map<String, String> copy = new HashMap<>(base);
+
+		new IuliiaOverlayMap(base, overrides()).size();
+
+		assertEquals(copy, base);
+	}
+
+	@Test
+	void layersExceptionMaps() {
+		IuliiaExceptionMap base = IuliiaExceptionMap.of(exceptions("москва", "Moskva", "питер", "Piter"));
+		IuliiaExceptionMap middle = IuliiaExceptionMap.overlay(base, exceptions("Питер", "Sankt-Peterburg", "тверь", "Tver"));
+		IuliiaExceptionMap top = IuliiaExceptionMap.overlay(middle, exceptions("москва", "Moscow"));
+
+		Map<String, String> merged = new HashMap<>(base);
+		merged.put("питер", "Sankt-Peterburg");
+		merged.put("тверь", "Tver");
+		merged.put("москва", "Moscow");
+
+		assertEquals(merged, top);
+		assertEquals(top, merged);
+		assertEquals(merged.hashCode(), top.hashCode());
+		assertEquals(3, top.size());
+		assertEquals(3, top.entrySet().size());
+
+		assertEquals("Moscow", top.get("москва"));
+		assertNull(top.get("Москва"));
+		assertEquals("MOSCOW", top.transliterate("МОСКВА"));
+		assertEquals("Sankt-Peterburg", top.transliterate("Питер"));
+		assertEquals("Tver", top.transliterate("тверь"));
+		assertNull(top.transliterate("казань"));
+
+		assertEquals("Moskva", base.get("москва"));
+		assertEquals("Piter", base.get("питер"));
+		assertEquals(2, base.size());
+	}
+
+	@Test
+	void skipsEmptyExceptionOverlay() {
+		IuliiaExceptionMap base = IuliiaExceptionMap.of(exceptions("москва", "Moskva"));
+
+		assertSame(base, IuliiaExceptionMap.overlay(base, new HashMap<>()));
+	}
+
+	/**
+	 * Get a base letter-map.
+	 *
+	 * @return	base letter-map
+	 */
+	private static Map<String, String> base() {
+		Map<String, String> map = new HashMap<>();
+		map.put("а", "a");
+		map.put("ж", "zh");
+		map.put("х", "kh");
+
+		return map;
+	}
+
+	/**
+	 * Get an overriding letter-map.
+	 *
+	 * @return	overriding letter-map
+	 */
+	private static Map<String, String> overrides() {
+		Map<String, String> map = new HashMap<>();
+		map.put("ж", "zz");
+		map.put("щ", "q");
+
+		return map;
+	}
+
+	/**
+	 * Get an exception source map of the provided words and transliterations.
+	 *
+	 * @param entries	words followed by their transliterations
+	 * @return			exception source map
+	 */
+	private static Map<String, String> exceptions(String... entries) {
+		Map<String, String> map = new HashMap<>();
+
+		for (int i = 0; i < entries.length; i += 2) {
+			map.put(entries[i], entries[i + 1]);
+		}
+
+		return map;
+	}
+}
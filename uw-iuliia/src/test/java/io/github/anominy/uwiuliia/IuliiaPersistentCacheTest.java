@@ -0,0 +1,276 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaPersistentCache}.
+ */
+class IuliiaPersistentCacheTest {
+
+	/**
+	 * A {@code slotCount} cache file header field offset.
+	 */
+	private static final int SLOT_COUNT_OFFSET = 20;
+
+	/**
+	 * A sample text.
+	 */
+	private static final String SAMPLE_TEXT = "Юлия, съешь же ещё этих мягких французских булок";
+
+	/**
+	 * A transliterator under test.
+	 */
+	private final IuliiaTransliterator transliterator = IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA);
+
+	@Test
+	void persistsAcrossReopens() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try {
+			Path path = dir.resolve("cache");
+
+			try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, path, IuliiaPersistentCache.MIN_SIZE)) {
+				assertNull(cache.get(SAMPLE_TEXT));
+				assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), cache.transliterate(SAMPLE_TEXT));
+				assertEquals(1, cache.size());
+			}
+
+			try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, path, IuliiaPersistentCache.MIN_SIZE)) {
+				assertEquals(1, cache.size());
+				assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), cache.get(SAMPLE_TEXT));
+			}
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void startsAnewForAnotherConfiguration() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try {
+			Path path = dir.resolve("cache");
+
+			try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, path, IuliiaPersistentCache.MIN_SIZE)) {
+				cache.transliterate(SAMPLE_TEXT);
+			}
+
+			try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(EIuliiaSchema.ICAO_DOC_9303, path, IuliiaPersistentCache.MIN_SIZE)) {
+				assertEquals(0, cache.size());
+				assertNull(cache.get(SAMPLE_TEXT));
+			}
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void compactsOnceFull() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, dir.resolve("cache"), IuliiaPersistentCache.MIN_SIZE)) {
+			int count = 5000;
+
+			for (int i = 0; i < count; i++) {
+				String text = SAMPLE_TEXT + " " + i;
+
+				assertEquals(this.transliterator.transliterate(text), cache.transliterate(text));
+			}
+
+			assertTrue(cache.size() > 0);
+			assertTrue(cache.size() < count);
+
+			String last = SAMPLE_TEXT + " " + (count - 1);
+			assertEquals(this.transliterator.transliterate(last), cache.get(last));
+			assertEquals(0, cache.getFailureCount());
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void fallsBackOnLockFailure() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try {
+			IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, dir.resolve("cache"), IuliiaPersistentCache.MIN_SIZE);
+			cache.close();
+
+			// the lock file is closed along w/ the cache
+			assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), cache.transliterate(SAMPLE_TEXT));
+			assertEquals(0, cache.size());
+			assertEquals(1, cache.getFailureCount());
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void failsToOpenOnLockFailure() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try {
+			// a directory in place of the lock file cannot be opened for writing
+			Files.createDirectory(dir.resolve("cache.lock"));
+
+			assertThrows(IOException.class, () -> IuliiaPersistentCache.open(this.transliterator, dir.resolve("cache"), IuliiaPersistentCache.MIN_SIZE));
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void fallsBackOnCorruptFile() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+		Path path = dir.resolve("cache");
+
+		try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, path, IuliiaPersistentCache.MIN_SIZE)) {
+			cache.transliterate(SAMPLE_TEXT);
+
+			// a slot count out of bounds, so that the slot offsets are too
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MIN_VALUE >>> 1), SLOT_COUNT_OFFSET);
+			}
+
+			assertNull(cache.get(SAMPLE_TEXT));
+			assertEquals(1, cache.getFailureCount());
+
+			assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), cache.transliterate(SAMPLE_TEXT));
+			assertTrue(cache.getFailureCount() > 1);
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void cachesWordsOfTransliterator() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, dir.resolve("cache"), IuliiaPersistentCache.MIN_SIZE)) {
+			IuliiaTransliterator cached = IuliiaTransliterator.builder(EIuliiaSchema.WIKIPEDIA)
+					.setCache(cache)
+					.build();
+
+			String expected = this.transliterator.transliterate(SAMPLE_TEXT);
+
+			assertEquals(expected, cached.transliterate(SAMPLE_TEXT));
+			assertEquals(expected, cached.transliterate(SAMPLE_TEXT, new StringBuilder()).toString());
+			assertEquals(0, cache.size());
+
+			cache.flush();
+
+			assertEquals("Yuliya", cache.get("Юлия"));
+			assertEquals("bulok", cache.get("булок"));
+
+			// the short words and the separators are not cached
+			assertNull(cache.get("же"));
+			assertNull(cache.get("ещё"));
+			assertNull(cache.get(", "));
+			assertEquals(6, cache.size());
+
+			assertEquals(expected, cached.transliterate(SAMPLE_TEXT));
+			cache.flush();
+
+			assertEquals(6, cache.size());
+			assertEquals(0, cache.getFailureCount());
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void addsWordsInBatches() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try {
+			Path path = dir.resolve("cache");
+
+			StringBuilder sb = new StringBuilder();
+			int count = 500;
+
+			// distinct words, i.e. the word number spelled w/ a letter per digit
+			for (int i = 0; i < count; i++) {
+				sb.append("Слово");
+
+				for (char c : Integer.toString(i).toCharArray()) {
+					sb.append((char) ('а' + c - '0'));
+				}
+
+				sb.append(' ');
+			}
+
+			String text = sb.toString();
+
+			try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, path, IuliiaPersistentCache.MIN_SIZE)) {
+				IuliiaTransliterator cached = IuliiaTransliterator.builder(EIuliiaSchema.WIKIPEDIA)
+						.setCache(cache)
+						.build();
+
+				assertEquals(this.transliterator.transliterate(text), cached.transliterate(text));
+
+				// every full batch is written
+				assertTrue(cache.size() > 0);
+				assertTrue(cache.size() < count);
+			}
+
+			try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, path, IuliiaPersistentCache.MIN_SIZE)) {
+				assertEquals(count, cache.size());
+				assertEquals("Slovoa", cache.get("Словоа"));
+				assertEquals("Slovobzhi", cache.get("Словобжи"));
+			}
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void rejectsCacheOfAnotherConfiguration() throws IOException {
+		Path dir = Files.createTempDirectory("iuliia-cache");
+
+		try (IuliiaPersistentCache cache = IuliiaPersistentCache.open(this.transliterator, dir.resolve("cache"), IuliiaPersistentCache.MIN_SIZE)) {
+			IuliiaTransliterator.Builder builder = IuliiaTransliterator.builder(EIuliiaSchema.WIKIPEDIA)
+					.setCaseMode(EIuliiaCaseMode.FOLD)
+					.setCache(cache);
+
+			assertThrows(IllegalArgumentException.class, builder::build);
+		} finally {
+			delete(dir);
+		}
+	}
+
+	/**
+	 * Delete the provided directory w/ its content, ignoring failures.
+	 *
+	 * @param dir	directory to delete
+	 */
+	private static void delete(Path dir) {
+		File[] files = dir.toFile().listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				if (file.isDirectory()) {
+					delete(file.toPath());
+				} else if (!file.delete()) {
+					file.deleteOnExit();
+				}
+			}
+		}
+
+		if (!dir.toFile().delete()) {
+			dir.toFile().deleteOnExit();
+		}
+	}
+}
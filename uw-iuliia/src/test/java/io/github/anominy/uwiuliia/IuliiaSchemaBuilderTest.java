@@ -0,0 +1,112 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaSchema.Builder}.
+ */
+class IuliiaSchemaBuilderTest {
+
+	/**
+	 * A base mapping-schema.
+	 */
+	private final IuliiaSchema base = IuliiaSchema.builder(EIuliiaSchema.WIKIPEDIA)
+			.putException("москва", "Moskva")
+			.putException("питер", "Piter")
+			.build();
+
+	@Test
+	void appliesOverlayRulesFirst() {
+		IuliiaSchema overlay = IuliiaSchema.builder(this.base)
+				.putSingleLetter("ж", "j")
+				.putException("Питер", "Sankt-Peterburg")
+				.build();
+
+		assertEquals("Juk", Iuliia.transliterate("Жук", overlay));
+		assertEquals("Sankt-Peterburg Moskva", Iuliia.transliterate("Питер Москва", overlay));
+		assertEquals("SANKT-PETERBURG", Iuliia.transliterate("ПИТЕР", overlay));
+		assertEquals("Shchuka", Iuliia.transliterate("Щука", overlay));
+	}
+
+	@Test
+	void shadowsOverriddenBaseRules() {
+		IuliiaSchema overlay = IuliiaSchema.builder(this.base)
+				.putSingleLetter("ж", "j")
+				.putException("питер", "Sankt-Peterburg")
+				.build();
+
+		assertEquals(this.base.getSingleLetterMap().size(), overlay.getSingleLetterMap().size());
+		assertEquals("j", overlay.getSingleLetterMap().get("ж"));
+		assertEquals("J", overlay.getSingleLetterMap().get("Ж"));
+
+		assertEquals(2, overlay.getExceptionMap().size());
+		assertEquals(2, overlay.getExceptionMap().entrySet().size());
+		assertEquals("Sankt-Peterburg", overlay.getExceptionMap().get("питер"));
+	}
+
+	@Test
+	void equalsEagerlyMergedMaps() {
+		IuliiaSchema overlay = IuliiaSchema.builder(this.base)
+				.putSingleLetter("ж", "j")
+				.putPreviousLetter("ье", "je")
+				.putException("питер", "Sankt-Peterburg")
+				.putException("тверь", "Tver")
+				.build();
+
+		IuliiaSchema rules = IuliiaSchema.builder()
+				.putSingleLetter("ж", "j")
+				.putPreviousLetter("ье", "je")
+				.build();
+
+		Map<String, String> singleLetterMap = new HashMap<>(this.base.getSingleLetterMap());
+		singleLetterMap.putAll(rules.getSingleLetterMap());
+
+		Map<String, String> previousLetterMap = new HashMap<>(this.base.getPreviousLetterMap());
+		previousLetterMap.putAll(rules.getPreviousLetterMap());
+
+		Map<String, String> exceptionMap = new HashMap<>(this.base.getExceptionMap());
+		exceptionMap.put("питер", "Sankt-Peterburg");
+		exceptionMap.put("тверь", "Tver");
+
+		assertEquals(singleLetterMap, overlay.getSingleLetterMap());
+		assertEquals(singleLetterMap.hashCode(), overlay.getSingleLetterMap().hashCode());
+		assertEquals(previousLetterMap, overlay.getPreviousLetterMap());
+		assertEquals(previousLetterMap.hashCode(), overlay.getPreviousLetterMap().hashCode());
+		assertEquals(exceptionMap, overlay.getExceptionMap());
+		assertEquals(exceptionMap.hashCode(), overlay.getExceptionMap().hashCode());
+	}
+
+	@Test
+	void leavesBaseUnmodified() {
+		Map<String, String> singleLetterMap = new HashMap<>(this.base.getSingleLetterMap());
+		Map<String, String> exceptionMap = new HashMap<>(this.base.getExceptionMap());
+		int hashCode = this.base.hashCode();
+
+		IuliiaSchema.builder(this.base)
+				.putSingleLetter("ж", "j")
+				.putException("питер", "Sankt-Peterburg")
+				.putException("тверь", "Tver")
+				.build();
+
+		assertEquals(singleLetterMap, this.base.getSingleLetterMap());
+		assertEquals(exceptionMap, this.base.getExceptionMap());
+		assertEquals(hashCode, this.base.hashCode());
+		assertEquals("Zhuk Piter", Iuliia.transliterate("Жук Питер", this.base));
+	}
+
+	@Test
+	void sharesBaseMapsWhenNothingIsAdded() {
+		IuliiaSchema overlay = IuliiaSchema.builder(this.base)
+				.build();
+
+		assertSame(this.base.getSingleLetterMap(), overlay.getSingleLetterMap());
+		assertSame(this.base.getExceptionMap(), overlay.getExceptionMap());
+		assertEquals(this.base, overlay);
+	}
+}
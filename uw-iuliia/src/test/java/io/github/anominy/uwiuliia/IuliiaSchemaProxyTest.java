@@ -0,0 +1,99 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of the {@link IuliiaSchemaProxy} serialized form.
+ */
+class IuliiaSchemaProxyTest {
+
+	@Test
+	void builtInSchemaResolvesToCachedInstance() throws Exception {
+		IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+
+		assertSame(schema, roundTrip(schema));
+	}
+
+	@Test
+	void customSchemaRoundTrips() throws Exception {
+		IuliiaSchema schema = IuliiaSchema.builder(EIuliiaSchema.WIKIPEDIA)
+				.setName("custom")
+				.putSingleLetter("ж", "zh'")
+				.putException("москва", "moskva")
+				.build();
+
+		IuliiaSchema first = roundTrip(schema);
+		IuliiaSchema second = roundTrip(schema);
+
+		assertEquals(schema, first);
+		assertSame(first, second);
+		assertEquals(Iuliia.transliterate("Жук в Москва", schema), Iuliia.transliterate("Жук в Москва", first));
+	}
+
+	@Test
+	void rejectsOversizedLength() throws Exception {
+		ObjectInputStream in = forge(Integer.MAX_VALUE);
+
+		assertThrows(InvalidObjectException.class, () -> new IuliiaSchemaProxy().readExternal(in));
+	}
+
+	@Test
+	void rejectsTruncatedForm() throws Exception {
+		ObjectInputStream in = forge(128 << 20);
+
+		assertThrows(EOFException.class, () -> new IuliiaSchemaProxy().readExternal(in));
+	}
+
+	/**
+	 * Serialize and deserialize the provided mapping-schema.
+	 *
+	 * @param schema	mapping-schema to serialize
+	 * @return			deserialized mapping-schema
+	 *
+	 * @throws IOException				if the mapping-schema cannot be serialized
+	 * @throws ClassNotFoundException	if the mapping-schema cannot be deserialized
+	 */
+	private static IuliiaSchema roundTrip(IuliiaSchema schema) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(schema);
+		}
+
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (IuliiaSchema) in.readObject();
+		}
+	}
+
+	/**
+	 * Forge a custom mapping-schema form header w/ the provided length and a few bytes only.
+	 *
+	 * @param length	forged length
+	 * @return			input positioned at the header
+	 *
+	 * @throws IOException	if the header cannot be written
+	 */
+	private static ObjectInputStream forge(int length) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeByte(1);
+			out.writeInt(length);
+			out.write(new byte[16]);
+		}
+
+		return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+}
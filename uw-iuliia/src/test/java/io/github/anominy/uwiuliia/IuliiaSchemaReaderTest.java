@@ -0,0 +1,66 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.stream.MalformedJsonException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaSchemaReader}.
+ */
+class IuliiaSchemaReaderTest {
+
+	@Test
+	void readsBuiltInSchemas() throws IOException {
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			try (InputStream in = IuliiaSchemaReaderTest.class.getClassLoader()
+					.getResourceAsStream(type.getFilePath())) {
+				assertEquals(IuliiaSchema.fromEnumType(type), IuliiaSchema.fromInputStream(in), type.toString());
+			}
+		}
+	}
+
+	@Test
+	void readsMinimalSchema() throws IOException {
+		IuliiaSchema schema = read("{\"name\": \"minimal\", \"mapping\": {\"ж\": \"zh\"}, \"exceptions\": {\"Жук\": \"beetle\"}}");
+
+		assertEquals("minimal", schema.getName());
+		assertEquals("Zh beetle", Iuliia.transliterate("Ж жук", schema));
+	}
+
+	@Test
+	void rejectsLenientSyntax() {
+		assertThrows(MalformedJsonException.class, () -> read("{name: \"unquoted\"}"));
+		assertThrows(MalformedJsonException.class, () -> read("{'name': 'single quoted'}"));
+		assertThrows(MalformedJsonException.class, () -> read("{\"name\": \"a\"; \"url\": \"b\"}"));
+		assertThrows(MalformedJsonException.class, () -> read("{\"name\": \"trailing\"} {}"));
+	}
+
+	@Test
+	void reportsErrorPath() {
+		MalformedJsonException e = assertThrows(MalformedJsonException.class,
+				() -> read("{\"name\": \"typed\", \"mapping\": {\"ж\": 1}}"));
+
+		assertTrue(e.getMessage().startsWith("Expected a string but was NUMBER"), e.getMessage());
+		assertTrue(e.getMessage().endsWith(" at path $.mapping.ж"), e.getMessage());
+	}
+
+	/**
+	 * Read a mapping-schema from the provided JSON representation.
+	 *
+	 * @param json	JSON representation
+	 * @return		mapping-schema instance
+	 *
+	 * @throws IOException	if the mapping-schema is malformed
+	 */
+	private static IuliiaSchema read(String json) throws IOException {
+		return IuliiaSchema.fromInputStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+}
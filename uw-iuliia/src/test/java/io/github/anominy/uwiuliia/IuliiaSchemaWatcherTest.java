@@ -0,0 +1,199 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaSchemaWatcher}.
+ */
+class IuliiaSchemaWatcherTest {
+
+	/**
+	 * A timeout to wait for a reload for, in milliseconds.
+	 */
+	private static final long TIMEOUT_MILLIS = 30_000;
+
+	@Test
+	void publishesRewrittenSchema() throws Exception {
+		Path dir = Files.createTempDirectory("iuliia-watcher");
+		Path file = dir.resolve("schema.json");
+		write(file, "zh");
+
+		BlockingQueue<IuliiaSchema> reloads = new LinkedBlockingQueue<>();
+
+		try (IuliiaSchemaWatcher watcher = new IuliiaSchemaWatcher(new IuliiaSchemaWatcher.Listener() {
+
+			@Override
+			public void onReload(String path, IuliiaSchema schema) {
+				reloads.add(schema);
+			}
+		})) {
+			String path = file.toString();
+
+			assertEquals("Zhuk", Iuliia.transliterate("Жук", watcher.watch(path)));
+			assertEquals("Zhuk", Iuliia.transliterate("Жук", IuliiaSchema.fromFilePath(path)));
+
+			write(file, "j");
+
+			IuliiaSchema reloaded = reloads.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+			assertTrue(reloaded != null, "no reload");
+			assertEquals("Juk", Iuliia.transliterate("Жук", reloaded));
+			assertEquals("Juk", Iuliia.transliterate("Жук", IuliiaSchema.fromFilePath(path)));
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void reportsFailureAndKeepsCurrentVersion() throws Exception {
+		Path dir = Files.createTempDirectory("iuliia-watcher");
+		Path file = dir.resolve("schema.json");
+		write(file, "zh");
+
+		BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+
+		try (IuliiaSchemaWatcher watcher = new IuliiaSchemaWatcher(new IuliiaSchemaWatcher.Listener() {
+
+			@Override
+			public void onFailure(String path, Exception cause) {
+				failures.add(cause);
+			}
+		})) {
+			String path = file.toString();
+			watcher.watch(path);
+
+			replace(file, "{\"name\": \"broken\", \"mapping\": {\"ж\": }");
+
+			Exception cause = failures.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+			assertTrue(cause instanceof IOException, String.valueOf(cause));
+			assertEquals("Zhuk", Iuliia.transliterate("Жук", IuliiaSchema.fromFilePath(path)));
+
+			write(file, "j");
+
+			await(() -> "Juk".equals(Iuliia.transliterate("Жук", IuliiaSchema.fromFilePath(path))));
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	void keepsWatchingAfterThrowingListener() throws Exception {
+		Path dir = Files.createTempDirectory("iuliia-watcher");
+		Path file = dir.resolve("schema.json");
+		write(file, "zh");
+
+		AtomicInteger calls = new AtomicInteger();
+
+		try (IuliiaSchemaWatcher watcher = new IuliiaSchemaWatcher(new IuliiaSchemaWatcher.Listener() {
+
+			@Override
+			public void onReload(String path, IuliiaSchema schema) {
+				calls.incrementAndGet();
+				throw new IllegalStateException("reload listener");
+			}
+
+			@Override
+			public void onFailure(String path, Exception cause) {
+				calls.incrementAndGet();
+				throw new IllegalStateException("failure listener");
+			}
+		})) {
+			String path = file.toString();
+			watcher.watch(path);
+
+			replace(file, "{");
+			await(() -> calls.get() >= 1);
+
+			write(file, "j");
+			await(() -> "Juk".equals(Iuliia.transliterate("Жук", IuliiaSchema.fromFilePath(path))));
+
+			write(file, "zh");
+			await(() -> "Zhuk".equals(Iuliia.transliterate("Жук", IuliiaSchema.fromFilePath(path))));
+
+			assertTrue(calls.get() >= 3, String.valueOf(calls.get()));
+		} finally {
+			delete(dir);
+		}
+	}
+
+	/**
+	 * Atomically replace a schema file w/ the one mapping {@code ж} to the provided value.
+	 *
+	 * @param file		schema file
+	 * @param value		transliterated {@code ж} letter
+	 *
+	 * @throws IOException	if the schema file cannot be written
+	 */
+	private static void write(Path file, String value) throws IOException {
+		replace(file, "{\"name\": \"watched\", \"mapping\": {\"ж\": \"" + value + "\", \"у\": \"u\", \"к\": \"k\"}}");
+	}
+
+	/**
+	 * Atomically replace a file w/ the provided content,
+	 * so that the watcher never reads it half-written.
+	 *
+	 * @param file		file to replace
+	 * @param content	new content
+	 *
+	 * @throws IOException	if the file cannot be written
+	 */
+	private static void replace(Path file, String content) throws IOException {
+		Path temp = Files.createTempFile(file.getParent(), "schema", ".tmp");
+
+		Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Wait until the provided condition holds.
+	 *
+	 * @param condition		condition to wait for
+	 *
+	 * @throws InterruptedException		if interrupted while waiting
+	 */
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Delete the provided directory w/ its files, ignoring failures.
+	 *
+	 * @param dir	directory to delete
+	 */
+	private static void delete(Path dir) {
+		File[] files = dir.toFile().listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				if (!file.delete()) {
+					file.deleteOnExit();
+				}
+			}
+		}
+
+		if (!dir.toFile().delete()) {
+			dir.toFile().deleteOnExit();
+		}
+	}
+}
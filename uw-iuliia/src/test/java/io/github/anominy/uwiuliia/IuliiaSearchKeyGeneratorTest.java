@@ -0,0 +1,252 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaSearchKeyGenerator}.
+ */
+class IuliiaSearchKeyGeneratorTest {
+
+	/**
+	 * Mapping-schema types to generate the keys w/.
+	 */
+	private static final EIuliiaSchema[] SCHEMA_TYPES = {
+			EIuliiaSchema.WIKIPEDIA,
+			EIuliiaSchema.GOST_779,
+			EIuliiaSchema.BGN_PCGN,
+			EIuliiaSchema.MVD_310,
+			EIuliiaSchema.TELEGRAM
+	};
+
+	/**
+	 * Texts to generate the keys of.
+	 */
+	private static final String[] TEXTS = {
+			"",
+			" ",
+			"Ёлка",
+			"  Юлия,  съешь же ещё   этих мягких французских булок!  ",
+			"«Щёлково» — ПОДЪЁМ… (ёж)\tи\n\nЁЖИК",
+			"Объём  подъезда: 12,5 м²; т.е. «ёмкость»",
+			"...,,,!!!",
+			"\t  \n",
+			"a - b -- c",
+			"Смайлик 😀 и ёмоджи 😀😀",
+			"ЁЁЁ ёёё Ё",
+			"Улица Льва Толстого, д. 16/2-а"
+	};
+
+	@Test
+	void matchesNaivePipeline() {
+		for (EIuliiaSchema type : SCHEMA_TYPES) {
+			IuliiaSchema schema = IuliiaSchema.fromEnumType(type);
+
+			for (int options = 0; options < 16; options++) {
+				boolean yoFolded = (options & 1) != 0;
+				boolean lowerCase = (options & 2) != 0;
+				boolean punctuationRemoved = (options & 4) != 0;
+				boolean whitespaceCollapsed = (options & 8) != 0;
+
+				IuliiaSearchKeyGenerator generator = IuliiaSearchKeyGenerator.builder(schema)
+						.setYoFolded(yoFolded)
+						.setLowerCase(lowerCase)
+						.setPunctuationRemoved(punctuationRemoved)
+						.setWhitespaceCollapsed(whitespaceCollapsed)
+						.build();
+
+				for (String text : TEXTS) {
+					String expected = naive(schema, text, yoFolded, lowerCase, punctuationRemoved, whitespaceCollapsed, Integer.MAX_VALUE);
+
+					assertEquals(expected, generator.generate(text), type + " / " + options + " / " + text);
+				}
+			}
+		}
+	}
+
+	@Test
+	void matchesNaivePipelineAtEveryMaxLength() {
+		for (EIuliiaSchema type : SCHEMA_TYPES) {
+			IuliiaSchema schema = IuliiaSchema.fromEnumType(type);
+
+			for (int options = 0; options < 16; options++) {
+				boolean yoFolded = (options & 1) != 0;
+				boolean lowerCase = (options & 2) != 0;
+				boolean punctuationRemoved = (options & 4) != 0;
+				boolean whitespaceCollapsed = (options & 8) != 0;
+
+				for (String text : TEXTS) {
+					int unlimited = naive(schema, text, yoFolded, lowerCase, punctuationRemoved, whitespaceCollapsed, Integer.MAX_VALUE)
+							.length();
+
+					for (int maxLength = 0; maxLength <= unlimited + 1; maxLength++) {
+						IuliiaSearchKeyGenerator generator = IuliiaSearchKeyGenerator.builder(schema)
+								.setYoFolded(yoFolded)
+								.setLowerCase(lowerCase)
+								.setPunctuationRemoved(punctuationRemoved)
+								.setWhitespaceCollapsed(whitespaceCollapsed)
+								.setMaxLength(maxLength)
+								.build();
+
+						String expected = naive(schema, text, yoFolded, lowerCase, punctuationRemoved, whitespaceCollapsed, maxLength);
+
+						assertEquals(expected, generator.generate(text), type + " / " + options + " / " + maxLength + " / " + text);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void trimsSpaceLeftAtMaxLength() {
+		IuliiaSearchKeyGenerator.Builder builder = IuliiaSearchKeyGenerator.builder(EIuliiaSchema.WIKIPEDIA);
+
+		assertEquals("yuliya", builder.setMaxLength(6).build().generate("Юлия, съешь"));
+		assertEquals("yuliya", builder.setMaxLength(7).build().generate("Юлия, съешь"));
+		assertEquals("yuliya s", builder.setMaxLength(8).build().generate("Юлия, съешь"));
+		assertEquals("yuliya", builder.setMaxLength(7).build().generate("  Юлия   "));
+		assertEquals("", builder.setMaxLength(0).build().generate("Юлия"));
+	}
+
+	@Test
+	void keepsSurrogatePairsWhole() {
+		IuliiaSearchKeyGenerator.Builder builder = IuliiaSearchKeyGenerator.builder(EIuliiaSchema.WIKIPEDIA);
+
+		assertEquals("a", builder.setMaxLength(2).build().generate("а😀б"));
+		assertEquals("a😀", builder.setMaxLength(3).build().generate("а😀б"));
+		assertEquals("a😀", builder.setMaxLength(4).build().generate("а😀 б"));
+	}
+
+	@Test
+	void appendsAfterExistingContent() {
+		IuliiaSearchKeyGenerator generator = IuliiaSearchKeyGenerator.builder(EIuliiaSchema.WIKIPEDIA)
+				.setMaxLength(5)
+				.build();
+
+		StringBuilder sb = new StringBuilder("key:");
+
+		assertEquals("key:yuliy", generator.generate(" Юлия, ёж", sb).toString());
+		assertEquals("key:yuliy", generator.generate(null, sb).toString());
+		assertNull(generator.generate(null));
+		assertEquals("", generator.generate(""));
+	}
+
+	/**
+	 * Generate a search key the naive way, step by step.
+	 *
+	 * @param schema				transliteration schema
+	 * @param text					text to generate the key of
+	 * @param yoFolded				whether to fold {@code ё} into {@code е}
+	 * @param lowerCase				whether to convert to lower case
+	 * @param punctuationRemoved	whether to remove punctuation characters
+	 * @param whitespaceCollapsed	whether to collapse and trim whitespace
+	 * @param maxLength				maximum key length
+	 * @return						search key
+	 */
+	private static String naive(IuliiaSchema schema, String text, boolean yoFolded, boolean lowerCase,
+			boolean punctuationRemoved, boolean whitespaceCollapsed, int maxLength) {
+		if (yoFolded) {
+			text = text.replace('ё', 'е')
+					.replace('Ё', 'Е');
+		}
+
+		String key = Iuliia.transliterate(text, schema);
+
+		if (punctuationRemoved) {
+			StringBuilder sb = new StringBuilder();
+
+			for (char c : key.toCharArray()) {
+				if (!isPunctuation(c)) {
+					sb.append(c);
+				}
+			}
+
+			key = sb.toString();
+		}
+
+		if (lowerCase) {
+			char[] chars = key.toCharArray();
+
+			for (int i = 0; i < chars.length; i++) {
+				chars[i] = Character.toLowerCase(chars[i]);
+			}
+
+			key = new String(chars);
+		}
+
+		if (whitespaceCollapsed) {
+			StringBuilder sb = new StringBuilder();
+
+			for (char c : key.toCharArray()) {
+				if (!isWhitespace(c)) {
+					sb.append(c);
+				} else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+					sb.append(' ');
+				}
+			}
+
+			key = trimEnd(sb.toString());
+		}
+
+		if (key.length() > maxLength) {
+			key = key.substring(0, maxLength);
+
+			if (!key.isEmpty() && Character.isHighSurrogate(key.charAt(key.length() - 1))) {
+				key = key.substring(0, key.length() - 1);
+			}
+
+			if (whitespaceCollapsed) {
+				key = trimEnd(key);
+			}
+		}
+
+		return key;
+	}
+
+	/**
+	 * Remove a trailing space.
+	 *
+	 * @param key	key to trim
+	 * @return		trimmed key
+	 */
+	private static String trimEnd(String key) {
+		if (key.endsWith(" ")) {
+			return key.substring(0, key.length() - 1);
+		}
+
+		return key;
+	}
+
+	/**
+	 * Check whether the provided character is a punctuation character.
+	 *
+	 * @param c		character to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isPunctuation(char c) {
+		switch (Character.getType(c)) {
+			case Character.CONNECTOR_PUNCTUATION:
+			case Character.DASH_PUNCTUATION:
+			case Character.START_PUNCTUATION:
+			case Character.END_PUNCTUATION:
+			case Character.INITIAL_QUOTE_PUNCTUATION:
+			case Character.FINAL_QUOTE_PUNCTUATION:
+			case Character.OTHER_PUNCTUATION:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Check whether the provided character is a whitespace character.
+	 *
+	 * @param c		character to check
+	 * @return		boolean value as a result
+	 */
+	private static boolean isWhitespace(char c) {
+		return Character.isWhitespace(c) || Character.isSpaceChar(c);
+	}
+}
@@ -0,0 +1,102 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaShadowVerifier}.
+ */
+class IuliiaShadowVerifierTest {
+
+	/**
+	 * A sample word array, including the whole-word exceptions and the endings.
+	 */
+	private static final String[] SAMPLE_WORDS = {
+			"", "Юлия", "Щеглова", "ЁЖИК", "Подъячевский", "ascii", "ия", "ий", "Ё"
+	};
+
+	/**
+	 * A sample letter alphabet.
+	 */
+	private static final String SAMPLE_LETTERS = "аеёжийъьыэюяАЕЁЖИЙЪЬЫЭЮЯ z";
+
+	@Test
+	void verifiesEveryPathOfEverySchema() {
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			IuliiaShadowVerifier verifier = IuliiaShadowVerifier.builder(type)
+					.setSampleRate(1)
+					.setQueueCapacity(1 << 16)
+					.build();
+
+			for (String word : SAMPLE_WORDS) {
+				assertEquals(Iuliia.transliterate(word, type), verifier.transliterate(word));
+
+				verifier.transliterateWord(word);
+			}
+
+			for (int i = 0; i < SAMPLE_LETTERS.length(); i++) {
+				char curr = SAMPLE_LETTERS.charAt(i);
+
+				verifier.transliterateLetter(null, curr, null);
+
+				for (int j = 0; j < SAMPLE_LETTERS.length(); j++) {
+					char other = SAMPLE_LETTERS.charAt(j);
+
+					verifier.transliterateLetter(other, curr, null);
+					verifier.transliterateLetter(null, curr, other);
+					verifier.transliterateLetter(other, curr, other);
+				}
+			}
+
+			verifier.close();
+
+			assertEquals(0, verifier.getDroppedCount(), type.toString());
+			assertEquals(verifier.getSampledCount(), verifier.getVerifiedCount(), type.toString());
+			assertEquals(0, verifier.getMismatchCount(), String.valueOf(verifier.getMismatches()));
+		}
+	}
+
+	@Test
+	void reportsMismatchPath() {
+		IuliiaShadowVerifier verifier = IuliiaShadowVerifier.builder(EIuliiaSchema.WIKIPEDIA)
+				.setSampleRate(0)
+				.build();
+
+		verifier.verify("custom", "Юлия", "Julia");
+		verifier.close();
+
+		List<IuliiaMismatch> mismatches = verifier.getMismatches();
+
+		assertEquals(1, mismatches.size());
+		assertEquals("custom", mismatches.get(0).getPath());
+		assertEquals("Yuliya", mismatches.get(0).getExpected());
+		assertEquals("Julia", mismatches.get(0).getActual());
+	}
+
+	@Test
+	void skipsUnsampledTransliterations() {
+		IuliiaShadowVerifier verifier = IuliiaShadowVerifier.builder(EIuliiaSchema.WIKIPEDIA)
+				.setSampleRate(0)
+				.build();
+
+		assertEquals("Yuliya", verifier.transliterate("Юлия"));
+		assertEquals("Yuliya", verifier.transliterateWord("Юлия"));
+		assertEquals("zh", verifier.transliterateLetter(null, 'ж', null));
+		verifier.close();
+
+		assertEquals(0, verifier.getSampledCount());
+	}
+
+	@Test
+	void rejectsNullWord() {
+		IuliiaShadowVerifier verifier = IuliiaShadowVerifier.builder(EIuliiaSchema.WIKIPEDIA)
+				.build();
+
+		assertThrows(IllegalArgumentException.class, () -> verifier.transliterateWord(null));
+		verifier.close();
+	}
+}
@@ -0,0 +1,720 @@
+package io.github.anominy.uwiuliia;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A multi-threaded contention and scalability stress harness.
+ *
+ * <p>Drives each {@link Phase} from a single thread up to the maximum thread count,
+ * doubling it on every step, and reports the throughput, its speedup over a single thread,
+ * the monitor contention observed by the worker threads and the number of incorrect results.
+ *
+ * <p>Results are verified against the ones computed on a single thread before the run,
+ * so that any concurrency issue surfaces as a mismatch rather than a silent corruption.
+ *
+ * <p>Can be run directly, w/ the optional maximum thread count and step duration in milliseconds as arguments,
+ * see {@link IuliiaStressHarnessTest} for a short run.
+ */
+final class IuliiaStressHarness {
+
+	/**
+	 * A sample text transliterated by the transliteration phases.
+	 */
+	private static final String SAMPLE_TEXT = "Юлия, съешь же ещё этих мягких французских булок из Йошкар-Олы, да выпей алтайского чаю. "
+			+ "Съешь же ещё этих мягких французских булок, да выпей чаю! ЩУКА и ЁЖИК в Подъячевском.";
+
+	/**
+	 * A stress phase.
+	 */
+	public enum Phase {
+
+		/**
+		 * Read a mapping-schema from its resource, bypassing the cache.
+		 */
+		COLD_LOAD,
+
+		/**
+		 * Look up a cached mapping-schema, its hash code and string representation.
+		 */
+		WARM_LOAD,
+
+		/**
+		 * Transliterate the sample text using {@link Iuliia#transliterate(String, IuliiaSchema)}.
+		 */
+		REFERENCE,
+
+		/**
+		 * Transliterate the sample text using a shared {@link IuliiaTransliterator}.
+		 */
+		TRANSLITERATOR
+	}
+
+	/**
+	 * A maximum thread count.
+	 */
+	private final int maxThreads;
+
+	/**
+	 * A step duration in milliseconds.
+	 */
+	private final long durationMillis;
+
+	/**
+	 * A warmup duration in milliseconds.
+	 */
+	private final long warmupMillis;
+
+	/**
+	 * A mapping-schema type array.
+	 */
+	private final EIuliiaSchema[] types;
+
+	/**
+	 * An expected mapping-schema hash code array, in the {@link #types} order.
+	 */
+	private final int[] expectedHashCodes;
+
+	/**
+	 * An expected transliterated sample text array, in the {@link #types} order.
+	 */
+	private final String[] expectedTexts;
+
+	/**
+	 * A transliterator array, in the {@link #types} order.
+	 */
+	private final IuliiaTransliterator[] transliterators;
+
+	/**
+	 * Initialize an {@link IuliiaStressHarness} instance.
+	 *
+	 * @param builder	builder to initialize from
+	 */
+	private IuliiaStressHarness(Builder builder) {
+		this.maxThreads = builder.maxThreads;
+		this.durationMillis = builder.durationMillis;
+		this.warmupMillis = builder.warmupMillis;
+
+		List<EIuliiaSchema> types = new ArrayList<>();
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			if (IuliiaSchema.fromEnumType(type) != null) {
+				types.add(type);
+			}
+		}
+
+		int length = types.size();
+
+		this.types = types.toArray(new EIuliiaSchema[0]);
+		this.expectedHashCodes = new int[length];
+		this.expectedTexts = new String[length];
+		this.transliterators = new IuliiaTransliterator[length];
+
+		for (int i = 0; i < length; i++) {
+			IuliiaSchema schema = IuliiaSchema.fromEnumType(this.types[i]);
+
+			this.expectedHashCodes[i] = schema.hashCode();
+			this.expectedTexts[i] = Iuliia.transliterate(SAMPLE_TEXT, schema);
+			this.transliterators[i] = IuliiaTransliterator.of(schema);
+		}
+	}
+
+	/**
+	 * Run all the phases.
+	 *
+	 * @param out	stream to report each result to or {@code null}
+	 * @return		results, in the run order
+	 */
+	public List<Result> run(PrintStream out) {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+		boolean contentionMonitored = threadBean.isThreadContentionMonitoringSupported();
+		boolean contentionMonitoringEnabled = contentionMonitored && threadBean.isThreadContentionMonitoringEnabled();
+
+		if (contentionMonitored) {
+			threadBean.setThreadContentionMonitoringEnabled(true);
+		}
+
+		try {
+			return this.runPhases(out, contentionMonitored);
+		} finally {
+			if (contentionMonitored) {
+				threadBean.setThreadContentionMonitoringEnabled(contentionMonitoringEnabled);
+			}
+		}
+	}
+
+	/**
+	 * Run all the phases w/ the contention monitoring set up.
+	 *
+	 * @param out					stream to report each result to or {@code null}
+	 * @param contentionMonitored	whether the contention monitoring is supported
+	 * @return						results, in the run order
+	 */
+	private List<Result> runPhases(PrintStream out, boolean contentionMonitored) {
+		if (out != null) {
+			out.printf("%-14s %7s %12s %14s %8s %10s %12s %10s %10s%n",
+					"phase", "threads", "operations", "ops/s", "speedup",
+					"blocked", "blocked ms", "waited", "mismatches");
+		}
+
+		List<Result> results = new ArrayList<>();
+
+		for (Phase phase : Phase.values()) {
+			this.runStep(phase, 1, this.warmupMillis);
+
+			double baseline = 0;
+
+			for (int threads : this.getThreadCounts()) {
+				Result result = this.runStep(phase, threads, this.durationMillis);
+
+				if (threads == 1) {
+					baseline = result.getOperationsPerSecond();
+				}
+
+				result.speedup = baseline > 0
+						? result.getOperationsPerSecond() / baseline
+						: 0;
+
+				results.add(result);
+
+				if (out != null) {
+					out.printf("%-14s %7d %12d %14.1f %8.2f %10d %12d %10d %10d%n",
+							phase, threads, result.operations, result.getOperationsPerSecond(), result.speedup,
+							result.blockedCount, result.blockedMillis, result.waitedCount, result.mismatches);
+				}
+			}
+		}
+
+		if (out != null && !contentionMonitored) {
+			out.println("Thread contention monitoring is not supported, blocked times are unavailable");
+		}
+
+		return Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * Get the thread counts to run each phase with.
+	 *
+	 * @return	ascending thread counts
+	 */
+	private List<Integer> getThreadCounts() {
+		List<Integer> counts = new ArrayList<>();
+
+		for (int threads = 1; threads < this.maxThreads; threads <<= 1) {
+			counts.add(threads);
+		}
+
+		counts.add(this.maxThreads);
+		return counts;
+	}
+
+	/**
+	 * Run a phase step.
+	 *
+	 * @param phase				phase to run
+	 * @param threads			worker thread count
+	 * @param durationMillis	step duration in milliseconds
+	 * @return					step result
+	 */
+	private Result runStep(Phase phase, int threads, long durationMillis) {
+		Result result = new Result(phase, threads);
+
+		CountDownLatch startLatch = new CountDownLatch(1);
+		Worker[] workers = new Worker[threads];
+
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new Worker(phase, i, startLatch);
+			workers[i].start();
+		}
+
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+		for (Worker worker : workers) {
+			worker.deadline = deadline;
+		}
+
+		startLatch.countDown();
+
+		for (Worker worker : workers) {
+			try {
+				worker.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Stress step was interrupted", e);
+			}
+
+			Throwable failure = worker.failure.get();
+			if (failure != null) {
+				throw new IllegalStateException("Stress worker failed in " + phase + " phase", failure);
+			}
+
+			result.operations += worker.operations;
+			result.mismatches += worker.mismatches;
+			result.blockedCount += worker.blockedCount;
+			result.blockedMillis += worker.blockedMillis;
+			result.waitedCount += worker.waitedCount;
+		}
+
+		result.elapsedNanos = System.nanoTime() - start;
+		return result;
+	}
+
+	/**
+	 * Run a single phase operation.
+	 *
+	 * @param phase		phase to run
+	 * @param index		mapping-schema index
+	 * @return			whether the operation result is correct
+	 */
+	private boolean runOperation(Phase phase, int index) {
+		EIuliiaSchema type = this.types[index];
+
+		switch (phase) {
+			case COLD_LOAD: {
+				IuliiaSchema schema = readSchema(type);
+				return schema.hashCode() == this.expectedHashCodes[index];
+			}
+			case WARM_LOAD: {
+				IuliiaSchema schema = IuliiaSchema.fromEnumType(type);
+				return schema != null
+						&& schema.hashCode() == this.expectedHashCodes[index]
+						&& schema.toString() != null
+						&& type.toString() != null;
+			}
+			case REFERENCE:
+				return this.expectedTexts[index].equals(Iuliia.transliterate(SAMPLE_TEXT, IuliiaSchema.fromEnumType(type)));
+			case TRANSLITERATOR:
+				return this.expectedTexts[index].equals(this.transliterators[index].transliterate(SAMPLE_TEXT));
+			default:
+				throw new IllegalArgumentException("Unknown phase: " + phase);
+		}
+	}
+
+	/**
+	 * Read a mapping-schema from its resource, bypassing the cache.
+	 *
+	 * @param type	enum type of the schema
+	 * @return		mapping-schema instance
+	 *
+	 * @throws UncheckedIOException	if the schema resource cannot be read
+	 */
+	private static IuliiaSchema readSchema(EIuliiaSchema type) {
+		try (InputStream in = IuliiaStressHarness.class.getClassLoader()
+				.getResourceAsStream(type.getFilePath())) {
+			if (in == null) {
+				throw new IOException("Schema resource not found: " + type.getFilePath());
+			}
+
+			return IuliiaSchema.fromInputStream(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Run the harness, reporting to the standard output.
+	 *
+	 * @param args	optional maximum thread count and step duration in milliseconds
+	 */
+	public static void main(String[] args) {
+		Builder builder = builder();
+
+		if (args.length > 0) {
+			builder.setMaxThreads(Integer.parseInt(args[0]));
+		}
+
+		if (args.length > 1) {
+			builder.setDurationMillis(Long.parseLong(args[1]));
+		}
+
+		List<Result> results = builder.build()
+				.run(System.out);
+
+		for (Result result : results) {
+			if (result.getMismatches() > 0) {
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * Create a new stress harness builder.
+	 *
+	 * @return	stress harness builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * A stress worker thread.
+	 */
+	private final class Worker extends Thread {
+
+		/**
+		 * A phase to run.
+		 */
+		private final Phase phase;
+
+		/**
+		 * A start latch.
+		 */
+		private final CountDownLatch startLatch;
+
+		/**
+		 * A first failure thrown by an operation.
+		 */
+		private final AtomicReference<Throwable> failure;
+
+		/**
+		 * A deadline in nanoseconds, published before the start latch is released.
+		 */
+		private long deadline;
+
+		/**
+		 * A mapping-schema index to run the next operation w/.
+		 */
+		private int index;
+
+		/**
+		 * A completed operation count.
+		 */
+		private long operations;
+
+		/**
+		 * An incorrect result count.
+		 */
+		private long mismatches;
+
+		/**
+		 * A monitor contention count.
+		 */
+		private long blockedCount;
+
+		/**
+		 * A monitor contention time in milliseconds, or {@code -1} if unavailable.
+		 */
+		private long blockedMillis;
+
+		/**
+		 * A wait or park count.
+		 */
+		private long waitedCount;
+
+		/**
+		 * Initialize a {@link Worker} instance.
+		 *
+		 * @param phase			phase to run
+		 * @param id			worker index
+		 * @param startLatch	start latch
+		 */
+		private Worker(Phase phase, int id, CountDownLatch startLatch) {
+			super(IuliiaStressHarness.class.getSimpleName() + "-" + phase + "-" + id);
+
+			this.phase = phase;
+			this.startLatch = startLatch;
+			this.failure = new AtomicReference<>();
+			this.index = id % IuliiaStressHarness.this.types.length;
+
+			this.setDaemon(true);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			try {
+				this.startLatch.await();
+
+				ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+				ThreadInfo startInfo = threadBean.getThreadInfo(this.getId());
+
+				int length = IuliiaStressHarness.this.types.length;
+				long deadline = this.deadline;
+
+				do {
+					if (!IuliiaStressHarness.this.runOperation(this.phase, this.index)) {
+						this.mismatches++;
+					}
+
+					this.operations++;
+					this.index = (this.index + 1) % length;
+				} while (System.nanoTime() < deadline);
+
+				ThreadInfo endInfo = threadBean.getThreadInfo(this.getId());
+
+				this.blockedCount = endInfo.getBlockedCount() - startInfo.getBlockedCount();
+				this.waitedCount = endInfo.getWaitedCount() - startInfo.getWaitedCount();
+				this.blockedMillis = startInfo.getBlockedTime() < 0
+						? -1
+						: endInfo.getBlockedTime() - startInfo.getBlockedTime();
+			} catch (Throwable t) {
+				this.failure.set(t);
+			}
+		}
+	}
+
+	/**
+	 * A stress step result.
+	 */
+	public static final class Result {
+
+		/**
+		 * A phase.
+		 */
+		private final Phase phase;
+
+		/**
+		 * A worker thread count.
+		 */
+		private final int threads;
+
+		/**
+		 * A completed operation count.
+		 */
+		private long operations;
+
+		/**
+		 * An incorrect result count.
+		 */
+		private long mismatches;
+
+		/**
+		 * An elapsed time in nanoseconds.
+		 */
+		private long elapsedNanos;
+
+		/**
+		 * A throughput speedup over a single thread.
+		 */
+		private double speedup;
+
+		/**
+		 * A total monitor contention count.
+		 */
+		private long blockedCount;
+
+		/**
+		 * A total monitor contention time in milliseconds, negative if unavailable.
+		 */
+		private long blockedMillis;
+
+		/**
+		 * A total wait or park count.
+		 */
+		private long waitedCount;
+
+		/**
+		 * Initialize a {@link Result} instance.
+		 *
+		 * @param phase		phase
+		 * @param threads	worker thread count
+		 */
+		private Result(Phase phase, int threads) {
+			this.phase = phase;
+			this.threads = threads;
+		}
+
+		/**
+		 * Get this phase.
+		 *
+		 * @return	phase
+		 */
+		public Phase getPhase() {
+			return this.phase;
+		}
+
+		/**
+		 * Get this worker thread count.
+		 *
+		 * @return	worker thread count
+		 */
+		public int getThreads() {
+			return this.threads;
+		}
+
+		/**
+		 * Get this completed operation count.
+		 *
+		 * @return	completed operation count
+		 */
+		public long getOperations() {
+			return this.operations;
+		}
+
+		/**
+		 * Get this incorrect result count.
+		 *
+		 * @return	incorrect result count
+		 */
+		public long getMismatches() {
+			return this.mismatches;
+		}
+
+		/**
+		 * Get this throughput.
+		 *
+		 * @return	operations per second
+		 */
+		public double getOperationsPerSecond() {
+			return this.operations / Math.max(1e-9, this.elapsedNanos / 1e9);
+		}
+
+		/**
+		 * Get this throughput speedup over a single thread.
+		 *
+		 * @return	throughput speedup
+		 */
+		public double getSpeedup() {
+			return this.speedup;
+		}
+
+		/**
+		 * Get this total monitor contention count.
+		 *
+		 * @return	monitor contention count
+		 */
+		public long getBlockedCount() {
+			return this.blockedCount;
+		}
+
+		/**
+		 * Get this total monitor contention time.
+		 *
+		 * @return	monitor contention time in milliseconds, negative if unavailable
+		 */
+		public long getBlockedMillis() {
+			return this.blockedMillis;
+		}
+
+		/**
+		 * Get this total wait or park count.
+		 *
+		 * @return	wait or park count
+		 */
+		public long getWaitedCount() {
+			return this.waitedCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return this.getClass().getSimpleName() + "["
+					+ "phase=" + this.phase
+					+ ", threads=" + this.threads
+					+ ", operations=" + this.operations
+					+ ", operationsPerSecond=" + String.format("%.1f", this.getOperationsPerSecond())
+					+ ", speedup=" + String.format("%.2f", this.speedup)
+					+ ", blockedCount=" + this.blockedCount
+					+ ", blockedMillis=" + this.blockedMillis
+					+ ", waitedCount=" + this.waitedCount
+					+ ", mismatches=" + this.mismatches
+					+ "]";
+		}
+	}
+
+	/**
+	 * A stress harness builder.
+	 */
+	public static final class Builder {
+
+		/**
+		 * A maximum thread count.
+		 */
+		private int maxThreads;
+
+		/**
+		 * A step duration in milliseconds.
+		 */
+		private long durationMillis;
+
+		/**
+		 * A warmup duration in milliseconds.
+		 */
+		private long warmupMillis;
+
+		/**
+		 * Initialize a {@link Builder} instance.
+		 */
+		private Builder() {
+			this.maxThreads = Runtime.getRuntime().availableProcessors();
+			this.durationMillis = 1000;
+			this.warmupMillis = 500;
+		}
+
+		/**
+		 * Set a maximum thread count, default to the available processor count.
+		 *
+		 * @param maxThreads	maximum thread count
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided thread count isn't positive
+		 */
+		public Builder setMaxThreads(int maxThreads) {
+			if (maxThreads < 1) {
+				throw new IllegalArgumentException("Maximum thread count must be positive");
+			}
+
+			this.maxThreads = maxThreads;
+			return this;
+		}
+
+		/**
+		 * Set a step duration, default to a second.
+		 *
+		 * @param durationMillis	step duration in milliseconds
+		 * @return					this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided duration isn't positive
+		 */
+		public Builder setDurationMillis(long durationMillis) {
+			if (durationMillis < 1) {
+				throw new IllegalArgumentException("Duration must be positive");
+			}
+
+			this.durationMillis = durationMillis;
+			return this;
+		}
+
+		/**
+		 * Set a single thread warmup duration run before each phase, default to half a second.
+		 *
+		 * @param warmupMillis	warmup duration in milliseconds
+		 * @return				this builder
+		 *
+		 * @throws IllegalArgumentException		if the provided duration is negative
+		 */
+		public Builder setWarmupMillis(long warmupMillis) {
+			if (warmupMillis < 0) {
+				throw new IllegalArgumentException("Warmup duration mustn't be negative");
+			}
+
+			this.warmupMillis = warmupMillis;
+			return this;
+		}
+
+		/**
+		 * Build a new stress harness.
+		 *
+		 * @return	stress harness
+		 */
+		public IuliiaStressHarness build() {
+			return new IuliiaStressHarness(this);
+		}
+	}
+}
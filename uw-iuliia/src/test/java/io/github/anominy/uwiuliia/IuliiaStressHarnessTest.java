@@ -0,0 +1,31 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A short run of {@link IuliiaStressHarness}.
+ */
+class IuliiaStressHarnessTest {
+
+	@Test
+	void producesNoMismatchesUnderContention() {
+		List<IuliiaStressHarness.Result> results = IuliiaStressHarness.builder()
+				.setMaxThreads(4)
+				.setDurationMillis(50)
+				.setWarmupMillis(0)
+				.build()
+				.run(null);
+
+		assertEquals(IuliiaStressHarness.Phase.values().length * 3, results.size());
+
+		for (IuliiaStressHarness.Result result : results) {
+			assertTrue(result.getOperations() > 0, result.toString());
+			assertEquals(0, result.getMismatches(), result.toString());
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaTransliteratedText}.
+ */
+class IuliiaTransliteratedTextTest {
+
+	/**
+	 * A sample text.
+	 */
+	private static final String SAMPLE_TEXT = "Привет мир";
+
+	/**
+	 * A transliterator under test.
+	 */
+	private final IuliiaTransliterator transliterator = IuliiaTransliterator.of(EIuliiaSchema.WIKIPEDIA);
+
+	@Test
+	void matchesMaterializedTransliteration() {
+		IuliiaTransliteratedText view = this.transliterator.view(SAMPLE_TEXT);
+		String expected = this.transliterator.transliterate(SAMPLE_TEXT);
+
+		assertEquals(expected.length(), view.length());
+		assertEquals(expected, view.toString());
+		assertEquals(expected.hashCode(), view.hashCode());
+		assertEquals(expected.substring(2, 5), view.subSequence(2, 5).toString());
+		assertEquals(expected.charAt(7), view.charAt(7));
+	}
+
+	@Test
+	void readsNestedViews() {
+		IuliiaTransliteratedText nested = this.nested();
+		String expected = this.transliterator.transliterate(this.transliterator.transliterate(SAMPLE_TEXT));
+
+		assertEquals(expected.length(), nested.length());
+		assertEquals(expected, nested.toString());
+		assertEquals(expected.hashCode(), this.transliterator.hash(this.transliterator.view(SAMPLE_TEXT)));
+		assertEquals(expected.substring(1, 4), nested.subSequence(1, 4).toString());
+		assertTrue(this.transliterator.matches(this.transliterator.view(SAMPLE_TEXT), expected));
+		assertEquals(expected.indexOf("mir"), this.transliterator.indexOf(this.transliterator.view(SAMPLE_TEXT), "mir"));
+	}
+
+	@Test
+	void comparesNestedViews() {
+		IuliiaTransliteratedText a = this.nested();
+		IuliiaTransliteratedText b = this.nested();
+
+		assertEquals(0, a.compareTo(b));
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertEquals(0, this.transliterator.compare(this.transliterator.view(SAMPLE_TEXT), this.transliterator.view(SAMPLE_TEXT)));
+	}
+
+	@Test
+	void reusesCursorAfterNestedUse() {
+		this.nested().length();
+
+		IuliiaTransliteratedText view = this.transliterator.view(SAMPLE_TEXT);
+
+		assertEquals(this.transliterator.transliterate(SAMPLE_TEXT), view.toString());
+	}
+
+	/**
+	 * Get a view of the view of the sample text transliteration.
+	 *
+	 * @return	nested transliterated text view
+	 */
+	private IuliiaTransliteratedText nested() {
+		return this.transliterator.view(this.transliterator.view(SAMPLE_TEXT));
+	}
+}
@@ -0,0 +1,137 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaUtf8}.
+ */
+class IuliiaUtf8Test {
+
+	/**
+	 * A sample text array.
+	 */
+	private static final String[] SAMPLE_TEXTS = {
+			"",
+			"Юлия Щеглова",
+			"Юлия, съешь же ещё этих мягких французских булок из Йошкар-Олы, да выпей алтайского чаю.",
+			"ЩУКА и ЁЖИК в Подъячевском",
+			"ascii only text, 12345",
+			"Смешанный mixed ТЕКСТ text",
+			"Ёлка́ и ёж́",
+			"эмодзи 😀 и 𝐀 буквы",
+			"Ґанок, Їжак, Єнот, Ўладзімір",
+			"\tкрай\nстроки\r\n"
+	};
+
+	@Test
+	void matchesReferenceForEverySchema() {
+		for (EIuliiaSchema type : EIuliiaSchema.values()) {
+			IuliiaSchema schema = IuliiaSchema.fromEnumType(type);
+
+			for (String text : SAMPLE_TEXTS) {
+				byte[] expected = Iuliia.transliterate(text, schema)
+						.getBytes(StandardCharsets.UTF_8);
+
+				assertArrayEquals(expected, IuliiaUtf8.transliterate(text.getBytes(StandardCharsets.UTF_8), schema));
+			}
+		}
+	}
+
+	@Test
+	void matchesReferenceForDirectBuffers() {
+		IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.ICAO_DOC_9303);
+
+		for (String text : SAMPLE_TEXTS) {
+			byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+			ByteBuffer src = ByteBuffer.allocateDirect(bytes.length);
+			src.put(bytes);
+			((Buffer) src).flip();
+
+			ByteBuffer dst = ByteBuffer.allocateDirect(IuliiaUtf8.getMaxLength(bytes.length, schema));
+			IuliiaUtf8.transliterate(src, dst, schema);
+
+			assertEquals(0, src.remaining());
+
+			((Buffer) dst).flip();
+
+			byte[] result = new byte[dst.remaining()];
+			dst.get(result);
+
+			assertEquals(Iuliia.transliterate(text, schema), new String(result, StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void copiesMalformedSequencesAsIs() {
+		IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+
+		ByteArrayOutputStream src = new ByteArrayOutputStream();
+		src.write(0xFF);
+		writeUtf8(src, " Юля ");
+		src.write(0xD0);
+		writeUtf8(src, " мир ");
+		src.write(0xE2);
+		src.write(0x82);
+
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		expected.write(0xFF);
+		writeUtf8(expected, Iuliia.transliterate(" Юля ", schema));
+		expected.write(0xD0);
+		writeUtf8(expected, Iuliia.transliterate(" мир ", schema));
+		expected.write(0xE2);
+		expected.write(0x82);
+
+		assertArrayEquals(expected.toByteArray(), IuliiaUtf8.transliterate(src.toByteArray(), schema));
+	}
+
+	@Test
+	void leavesBuffersUntouchedOnOverflow() {
+		IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+
+		ByteBuffer src = ByteBuffer.wrap("Щука".getBytes(StandardCharsets.UTF_8));
+		ByteBuffer dst = ByteBuffer.allocate(3);
+
+		assertThrows(BufferOverflowException.class, () -> IuliiaUtf8.transliterate(src, dst, schema));
+
+		assertEquals(0, src.position());
+		assertEquals(0, dst.position());
+	}
+
+	@Test
+	void returnsEmptyArrayAsIs() {
+		byte[] src = new byte[0];
+
+		assertSame(src, IuliiaUtf8.transliterate(src, EIuliiaSchema.WIKIPEDIA));
+	}
+
+	@Test
+	void rejectsNullSchema() {
+		byte[] src = "Юля".getBytes(StandardCharsets.UTF_8);
+
+		assertThrows(IllegalArgumentException.class, () -> IuliiaUtf8.transliterate(src, (IuliiaSchema) null));
+	}
+
+	/**
+	 * Write a string encoded in UTF-8 to the provided stream.
+	 *
+	 * @param out	stream to write to
+	 * @param s		string to write
+	 */
+	private static void writeUtf8(ByteArrayOutputStream out, String s) {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+
+		out.write(bytes, 0, bytes.length);
+	}
+}
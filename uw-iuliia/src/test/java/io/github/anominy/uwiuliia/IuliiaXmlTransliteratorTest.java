@@ -0,0 +1,142 @@
+package io.github.anominy.uwiuliia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour tests of {@link IuliiaXmlTransliterator}.
+ */
+class IuliiaXmlTransliteratorTest {
+
+	/**
+	 * A mapping-schema under test.
+	 */
+	private final IuliiaSchema schema = IuliiaSchema.fromEnumType(EIuliiaSchema.WIKIPEDIA);
+
+	@Test
+	void transliteratesTextNodes() throws XMLStreamException {
+		String xml = transliterate(IuliiaXmlTransliterator.of(this.schema),
+				"<p title=\"Юлия\">Юлия <b>Щеглова</b><!-- Юлия --></p>");
+
+		assertTrue(xml.contains("<p title=\"Юлия\">Yuliya <b>Shcheglova</b><!-- Юлия --></p>"), xml);
+	}
+
+	@Test
+	void transliteratesSelectedAttributes() throws XMLStreamException {
+		IuliiaXmlTransliterator transliterator = IuliiaXmlTransliterator.builder(this.schema)
+				.addAttribute("title")
+				.build();
+
+		String xml = transliterate(transliterator, "<p title=\"Юлия\" id=\"Юлия\">Ёж</p>");
+
+		assertTrue(xml.contains("title=\"Yuliya\""), xml);
+		assertTrue(xml.contains("id=\"Юлия\""), xml);
+		assertTrue(xml.contains(">Yozh</p>"), xml);
+	}
+
+	@Test
+	void leavesSkippedElementsIntact() throws XMLStreamException {
+		IuliiaXmlTransliterator transliterator = IuliiaXmlTransliterator.builder(this.schema)
+				.addSkippedElement("script")
+				.build();
+
+		String xml = transliterate(transliterator, "<p>Юля<script>Юля <i>Юля</i></script>Юля</p>");
+
+		assertTrue(xml.contains("<p>Yulya<script>Юля <i>Юля</i></script>Yulya</p>"), xml);
+	}
+
+	@Test
+	void transliteratesCdataSeparately() throws XMLStreamException {
+		String xml = transliterate(IuliiaXmlTransliterator.of(this.schema), "<p>Юл<![CDATA[ия]]></p>");
+
+		assertTrue(xml.contains("<p>" + Iuliia.transliterate("Юл", this.schema)
+				+ "<![CDATA[" + Iuliia.transliterate("ия", this.schema) + "]]></p>"), xml);
+	}
+
+	@Test
+	void transliteratesLongTextNodeAsWhole() throws XMLStreamException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("Юлия, съешь ещё мягких булок ");
+		}
+
+		String text = sb.toString();
+		String xml = transliterate(IuliiaXmlTransliterator.of(this.schema), "<p>" + text + "</p>");
+
+		assertTrue(xml.contains("<p>" + Iuliia.transliterate(text, this.schema) + "</p>"));
+	}
+
+	@Test
+	void keepsDeclaredEncoding() throws XMLStreamException {
+		byte[] src = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><p>Юлия</p>".getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		IuliiaXmlTransliterator.of(this.schema)
+				.transliterate(new ByteArrayInputStream(src), out);
+
+		String xml = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+		assertTrue(xml.startsWith("<?xml"), xml);
+		assertTrue(xml.contains("UTF-8"), xml);
+		assertTrue(xml.endsWith("<p>Yuliya</p>"), xml);
+	}
+
+	@Test
+	void leavesDeclaredEntitiesUnexpanded() throws XMLStreamException {
+		String xml = transliterate(IuliiaXmlTransliterator.of(this.schema), "<!DOCTYPE p ["
+				+ "<!ENTITY a \"Юлия\">"
+				+ "<!ENTITY b \"&a;&a;&a;&a;&a;&a;&a;&a;&a;&a;\">"
+				+ "<!ENTITY c \"&b;&b;&b;&b;&b;&b;&b;&b;&b;&b;\">"
+				+ "<!ENTITY x SYSTEM \"file:///etc/passwd\">"
+				+ "]><p>Юлия &c; &x; &amp;</p>");
+
+		assertTrue(xml.contains("<p>Yuliya &c; &x; &amp;</p>"), xml);
+		assertFalse(xml.contains("Yuliya" + "Yuliya"), xml);
+
+		assertThrows(XMLStreamException.class, () -> transliterate(IuliiaXmlTransliterator.of(this.schema),
+				"<!DOCTYPE p [<!ENTITY a \"Юлия\"><!ENTITY b \"&a;&a;&a;\">]><p title=\"&b;\">Юлия</p>"));
+	}
+
+	@Test
+	void rejectsMalformedDocuments() {
+		assertThrows(XMLStreamException.class, () -> transliterate(IuliiaXmlTransliterator.of(this.schema), "<p>Юлия</b>"));
+	}
+
+	@Test
+	void rejectsNullNames() {
+		IuliiaXmlTransliterator.Builder builder = IuliiaXmlTransliterator.builder(this.schema);
+
+		assertThrows(IllegalArgumentException.class, () -> builder.addAttribute(null));
+		assertThrows(IllegalArgumentException.class, () -> builder.addSkippedElement(null));
+		assertEquals(0, builder.build().getAttributeNames().size());
+	}
+
+	/**
+	 * Transliterate the provided XML document.
+	 *
+	 * @param transliterator	XML transliterator to transliterate w/
+	 * @param xml				XML document
+	 * @return					transliterated XML document
+	 *
+	 * @throws XMLStreamException	if the document is malformed
+	 */
+	private static String transliterate(IuliiaXmlTransliterator transliterator, String xml) throws XMLStreamException {
+		StringWriter out = new StringWriter();
+
+		transliterator.transliterate(new StringReader(xml), out);
+
+		return out.toString();
+	}
+}